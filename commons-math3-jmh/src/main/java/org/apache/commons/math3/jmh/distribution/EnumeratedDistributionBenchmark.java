@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.jmh.distribution;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.distribution.EnumeratedIntegerDistribution;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link EnumeratedIntegerDistribution} sampling and
+ * cumulative probabilities, against a linear scan of the probabilities.
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnumeratedDistributionBenchmark {
+
+    /** Number of values. */
+    @Param({ "10", "1000", "200000" })
+    private int size;
+
+    /** Generator used for the linear scan and the query points. */
+    private RandomGenerator random;
+
+    /** Normalized probabilities. */
+    private double[] probabilities;
+
+    /** Distribution. */
+    private EnumeratedIntegerDistribution distribution;
+
+    /** Creates the distribution. */
+    @Setup
+    public void setUp() {
+        random = new Well19937c(0x1e6b3f02a9c4d857l);
+        final int[] singletons = new int[size];
+        probabilities = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            singletons[i]    = i;
+            probabilities[i] = random.nextDouble();
+            sum             += probabilities[i];
+        }
+        for (int i = 0; i < size; i++) {
+            probabilities[i] /= sum;
+        }
+        distribution = new EnumeratedIntegerDistribution(new Well19937c(0x1e6b3f02a9c4d857l),
+                                                         singletons, probabilities);
+        distribution.sample();
+        distribution.cumulativeProbability(0);
+    }
+
+    /**
+     * Samples using the distribution.
+     * @return random value
+     */
+    @Benchmark
+    public int sample() {
+        return distribution.sample();
+    }
+
+    /**
+     * Samples using a linear scan of the probabilities.
+     * @return random value
+     */
+    @Benchmark
+    public int sampleLinearScan() {
+        final double u = random.nextDouble();
+        double sum = 0;
+        for (int i = 0; i < probabilities.length; i++) {
+            sum += probabilities[i];
+            if (u < sum) {
+                return i;
+            }
+        }
+        return probabilities.length - 1;
+    }
+
+    /**
+     * Computes a cumulative probability.
+     * @return cumulative probability
+     */
+    @Benchmark
+    public double cumulativeProbability() {
+        return distribution.cumulativeProbability(random.nextInt(size));
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.jmh.distribution;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.distribution.BetaDistribution;
+import org.apache.commons.math3.distribution.GammaDistribution;
+import org.apache.commons.math3.distribution.QuantileTableDistribution;
+import org.apache.commons.math3.distribution.RealDistribution;
+import org.apache.commons.math3.distribution.TDistribution;
+import org.apache.commons.math3.distribution.WeibullDistribution;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the quantiles of {@link QuantileTableDistribution},
+ * against the quantiles of the wrapped distributions.
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuantileTableBenchmark {
+
+    /** Wrapped distribution. */
+    @Param({ "weibull", "gamma", "beta", "t" })
+    private String name;
+
+    /** Generator for the probabilities. */
+    private RandomGenerator random;
+
+    /** Wrapped distribution. */
+    private RealDistribution distribution;
+
+    /** Tabulated distribution. */
+    private QuantileTableDistribution table;
+
+    /** Creates the distributions. */
+    @Setup
+    public void setUp() {
+        random = new Well19937c(0x5c1f4e8d2a7b9036l);
+        if ("weibull".equals(name)) {
+            distribution = new WeibullDistribution(1.5, 2.0);
+        } else if ("gamma".equals(name)) {
+            distribution = new GammaDistribution(2.5, 1.0);
+        } else if ("beta".equals(name)) {
+            distribution = new BetaDistribution(2.0, 5.0);
+        } else {
+            distribution = new TDistribution(3.0);
+        }
+        table = new QuantileTableDistribution(distribution);
+    }
+
+    /**
+     * Computes a quantile using the table.
+     * @return quantile
+     */
+    @Benchmark
+    public double table() {
+        return table.inverseCumulativeProbability(random.nextDouble());
+    }
+
+    /**
+     * Computes a quantile using the wrapped distribution.
+     * @return quantile
+     */
+    @Benchmark
+    public double direct() {
+        return distribution.inverseCumulativeProbability(random.nextDouble());
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.jmh.linear;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.linear.BlockRealMatrix;
+import org.apache.commons.math3.random.Well19937c;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link BlockRealMatrix} products.
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockMultiplyBenchmark {
+
+    /** Dimension of the square matrices. */
+    @Param({ "100", "500", "1000" })
+    private int size;
+
+    /** Left operand. */
+    private BlockRealMatrix a;
+
+    /** Right operand. */
+    private BlockRealMatrix b;
+
+    /** Vector operand. */
+    private double[] v;
+
+    /** Creates random operands. */
+    @Setup
+    public void setUp() {
+        final Well19937c random = new Well19937c(0x1e8d4c7b92a053f6l);
+        a = new BlockRealMatrix(size, size);
+        b = new BlockRealMatrix(size, size);
+        v = new double[size];
+        for (int i = 0; i < size; ++i) {
+            for (int j = 0; j < size; ++j) {
+                a.setEntry(i, j, 2 * random.nextDouble() - 1);
+                b.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+            v[i] = 2 * random.nextDouble() - 1;
+        }
+    }
+
+    /**
+     * Matrix-matrix product.
+     * @return product
+     */
+    @Benchmark
+    public BlockRealMatrix multiply() {
+        return a.multiply(b);
+    }
+
+    /**
+     * Matrix-vector product.
+     * @return product
+     */
+    @Benchmark
+    public double[] operate() {
+        return a.operate(v);
+    }
+
+    /**
+     * Vector-matrix product.
+     * @return product
+     */
+    @Benchmark
+    public double[] preMultiply() {
+        return a.preMultiply(v);
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.jmh.linear;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.BlockCholeskyDecomposition;
+import org.apache.commons.math3.linear.BlockLUDecomposition;
+import org.apache.commons.math3.linear.CholeskyDecomposition;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.random.Well19937c;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the dense {@link LUDecomposition LU}, {@link
+ * CholeskyDecomposition Cholesky} and {@link EigenDecomposition eigen}
+ * decompositions, and of their {@link BlockLUDecomposition blocked}
+ * {@link BlockCholeskyDecomposition variants}.
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecompositionBenchmark {
+
+    /** Dimension of the square matrices. */
+    @Param({ "50", "200", "500" })
+    private int size;
+
+    /** General matrix. */
+    private RealMatrix general;
+
+    /** Symmetric matrix. */
+    private RealMatrix symmetric;
+
+    /** Symmetric positive definite matrix. */
+    private RealMatrix positiveDefinite;
+
+    /** Executor for the parallel decompositions. */
+    private ExecutorService executor;
+
+    /** Creates random matrices. */
+    @Setup
+    public void setUp() {
+        final Well19937c random = new Well19937c(0x3b59a1c27e04f86dl);
+        final double[][] g = new double[size][size];
+        final double[][] s = new double[size][size];
+        for (int i = 0; i < size; ++i) {
+            for (int j = 0; j < size; ++j) {
+                g[i][j] = 2 * random.nextDouble() - 1;
+            }
+            for (int j = 0; j <= i; ++j) {
+                s[i][j] = 2 * random.nextDouble() - 1;
+                s[j][i] = s[i][j];
+            }
+        }
+        general   = new Array2DRowRealMatrix(g, false);
+        symmetric = new Array2DRowRealMatrix(s, false);
+
+        // S.S + size I is well conditioned
+        positiveDefinite = symmetric.multiply(symmetric);
+        for (int i = 0; i < size; ++i) {
+            for (int j = 0; j < i; ++j) {
+                positiveDefinite.setEntry(i, j, positiveDefinite.getEntry(j, i));
+            }
+            positiveDefinite.addToEntry(i, i, size);
+        }
+
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Shuts the executor down. */
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    /**
+     * LU decomposition of a general matrix.
+     * @return decomposition
+     */
+    @Benchmark
+    public LUDecomposition lu() {
+        return new LUDecomposition(general);
+    }
+
+    /**
+     * LU decomposition and inversion of a general matrix.
+     * @return inverse
+     */
+    @Benchmark
+    public RealMatrix luInverse() {
+        return new LUDecomposition(general).getSolver().getInverse();
+    }
+
+    /**
+     * Blocked LU decomposition of a general matrix.
+     * @return decomposition
+     */
+    @Benchmark
+    public BlockLUDecomposition blockLu() {
+        return new BlockLUDecomposition(general);
+    }
+
+    /**
+     * Blocked LU decomposition of a general matrix, using all processors.
+     * @return decomposition
+     */
+    @Benchmark
+    public BlockLUDecomposition blockLuParallel() {
+        return new BlockLUDecomposition(general, executor);
+    }
+
+    /**
+     * Cholesky decomposition of a symmetric positive definite matrix.
+     * @return decomposition
+     */
+    @Benchmark
+    public CholeskyDecomposition cholesky() {
+        return new CholeskyDecomposition(positiveDefinite);
+    }
+
+    /**
+     * Blocked Cholesky decomposition of a symmetric positive definite matrix.
+     * @return decomposition
+     */
+    @Benchmark
+    public BlockCholeskyDecomposition blockCholesky() {
+        return new BlockCholeskyDecomposition(positiveDefinite);
+    }
+
+    /**
+     * Blocked Cholesky decomposition of a symmetric positive definite matrix,
+     * using all processors.
+     * @return decomposition
+     */
+    @Benchmark
+    public BlockCholeskyDecomposition blockCholeskyParallel() {
+        return new BlockCholeskyDecomposition(positiveDefinite, executor);
+    }
+
+    /**
+     * Eigen decomposition of a symmetric matrix.
+     * @return decomposition
+     */
+    @Benchmark
+    public EigenDecomposition eigenSymmetric() {
+        return new EigenDecomposition(symmetric);
+    }
+
+    /**
+     * Eigen decomposition of a general matrix.
+     * @return decomposition
+     */
+    @Benchmark
+    public EigenDecomposition eigenGeneral() {
+        return new EigenDecomposition(general);
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.jmh.linear;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.BlockRealMatrix;
+import org.apache.commons.math3.linear.MultiplicationKernel;
+import org.apache.commons.math3.random.Well19937c;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link MultiplicationKernel classical and tiled kernels}
+ * of dense matrix multiplication.
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultiplicationKernelBenchmark {
+
+    /** Dimension of the square matrices. */
+    @Param({ "100", "250", "500", "1000" })
+    private int size;
+
+    /** Kernel to benchmark. */
+    @Param({ "CLASSICAL", "TILED" })
+    private MultiplicationKernel kernel;
+
+    /** Left operand, row arrays layout. */
+    private Array2DRowRealMatrix a2d;
+
+    /** Right operand, row arrays layout. */
+    private Array2DRowRealMatrix b2d;
+
+    /** Left operand, blocks layout. */
+    private BlockRealMatrix aBlock;
+
+    /** Right operand, blocks layout. */
+    private BlockRealMatrix bBlock;
+
+    /** Creates random operands. */
+    @Setup
+    public void setUp() {
+        final Well19937c random = new Well19937c(0x6c3e1a2f57d9b804l);
+        final double[][] a = new double[size][size];
+        final double[][] b = new double[size][size];
+        for (int i = 0; i < size; ++i) {
+            for (int j = 0; j < size; ++j) {
+                a[i][j] = 2 * random.nextDouble() - 1;
+                b[i][j] = 2 * random.nextDouble() - 1;
+            }
+        }
+        a2d    = new Array2DRowRealMatrix(a, false);
+        b2d    = new Array2DRowRealMatrix(b, false);
+        aBlock = new BlockRealMatrix(a);
+        bBlock = new BlockRealMatrix(b);
+    }
+
+    /**
+     * Multiplies matrices stored as row arrays.
+     * @return product
+     */
+    @Benchmark
+    public Array2DRowRealMatrix array2DRow() {
+        return a2d.multiplyWithKernel(b2d, kernel);
+    }
+
+    /**
+     * Multiplies matrices stored as blocks.
+     * @return product
+     */
+    @Benchmark
+    public BlockRealMatrix block() {
+        return aBlock.multiplyWithKernel(bBlock, kernel);
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.jmh.linear;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.CompressedMatrixBuilder;
+import org.apache.commons.math3.linear.CompressedRowRealMatrix;
+import org.apache.commons.math3.linear.ConjugateGradient;
+import org.apache.commons.math3.linear.IncompleteCholeskyPreconditioner;
+import org.apache.commons.math3.linear.JacobiPreconditioner;
+import org.apache.commons.math3.linear.RealVector;
+import org.apache.commons.math3.linear.SSORPreconditioner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of preconditioned conjugate gradient solves, on the five points
+ * Laplacian of a square grid. The preconditioners are built inside the
+ * benchmarked methods, so their setup cost is included.
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PreconditionerBenchmark {
+
+    /** Number of points on each side of the grid. */
+    @Param({ "100", "300" })
+    private int side;
+
+    /** Laplacian matrix. */
+    private CompressedRowRealMatrix a;
+
+    /** Right hand side. */
+    private RealVector b;
+
+    /** Solver. */
+    private ConjugateGradient solver;
+
+    /** Creates the operands. */
+    @Setup
+    public void setUp() {
+        final int n = side * side;
+        final CompressedMatrixBuilder builder = new CompressedMatrixBuilder(n, n, 5 * n);
+        for (int i = 0; i < side; ++i) {
+            for (int j = 0; j < side; ++j) {
+                final int k = i * side + j;
+                builder.addEntry(k, k, 4);
+                if (i > 0) {
+                    builder.addEntry(k, k - side, -1);
+                }
+                if (i < side - 1) {
+                    builder.addEntry(k, k + side, -1);
+                }
+                if (j > 0) {
+                    builder.addEntry(k, k - 1, -1);
+                }
+                if (j < side - 1) {
+                    builder.addEntry(k, k + 1, -1);
+                }
+            }
+        }
+        a      = builder.buildRowMatrix();
+        b      = new ArrayRealVector(n, 1.0);
+        solver = new ConjugateGradient(100000, 1.0e-10, false);
+    }
+
+    /**
+     * Solve without preconditioner.
+     * @return solution
+     */
+    @Benchmark
+    public RealVector none() {
+        return solver.solve(a, b);
+    }
+
+    /**
+     * Solve with a Jacobi preconditioner.
+     * @return solution
+     */
+    @Benchmark
+    public RealVector jacobi() {
+        return solver.solve(a, JacobiPreconditioner.create(a), b);
+    }
+
+    /**
+     * Solve with an incomplete Cholesky preconditioner.
+     * @return solution
+     */
+    @Benchmark
+    public RealVector incompleteCholesky() {
+        return solver.solve(a, new IncompleteCholeskyPreconditioner(a), b);
+    }
+
+    /**
+     * Solve with a SSOR preconditioner.
+     * @return solution
+     */
+    @Benchmark
+    public RealVector ssor() {
+        return solver.solve(a, new SSORPreconditioner(a, 1.9), b);
+    }
+
+}
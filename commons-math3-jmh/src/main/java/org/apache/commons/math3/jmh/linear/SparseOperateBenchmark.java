@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.jmh.linear;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.linear.CompressedMatrixBuilder;
+import org.apache.commons.math3.linear.CompressedRowRealMatrix;
+import org.apache.commons.math3.linear.OpenMapRealMatrix;
+import org.apache.commons.math3.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of sparse matrix-vector products, on the five points
+ * Laplacian of a square grid.
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@SuppressWarnings("deprecation")
+public class SparseOperateBenchmark {
+
+    /** Number of points on each side of the grid. */
+    @Param({ "50", "200" })
+    private int side;
+
+    /** Matrix in compressed row storage. */
+    private CompressedRowRealMatrix compressed;
+
+    /** Matrix in hash map storage. */
+    private OpenMapRealMatrix openMap;
+
+    /** Vector operand. */
+    private double[] v;
+
+    /** Creates the operands. */
+    @Setup
+    public void setUp() {
+        final int n = side * side;
+        final CompressedMatrixBuilder builder = new CompressedMatrixBuilder(n, n, 5 * n);
+        openMap = new OpenMapRealMatrix(n, n);
+        v = new double[n];
+        for (int i = 0; i < side; ++i) {
+            for (int j = 0; j < side; ++j) {
+                final int k = i * side + j;
+                add(builder, k, k, 4);
+                if (i > 0) {
+                    add(builder, k, k - side, -1);
+                }
+                if (i < side - 1) {
+                    add(builder, k, k + side, -1);
+                }
+                if (j > 0) {
+                    add(builder, k, k - 1, -1);
+                }
+                if (j < side - 1) {
+                    add(builder, k, k + 1, -1);
+                }
+                v[k] = FastMath.sin(k);
+            }
+        }
+        compressed = builder.buildRowMatrix();
+    }
+
+    /**
+     * Adds an entry to both matrices.
+     * @param builder builder for the compressed matrix
+     * @param row row index
+     * @param column column index
+     * @param value entry value
+     */
+    private void add(final CompressedMatrixBuilder builder, final int row, final int column, final double value) {
+        builder.addEntry(row, column, value);
+        openMap.setEntry(row, column, value);
+    }
+
+    /**
+     * Product with the compressed row matrix.
+     * @return product
+     */
+    @Benchmark
+    public double[] compressedOperate() {
+        return compressed.operate(v);
+    }
+
+    /**
+     * Product with the hash map matrix.
+     * @return product
+     */
+    @Benchmark
+    public double[] openMapOperate() {
+        return openMap.operate(v);
+    }
+
+}
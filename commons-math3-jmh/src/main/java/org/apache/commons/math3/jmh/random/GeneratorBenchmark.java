@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.jmh.random;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.random.BitsStreamGenerator;
+import org.apache.commons.math3.random.ISAACRandom;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well1024a;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.random.Well44497b;
+import org.apache.commons.math3.random.Xoroshiro128PlusPlus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the {@link RandomGenerator random generators}.
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratorBenchmark {
+
+    /** Generator to benchmark. */
+    @Param({ "MersenneTwister", "Well1024a", "Well19937c", "Well44497b", "ISAACRandom", "Xoroshiro128PlusPlus" })
+    private String name;
+
+    /** Size of the buffers filled by the bulk benchmarks. */
+    private static final int BULK_SIZE = 1024;
+
+    /** Generator. */
+    private BitsStreamGenerator generator;
+
+    /** Buffer for the bulk int benchmarks. */
+    private final int[] ints = new int[BULK_SIZE];
+
+    /** Buffer for the bulk double benchmarks. */
+    private final double[] doubles = new double[BULK_SIZE];
+
+    /** Creates the generator. */
+    @Setup
+    public void setUp() {
+        final long seed = 0x2a6f9e13c4d8b750l;
+        if ("MersenneTwister".equals(name)) {
+            generator = new MersenneTwister(seed);
+        } else if ("Well1024a".equals(name)) {
+            generator = new Well1024a(seed);
+        } else if ("Well19937c".equals(name)) {
+            generator = new Well19937c(seed);
+        } else if ("Well44497b".equals(name)) {
+            generator = new Well44497b(seed);
+        } else if ("ISAACRandom".equals(name)) {
+            generator = new ISAACRandom(seed);
+        } else {
+            generator = new Xoroshiro128PlusPlus(seed);
+        }
+    }
+
+    /**
+     * Generates an int.
+     * @return random int
+     */
+    @Benchmark
+    public int nextInt() {
+        return generator.nextInt();
+    }
+
+    /**
+     * Generates a bounded int.
+     * @return random int
+     */
+    @Benchmark
+    public int nextIntBounded() {
+        return generator.nextInt(1000);
+    }
+
+    /**
+     * Generates a long.
+     * @return random long
+     */
+    @Benchmark
+    public long nextLong() {
+        return generator.nextLong();
+    }
+
+    /**
+     * Generates a double.
+     * @return random double
+     */
+    @Benchmark
+    public double nextDouble() {
+        return generator.nextDouble();
+    }
+
+    /**
+     * Generates a Gaussian double.
+     * @return random double
+     */
+    @Benchmark
+    public double nextGaussian() {
+        return generator.nextGaussian();
+    }
+
+    /**
+     * Fills a buffer with ints.
+     * @return filled buffer
+     */
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public int[] nextInts() {
+        generator.nextInts(ints);
+        return ints;
+    }
+
+    /**
+     * Fills a buffer with doubles.
+     * @return filled buffer
+     */
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public double[] nextDoubles() {
+        generator.nextDoubles(doubles);
+        return doubles;
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.jmh.random;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.random.BitsStreamGenerator;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.random.Xoroshiro128PlusPlus;
+import org.apache.commons.math3.random.ZigguratSampler;
+import org.apache.commons.math3.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the {@link ZigguratSampler ziggurat} normal and exponential
+ * samplers against the polar method and the inversion method.
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZigguratBenchmark {
+
+    /** Underlying generator. */
+    @Param({ "MersenneTwister", "Well19937c", "Xoroshiro128PlusPlus" })
+    private String name;
+
+    /** Generator. */
+    private BitsStreamGenerator generator;
+
+    /** Creates the generator. */
+    @Setup
+    public void setUp() {
+        final long seed = 0x5d3b0c6e1f24a987l;
+        if ("MersenneTwister".equals(name)) {
+            generator = new MersenneTwister(seed);
+        } else if ("Well19937c".equals(name)) {
+            generator = new Well19937c(seed);
+        } else {
+            generator = new Xoroshiro128PlusPlus(seed);
+        }
+    }
+
+    /**
+     * Generates a normal deviate using the polar method.
+     * @return random double
+     */
+    @Benchmark
+    public double gaussianPolar() {
+        return generator.nextGaussian();
+    }
+
+    /**
+     * Generates a normal deviate using the ziggurat method.
+     * @return random double
+     */
+    @Benchmark
+    public double gaussianZiggurat() {
+        return ZigguratSampler.nextGaussian(generator);
+    }
+
+    /**
+     * Generates an exponential deviate using the inversion method.
+     * @return random double
+     */
+    @Benchmark
+    public double exponentialInversion() {
+        return -FastMath.log(1.0 - generator.nextDouble());
+    }
+
+    /**
+     * Generates an exponential deviate using the ziggurat method.
+     * @return random double
+     */
+    @Benchmark
+    public double exponentialZiggurat() {
+        return ZigguratSampler.nextExponential(generator);
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.jmh.special;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.special.Gamma;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link Gamma} functions.
+ * <p>
+ * Each invocation processes a whole array of arguments, so the
+ * scores are per array and not per call.
+ * </p>
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GammaBenchmark {
+
+    /** Upper bound of the arguments. */
+    @Param({ "1", "8", "1000" })
+    private double range;
+
+    /** Arguments. */
+    private double[] args;
+
+    /** Creates random arguments. */
+    @Setup
+    public void setUp() {
+        final Well19937c random = new Well19937c(0x4e91d7a03c6b25f8l);
+        args = new double[1000];
+        for (int i = 0; i < args.length; ++i) {
+            args[i] = range * random.nextDouble() + Double.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Logarithm of the Gamma function.
+     * @return sum of the results
+     */
+    @Benchmark
+    public double logGamma() {
+        double sum = 0;
+        for (final double x : args) {
+            sum += Gamma.logGamma(x);
+        }
+        return sum;
+    }
+
+    /**
+     * Digamma function.
+     * @return sum of the results
+     */
+    @Benchmark
+    public double digamma() {
+        double sum = 0;
+        for (final double x : args) {
+            sum += Gamma.digamma(x);
+        }
+        return sum;
+    }
+
+}
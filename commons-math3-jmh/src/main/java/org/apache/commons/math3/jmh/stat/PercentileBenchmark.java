@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.jmh.stat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.stat.descriptive.rank.Percentile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link Percentile} evaluation.
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PercentileBenchmark {
+
+    /** Number of values. */
+    @Param({ "1000", "100000", "1000000" })
+    private int size;
+
+    /** Sample. */
+    private double[] values;
+
+    /** Percentile with data set. */
+    private Percentile stored;
+
+    /** Creates a random sample. */
+    @Setup
+    public void setUp() {
+        final Well19937c random = new Well19937c(0x7d02b6e4f1a8c359l);
+        values = new double[size];
+        for (int i = 0; i < size; ++i) {
+            values[i] = random.nextGaussian();
+        }
+        stored = new Percentile();
+        stored.setData(values);
+    }
+
+    /**
+     * Single median evaluation on a fresh array.
+     * @return median
+     */
+    @Benchmark
+    public double median() {
+        return new Percentile().evaluate(values, 50);
+    }
+
+    /**
+     * Several quantiles on stored data, reusing the cached pivots.
+     * @return sum of the quantiles
+     */
+    @Benchmark
+    public double quantiles() {
+        return stored.evaluate(50) + stored.evaluate(90) +
+               stored.evaluate(99) + stored.evaluate(99.9);
+    }
+
+}
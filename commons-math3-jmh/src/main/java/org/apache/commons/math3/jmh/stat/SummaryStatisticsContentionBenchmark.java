@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.jmh.stat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.stat.descriptive.ConcurrentSummaryStatistics;
+import org.apache.commons.math3.stat.descriptive.SynchronizedSummaryStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link SynchronizedSummaryStatistics} and {@link
+ * ConcurrentSummaryStatistics} when many threads add values.
+ * <p>
+ * The number of threads can be changed with the {@code -t} option
+ * of the benchmarks runner to check the scaling.
+ * </p>
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class SummaryStatisticsContentionBenchmark {
+
+    /** Statistics shared through a single monitor. */
+    private SynchronizedSummaryStatistics synchronizedStatistics;
+
+    /** Statistics sharded per thread. */
+    private ConcurrentSummaryStatistics concurrentStatistics;
+
+    /** Creates the shared statistics. */
+    @Setup
+    public void setUp() {
+        synchronizedStatistics = new SynchronizedSummaryStatistics();
+        concurrentStatistics   = new ConcurrentSummaryStatistics();
+    }
+
+    /** Per-thread source of values. */
+    @State(Scope.Thread)
+    public static class Values {
+
+        /** Current value. */
+        private double x;
+
+        /**
+         * Returns the next value.
+         * @return next value
+         */
+        double next() {
+            x = (x + 0.618034) % 1.0;
+            return x;
+        }
+
+    }
+
+    /**
+     * Adds a value to synchronized statistics.
+     * @param values per-thread source of values
+     */
+    @Benchmark
+    public void synchronizedAdd(final Values values) {
+        synchronizedStatistics.addValue(values.next());
+    }
+
+    /**
+     * Adds a value to sharded statistics.
+     * @param values per-thread source of values
+     */
+    @Benchmark
+    public void concurrentAdd(final Values values) {
+        concurrentStatistics.addValue(values.next());
+    }
+
+}
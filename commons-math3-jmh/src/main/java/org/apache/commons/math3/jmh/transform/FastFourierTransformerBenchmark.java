@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.jmh.transform;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.transform.DftNormalization;
+import org.apache.commons.math3.transform.FastFourierTransformer;
+import org.apache.commons.math3.transform.RealFastFourierTransformer;
+import org.apache.commons.math3.transform.TransformType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the {@link FastFourierTransformer} and
+ * {@link RealFastFourierTransformer}.
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FastFourierTransformerBenchmark {
+
+    /** Number of samples (must be a power of two). */
+    @Param({ "1024", "65536", "1048576" })
+    private int size;
+
+    /** Transformer. */
+    private FastFourierTransformer transformer;
+
+    /** Real transformer. */
+    private RealFastFourierTransformer realTransformer;
+
+    /** Real samples. */
+    private double[] real;
+
+    /** Buffer for in-place transforms. */
+    private double[] buffer;
+
+    /** Complex samples. */
+    private Complex[] complex;
+
+    /** Creates random signals. */
+    @Setup
+    public void setUp() {
+        final Well19937c random = new Well19937c(0x51f3c08e6a9d27b4l);
+        transformer     = new FastFourierTransformer(DftNormalization.STANDARD);
+        realTransformer = new RealFastFourierTransformer(DftNormalization.STANDARD);
+        real    = new double[size];
+        buffer  = new double[size];
+        complex = new Complex[size];
+        for (int i = 0; i < size; ++i) {
+            real[i]    = random.nextGaussian();
+            complex[i] = new Complex(real[i], random.nextGaussian());
+        }
+    }
+
+    /**
+     * Forward transform of a real signal.
+     * @return spectrum
+     */
+    @Benchmark
+    public Complex[] transformReal() {
+        return transformer.transform(real, TransformType.FORWARD);
+    }
+
+    /**
+     * Forward transform of a complex signal.
+     * @return spectrum
+     */
+    @Benchmark
+    public Complex[] transformComplex() {
+        return transformer.transform(complex, TransformType.FORWARD);
+    }
+
+    /**
+     * Forward transform of a real signal in a reused buffer, with packed spectrum.
+     * @return packed spectrum
+     */
+    @Benchmark
+    public double[] transformRealInPlace() {
+        System.arraycopy(real, 0, buffer, 0, size);
+        realTransformer.transformInPlace(buffer, TransformType.FORWARD);
+        return buffer;
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.jmh.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.special.Erf;
+import org.apache.commons.math3.special.Gamma;
+import org.apache.commons.math3.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the cold start cost of {@link FastMath}, {@link Gamma} and {@link Erf}.
+ * <p>
+ * Each fork is a fresh JVM in which a single call is measured, so the scores
+ * are dominated by class loading and static initialization (tables loading).
+ * Many forks are needed to get stable figures.
+ * </p>
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class ClassInitializationBenchmark {
+
+    /**
+     * First exponential, loading the exponential tables.
+     * @return exp(0.5)
+     */
+    @Benchmark
+    public double fastMathExp() {
+        return FastMath.exp(0.5);
+    }
+
+    /**
+     * First logarithm, loading the logarithm table.
+     * @return log(3)
+     */
+    @Benchmark
+    public double fastMathLog() {
+        return FastMath.log(3.0);
+    }
+
+    /**
+     * Initialization of the literal arrays alone, which is what the
+     * exponential and logarithm tables cost at start up.
+     * @return the initialized class
+     * @throws ClassNotFoundException if the class is missing
+     */
+    @Benchmark
+    public Class<?> fastMathLiteralArrays() throws ClassNotFoundException {
+        return Class.forName("org.apache.commons.math3.util.FastMathLiteralArrays");
+    }
+
+    /**
+     * First logarithm of the Gamma function.
+     * @return log(Gamma(4.5))
+     */
+    @Benchmark
+    public double logGamma() {
+        return Gamma.logGamma(4.5);
+    }
+
+    /**
+     * First error function.
+     * @return erf(0.5)
+     */
+    @Benchmark
+    public double erf() {
+        return Erf.erf(0.5);
+    }
+
+}
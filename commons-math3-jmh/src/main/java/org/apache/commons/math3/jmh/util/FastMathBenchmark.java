@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.jmh.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link FastMath} elementary functions, with
+ * {@link Math} as a reference.
+ * <p>
+ * Each invocation processes a whole array of arguments, so the
+ * scores are per array and not per call.
+ * </p>
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FastMathBenchmark {
+
+    /** Number of arguments per invocation. */
+    @Param({ "1000" })
+    private int size;
+
+    /** Arguments for exponential. */
+    private double[] expArgs;
+
+    /** Arguments for logarithm and power base. */
+    private double[] logArgs;
+
+    /** Power exponents. */
+    private double[] powArgs;
+
+    /** Results of the bulk functions. */
+    private double[] results;
+
+    /** Creates random arguments. */
+    @Setup
+    public void setUp() {
+        final Well19937c random = new Well19937c(0x0c4f7b2e95a1d638l);
+        expArgs = new double[size];
+        logArgs = new double[size];
+        powArgs = new double[size];
+        results = new double[size];
+        for (int i = 0; i < size; ++i) {
+            expArgs[i] = 100 * random.nextDouble() - 50;
+            logArgs[i] = 1.0e6 * random.nextDouble();
+            powArgs[i] = 20 * random.nextDouble() - 10;
+        }
+    }
+
+    /**
+     * FastMath exponential.
+     * @return sum of the results
+     */
+    @Benchmark
+    public double fastMathExp() {
+        double sum = 0;
+        for (final double x : expArgs) {
+            sum += FastMath.exp(x);
+        }
+        return sum;
+    }
+
+    /**
+     * Reference exponential.
+     * @return sum of the results
+     */
+    @Benchmark
+    public double mathExp() {
+        double sum = 0;
+        for (final double x : expArgs) {
+            sum += Math.exp(x);
+        }
+        return sum;
+    }
+
+    /**
+     * FastMath logarithm.
+     * @return sum of the results
+     */
+    @Benchmark
+    public double fastMathLog() {
+        double sum = 0;
+        for (final double x : logArgs) {
+            sum += FastMath.log(x);
+        }
+        return sum;
+    }
+
+    /**
+     * Reference logarithm.
+     * @return sum of the results
+     */
+    @Benchmark
+    public double mathLog() {
+        double sum = 0;
+        for (final double x : logArgs) {
+            sum += Math.log(x);
+        }
+        return sum;
+    }
+
+    /**
+     * FastMath power.
+     * @return sum of the results
+     */
+    @Benchmark
+    public double fastMathPow() {
+        double sum = 0;
+        for (int i = 0; i < size; ++i) {
+            sum += FastMath.pow(logArgs[i], powArgs[i]);
+        }
+        return sum;
+    }
+
+    /**
+     * Reference power.
+     * @return sum of the results
+     */
+    @Benchmark
+    public double mathPow() {
+        double sum = 0;
+        for (int i = 0; i < size; ++i) {
+            sum += Math.pow(logArgs[i], powArgs[i]);
+        }
+        return sum;
+    }
+
+    /**
+     * FastMath bulk exponential.
+     * @return results
+     */
+    @Benchmark
+    public double[] fastMathBulkExp() {
+        FastMath.exp(expArgs, results, 0, size);
+        return results;
+    }
+
+    /**
+     * FastMath bulk logarithm.
+     * @return results
+     */
+    @Benchmark
+    public double[] fastMathBulkLog() {
+        FastMath.log(logArgs, results, 0, size);
+        return results;
+    }
+
+    /**
+     * FastMath bulk power.
+     * @return results
+     */
+    @Benchmark
+    public double[] fastMathBulkPow() {
+        FastMath.pow(logArgs, powArgs, results, 0, size);
+        return results;
+    }
+
+}
@@ -197,7 +197,7 @@ public abstract class AbstractIntegerDistribution implements IntegerDistribution
      * {@inheritDoc}
      *
      * The default implementation generates the sample by calling
-     * {@link #sample()} in a loop.
+     * {@link #sample(int[])}.
      */
     public int[] sample(int sampleSize) {
         if (sampleSize <= 0) {
@@ -205,12 +205,27 @@ public abstract class AbstractIntegerDistribution implements IntegerDistribution
                     LocalizedFormats.NUMBER_OF_SAMPLES, sampleSize);
         }
         int[] out = new int[sampleSize];
-        for (int i = 0; i < sampleSize; i++) {
-            out[i] = sample();
-        }
+        sample(out);
         return out;
     }
 
+    /**
+     * Generate a random sample from the distribution into a caller-supplied buffer.
+     * <p>
+     * This method allows to draw large numbers of samples by chunks while
+     * reusing the same buffer. The default implementation generates the
+     * sample by calling {@link #sample()} in a loop.
+     * </p>
+     *
+     * @param samples array to fill with the generated samples
+     * @since 3.3
+     */
+    public void sample(int[] samples) {
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = sample();
+        }
+    }
+
     /**
      * Computes the cumulative probability function and checks for {@code NaN}
      * values returned. Throws {@code MathInternalError} if the value is
@@ -263,7 +263,7 @@ implements RealDistribution, Serializable {
      * {@inheritDoc}
      *
      * The default implementation generates the sample by calling
-     * {@link #sample()} in a loop.
+     * {@link #sample(double[])}.
      */
     public double[] sample(int sampleSize) {
         if (sampleSize <= 0) {
@@ -271,12 +271,27 @@ implements RealDistribution, Serializable {
                     sampleSize);
         }
         double[] out = new double[sampleSize];
-        for (int i = 0; i < sampleSize; i++) {
-            out[i] = sample();
-        }
+        sample(out);
         return out;
     }
 
+    /**
+     * Generate a random sample from the distribution into a caller-supplied buffer.
+     * <p>
+     * This method allows to draw large numbers of samples by chunks while
+     * reusing the same buffer. The default implementation generates the
+     * sample by calling {@link #sample()} in a loop.
+     * </p>
+     *
+     * @param samples array to fill with the generated samples
+     * @since 3.3
+     */
+    public void sample(double[] samples) {
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = sample();
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -19,6 +19,8 @@ package org.apache.commons.math3.distribution;
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import org.apache.commons.math3.exception.MathArithmeticException;
@@ -47,6 +49,13 @@ import org.apache.commons.math3.util.Pair;
  * &lt;"pig", 0.2&gt;, &lt;"dog", 0.1&gt;, &lt;null, 0.4&gt; is provided to the constructor, the resulting
  * pmf will assign mass of 0.5 to null, 0.3 to "dog" and 0.2 to null.</p>
  *
+ * <p>Sampling uses the alias method from Alastair J. Walker, with the construction
+ * from Michael D. Vose: <a href="http://dx.doi.org/10.1109/32.92917">A Linear
+ * Algorithm for Generating Random Numbers with a Given Distribution</a>, IEEE
+ * Transactions on Software Engineering, 17, 9 (1991). The alias table is built in
+ * linear time on the first call to {@link #sample()}, then each sample is drawn
+ * in constant time, regardless of the number of values.</p>
+ *
  * @param <T> type of the elements in the sample space.
  * @version $Id$
  * @since 3.2
@@ -71,6 +80,10 @@ public class EnumeratedDistribution<T> implements Serializable {
      * the value singletons[i].
      */
     private final double[] probabilities;
+    /**
+     * Alias table used for sampling, built on first use.
+     */
+    private transient AliasTable aliasTable;
 
     /**
      * Create an enumerated distribution using the given probability mass function
@@ -186,20 +199,26 @@ public class EnumeratedDistribution<T> implements Serializable {
      * @return a random value.
      */
     public T sample() {
-        final double randomValue = random.nextDouble();
-        double sum = 0;
+        final AliasTable table = getAliasTable();
 
-        for (int i = 0; i < probabilities.length; i++) {
-            sum += probabilities[i];
-            if (randomValue < sum) {
-                return singletons.get(i);
-            }
-        }
+        // a single uniform deviate selects both a column and a point within it
+        final double u = random.nextDouble() * probabilities.length;
+        final int column = (int) u;
+        final int index = (u - column < table.threshold[column]) ? column : table.alias[column];
+
+        return singletons.get(index);
+    }
 
-        /* This should never happen, but it ensures we will return a correct
-         * object in case the loop above has some floating point inequality
-         * problem on the final iteration. */
-        return singletons.get(singletons.size() - 1);
+    /**
+     * Get the alias table, building it if needed.
+     *
+     * @return alias table
+     */
+    private AliasTable getAliasTable() {
+        if (aliasTable == null) {
+            aliasTable = new AliasTable(probabilities);
+        }
+        return aliasTable;
     }
 
     /**
@@ -265,4 +284,139 @@ public class EnumeratedDistribution<T> implements Serializable {
 
     }
 
+    /**
+     * Alias table for sampling in constant time.
+     * <p>
+     * Each of the n columns has an area 1/n, shared between its own value, with
+     * probability {@code threshold[i]}, and one alias value. The instances are
+     * immutable, so they can be shared between threads.
+     * </p>
+     */
+    private static class AliasTable {
+
+        /** Probability to keep the column value rather than its alias. */
+        private final double[] threshold;
+
+        /** Alias of each column. */
+        private final int[] alias;
+
+        /**
+         * Build the table using Vose's method.
+         *
+         * @param probabilities normalized probabilities
+         */
+        AliasTable(final double[] probabilities) {
+            final int n = probabilities.length;
+            threshold = new double[n];
+            alias     = new int[n];
+
+            // scaled probabilities, split in two work lists
+            final double[] scaled = new double[n];
+            final int[] small = new int[n];
+            final int[] large = new int[n];
+            int nSmall = 0;
+            int nLarge = 0;
+            for (int i = 0; i < n; i++) {
+                scaled[i] = probabilities[i] * n;
+                if (scaled[i] < 1) {
+                    small[nSmall++] = i;
+                } else {
+                    large[nLarge++] = i;
+                }
+            }
+
+            // fill each small column with the excess of a large one
+            while (nSmall > 0 && nLarge > 0) {
+                final int s = small[--nSmall];
+                final int l = large[--nLarge];
+                threshold[s] = scaled[s];
+                alias[s]     = l;
+                scaled[l]    = (scaled[l] + scaled[s]) - 1;
+                if (scaled[l] < 1) {
+                    small[nSmall++] = l;
+                } else {
+                    large[nLarge++] = l;
+                }
+            }
+
+            // remaining columns are full, up to rounding errors
+            while (nLarge > 0) {
+                final int l = large[--nLarge];
+                threshold[l] = 1;
+                alias[l]     = l;
+            }
+            while (nSmall > 0) {
+                final int s = small[--nSmall];
+                threshold[s] = 1;
+                alias[s]     = s;
+            }
+        }
+
+    }
+
+    /**
+     * Cumulative probabilities at sorted values, for binary search.
+     * <p>
+     * The table is shared by {@link EnumeratedIntegerDistribution} and
+     * {@link EnumeratedRealDistribution}, the values being stored as doubles,
+     * which represent all integers exactly. The instances are immutable, so
+     * they can be shared between threads.
+     * </p>
+     */
+    static class CumulativeTable {
+
+        /** Values, in increasing order (duplicates are allowed). */
+        private final double[] values;
+
+        /** Cumulative probabilities, up to and including each value. */
+        private final double[] cumulative;
+
+        /**
+         * Build the table.
+         *
+         * @param pmf probability mass function, in any order
+         */
+        CumulativeTable(final List<? extends Pair<? extends Number, Double>> pmf) {
+            final List<Pair<? extends Number, Double>> sorted =
+                    new ArrayList<Pair<? extends Number, Double>>(pmf);
+            Collections.sort(sorted, new Comparator<Pair<? extends Number, Double>>() {
+                /** {@inheritDoc} */
+                public int compare(final Pair<? extends Number, Double> p1,
+                                   final Pair<? extends Number, Double> p2) {
+                    return Double.compare(p1.getKey().doubleValue(), p2.getKey().doubleValue());
+                }
+            });
+            values     = new double[sorted.size()];
+            cumulative = new double[sorted.size()];
+            double sum = 0;
+            for (int i = 0; i < values.length; i++) {
+                values[i]     = sorted.get(i).getKey().doubleValue();
+                sum          += sorted.get(i).getValue();
+                cumulative[i] = sum;
+            }
+        }
+
+        /**
+         * Compute the cumulative probability at a point.
+         *
+         * @param x point at which the CDF is evaluated
+         * @return probability that a random variable is less than or equal to {@code x}
+         */
+        double cumulativeProbability(final double x) {
+            // find the number of values less than or equal to x
+            int lo = 0;
+            int hi = values.length;
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (values[mid] <= x) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return (lo == 0) ? 0 : cumulative[lo - 1];
+        }
+
+    }
+
 }
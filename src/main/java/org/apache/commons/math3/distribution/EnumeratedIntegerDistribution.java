@@ -49,6 +49,11 @@ public class EnumeratedIntegerDistribution extends AbstractIntegerDistribution {
      */
     protected final EnumeratedDistribution<Integer> innerDistribution;
 
+    /**
+     * Sorted values and cumulative probabilities, built on first use.
+     */
+    private transient EnumeratedDistribution.CumulativeTable cumulativeTable;
+
     /**
      * Create a discrete distribution using the given probability mass function
      * definition.
@@ -111,15 +116,10 @@ public class EnumeratedIntegerDistribution extends AbstractIntegerDistribution {
      * {@inheritDoc}
      */
     public double cumulativeProbability(final int x) {
-        double probability = 0;
-
-        for (final Pair<Integer, Double> sample : innerDistribution.getPmf()) {
-            if (sample.getKey() <= x) {
-                probability += sample.getValue();
-            }
+        if (cumulativeTable == null) {
+            cumulativeTable = new EnumeratedDistribution.CumulativeTable(innerDistribution.getPmf());
         }
-
-        return probability;
+        return cumulativeTable.cumulativeProbability(x);
     }
 
     /**
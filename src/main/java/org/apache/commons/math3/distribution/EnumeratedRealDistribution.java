@@ -49,6 +49,11 @@ public class EnumeratedRealDistribution extends AbstractRealDistribution {
      */
     protected final EnumeratedDistribution<Double> innerDistribution;
 
+    /**
+     * Sorted values and cumulative probabilities, built on first use.
+     */
+    private transient EnumeratedDistribution.CumulativeTable cumulativeTable;
+
     /**
      * Create a discrete distribution using the given probability mass function
      * enumeration.
@@ -125,15 +130,10 @@ public class EnumeratedRealDistribution extends AbstractRealDistribution {
      * {@inheritDoc}
      */
     public double cumulativeProbability(final double x) {
-        double probability = 0;
-
-        for (final Pair<Double, Double> sample : innerDistribution.getPmf()) {
-            if (sample.getKey() <= x) {
-                probability += sample.getValue();
-            }
+        if (cumulativeTable == null) {
+            cumulativeTable = new EnumeratedDistribution.CumulativeTable(innerDistribution.getPmf());
         }
-
-        return probability;
+        return cumulativeTable.cumulativeProbability(x);
     }
 
     /**
@@ -24,6 +24,7 @@ import org.apache.commons.math3.util.ArithmeticUtils;
 import org.apache.commons.math3.util.ResizableDoubleArray;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.random.ZigguratRandomGenerator;
 
 /**
  * Implementation of the exponential distribution.
@@ -198,13 +199,20 @@ public class ExponentialDistribution extends AbstractRealDistribution {
      * <p><strong>Algorithm Description</strong>: this implementation uses the
      * <a href="http://www.jesus.ox.ac.uk/~clifford/a5/chap1/node5.html">
      * Inversion Method</a> to generate exponentially distributed random values
-     * from uniform deviates.</p>
+     * from uniform deviates. If the generator of this distribution is a {@link
+     * ZigguratRandomGenerator}, the ziggurat method is used instead, see
+     * {@link ZigguratRandomGenerator#nextExponential()}.</p>
      *
      * @return a random value.
      * @since 2.2
      */
     @Override
     public double sample() {
+        if (random instanceof ZigguratRandomGenerator) {
+            // opt-in ziggurat method
+            return mean * ((ZigguratRandomGenerator) random).nextExponential();
+        }
+
         // Step 1:
         double a = 0;
         double u = random.nextDouble();
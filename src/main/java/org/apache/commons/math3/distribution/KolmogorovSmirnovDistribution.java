@@ -20,7 +20,6 @@ package org.apache.commons.math3.distribution;
 import java.io.Serializable;
 import java.math.BigDecimal;
 
-import org.apache.commons.math3.exception.MathArithmeticException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
@@ -28,9 +27,8 @@ import org.apache.commons.math3.fraction.BigFraction;
 import org.apache.commons.math3.fraction.BigFractionField;
 import org.apache.commons.math3.fraction.FractionConversionException;
 import org.apache.commons.math3.linear.Array2DRowFieldMatrix;
-import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.apache.commons.math3.linear.FieldMatrix;
-import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.util.FastMath;
 
 /**
  * Implementation of the Kolmogorov-Smirnov distribution.
@@ -74,6 +72,21 @@ public class KolmogorovSmirnovDistribution implements Serializable {
     /** Serializable version identifier. */
     private static final long serialVersionUID = -4670676796862967187L;
 
+    /** Decimal exponent of the scale factor used in double precision computations. */
+    private static final int SCALE_EXPONENT = 140;
+
+    /** Threshold above which matrix powers are scaled down. */
+    private static final double SCALE_UP_THRESHOLD = 1.0e140;
+
+    /** Threshold below which probabilities are scaled up. */
+    private static final double SCALE_DOWN_THRESHOLD = 1.0e-140;
+
+    /** Factor for scaling down. */
+    private static final double SCALE_DOWN = 1.0e-140;
+
+    /** Factor for scaling up. */
+    private static final double SCALE_UP = 1.0e140;
+
     /** Number of observations. */
     private int n;
 
@@ -100,12 +113,9 @@ public class KolmogorovSmirnovDistribution implements Serializable {
      *
      * @param d statistic
      * @return the two-sided probability of {@code P(D_n < d)}
-     * @throws MathArithmeticException if algorithm fails to convert {@code h}
-     * to a {@link org.apache.commons.math3.fraction.BigFraction} in expressing
-     * {@code d} as {@code (k - h) / m} for integer {@code k, m} and
-     * {@code 0 <= h < 1}.
+     * @throws NumberIsTooLargeException if fractional part is greater than 1
      */
-    public double cdf(double d) throws MathArithmeticException {
+    public double cdf(double d) throws NumberIsTooLargeException {
         return this.cdf(d, false);
     }
 
@@ -120,12 +130,14 @@ public class KolmogorovSmirnovDistribution implements Serializable {
      *
      * @param d statistic
      * @return the two-sided probability of {@code P(D_n < d)}
-     * @throws MathArithmeticException if algorithm fails to convert {@code h}
-     * to a {@link org.apache.commons.math3.fraction.BigFraction} in expressing
-     * {@code d} as {@code (k - h) / m} for integer {@code k, m} and
+     * @throws NumberIsTooLargeException if fractional part is greater than 1
+     * @throws FractionConversionException if algorithm fails to convert
+     * {@code h} to a {@link org.apache.commons.math3.fraction.BigFraction} in
+     * expressing {@code d} as {@code (k - h) / m} for integer {@code k, m} and
      * {@code 0 <= h < 1}.
      */
-    public double cdfExact(double d) throws MathArithmeticException {
+    public double cdfExact(double d)
+        throws NumberIsTooLargeException, FractionConversionException {
         return this.cdf(d, true);
     }
 
@@ -141,12 +153,15 @@ public class KolmogorovSmirnovDistribution implements Serializable {
      * applications unless you are very sure; {@code true} is almost solely for
      * verification purposes.
      * @return the two-sided probability of {@code P(D_n < d)}
-     * @throws MathArithmeticException if algorithm fails to convert {@code h}
-     * to a {@link org.apache.commons.math3.fraction.BigFraction} in expressing
+     * @throws NumberIsTooLargeException if fractional part is greater than 1
+     * @throws FractionConversionException if {@code exact} is {@code true} and
+     * algorithm fails to convert {@code h} to a
+     * {@link org.apache.commons.math3.fraction.BigFraction} in expressing
      * {@code d} as {@code (k - h) / m} for integer {@code k, m} and
      * {@code 0 <= h < 1}.
      */
-    public double cdf(double d, boolean exact) throws MathArithmeticException {
+    public double cdf(double d, boolean exact)
+        throws NumberIsTooLargeException, FractionConversionException {
 
         final double ninv = 1 / ((double) n);
         final double ninvhalf = 0.5 * ninv;
@@ -186,12 +201,14 @@ public class KolmogorovSmirnovDistribution implements Serializable {
      *
      * @param d statistic
      * @return the two-sided probability of {@code P(D_n < d)}
-     * @throws MathArithmeticException if algorithm fails to convert {@code h}
-     * to a {@link org.apache.commons.math3.fraction.BigFraction} in expressing
-     * {@code d} as {@code (k - h) / m} for integer {@code k, m} and
+     * @throws NumberIsTooLargeException if fractional part is greater than 1
+     * @throws FractionConversionException if algorithm fails to convert
+     * {@code h} to a {@link org.apache.commons.math3.fraction.BigFraction} in
+     * expressing {@code d} as {@code (k - h) / m} for integer {@code k, m} and
      * {@code 0 <= h < 1}.
      */
-    private double exactK(double d) throws MathArithmeticException {
+    private double exactK(double d)
+        throws NumberIsTooLargeException, FractionConversionException {
 
         final int k = (int) Math.ceil(n * d);
 
@@ -215,41 +232,151 @@ public class KolmogorovSmirnovDistribution implements Serializable {
     /**
      * Calculates {@code P(D_n < d)} using method described in [1] and doubles
      * (see above).
+     * <p>
+     * The matrix {@code H} is built and raised to the power {@code n} directly
+     * in double precision. As in [1], the matrix is rescaled whenever its
+     * central entry becomes too large during exponentiation (and the product
+     * by {@code n! / n^n} whenever it becomes too small), the scaling being
+     * kept as a separate decimal exponent, so no overflow nor underflow can
+     * occur for large {@code n}.
+     * </p>
      *
      * @param d statistic
      * @return the two-sided probability of {@code P(D_n < d)}
-     * @throws MathArithmeticException if algorithm fails to convert {@code h}
-     * to a {@link org.apache.commons.math3.fraction.BigFraction} in expressing
-     * {@code d} as {@code (k - h) / m} for integer {@code k, m} and
-     * {@code 0 <= h < 1}.
+     * @throws NumberIsTooLargeException if fractional part is greater than 1
      */
-    private double roundedK(double d) throws MathArithmeticException {
+    private double roundedK(double d) throws NumberIsTooLargeException {
 
         final int k = (int) Math.ceil(n * d);
-        final FieldMatrix<BigFraction> HBigFraction = this.createH(d);
-        final int m = HBigFraction.getRowDimension();
+        final double[][] H = createRoundedH(d);
 
-        /*
-         * Here the rounding part comes into play: use
-         * RealMatrix instead of FieldMatrix<BigFraction>
-         */
-        final RealMatrix H = new Array2DRowRealMatrix(m, m);
+        final int[] exponent = new int[1];
+        final double[][] Hpower = power(H, n, exponent);
+
+        double pFrac = Hpower[k - 1][k - 1];
+        int e = exponent[0];
+        for (int i = 1; i <= n; ++i) {
+            pFrac *= (double) i / (double) n;
+            if (pFrac < SCALE_DOWN_THRESHOLD) {
+                pFrac *= SCALE_UP;
+                e    -= SCALE_EXPONENT;
+            }
+        }
+
+        return pFrac * FastMath.pow(10.0, e);
+    }
+
+    /**
+     * Creates {@code H} of size {@code m x m} as described in [1] (see above),
+     * in double precision.
+     *
+     * @param d statistic
+     * @return H matrix
+     * @throws NumberIsTooLargeException if fractional part is greater than 1
+     */
+    private double[][] createRoundedH(double d) throws NumberIsTooLargeException {
+
+        final int k = (int) Math.ceil(n * d);
+        final int m = 2 * k - 1;
+        final double h = k - n * d;
+        if (h >= 1) {
+            throw new NumberIsTooLargeException(h, 1.0, false);
+        }
 
+        // same structure as in createH, see the comments there
+        final double[][] Hdata = new double[m][m];
         for (int i = 0; i < m; ++i) {
             for (int j = 0; j < m; ++j) {
-                H.setEntry(i, j, HBigFraction.getEntry(i, j).doubleValue());
+                Hdata[i][j] = (i - j + 1 < 0) ? 0 : 1;
             }
         }
 
-        final RealMatrix Hpower = H.power(n);
+        final double[] hPowers = new double[m];
+        hPowers[0] = h;
+        for (int i = 1; i < m; ++i) {
+            hPowers[i] = h * hPowers[i - 1];
+        }
 
-        double pFrac = Hpower.getEntry(k - 1, k - 1);
+        for (int i = 0; i < m; ++i) {
+            Hdata[i][0] -= hPowers[i];
+            Hdata[m - 1][i] -= hPowers[m - i - 1];
+        }
 
-        for (int i = 1; i <= n; ++i) {
-            pFrac *= (double) i / (double) n;
+        if (2 * h - 1 > 0) {
+            Hdata[m - 1][0] += FastMath.pow(2 * h - 1, m);
+        }
+
+        for (int i = 0; i < m; ++i) {
+            for (int j = 0; j < i + 1; ++j) {
+                for (int g = 2; g <= i - j + 1; ++g) {
+                    Hdata[i][j] /= g;
+                }
+            }
         }
 
-        return pFrac;
+        return Hdata;
+    }
+
+    /**
+     * Computes a power of a square matrix, with rescaling.
+     *
+     * @param a matrix
+     * @param p power (strictly positive)
+     * @param exponent placeholder for the decimal exponent of the scale
+     * factor of the result (the true power is {@code result * 10^exponent[0]})
+     * @return the scaled power of the matrix
+     */
+    private static double[][] power(final double[][] a, final int p, final int[] exponent) {
+
+        if (p == 1) {
+            exponent[0] = 0;
+            return a;
+        }
+
+        final double[][] half = power(a, p / 2, exponent);
+        double[][] result = multiply(half, half);
+        exponent[0] *= 2;
+        if (p % 2 == 1) {
+            result = multiply(a, result);
+        }
+
+        final int m = result.length;
+        if (result[m / 2][m / 2] > SCALE_UP_THRESHOLD) {
+            for (final double[] row : result) {
+                for (int j = 0; j < m; ++j) {
+                    row[j] *= SCALE_DOWN;
+                }
+            }
+            exponent[0] += SCALE_EXPONENT;
+        }
+
+        return result;
+    }
+
+    /**
+     * Multiplies two square matrices.
+     *
+     * @param a left matrix
+     * @param b right matrix
+     * @return the product {@code a b}
+     */
+    private static double[][] multiply(final double[][] a, final double[][] b) {
+        final int m = a.length;
+        final double[][] c = new double[m][m];
+        for (int i = 0; i < m; ++i) {
+            final double[] ai = a[i];
+            final double[] ci = c[i];
+            for (int l = 0; l < m; ++l) {
+                final double ail = ai[l];
+                if (ail != 0) {
+                    final double[] bl = b[l];
+                    for (int j = 0; j < m; ++j) {
+                        ci[j] += ail * bl[j];
+                    }
+                }
+            }
+        }
+        return c;
     }
 
     /***
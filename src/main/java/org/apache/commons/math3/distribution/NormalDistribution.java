@@ -262,7 +262,15 @@ public class NormalDistribution extends AbstractRealDistribution {
         return true;
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * <p><strong>Algorithm Description</strong>: this implementation uses the
+     * {@code nextGaussian()} method of the generator of this distribution, so
+     * wrapping that generator in a {@link
+     * org.apache.commons.math3.random.ZigguratRandomGenerator
+     * ZigguratRandomGenerator} opts in to the ziggurat method.</p>
+     */
     @Override
     public double sample()  {
         return standardDeviation * random.nextGaussian() + mean;
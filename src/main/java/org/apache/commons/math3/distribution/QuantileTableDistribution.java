@@ -0,0 +1,448 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.distribution;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+import org.apache.commons.math3.util.ResizableDoubleArray;
+
+/**
+ * Wrapper around a continuous distribution providing fast quantiles and
+ * sampling by inversion thanks to a precomputed table.
+ * <p>
+ * The {@link AbstractRealDistribution#inverseCumulativeProbability(double)
+ * default inversion} solves {@code F(x) = p} with a bracketing solver, which
+ * costs tens of evaluations of the cumulative distribution function for each
+ * quantile (and hence for each sample). This wrapper instead interpolates the
+ * quantile function {@code x(u)} of the wrapped distribution with monotone
+ * piecewise cubic Hermite polynomials, whose slopes at the nodes are the
+ * inverse of the density. The nodes are refined adaptively at construction
+ * until the <em>u-error</em> {@code |F(x(u)) - u|} is below the requested
+ * accuracy at several test points of each interval, so that the quantiles
+ * are as good as the exact ones for simulation purposes. Each quantile then
+ * only costs a binary search and the evaluation of a cubic polynomial.
+ * </p>
+ * <p>
+ * The far tails, where probabilities are below the accuracy, and the
+ * intervals where the refinement does not converge (near singularities of
+ * the density for example) are not tabulated: the quantiles there are
+ * delegated to the wrapped distribution. All the other methods (density,
+ * cumulative probability, moments, support) are delegated too.
+ * </p>
+ *
+ * @see <a href="http://dx.doi.org/10.1145/1689439.1689441">W. H&ouml;rmann and
+ * J. Leydold, <i>Approximate inversion of continuous distributions</i>, ACM
+ * Transactions on Modeling and Computer Simulation 20 (2010)</a>
+ * @version $Id$
+ * @since 3.3
+ */
+public class QuantileTableDistribution extends AbstractRealDistribution {
+
+    /** Default u-error of the quantiles. */
+    public static final double DEFAULT_ACCURACY = 1.0e-10;
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20131018L;
+
+    /** Number of intervals of the initial grid. */
+    private static final int INITIAL_INTERVALS = 16;
+
+    /** Maximal number of bisections of an initial interval. */
+    private static final int MAX_DEPTH = 40;
+
+    /** Positions of the test points in each interval. */
+    private static final double[] TEST_POINTS = { 0.2, 0.5, 0.8 };
+
+    /** Number of entries per interval in the coefficients array. */
+    private static final int STRIDE = 5;
+
+    /** Wrapped distribution. */
+    private final RealDistribution distribution;
+
+    /** Maximal u-error of the tabulated quantiles. */
+    private final double accuracy;
+
+    /** Probabilities at the start of the intervals, followed by the end of the last one. */
+    private final double[] nodes;
+
+    /**
+     * Polynomials of the intervals: for each interval, the coefficients
+     * c<sub>0</sub> to c<sub>3</sub> of {@code x = c0 + t (c1 + t (c2 + t c3))},
+     * followed by the inverse of the interval width in {@code u} (so that
+     * {@code t} is between 0 and 1). The first coefficient is NaN for the
+     * intervals delegated to the wrapped distribution.
+     */
+    private final double[] coefficients;
+
+    /**
+     * Builds the quantile table of a distribution, with the
+     * {@link #DEFAULT_ACCURACY default accuracy}.
+     *
+     * @param distribution Continuous distribution to wrap.
+     * @throws NullArgumentException if {@code distribution} is {@code null}.
+     */
+    public QuantileTableDistribution(final RealDistribution distribution)
+        throws NullArgumentException {
+        this(distribution, DEFAULT_ACCURACY);
+    }
+
+    /**
+     * Builds the quantile table of a distribution.
+     *
+     * @param distribution Continuous distribution to wrap.
+     * @param accuracy Maximal u-error of the tabulated quantiles.
+     * @throws NullArgumentException if {@code distribution} is {@code null}.
+     * @throws NotStrictlyPositiveException if {@code accuracy <= 0}.
+     * @throws NumberIsTooLargeException if {@code accuracy >= 0.5}.
+     */
+    public QuantileTableDistribution(final RealDistribution distribution,
+                                     final double accuracy)
+        throws NullArgumentException, NotStrictlyPositiveException, NumberIsTooLargeException {
+        this(new Well19937c(), distribution, accuracy);
+    }
+
+    /**
+     * Builds the quantile table of a distribution.
+     *
+     * @param rng Random number generator.
+     * @param distribution Continuous distribution to wrap.
+     * @param accuracy Maximal u-error of the tabulated quantiles.
+     * @throws NullArgumentException if {@code distribution} is {@code null}.
+     * @throws NotStrictlyPositiveException if {@code accuracy <= 0}.
+     * @throws NumberIsTooLargeException if {@code accuracy >= 0.5}.
+     */
+    public QuantileTableDistribution(final RandomGenerator rng,
+                                     final RealDistribution distribution,
+                                     final double accuracy)
+        throws NullArgumentException, NotStrictlyPositiveException, NumberIsTooLargeException {
+        super(rng);
+        MathUtils.checkNotNull(distribution);
+        if (accuracy <= 0) {
+            throw new NotStrictlyPositiveException(accuracy);
+        }
+        if (accuracy >= 0.5) {
+            throw new NumberIsTooLargeException(accuracy, 0.5, false);
+        }
+        this.distribution = distribution;
+        this.accuracy     = accuracy;
+
+        final ResizableDoubleArray u = new ResizableDoubleArray();
+        final ResizableDoubleArray c = new ResizableDoubleArray();
+        buildTable(u, c);
+        nodes        = u.getElements();
+        coefficients = c.getElements();
+    }
+
+    /**
+     * Get the wrapped distribution.
+     *
+     * @return the wrapped distribution.
+     */
+    public RealDistribution getDistribution() {
+        return distribution;
+    }
+
+    /**
+     * Get the maximal u-error of the tabulated quantiles.
+     *
+     * @return the accuracy.
+     */
+    public double getAccuracy() {
+        return accuracy;
+    }
+
+    /**
+     * Get the number of intervals of the table.
+     *
+     * @return the number of intervals.
+     */
+    public int getNumberOfIntervals() {
+        return coefficients.length / STRIDE;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The quantile is interpolated from the table if {@code p} is within
+     * its range, and computed by the wrapped distribution otherwise.
+     */
+    @Override
+    public double inverseCumulativeProbability(final double p) throws OutOfRangeException {
+        if (p < 0.0 || p > 1.0) {
+            throw new OutOfRangeException(p, 0, 1);
+        }
+
+        final int last = nodes.length - 1;
+        if (last < 1 || !(p >= nodes[0] && p < nodes[last])) {
+            return distribution.inverseCumulativeProbability(p);
+        }
+
+        int index = Arrays.binarySearch(nodes, p);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        final int k = index * STRIDE;
+        if (Double.isNaN(coefficients[k])) {
+            return distribution.inverseCumulativeProbability(p);
+        }
+
+        final double t = (p - nodes[index]) * coefficients[k + 4];
+        return coefficients[k] +
+               t * (coefficients[k + 1] + t * (coefficients[k + 2] + t * coefficients[k + 3]));
+    }
+
+    /** {@inheritDoc} */
+    public double density(final double x) {
+        return distribution.density(x);
+    }
+
+    /** {@inheritDoc} */
+    public double cumulativeProbability(final double x) {
+        return distribution.cumulativeProbability(x);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @deprecated See {@link RealDistribution#cumulativeProbability(double,double)}
+     */
+    @Override
+    @Deprecated
+    public double cumulativeProbability(final double x0, final double x1)
+        throws NumberIsTooLargeException {
+        return distribution.cumulativeProbability(x0, x1);
+    }
+
+    /** {@inheritDoc} */
+    public double getNumericalMean() {
+        return distribution.getNumericalMean();
+    }
+
+    /** {@inheritDoc} */
+    public double getNumericalVariance() {
+        return distribution.getNumericalVariance();
+    }
+
+    /** {@inheritDoc} */
+    public double getSupportLowerBound() {
+        return distribution.getSupportLowerBound();
+    }
+
+    /** {@inheritDoc} */
+    public double getSupportUpperBound() {
+        return distribution.getSupportUpperBound();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @deprecated to be removed in 4.0
+     */
+    @Deprecated
+    public boolean isSupportLowerBoundInclusive() {
+        return distribution.isSupportLowerBoundInclusive();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @deprecated to be removed in 4.0
+     */
+    @Deprecated
+    public boolean isSupportUpperBoundInclusive() {
+        return distribution.isSupportUpperBoundInclusive();
+    }
+
+    /** {@inheritDoc} */
+    public boolean isSupportConnected() {
+        return distribution.isSupportConnected();
+    }
+
+    /**
+     * Builds the table.
+     * <p>
+     * The initial grid is made of the quantiles of equally spaced
+     * probabilities, between {@code accuracy} and {@code 1 - accuracy}.
+     * Each interval of the grid is then bisected (in {@code x}) until
+     * its interpolating polynomial is accurate enough.
+     * </p>
+     *
+     * @param u Placeholder for the probabilities at the nodes.
+     * @param c Placeholder for the coefficients of the polynomials.
+     */
+    private void buildTable(final ResizableDoubleArray u, final ResizableDoubleArray c) {
+
+        final double[] x = new double[INITIAL_INTERVALS + 1];
+        int n = 0;
+        for (int i = 0; i <= INITIAL_INTERVALS; ++i) {
+            final double p = accuracy + i * (1 - 2 * accuracy) / INITIAL_INTERVALS;
+            final double xi = distribution.inverseCumulativeProbability(p);
+            if (!(Double.isInfinite(xi) || Double.isNaN(xi)) && (n == 0 || xi > x[n - 1])) {
+                x[n++] = xi;
+            }
+        }
+        if (n < 2) {
+            // the quantiles cannot be tabulated, everything is delegated
+            return;
+        }
+
+        // the densities may be singular at the support bounds, keep the end nodes inside
+        if (x[0] <= distribution.getSupportLowerBound()) {
+            x[0] = innerNode(x[0], x[1], accuracy);
+        }
+        if (x[n - 1] >= distribution.getSupportUpperBound()) {
+            x[n - 1] = innerNode(x[n - 1], x[n - 2], 1 - accuracy);
+        }
+
+        double xL = x[0];
+        double uL = distribution.cumulativeProbability(xL);
+        double fL = distribution.density(xL);
+        u.addElement(uL);
+        for (int i = 1; i < n; ++i) {
+            final double xR = x[i];
+            final double uR = FastMath.max(uL, distribution.cumulativeProbability(xR));
+            final double fR = distribution.density(xR);
+            refine(xL, uL, fL, xR, uR, fR, 0, u, c);
+            xL = xR;
+            uL = uR;
+            fL = fR;
+        }
+
+    }
+
+    /**
+     * Recursively tabulates an interval.
+     *
+     * @param xL Lower bound of the interval.
+     * @param uL Cumulative probability at {@code xL}.
+     * @param fL Density at {@code xL}.
+     * @param xR Upper bound of the interval.
+     * @param uR Cumulative probability at {@code xR} (not smaller than {@code uL}).
+     * @param fR Density at {@code xR}.
+     * @param depth Number of bisections already performed.
+     * @param u Placeholder for the probabilities at the nodes.
+     * @param c Placeholder for the coefficients of the polynomials.
+     */
+    private void refine(final double xL, final double uL, final double fL,
+                        final double xR, final double uR, final double fR,
+                        final int depth,
+                        final ResizableDoubleArray u, final ResizableDoubleArray c) {
+
+        final double width = uR - uL;
+        if (width <= 0) {
+            // flat cumulative probability, there is nothing to tabulate
+            return;
+        }
+
+        // monotone cubic Hermite interpolation (Fritsch-Carlson slopes limiting)
+        final double dx     = xR - xL;
+        final double secant = dx / width;
+        double dL = slope(fL, secant);
+        double dR = slope(fR, secant);
+        final double a = dL / secant;
+        final double b = dR / secant;
+        final double norm = a * a + b * b;
+        if (norm > 9) {
+            final double tau = 3 / FastMath.sqrt(norm);
+            dL *= tau;
+            dR *= tau;
+        }
+        final double c1 = width * dL;
+        final double c2 = 3 * dx - width * (2 * dL + dR);
+        final double c3 = width * (dL + dR) - 2 * dx;
+
+        boolean accurate = true;
+        for (final double t : TEST_POINTS) {
+            final double xT = xL + t * (c1 + t * (c2 + t * c3));
+            final double uT = uL + t * width;
+            if (!(FastMath.abs(distribution.cumulativeProbability(xT) - uT) <= accuracy)) {
+                accurate = false;
+                break;
+            }
+        }
+
+        if (!accurate && depth < MAX_DEPTH) {
+            final double xM = 0.5 * (xL + xR);
+            if (xM > xL && xM < xR) {
+                final double uM = FastMath.min(uR, FastMath.max(uL, distribution.cumulativeProbability(xM)));
+                final double fM = distribution.density(xM);
+                refine(xL, uL, fL, xM, uM, fM, depth + 1, u, c);
+                refine(xM, uM, fM, xR, uR, fR, depth + 1, u, c);
+                return;
+            }
+        }
+
+        c.addElement(accurate ? xL : Double.NaN);
+        c.addElement(c1);
+        c.addElement(c2);
+        c.addElement(c3);
+        c.addElement(1 / width);
+        u.addElement(uR);
+
+    }
+
+    /**
+     * Finds a node strictly inside the support, near a bound.
+     * <p>
+     * The node is found by bisection between the bound and an inner
+     * point, and is as close to the bound as possible while keeping
+     * the cumulative probability on the inner side of a target.
+     * </p>
+     *
+     * @param bound Support bound.
+     * @param inner Point strictly inside the support.
+     * @param target Target cumulative probability.
+     * @return a point between {@code bound} (excluded) and {@code inner}.
+     */
+    private double innerNode(final double bound, final double inner, final double target) {
+        final boolean lower = bound < inner;
+        double outside = bound;
+        double inside  = inner;
+        while (true) {
+            final double middle = 0.5 * (outside + inside);
+            if (middle == outside || middle == inside) {
+                return inside;
+            }
+            final double p = distribution.cumulativeProbability(middle);
+            if (lower ? p < target : p > target) {
+                outside = middle;
+            } else {
+                inside = middle;
+            }
+        }
+    }
+
+    /**
+     * Computes the slope of the quantile function at a node.
+     *
+     * @param density Density at the node.
+     * @param secant Slope of the secant of the interval.
+     * @return the slope, or the secant slope if the density is
+     * zero, infinite or NaN.
+     */
+    private static double slope(final double density, final double secant) {
+        final double slope = 1 / density;
+        return (slope > 0 && !Double.isInfinite(slope)) ? slope : secant;
+    }
+
+}
@@ -20,6 +20,7 @@ package org.apache.commons.math3.distribution;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.random.BitsStreamGenerator;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.random.Well19937c;
 
@@ -227,4 +228,26 @@ public class UniformRealDistribution extends AbstractRealDistribution {
         final double u = random.nextDouble();
         return u * upper + (1 - u) * lower;
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * When the underlying generator is a {@link BitsStreamGenerator}, the
+     * uniform deviates are generated in bulk using {@link
+     * BitsStreamGenerator#nextDoubles(double[])}.
+     *
+     * @since 3.3
+     */
+    @Override
+    public void sample(double[] samples) {
+        if (random instanceof BitsStreamGenerator) {
+            ((BitsStreamGenerator) random).nextDoubles(samples);
+            for (int i = 0; i < samples.length; i++) {
+                final double u = samples[i];
+                samples[i] = u * upper + (1 - u) * lower;
+            }
+        } else {
+            super.sample(samples);
+        }
+    }
 }
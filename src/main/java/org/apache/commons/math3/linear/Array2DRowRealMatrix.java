@@ -18,6 +18,10 @@
 package org.apache.commons.math3.linear;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.MathIllegalStateException;
@@ -27,6 +31,8 @@ import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.NumberIsTooSmallException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.util.ConcurrencyUtils;
+import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.util.MathUtils;
 
 /**
@@ -39,6 +45,9 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
     /** Serializable version identifier. */
     private static final long serialVersionUID = -1067294169172445528L;
 
+    /** Minimal number of entries handled by one task in parallel products. */
+    private static final int MIN_SLICE_ENTRIES = 16384;
+
     /** Entries of the matrix. */
     private double data[][];
 
@@ -248,6 +257,39 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
         return new Array2DRowRealMatrix(outData, false);
     }
 
+    /**
+     * Returns the result of postmultiplying {@code this} by {@code m},
+     * using the specified inner kernel.
+     *
+     * @param m matrix to postmultiply by
+     * @param kernel inner kernel to use
+     * @return {@code this * m}
+     * @throws DimensionMismatchException if
+     * {@code columnDimension(this) != rowDimension(m)}
+     * @throws NullArgumentException if {@code kernel} is {@code null}.
+     * @see #multiply(Array2DRowRealMatrix)
+     * @since 3.3
+     */
+    public Array2DRowRealMatrix multiplyWithKernel(final Array2DRowRealMatrix m,
+                                                   final MultiplicationKernel kernel)
+        throws DimensionMismatchException, NullArgumentException {
+        MathUtils.checkNotNull(kernel);
+        if (kernel == MultiplicationKernel.CLASSICAL) {
+            return multiply(m);
+        }
+
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+
+        final int nRows = this.getRowDimension();
+        final int nCols = m.getColumnDimension();
+        final int nSum = this.getColumnDimension();
+
+        final double[][] outData = new double[nRows][nCols];
+        new TiledMultiplication().multiply(data, m.data, outData, nRows, nCols, nSum);
+
+        return new Array2DRowRealMatrix(outData, false);
+    }
+
     /** {@inheritDoc} */
     @Override
     public double[][] getData() {
@@ -355,7 +397,118 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
             throw new DimensionMismatchException(v.length, nCols);
         }
         final double[] out = new double[nRows];
-        for (int row = 0; row < nRows; row++) {
+        operateRows(v, out, 0, nRows);
+        return out;
+    }
+
+    /**
+     * Returns the result of multiplying this by the vector {@code v}, using
+     * several threads.
+     * <p>
+     * The rows are split in contiguous slices, each task submitted to the
+     * {@code executor} handling one slice, so the result is identical to the
+     * one computed by {@link #operate(double[])}. The {@code executor} is not
+     * shut down by this method.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param executor Executor service running the rows slices tasks.
+     * @return {@code this * v}
+     * @throws DimensionMismatchException if the length of {@code v} does not
+     * match the column dimension of {@code this}.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the computation is interrupted.
+     * @since 3.3
+     */
+    public double[] operate(final double[] v, final ExecutorService executor)
+        throws DimensionMismatchException, NullArgumentException, MathIllegalStateException {
+        final int nRows = this.getRowDimension();
+        final int nCols = this.getColumnDimension();
+        if (v.length != nCols) {
+            throw new DimensionMismatchException(v.length, nCols);
+        }
+        final double[] out = new double[nRows];
+        operateRows(v, out, executor);
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If both vectors are {@link ArrayRealVector} instances, the product is
+     * written directly in the storage array of {@code y}.
+     * </p>
+     * @since 3.3
+     */
+    @Override
+    public void operate(final RealVector x, final RealVector y)
+        throws DimensionMismatchException {
+        if (x instanceof ArrayRealVector && y instanceof ArrayRealVector) {
+            final int nRows = this.getRowDimension();
+            final int nCols = this.getColumnDimension();
+            if (x.getDimension() != nCols) {
+                throw new DimensionMismatchException(x.getDimension(), nCols);
+            }
+            if (y.getDimension() != nRows) {
+                throw new DimensionMismatchException(y.getDimension(), nRows);
+            }
+            operateRows(((ArrayRealVector) x).getDataRef(), ((ArrayRealVector) y).getDataRef(), 0, nRows);
+        } else {
+            super.operate(x, y);
+        }
+    }
+
+    /**
+     * Multiplies the rows of this matrix by a vector, using several threads.
+     * <p>
+     * No dimension checks are performed.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param out output vector, all its entries are overwritten
+     * @param executor Executor service running the rows slices tasks.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the computation is interrupted.
+     */
+    void operateRows(final double[] v, final double[] out, final ExecutorService executor)
+        throws NullArgumentException, MathIllegalStateException {
+        final int nRows = getRowDimension();
+        final int nCols = getColumnDimension();
+        final int[] bounds =
+                ConcurrencyUtils.partition(nRows,
+                                           ConcurrencyUtils.slices(nRows,
+                                                                   FastMath.max(1, MIN_SLICE_ENTRIES / nCols)));
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(bounds.length - 1);
+        for (int k = 0; k < bounds.length - 1; ++k) {
+            final int from = bounds[k];
+            final int to   = bounds[k + 1];
+            tasks.add(new Callable<Void>() {
+                /** {@inheritDoc} */
+                public Void call() {
+                    operateRows(v, out, from, to);
+                    return null;
+                }
+            });
+        }
+        ConcurrencyUtils.invokeAll(executor, tasks);
+    }
+
+    /**
+     * Multiplies a range of rows of this matrix by a vector.
+     * <p>
+     * No dimension checks are performed, and only the entries of {@code out}
+     * corresponding to the range are written, so distinct ranges can be
+     * handled concurrently.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param out output vector
+     * @param from index of the first row of the range
+     * @param to index after the last row of the range
+     */
+    void operateRows(final double[] v, final double[] out, final int from, final int to) {
+        final int nCols = getColumnDimension();
+        for (int row = from; row < to; row++) {
             final double[] dataRow = data[row];
             double sum = 0;
             for (int i = 0; i < nCols; i++) {
@@ -363,7 +516,6 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
             }
             out[row] = sum;
         }
-        return out;
     }
 
     /** {@inheritDoc} */
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import org.apache.commons.math3.exception.ConvergenceException;
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MaxCountExceededException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.util.IterationManager;
+
+/**
+ * <p>
+ * This is an implementation of the biconjugate gradient stabilized method
+ * (BiCGSTAB) for {@link RealLinearOperator}. Unlike {@link ConjugateGradient}
+ * and {@link SymmLQ}, it does not require the linear operator to be
+ * self-adjoint. It follows closely the template by <a
+ * href="#BARR1994">Barrett et al. (1994)</a> (figure 2.10). The linear system
+ * at hand is A &middot; x = b, and the residual is r = b - A &middot; x.
+ * </p>
+ * <h3>Preconditioning</h3>
+ * <p>
+ * The preconditioner M, which approximates A<sup>-1</sup>, is applied on the
+ * right: the solver works on the system (A &middot; M) &middot; y = b, with
+ * x = M &middot; y. The residual of the preconditioned system is therefore the
+ * same as the residual of the original system. M does not need to be
+ * self-adjoint.
+ * </p>
+ * <h3><a id="stopcrit">Default stopping criterion</a></h3>
+ * <p>
+ * A default stopping criterion is implemented. The iterations stop when || r ||
+ * &le; &delta; || b ||, where b is the right-hand side vector, r the current
+ * estimate of the residual, and &delta; a user-specified tolerance. As for
+ * {@link ConjugateGradient}, r is the <em>updated</em> residual, which might
+ * differ from the true residual due to rounding-off errors.
+ * </p>
+ * <h3>Iteration count</h3>
+ * <p>
+ * In the present context, an iteration should be understood as one step of the
+ * method, which requires <em>two</em> evaluations of the matrix-vector product
+ * A &middot; x (and two applications of the preconditioner, if any). The
+ * initialization phase counts as one iteration.
+ * </p>
+ * <h3>Breakdown</h3>
+ * <p>
+ * The method may break down if one of the scalar products involved in the
+ * computation of its coefficients vanishes, while the stopping criterion is not
+ * met. In this case, a {@link ConvergenceException} is thrown. Restarting the
+ * solver from the current estimate of the solution, or using
+ * {@link GMRES}, are possible remedies.
+ * </p>
+ * <h3>References</h3>
+ * <dl>
+ * <dt><a id="BARR1994">Barret et al. (1994)</a></dt>
+ * <dd>R. Barrett, M. Berry, T. F. Chan, J. Demmel, J. M. Donato, J. Dongarra,
+ * V. Eijkhout, R. Pozo, C. Romine and H. Van der Vorst,
+ * <a href="http://www.netlib.org/linalg/html_templates/Templates.html"><em>
+ * Templates for the Solution of Linear Systems: Building Blocks for Iterative
+ * Methods</em></a>, SIAM</dd>
+ * <dt><a id="VORS1992">Van der Vorst (1992)</a></dt>
+ * <dd>H. A. Van der Vorst, <em>Bi-CGSTAB: A Fast and Smoothly Converging
+ * Variant of Bi-CG for the Solution of Nonsymmetric Linear Systems</em>, SIAM
+ * Journal on Scientific and Statistical Computing 13(2): 631-644, 1992</dd>
+ * </dl>
+ *
+ * @see GMRES
+ * @version $Id$
+ * @since 3.3
+ */
+public class BiCGSTAB extends PreconditionedIterativeLinearSolver {
+
+    /** The value of &delta;, for the default stopping criterion. */
+    private final double delta;
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a>.
+     *
+     * @param maxIterations the maximum number of iterations
+     * @param delta the &delta; parameter for the default stopping criterion
+     */
+    public BiCGSTAB(final int maxIterations, final double delta) {
+        super(maxIterations);
+        this.delta = delta;
+    }
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a> and custom iteration manager.
+     *
+     * @param manager the custom iteration manager
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @throws NullArgumentException if {@code manager} is {@code null}
+     */
+    public BiCGSTAB(final IterationManager manager, final double delta)
+        throws NullArgumentException {
+        super(manager);
+        this.delta = delta;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws ConvergenceException if the method breaks down
+     */
+    @Override
+    public RealVector solveInPlace(final RealLinearOperator a,
+                                   final RealLinearOperator m,
+                                   final RealVector b,
+                                   final RealVector x0)
+        throws NullArgumentException, NonSquareOperatorException,
+        DimensionMismatchException, MaxCountExceededException,
+        ConvergenceException {
+        checkParameters(a, m, b, x0);
+        final IterationManager manager = getIterationManager();
+        // Initialization of default stopping criterion
+        manager.resetIterationCount();
+        final double rmax = delta * b.getNorm();
+        final RealVector bro = RealVector.unmodifiableRealVector(b);
+
+        // Initialization phase counts as one iteration.
+        manager.incrementIterationCount();
+        final int n = a.getColumnDimension();
+        final RealVector x = x0;
+        final RealVector xro = RealVector.unmodifiableRealVector(x);
+        final RealVector r = new ArrayRealVector(n);
+        a.operate(x, r);
+        r.combineToSelf(-1., 1., b);
+        final RealVector rro = RealVector.unmodifiableRealVector(r);
+        double rnorm = r.getNorm();
+        IterativeLinearSolverEvent evt;
+        evt = new DefaultIterativeLinearSolverEvent(this,
+            manager.getIterations(), xro, bro, rro, rnorm);
+        manager.fireInitializationEvent(evt);
+        if (rnorm <= rmax) {
+            manager.fireTerminationEvent(evt);
+            return x;
+        }
+
+        // all work vectors are allocated once, and then updated in place
+        final RealVector rTilde = r.copy();
+        final RealVector p = new ArrayRealVector(n);
+        final RealVector v = new ArrayRealVector(n);
+        final RealVector s = new ArrayRealVector(n);
+        final RealVector t = new ArrayRealVector(n);
+        final RealVector pHat;
+        final RealVector sHat;
+        if (m == null) {
+            pHat = p;
+            sHat = s;
+        } else {
+            pHat = new ArrayRealVector(n);
+            sHat = new ArrayRealVector(n);
+        }
+
+        double rhoPrev = 1.;
+        double alpha   = 1.;
+        double omega   = 1.;
+        boolean first  = true;
+        while (true) {
+            manager.incrementIterationCount();
+            evt = new DefaultIterativeLinearSolverEvent(this,
+                manager.getIterations(), xro, bro, rro, rnorm);
+            manager.fireIterationStartedEvent(evt);
+
+            final double rho = rTilde.dotProduct(r);
+            if (rho == 0.) {
+                throw new ConvergenceException();
+            }
+            if (first) {
+                p.setSubVector(0, r);
+                first = false;
+            } else {
+                // p = r + beta (p - omega v)
+                final double beta = (rho / rhoPrev) * (alpha / omega);
+                p.combineToSelf(1., -omega, v);
+                p.combineToSelf(beta, 1., r);
+            }
+            if (m != null) {
+                m.operate(p, pHat);
+            }
+            a.operate(pHat, v);
+            final double rTildeV = rTilde.dotProduct(v);
+            if (rTildeV == 0.) {
+                throw new ConvergenceException();
+            }
+            alpha = rho / rTildeV;
+
+            // s = r - alpha v
+            s.setSubVector(0, r);
+            s.combineToSelf(1., -alpha, v);
+            final double snorm = s.getNorm();
+            if (snorm <= rmax) {
+                // early termination, the half step is sufficient
+                x.combineToSelf(1., alpha, pHat);
+                r.setSubVector(0, s);
+                rnorm = snorm;
+                evt = new DefaultIterativeLinearSolverEvent(this,
+                    manager.getIterations(), xro, bro, rro, rnorm);
+                manager.fireIterationPerformedEvent(evt);
+                manager.fireTerminationEvent(evt);
+                return x;
+            }
+
+            if (m != null) {
+                m.operate(s, sHat);
+            }
+            a.operate(sHat, t);
+            final double tt = t.dotProduct(t);
+            omega = (tt == 0.) ? 0. : t.dotProduct(s) / tt;
+            if (omega == 0.) {
+                throw new ConvergenceException();
+            }
+
+            // x = x + alpha pHat + omega sHat, r = s - omega t
+            x.combineToSelf(1., alpha, pHat);
+            x.combineToSelf(1., omega, sHat);
+            r.setSubVector(0, s);
+            r.combineToSelf(1., -omega, t);
+            rhoPrev = rho;
+            rnorm = r.getNorm();
+            evt = new DefaultIterativeLinearSolverEvent(this,
+                manager.getIterations(), xro, bro, rro, rnorm);
+            manager.fireIterationPerformedEvent(evt);
+            if (rnorm <= rmax) {
+                manager.fireTerminationEvent(evt);
+                return x;
+            }
+        }
+    }
+
+}
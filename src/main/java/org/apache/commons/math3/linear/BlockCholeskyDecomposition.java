@@ -0,0 +1,681 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.util.ConcurrencyUtils;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Calculates the Cholesky decomposition of a matrix, using a blocked algorithm.
+ * <p>The Cholesky decomposition of a real symmetric positive-definite
+ * matrix A consists of a lower triangular matrix L with same size such
+ * that: A = LL<sup>T</sup>. In a sense, this is the square root of A.</p>
+ * <p>The matrix is stored in the same blocks layout as {@link BlockRealMatrix}.
+ * The right-looking algorithm factorizes one diagonal block at a time,
+ * computes the blocks of L below it (the panel), and then updates the
+ * trailing lower blocks. Both the panel and the trailing update are performed
+ * block by block, which keeps the operands in cache, and can be split into
+ * tasks submitted to a user-supplied {@link ExecutorService}. Since each block
+ * is updated by exactly one task, always in the same order, the decomposition
+ * is identical whether an executor is used or not.</p>
+ * <p>The executor, if any, is also used by the {@link #getSolver() solver} for
+ * solving systems with many right-hand sides (and for computing the inverse).
+ * It is not shut down by this class.</p>
+ *
+ * @see CholeskyDecomposition
+ * @see BlockLUDecomposition
+ * @version $Id$
+ * @since 3.3
+ */
+public class BlockCholeskyDecomposition {
+
+    /** Minimal number of right-hand side columns per task in the solver. */
+    private static final int MIN_SLICE_COLUMNS = 16;
+
+    /** Blocks size. */
+    private static final int BLOCK_SIZE = BlockRealMatrix.BLOCK_SIZE;
+
+    /** Dimension of the matrix. */
+    private final int m;
+
+    /** Number of blocks rows (and columns). */
+    private final int blockCount;
+
+    /** Entries of L in the lower blocks (upper blocks are not used). */
+    private final double[][] blocks;
+
+    /** Executor service running the tasks (null for sequential computation). */
+    private final ExecutorService executor;
+
+    /** Cached value of L. */
+    private RealMatrix cachedL;
+
+    /** Cached value of LT. */
+    private RealMatrix cachedLT;
+
+    /**
+     * Calculates the Cholesky decomposition of the given matrix, sequentially.
+     * <p>
+     * Calling this constructor is equivalent to call {@link
+     * #BlockCholeskyDecomposition(RealMatrix, double, double)} with the
+     * thresholds set to the default values {@link
+     * CholeskyDecomposition#DEFAULT_RELATIVE_SYMMETRY_THRESHOLD} and {@link
+     * CholeskyDecomposition#DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD}.
+     * </p>
+     *
+     * @param matrix the matrix to decompose
+     * @throws NonSquareMatrixException if the matrix is not square.
+     * @throws NonSymmetricMatrixException if the matrix is not symmetric.
+     * @throws NonPositiveDefiniteMatrixException if the matrix is not
+     * strictly positive definite.
+     */
+    public BlockCholeskyDecomposition(final RealMatrix matrix)
+        throws NonSquareMatrixException, NonSymmetricMatrixException,
+        NonPositiveDefiniteMatrixException {
+        this(matrix, CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD,
+             CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD);
+    }
+
+    /**
+     * Calculates the Cholesky decomposition of the given matrix, sequentially.
+     *
+     * @param matrix the matrix to decompose
+     * @param relativeSymmetryThreshold threshold above which off-diagonal
+     * elements are considered too different and matrix not symmetric
+     * @param absolutePositivityThreshold threshold below which diagonal
+     * elements are considered null and matrix not positive definite
+     * @throws NonSquareMatrixException if the matrix is not square.
+     * @throws NonSymmetricMatrixException if the matrix is not symmetric.
+     * @throws NonPositiveDefiniteMatrixException if the matrix is not
+     * strictly positive definite.
+     */
+    public BlockCholeskyDecomposition(final RealMatrix matrix,
+                                      final double relativeSymmetryThreshold,
+                                      final double absolutePositivityThreshold)
+        throws NonSquareMatrixException, NonSymmetricMatrixException,
+        NonPositiveDefiniteMatrixException {
+        this(matrix, relativeSymmetryThreshold, absolutePositivityThreshold,
+             (ExecutorService) null, false);
+    }
+
+    /**
+     * Calculates the Cholesky decomposition of the given matrix, using several threads.
+     * <p>
+     * Calling this constructor is equivalent to call {@link
+     * #BlockCholeskyDecomposition(RealMatrix, double, double, ExecutorService)}
+     * with the thresholds set to the default values {@link
+     * CholeskyDecomposition#DEFAULT_RELATIVE_SYMMETRY_THRESHOLD} and {@link
+     * CholeskyDecomposition#DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD}.
+     * </p>
+     *
+     * @param matrix the matrix to decompose
+     * @param executor Executor service running the panel and trailing updates tasks.
+     * @throws NonSquareMatrixException if the matrix is not square.
+     * @throws NonSymmetricMatrixException if the matrix is not symmetric.
+     * @throws NonPositiveDefiniteMatrixException if the matrix is not
+     * strictly positive definite.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the computation is interrupted.
+     */
+    public BlockCholeskyDecomposition(final RealMatrix matrix, final ExecutorService executor)
+        throws NonSquareMatrixException, NonSymmetricMatrixException,
+        NonPositiveDefiniteMatrixException, NullArgumentException, MathIllegalStateException {
+        this(matrix, CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD,
+             CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD, executor);
+    }
+
+    /**
+     * Calculates the Cholesky decomposition of the given matrix, using several threads.
+     *
+     * @param matrix the matrix to decompose
+     * @param relativeSymmetryThreshold threshold above which off-diagonal
+     * elements are considered too different and matrix not symmetric
+     * @param absolutePositivityThreshold threshold below which diagonal
+     * elements are considered null and matrix not positive definite
+     * @param executor Executor service running the panel and trailing updates tasks.
+     * @throws NonSquareMatrixException if the matrix is not square.
+     * @throws NonSymmetricMatrixException if the matrix is not symmetric.
+     * @throws NonPositiveDefiniteMatrixException if the matrix is not
+     * strictly positive definite.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the computation is interrupted.
+     */
+    public BlockCholeskyDecomposition(final RealMatrix matrix,
+                                      final double relativeSymmetryThreshold,
+                                      final double absolutePositivityThreshold,
+                                      final ExecutorService executor)
+        throws NonSquareMatrixException, NonSymmetricMatrixException,
+        NonPositiveDefiniteMatrixException, NullArgumentException, MathIllegalStateException {
+        this(matrix, relativeSymmetryThreshold, absolutePositivityThreshold, executor, true);
+    }
+
+    /**
+     * Calculates the Cholesky decomposition of the given matrix.
+     *
+     * @param matrix the matrix to decompose
+     * @param relativeSymmetryThreshold threshold above which off-diagonal
+     * elements are considered too different and matrix not symmetric
+     * @param absolutePositivityThreshold threshold below which diagonal
+     * elements are considered null and matrix not positive definite
+     * @param executor Executor service running the panel and trailing updates tasks.
+     * @param checkExecutor if true, {@code executor} must not be {@code null}
+     * @throws NonSquareMatrixException if the matrix is not square.
+     * @throws NonSymmetricMatrixException if the matrix is not symmetric.
+     * @throws NonPositiveDefiniteMatrixException if the matrix is not
+     * strictly positive definite.
+     * @throws NullArgumentException if {@code executor} is {@code null}
+     * while {@code checkExecutor} is {@code true}.
+     * @throws MathIllegalStateException if the computation is interrupted.
+     */
+    private BlockCholeskyDecomposition(final RealMatrix matrix,
+                                       final double relativeSymmetryThreshold,
+                                       final double absolutePositivityThreshold,
+                                       final ExecutorService executor,
+                                       final boolean checkExecutor)
+        throws NonSquareMatrixException, NonSymmetricMatrixException,
+        NonPositiveDefiniteMatrixException, NullArgumentException, MathIllegalStateException {
+        if (checkExecutor) {
+            MathUtils.checkNotNull(executor);
+        }
+        if (!matrix.isSquare()) {
+            throw new NonSquareMatrixException(matrix.getRowDimension(),
+                                               matrix.getColumnDimension());
+        }
+
+        m             = matrix.getRowDimension();
+        blockCount    = (m + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        blocks        = BlockRealMatrix.copyBlocksLayout(matrix);
+        this.executor = executor;
+        cachedL       = null;
+        cachedLT      = null;
+
+        // check the matrix before transformation
+        checkSymmetry(relativeSymmetryThreshold);
+
+        // transform the matrix
+        for (int kBlock = 0; kBlock < blockCount; ++kBlock) {
+            factorDiagonal(kBlock, absolutePositivityThreshold);
+            updatePanel(kBlock);
+            updateTrailing(kBlock);
+        }
+    }
+
+    /**
+     * Get the height (and width) of a block row (or column).
+     * @param iBlock block index
+     * @return height of the block row
+     */
+    private int blockSize(final int iBlock) {
+        return FastMath.min(BLOCK_SIZE, m - iBlock * BLOCK_SIZE);
+    }
+
+    /**
+     * Check the symmetry of the matrix.
+     *
+     * @param relativeSymmetryThreshold threshold above which off-diagonal
+     * elements are considered too different and matrix not symmetric
+     * @throws NonSymmetricMatrixException if the matrix is not symmetric.
+     */
+    private void checkSymmetry(final double relativeSymmetryThreshold)
+        throws NonSymmetricMatrixException {
+        for (int iBlock = 0; iBlock < blockCount; ++iBlock) {
+            final int iHeight = blockSize(iBlock);
+            for (int jBlock = 0; jBlock <= iBlock; ++jBlock) {
+                final int jWidth = blockSize(jBlock);
+                final double[] lower = blocks[iBlock * blockCount + jBlock];
+                final double[] upper = blocks[jBlock * blockCount + iBlock];
+                for (int p = 0; p < iHeight; ++p) {
+                    final int qEnd = (iBlock == jBlock) ? p : jWidth;
+                    for (int q = 0; q < qEnd; ++q) {
+                        final double lIJ = upper[q * iHeight + p];
+                        final double lJI = lower[p * jWidth + q];
+                        final double maxDelta =
+                            relativeSymmetryThreshold * FastMath.max(FastMath.abs(lIJ), FastMath.abs(lJI));
+                        if (FastMath.abs(lIJ - lJI) > maxDelta) {
+                            throw new NonSymmetricMatrixException(jBlock * BLOCK_SIZE + q,
+                                                                  iBlock * BLOCK_SIZE + p,
+                                                                  relativeSymmetryThreshold);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Factorize one diagonal block.
+     *
+     * @param kBlock index of the diagonal block
+     * @param absolutePositivityThreshold threshold below which diagonal
+     * elements are considered null and matrix not positive definite
+     * @throws NonPositiveDefiniteMatrixException if the matrix is not
+     * strictly positive definite.
+     */
+    private void factorDiagonal(final int kBlock, final double absolutePositivityThreshold)
+        throws NonPositiveDefiniteMatrixException {
+        final double[] diag = blocks[kBlock * blockCount + kBlock];
+        final int kWidth = blockSize(kBlock);
+        for (int c = 0; c < kWidth; ++c) {
+            final int cRow = c * kWidth;
+
+            // check diagonal element
+            if (diag[cRow + c] <= absolutePositivityThreshold) {
+                throw new NonPositiveDefiniteMatrixException(diag[cRow + c],
+                                                             kBlock * BLOCK_SIZE + c,
+                                                             absolutePositivityThreshold);
+            }
+
+            diag[cRow + c] = FastMath.sqrt(diag[cRow + c]);
+            final double inverse = 1.0 / diag[cRow + c];
+            for (int p = c + 1; p < kWidth; ++p) {
+                diag[p * kWidth + c] *= inverse;
+            }
+            for (int p = c + 1; p < kWidth; ++p) {
+                final int pRow = p * kWidth;
+                final double lPC = diag[pRow + c];
+                for (int q = c + 1; q <= p; ++q) {
+                    diag[pRow + q] -= lPC * diag[q * kWidth + c];
+                }
+            }
+        }
+    }
+
+    /**
+     * Compute the blocks of L below a diagonal block.
+     *
+     * @param kBlock index of the diagonal block
+     * @throws MathIllegalStateException if the computation is interrupted.
+     */
+    private void updatePanel(final int kBlock) throws MathIllegalStateException {
+        final int first = kBlock + 1;
+        if (executor == null) {
+            for (int iBlock = first; iBlock < blockCount; ++iBlock) {
+                solvePanelBlock(kBlock, iBlock);
+            }
+        } else if (first < blockCount) {
+            final int[] bounds =
+                ConcurrencyUtils.partition(blockCount - first,
+                                           ConcurrencyUtils.slices(blockCount - first, 1));
+            final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(bounds.length - 1);
+            for (int s = 0; s < bounds.length - 1; ++s) {
+                final int start = first + bounds[s];
+                final int end   = first + bounds[s + 1];
+                tasks.add(new Callable<Void>() {
+                    /** {@inheritDoc} */
+                    public Void call() {
+                        for (int iBlock = start; iBlock < end; ++iBlock) {
+                            solvePanelBlock(kBlock, iBlock);
+                        }
+                        return null;
+                    }
+                });
+            }
+            ConcurrencyUtils.invokeAll(executor, tasks);
+        }
+    }
+
+    /**
+     * Compute one block of L below a diagonal block: L21 = A21.L11<sup>-T</sup>.
+     * <p>
+     * Only the block at ({@code iBlock}, {@code kBlock}) is written, so
+     * distinct blocks can be computed concurrently.
+     * </p>
+     *
+     * @param kBlock index of the diagonal block
+     * @param iBlock row index (in block sense) of the block to compute
+     */
+    private void solvePanelBlock(final int kBlock, final int iBlock) {
+        final double[] l11 = blocks[kBlock * blockCount + kBlock];
+        final double[] a21 = blocks[iBlock * blockCount + kBlock];
+        final int kWidth  = blockSize(kBlock);
+        final int iHeight = blockSize(iBlock);
+        for (int p = 0; p < iHeight; ++p) {
+            final int pRow = p * kWidth;
+            for (int c = 0; c < kWidth; ++c) {
+                final int cRow = c * kWidth;
+                double sum = a21[pRow + c];
+                for (int q = 0; q < c; ++q) {
+                    sum -= a21[pRow + q] * l11[cRow + q];
+                }
+                a21[pRow + c] = sum / l11[cRow + c];
+            }
+        }
+    }
+
+    /**
+     * Update the trailing lower blocks.
+     *
+     * @param kBlock index of the diagonal block
+     * @throws MathIllegalStateException if the computation is interrupted.
+     */
+    private void updateTrailing(final int kBlock) throws MathIllegalStateException {
+        final int first = kBlock + 1;
+        final int n     = blockCount - first;
+        final int count = (n * (n + 1)) / 2;
+
+        // list the lower blocks to update
+        final int[] rowBlocks    = new int[count];
+        final int[] columnBlocks = new int[count];
+        int index = 0;
+        for (int iBlock = first; iBlock < blockCount; ++iBlock) {
+            for (int jBlock = first; jBlock <= iBlock; ++jBlock) {
+                rowBlocks[index]    = iBlock;
+                columnBlocks[index] = jBlock;
+                ++index;
+            }
+        }
+
+        if (executor == null) {
+            for (int t = 0; t < count; ++t) {
+                updateBlock(kBlock, rowBlocks[t], columnBlocks[t]);
+            }
+        } else if (count > 0) {
+            final int[] bounds = ConcurrencyUtils.partition(count, ConcurrencyUtils.slices(count, 1));
+            final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(bounds.length - 1);
+            for (int s = 0; s < bounds.length - 1; ++s) {
+                final int start = bounds[s];
+                final int end   = bounds[s + 1];
+                tasks.add(new Callable<Void>() {
+                    /** {@inheritDoc} */
+                    public Void call() {
+                        for (int t = start; t < end; ++t) {
+                            updateBlock(kBlock, rowBlocks[t], columnBlocks[t]);
+                        }
+                        return null;
+                    }
+                });
+            }
+            ConcurrencyUtils.invokeAll(executor, tasks);
+        }
+    }
+
+    /**
+     * Update one trailing lower block: A22 = A22 - L21.L31<sup>T</sup>.
+     * <p>
+     * Only the block at ({@code iBlock}, {@code jBlock}) is written, so
+     * distinct blocks can be updated concurrently.
+     * </p>
+     *
+     * @param kBlock index of the diagonal block
+     * @param iBlock row index (in block sense) of the block to update
+     * @param jBlock column index (in block sense) of the block to update
+     */
+    private void updateBlock(final int kBlock, final int iBlock, final int jBlock) {
+        final double[] lI = blocks[iBlock * blockCount + kBlock];
+        final double[] lJ = blocks[jBlock * blockCount + kBlock];
+        final double[] a  = blocks[iBlock * blockCount + jBlock];
+        final int kWidth  = blockSize(kBlock);
+        final int iHeight = blockSize(iBlock);
+        final int jWidth  = blockSize(jBlock);
+        for (int p = 0; p < iHeight; ++p) {
+            final int pRow = p * kWidth;
+            final int qEnd = (iBlock == jBlock) ? p + 1 : jWidth;
+            for (int q = 0; q < qEnd; ++q) {
+                final int qRow = q * kWidth;
+                double sum = 0;
+                for (int c = 0; c < kWidth; ++c) {
+                    sum += lI[pRow + c] * lJ[qRow + c];
+                }
+                a[p * jWidth + q] -= sum;
+            }
+        }
+    }
+
+    /**
+     * Returns the matrix L of the decomposition.
+     * <p>L is an lower-triangular matrix</p>
+     * @return the L matrix
+     */
+    public RealMatrix getL() {
+        if (cachedL == null) {
+            final double[][] lBlocks = BlockRealMatrix.createBlocksLayout(m, m);
+            for (int iBlock = 0; iBlock < blockCount; ++iBlock) {
+                for (int jBlock = 0; jBlock < iBlock; ++jBlock) {
+                    final int index = iBlock * blockCount + jBlock;
+                    System.arraycopy(blocks[index], 0, lBlocks[index], 0, lBlocks[index].length);
+                }
+                final double[] diag  = blocks[iBlock * blockCount + iBlock];
+                final double[] lDiag = lBlocks[iBlock * blockCount + iBlock];
+                final int width = blockSize(iBlock);
+                for (int p = 0; p < width; ++p) {
+                    System.arraycopy(diag, p * width, lDiag, p * width, p + 1);
+                }
+            }
+            cachedL = new BlockRealMatrix(m, m, lBlocks, false);
+        }
+        return cachedL;
+    }
+
+    /**
+     * Returns the transpose of the matrix L of the decomposition.
+     * <p>L<sup>T</sup> is an upper-triangular matrix</p>
+     * @return the transpose of the matrix L of the decomposition
+     */
+    public RealMatrix getLT() {
+        if (cachedLT == null) {
+            cachedLT = getL().transpose();
+        }
+        return cachedLT;
+    }
+
+    /**
+     * Return the determinant of the matrix
+     * @return determinant of the matrix
+     */
+    public double getDeterminant() {
+        double determinant = 1.0;
+        for (int iBlock = 0; iBlock < blockCount; ++iBlock) {
+            final double[] diag = blocks[iBlock * blockCount + iBlock];
+            final int width = blockSize(iBlock);
+            for (int p = 0; p < width; ++p) {
+                final double lII = diag[p * width + p];
+                determinant *= lII * lII;
+            }
+        }
+        return determinant;
+    }
+
+    /**
+     * Get a solver for finding the A &times; X = B solution in least square sense.
+     * @return a solver
+     */
+    public DecompositionSolver getSolver() {
+        return new Solver(m, blocks, executor);
+    }
+
+    /** Specialized solver. */
+    private static class Solver implements DecompositionSolver {
+
+        /** Dimension of the matrix. */
+        private final int m;
+
+        /** Number of blocks rows (and columns). */
+        private final int blockCount;
+
+        /** Entries of L in the lower blocks. */
+        private final double[][] blocks;
+
+        /** Executor service running the tasks (null for sequential computation). */
+        private final ExecutorService executor;
+
+        /**
+         * Build a solver from decomposed matrix.
+         * @param m dimension of the matrix
+         * @param blocks entries of L in the lower blocks
+         * @param executor executor service running the tasks (may be null)
+         */
+        private Solver(final int m, final double[][] blocks, final ExecutorService executor) {
+            this.m          = m;
+            this.blockCount = (m + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            this.blocks     = blocks;
+            this.executor   = executor;
+        }
+
+        /** {@inheritDoc} */
+        public boolean isNonSingular() {
+            // if we get this far, the matrix was positive definite, hence non-singular
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        public RealVector solve(final RealVector b) {
+            if (b.getDimension() != m) {
+                throw new DimensionMismatchException(b.getDimension(), m);
+            }
+
+            final double[][] x = new double[m][1];
+            for (int i = 0; i < m; ++i) {
+                x[i][0] = b.getEntry(i);
+            }
+
+            substitute(x, 0, 1);
+
+            final double[] solution = new double[m];
+            for (int i = 0; i < m; ++i) {
+                solution[i] = x[i][0];
+            }
+            return new ArrayRealVector(solution, false);
+        }
+
+        /** {@inheritDoc} */
+        public RealMatrix solve(final RealMatrix b) {
+            if (b.getRowDimension() != m) {
+                throw new DimensionMismatchException(b.getRowDimension(), m);
+            }
+
+            final double[][] x = b.getData();
+            solve(x);
+            return new Array2DRowRealMatrix(x, false);
+        }
+
+        /** {@inheritDoc} */
+        public RealMatrix getInverse() {
+            final double[][] x = new double[m][m];
+            for (int i = 0; i < m; ++i) {
+                x[i][i] = 1.0;
+            }
+            solve(x);
+            return new Array2DRowRealMatrix(x, false);
+        }
+
+        /**
+         * Solve in place the triangular systems.
+         * <p>
+         * If an executor is available, the columns of the right-hand side
+         * are split between several tasks.
+         * </p>
+         *
+         * @param x right-hand side, replaced by the solution
+         * @throws MathIllegalStateException if the computation is interrupted.
+         */
+        private void solve(final double[][] x) throws MathIllegalStateException {
+            final int nColB = (x.length == 0) ? 0 : x[0].length;
+            final int slices = ConcurrencyUtils.slices(nColB, MIN_SLICE_COLUMNS);
+            if (executor == null || slices < 2) {
+                substitute(x, 0, nColB);
+            } else {
+                final int[] bounds = ConcurrencyUtils.partition(nColB, slices);
+                final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(bounds.length - 1);
+                for (int s = 0; s < bounds.length - 1; ++s) {
+                    final int start = bounds[s];
+                    final int end   = bounds[s + 1];
+                    tasks.add(new Callable<Void>() {
+                        /** {@inheritDoc} */
+                        public Void call() {
+                            substitute(x, start, end);
+                            return null;
+                        }
+                    });
+                }
+                ConcurrencyUtils.invokeAll(executor, tasks);
+            }
+        }
+
+        /**
+         * Perform forward and backward substitutions on some columns of
+         * a right-hand side.
+         *
+         * @param x right-hand side, replaced by the solution
+         * @param start first column to solve for
+         * @param end last column to solve for (excluded)
+         */
+        private void substitute(final double[][] x, final int start, final int end) {
+
+            // Solve LY = b
+            for (int j = 0; j < m; j++) {
+                final int jBlock = j / BLOCK_SIZE;
+                final int jWidth = FastMath.min(BLOCK_SIZE, m - jBlock * BLOCK_SIZE);
+                final int c = j - jBlock * BLOCK_SIZE;
+                final double lJJ = blocks[jBlock * blockCount + jBlock][c * jWidth + c];
+                final double[] xJ = x[j];
+                for (int k = start; k < end; ++k) {
+                    xJ[k] /= lJJ;
+                }
+                for (int iBlock = jBlock; iBlock < blockCount; ++iBlock) {
+                    final double[] block = blocks[iBlock * blockCount + jBlock];
+                    final int iStart  = iBlock * BLOCK_SIZE;
+                    final int iHeight = FastMath.min(BLOCK_SIZE, m - iStart);
+                    for (int p = (iBlock == jBlock) ? c + 1 : 0; p < iHeight; ++p) {
+                        final double lIJ = block[p * jWidth + c];
+                        final double[] xI = x[iStart + p];
+                        for (int k = start; k < end; ++k) {
+                            xI[k] -= xJ[k] * lIJ;
+                        }
+                    }
+                }
+            }
+
+            // Solve LTX = Y
+            for (int j = m - 1; j >= 0; j--) {
+                final int jBlock = j / BLOCK_SIZE;
+                final int jWidth = FastMath.min(BLOCK_SIZE, m - jBlock * BLOCK_SIZE);
+                final int c = j - jBlock * BLOCK_SIZE;
+                final double lJJ = blocks[jBlock * blockCount + jBlock][c * jWidth + c];
+                final double[] xJ = x[j];
+                for (int k = start; k < end; ++k) {
+                    xJ[k] /= lJJ;
+                }
+                for (int iBlock = 0; iBlock <= jBlock; ++iBlock) {
+                    // row j of L, left of the diagonal
+                    final double[] block = blocks[jBlock * blockCount + iBlock];
+                    final int iStart = iBlock * BLOCK_SIZE;
+                    final int iWidth = (iBlock == jBlock) ? c : BLOCK_SIZE;
+                    final int offset = c * ((iBlock == jBlock) ? jWidth : BLOCK_SIZE);
+                    for (int q = 0; q < iWidth; ++q) {
+                        final double lJI = block[offset + q];
+                        final double[] xI = x[iStart + q];
+                        for (int k = start; k < end; ++k) {
+                            xI[k] -= xJ[k] * lJI;
+                        }
+                    }
+                }
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,731 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.util.ConcurrencyUtils;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Calculates the LUP-decomposition of a square matrix, using a blocked algorithm.
+ * <p>The LUP-decomposition of a matrix A consists of three matrices L, U and
+ * P that satisfy: P&times;A = L&times;U. L is lower triangular (with unit
+ * diagonal terms), U is upper triangular and P is a permutation matrix. All
+ * matrices are m&times;m. As in {@link LUDecomposition}, partial pivoting is
+ * used.</p>
+ * <p>The matrix is stored in the same blocks layout as {@link BlockRealMatrix}.
+ * The right-looking algorithm factorizes one column of blocks (the panel)
+ * at a time, and then updates the trailing blocks. The trailing update holds
+ * almost all the arithmetic: it is performed block by block, which keeps the
+ * operands in cache, and the columns of blocks can be updated by tasks
+ * submitted to a user-supplied {@link ExecutorService}. Since each block is
+ * updated by exactly one task, always in the same order, the decomposition is
+ * identical whether an executor is used or not.</p>
+ * <p>The executor, if any, is also used by the {@link #getSolver() solver} for
+ * solving systems with many right-hand sides (and for computing the inverse).
+ * It is not shut down by this class.</p>
+ *
+ * @see LUDecomposition
+ * @see BlockCholeskyDecomposition
+ * @version $Id$
+ * @since 3.3
+ */
+public class BlockLUDecomposition {
+
+    /** Default bound to determine effective singularity in LU decomposition. */
+    private static final double DEFAULT_TOO_SMALL = 1e-11;
+
+    /** Minimal number of right-hand side columns per task in the solver. */
+    private static final int MIN_SLICE_COLUMNS = 16;
+
+    /** Blocks size. */
+    private static final int BLOCK_SIZE = BlockRealMatrix.BLOCK_SIZE;
+
+    /** Dimension of the matrix. */
+    private final int m;
+
+    /** Number of blocks rows (and columns). */
+    private final int blockCount;
+
+    /** Entries of LU decomposition, in blocks layout. */
+    private final double[][] blocks;
+
+    /** Pivot permutation associated with LU decomposition. */
+    private final int[] pivot;
+
+    /** Executor service running the tasks (null for sequential computation). */
+    private final ExecutorService executor;
+
+    /** Parity of the permutation associated with the LU decomposition. */
+    private boolean even;
+
+    /** Singularity indicator. */
+    private boolean singular;
+
+    /** Cached value of L. */
+    private RealMatrix cachedL;
+
+    /** Cached value of U. */
+    private RealMatrix cachedU;
+
+    /** Cached value of P. */
+    private RealMatrix cachedP;
+
+    /**
+     * Calculates the LU-decomposition of the given matrix, sequentially.
+     * This constructor uses 1e-11 as default value for the singularity
+     * threshold.
+     *
+     * @param matrix Matrix to decompose.
+     * @throws NonSquareMatrixException if matrix is not square.
+     */
+    public BlockLUDecomposition(final RealMatrix matrix)
+        throws NonSquareMatrixException {
+        this(matrix, DEFAULT_TOO_SMALL);
+    }
+
+    /**
+     * Calculates the LU-decomposition of the given matrix, sequentially.
+     *
+     * @param matrix The matrix to decompose.
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     * @throws NonSquareMatrixException if matrix is not square
+     */
+    public BlockLUDecomposition(final RealMatrix matrix, final double singularityThreshold)
+        throws NonSquareMatrixException {
+        this(matrix, singularityThreshold, (ExecutorService) null, false);
+    }
+
+    /**
+     * Calculates the LU-decomposition of the given matrix, using several threads.
+     * This constructor uses 1e-11 as default value for the singularity
+     * threshold.
+     *
+     * @param matrix Matrix to decompose.
+     * @param executor Executor service running the trailing updates tasks.
+     * @throws NonSquareMatrixException if matrix is not square.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the computation is interrupted.
+     */
+    public BlockLUDecomposition(final RealMatrix matrix, final ExecutorService executor)
+        throws NonSquareMatrixException, NullArgumentException, MathIllegalStateException {
+        this(matrix, DEFAULT_TOO_SMALL, executor);
+    }
+
+    /**
+     * Calculates the LU-decomposition of the given matrix, using several threads.
+     *
+     * @param matrix The matrix to decompose.
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     * @param executor Executor service running the trailing updates tasks.
+     * @throws NonSquareMatrixException if matrix is not square.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the computation is interrupted.
+     */
+    public BlockLUDecomposition(final RealMatrix matrix, final double singularityThreshold,
+                                final ExecutorService executor)
+        throws NonSquareMatrixException, NullArgumentException, MathIllegalStateException {
+        this(matrix, singularityThreshold, executor, true);
+    }
+
+    /**
+     * Calculates the LU-decomposition of the given matrix.
+     *
+     * @param matrix The matrix to decompose.
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     * @param executor Executor service running the trailing updates tasks.
+     * @param checkExecutor if true, {@code executor} must not be {@code null}
+     * @throws NonSquareMatrixException if matrix is not square.
+     * @throws NullArgumentException if {@code executor} is {@code null}
+     * while {@code checkExecutor} is {@code true}.
+     * @throws MathIllegalStateException if the computation is interrupted.
+     */
+    private BlockLUDecomposition(final RealMatrix matrix, final double singularityThreshold,
+                                 final ExecutorService executor, final boolean checkExecutor)
+        throws NonSquareMatrixException, NullArgumentException, MathIllegalStateException {
+        if (checkExecutor) {
+            MathUtils.checkNotNull(executor);
+        }
+        if (!matrix.isSquare()) {
+            throw new NonSquareMatrixException(matrix.getRowDimension(),
+                                               matrix.getColumnDimension());
+        }
+
+        m             = matrix.getRowDimension();
+        blockCount    = (m + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        blocks        = BlockRealMatrix.copyBlocksLayout(matrix);
+        pivot         = new int[m];
+        this.executor = executor;
+        cachedL       = null;
+        cachedU       = null;
+        cachedP       = null;
+
+        // Initialize permutation array and parity
+        for (int row = 0; row < m; row++) {
+            pivot[row] = row;
+        }
+        even     = true;
+        singular = false;
+
+        // Loop over columns of blocks
+        final int[] swaps = new int[BLOCK_SIZE];
+        for (int kBlock = 0; kBlock < blockCount; ++kBlock) {
+            if (!factorPanel(kBlock, swaps, singularityThreshold)) {
+                singular = true;
+                return;
+            }
+            updateColumns(kBlock, swaps);
+        }
+    }
+
+    /**
+     * Get the height (and width) of a block row (or column).
+     * @param iBlock block index
+     * @return height of the block row
+     */
+    private int blockSize(final int iBlock) {
+        return FastMath.min(BLOCK_SIZE, m - iBlock * BLOCK_SIZE);
+    }
+
+    /**
+     * Factorize one column of blocks, with partial pivoting.
+     * <p>
+     * The row interchanges are applied to the panel only, they are
+     * recorded in {@code swaps} so they can be applied to the other
+     * columns of blocks afterwards.
+     * </p>
+     *
+     * @param kBlock index of the column of blocks
+     * @param swaps placeholder for the rows interchanged with each panel row
+     * @param singularityThreshold threshold under which a matrix is considered singular
+     * @return false if the matrix is singular
+     */
+    private boolean factorPanel(final int kBlock, final int[] swaps,
+                                final double singularityThreshold) {
+        final int kStart = kBlock * BLOCK_SIZE;
+        final int kWidth = blockSize(kBlock);
+        final double[] diagBlock = blocks[kBlock * blockCount + kBlock];
+
+        for (int c = 0; c < kWidth; ++c) {
+            final int col = kStart + c;
+
+            // find the pivot
+            int max = col;
+            double largest = -1;
+            for (int iBlock = kBlock; iBlock < blockCount; ++iBlock) {
+                final double[] block = blocks[iBlock * blockCount + kBlock];
+                final int iHeight = blockSize(iBlock);
+                for (int p = (iBlock == kBlock) ? c : 0; p < iHeight; ++p) {
+                    final double abs = FastMath.abs(block[p * kWidth + c]);
+                    if (abs > largest) {
+                        largest = abs;
+                        max     = iBlock * BLOCK_SIZE + p;
+                    }
+                }
+            }
+
+            // Singularity check
+            if (largest < singularityThreshold) {
+                return false;
+            }
+
+            // Pivot if necessary
+            swaps[c] = max;
+            if (max != col) {
+                swapRows(kBlock, max, col);
+                final int tmp = pivot[max];
+                pivot[max] = pivot[col];
+                pivot[col] = tmp;
+                even = !even;
+            }
+
+            // Divide the lower elements by the "winning" diagonal elt,
+            // and update the remaining columns of the panel
+            final int cRow = c * kWidth;
+            final double luDiag = diagBlock[cRow + c];
+            for (int iBlock = kBlock; iBlock < blockCount; ++iBlock) {
+                final double[] block = blocks[iBlock * blockCount + kBlock];
+                final int iHeight = blockSize(iBlock);
+                for (int p = (iBlock == kBlock) ? c + 1 : 0; p < iHeight; ++p) {
+                    final int pRow = p * kWidth;
+                    final double l = block[pRow + c] / luDiag;
+                    block[pRow + c] = l;
+                    for (int q = c + 1; q < kWidth; ++q) {
+                        block[pRow + q] -= l * diagBlock[cRow + q];
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Apply the panel row interchanges to the other columns of blocks,
+     * and update the trailing columns of blocks.
+     *
+     * @param kBlock index of the panel column of blocks
+     * @param swaps rows interchanged with each panel row
+     * @throws MathIllegalStateException if the computation is interrupted.
+     */
+    private void updateColumns(final int kBlock, final int[] swaps)
+        throws MathIllegalStateException {
+
+        // the row interchanges on the left columns of blocks are cheap
+        for (int jBlock = 0; jBlock < kBlock; ++jBlock) {
+            applySwaps(kBlock, swaps, jBlock);
+        }
+
+        final int first = kBlock + 1;
+        if (executor == null) {
+            for (int jBlock = first; jBlock < blockCount; ++jBlock) {
+                updateColumn(kBlock, swaps, jBlock);
+            }
+        } else if (first < blockCount) {
+            final int[] bounds =
+                ConcurrencyUtils.partition(blockCount - first,
+                                           ConcurrencyUtils.slices(blockCount - first, 1));
+            final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(bounds.length - 1);
+            for (int s = 0; s < bounds.length - 1; ++s) {
+                final int start = first + bounds[s];
+                final int end   = first + bounds[s + 1];
+                tasks.add(new Callable<Void>() {
+                    /** {@inheritDoc} */
+                    public Void call() {
+                        for (int jBlock = start; jBlock < end; ++jBlock) {
+                            updateColumn(kBlock, swaps, jBlock);
+                        }
+                        return null;
+                    }
+                });
+            }
+            ConcurrencyUtils.invokeAll(executor, tasks);
+        }
+
+    }
+
+    /**
+     * Update one trailing column of blocks.
+     * <p>
+     * Only the blocks of column {@code jBlock} are written, so distinct
+     * columns can be updated concurrently.
+     * </p>
+     *
+     * @param kBlock index of the panel column of blocks
+     * @param swaps rows interchanged with each panel row
+     * @param jBlock index of the column of blocks to update (must be
+     * greater than {@code kBlock})
+     */
+    private void updateColumn(final int kBlock, final int[] swaps, final int jBlock) {
+
+        applySwaps(kBlock, swaps, jBlock);
+
+        final int kWidth = blockSize(kBlock);
+        final int jWidth = blockSize(jBlock);
+
+        // solve L11.U12 = A12, where L11 is the unit lower triangular diagonal block
+        final double[] l11 = blocks[kBlock * blockCount + kBlock];
+        final double[] u12 = blocks[kBlock * blockCount + jBlock];
+        for (int p = 1; p < kWidth; ++p) {
+            final int pRow = p * jWidth;
+            for (int c = 0; c < p; ++c) {
+                final double l = l11[p * kWidth + c];
+                final int cRow = c * jWidth;
+                for (int q = 0; q < jWidth; ++q) {
+                    u12[pRow + q] -= l * u12[cRow + q];
+                }
+            }
+        }
+
+        // update the trailing blocks: A22 = A22 - L21.U12
+        for (int iBlock = kBlock + 1; iBlock < blockCount; ++iBlock) {
+            final double[] l21 = blocks[iBlock * blockCount + kBlock];
+            final double[] a22 = blocks[iBlock * blockCount + jBlock];
+            final int iHeight = blockSize(iBlock);
+            for (int p = 0; p < iHeight; ++p) {
+                final int pRow = p * jWidth;
+                for (int c = 0; c < kWidth; ++c) {
+                    final double l = l21[p * kWidth + c];
+                    final int cRow = c * jWidth;
+                    for (int q = 0; q < jWidth; ++q) {
+                        a22[pRow + q] -= l * u12[cRow + q];
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Apply the panel row interchanges to one column of blocks.
+     *
+     * @param kBlock index of the panel column of blocks
+     * @param swaps rows interchanged with each panel row
+     * @param jBlock index of the column of blocks
+     */
+    private void applySwaps(final int kBlock, final int[] swaps, final int jBlock) {
+        final int kStart = kBlock * BLOCK_SIZE;
+        final int kWidth = blockSize(kBlock);
+        for (int c = 0; c < kWidth; ++c) {
+            if (swaps[c] != kStart + c) {
+                swapRows(jBlock, swaps[c], kStart + c);
+            }
+        }
+    }
+
+    /**
+     * Swap two rows within one column of blocks.
+     *
+     * @param jBlock index of the column of blocks
+     * @param row1 first row
+     * @param row2 second row
+     */
+    private void swapRows(final int jBlock, final int row1, final int row2) {
+        final int jWidth = blockSize(jBlock);
+        final double[] block1 = blocks[(row1 / BLOCK_SIZE) * blockCount + jBlock];
+        final double[] block2 = blocks[(row2 / BLOCK_SIZE) * blockCount + jBlock];
+        final int start1 = (row1 % BLOCK_SIZE) * jWidth;
+        final int start2 = (row2 % BLOCK_SIZE) * jWidth;
+        for (int q = 0; q < jWidth; ++q) {
+            final double tmp = block1[start1 + q];
+            block1[start1 + q] = block2[start2 + q];
+            block2[start2 + q] = tmp;
+        }
+    }
+
+    /**
+     * Returns the matrix L of the decomposition.
+     * <p>L is a lower-triangular matrix</p>
+     * @return the L matrix (or null if decomposed matrix is singular)
+     */
+    public RealMatrix getL() {
+        if ((cachedL == null) && !singular) {
+            final double[][] lBlocks = BlockRealMatrix.createBlocksLayout(m, m);
+            for (int iBlock = 0; iBlock < blockCount; ++iBlock) {
+                for (int jBlock = 0; jBlock < iBlock; ++jBlock) {
+                    final int index = iBlock * blockCount + jBlock;
+                    System.arraycopy(blocks[index], 0, lBlocks[index], 0, lBlocks[index].length);
+                }
+                final double[] diag  = blocks[iBlock * blockCount + iBlock];
+                final double[] lDiag = lBlocks[iBlock * blockCount + iBlock];
+                final int width = blockSize(iBlock);
+                for (int p = 0; p < width; ++p) {
+                    System.arraycopy(diag, p * width, lDiag, p * width, p);
+                    lDiag[p * width + p] = 1.0;
+                }
+            }
+            cachedL = new BlockRealMatrix(m, m, lBlocks, false);
+        }
+        return cachedL;
+    }
+
+    /**
+     * Returns the matrix U of the decomposition.
+     * <p>U is an upper-triangular matrix</p>
+     * @return the U matrix (or null if decomposed matrix is singular)
+     */
+    public RealMatrix getU() {
+        if ((cachedU == null) && !singular) {
+            final double[][] uBlocks = BlockRealMatrix.createBlocksLayout(m, m);
+            for (int iBlock = 0; iBlock < blockCount; ++iBlock) {
+                final double[] diag  = blocks[iBlock * blockCount + iBlock];
+                final double[] uDiag = uBlocks[iBlock * blockCount + iBlock];
+                final int width = blockSize(iBlock);
+                for (int p = 0; p < width; ++p) {
+                    System.arraycopy(diag, p * width + p, uDiag, p * width + p, width - p);
+                }
+                for (int jBlock = iBlock + 1; jBlock < blockCount; ++jBlock) {
+                    final int index = iBlock * blockCount + jBlock;
+                    System.arraycopy(blocks[index], 0, uBlocks[index], 0, uBlocks[index].length);
+                }
+            }
+            cachedU = new BlockRealMatrix(m, m, uBlocks, false);
+        }
+        return cachedU;
+    }
+
+    /**
+     * Returns the P rows permutation matrix.
+     * <p>P is a sparse matrix with exactly one element set to 1.0 in
+     * each row and each column, all other elements being set to 0.0.</p>
+     * <p>The positions of the 1 elements are given by the {@link #getPivot()
+     * pivot permutation vector}.</p>
+     * @return the P rows permutation matrix (or null if decomposed matrix is singular)
+     * @see #getPivot()
+     */
+    public RealMatrix getP() {
+        if ((cachedP == null) && !singular) {
+            cachedP = MatrixUtils.createRealMatrix(m, m);
+            for (int i = 0; i < m; ++i) {
+                cachedP.setEntry(i, pivot[i], 1.0);
+            }
+        }
+        return cachedP;
+    }
+
+    /**
+     * Returns the pivot permutation vector.
+     * @return the pivot permutation vector
+     * @see #getP()
+     */
+    public int[] getPivot() {
+        return pivot.clone();
+    }
+
+    /**
+     * Return the determinant of the matrix
+     * @return determinant of the matrix
+     */
+    public double getDeterminant() {
+        if (singular) {
+            return 0;
+        } else {
+            double determinant = even ? 1 : -1;
+            for (int iBlock = 0; iBlock < blockCount; ++iBlock) {
+                final double[] diag = blocks[iBlock * blockCount + iBlock];
+                final int width = blockSize(iBlock);
+                for (int p = 0; p < width; ++p) {
+                    determinant *= diag[p * width + p];
+                }
+            }
+            return determinant;
+        }
+    }
+
+    /**
+     * Get a solver for finding the A &times; X = B solution in exact linear
+     * sense.
+     * @return a solver
+     */
+    public DecompositionSolver getSolver() {
+        return new Solver(blocks, pivot, singular, executor);
+    }
+
+    /** Specialized solver. */
+    private static class Solver implements DecompositionSolver {
+
+        /** Entries of LU decomposition, in blocks layout. */
+        private final double[][] blocks;
+
+        /** Pivot permutation associated with LU decomposition. */
+        private final int[] pivot;
+
+        /** Singularity indicator. */
+        private final boolean singular;
+
+        /** Executor service running the tasks (null for sequential computation). */
+        private final ExecutorService executor;
+
+        /** Number of blocks rows (and columns). */
+        private final int blockCount;
+
+        /**
+         * Build a solver from decomposed matrix.
+         * @param blocks entries of LU decomposition, in blocks layout
+         * @param pivot pivot permutation associated with LU decomposition
+         * @param singular singularity indicator
+         * @param executor executor service running the tasks (may be null)
+         */
+        private Solver(final double[][] blocks, final int[] pivot,
+                       final boolean singular, final ExecutorService executor) {
+            this.blocks     = blocks;
+            this.pivot      = pivot;
+            this.singular   = singular;
+            this.executor   = executor;
+            this.blockCount = (pivot.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        }
+
+        /** {@inheritDoc} */
+        public boolean isNonSingular() {
+            return !singular;
+        }
+
+        /** {@inheritDoc} */
+        public RealVector solve(final RealVector b) {
+            final int m = pivot.length;
+            if (b.getDimension() != m) {
+                throw new DimensionMismatchException(b.getDimension(), m);
+            }
+            if (singular) {
+                throw new SingularMatrixException();
+            }
+
+            // Apply permutations to b
+            final double[][] bp = new double[m][1];
+            for (int row = 0; row < m; row++) {
+                bp[row][0] = b.getEntry(pivot[row]);
+            }
+
+            substitute(bp, 0, 1);
+
+            final double[] x = new double[m];
+            for (int row = 0; row < m; row++) {
+                x[row] = bp[row][0];
+            }
+            return new ArrayRealVector(x, false);
+        }
+
+        /** {@inheritDoc} */
+        public RealMatrix solve(final RealMatrix b) {
+            final int m = pivot.length;
+            if (b.getRowDimension() != m) {
+                throw new DimensionMismatchException(b.getRowDimension(), m);
+            }
+            if (singular) {
+                throw new SingularMatrixException();
+            }
+
+            // Apply permutations to b
+            final int nColB = b.getColumnDimension();
+            final double[][] bp = new double[m][nColB];
+            for (int row = 0; row < m; row++) {
+                final double[] bpRow = bp[row];
+                final int pRow = pivot[row];
+                for (int col = 0; col < nColB; col++) {
+                    bpRow[col] = b.getEntry(pRow, col);
+                }
+            }
+
+            solve(bp);
+            return new Array2DRowRealMatrix(bp, false);
+        }
+
+        /**
+         * Get the inverse of the decomposed matrix.
+         *
+         * @return the inverse matrix.
+         * @throws SingularMatrixException if the decomposed matrix is singular.
+         */
+        public RealMatrix getInverse() {
+            if (singular) {
+                throw new SingularMatrixException();
+            }
+
+            // the permuted identity matrix
+            final int m = pivot.length;
+            final double[][] bp = new double[m][m];
+            for (int row = 0; row < m; row++) {
+                bp[row][pivot[row]] = 1.0;
+            }
+
+            solve(bp);
+            return new Array2DRowRealMatrix(bp, false);
+        }
+
+        /**
+         * Solve in place the triangular systems for a permuted right-hand side.
+         * <p>
+         * If an executor is available, the columns of the right-hand side
+         * are split between several tasks.
+         * </p>
+         *
+         * @param bp permuted right-hand side, replaced by the solution
+         * @throws MathIllegalStateException if the computation is interrupted.
+         */
+        private void solve(final double[][] bp) throws MathIllegalStateException {
+            final int nColB = (bp.length == 0) ? 0 : bp[0].length;
+            final int slices = ConcurrencyUtils.slices(nColB, MIN_SLICE_COLUMNS);
+            if (executor == null || slices < 2) {
+                substitute(bp, 0, nColB);
+            } else {
+                final int[] bounds = ConcurrencyUtils.partition(nColB, slices);
+                final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(bounds.length - 1);
+                for (int s = 0; s < bounds.length - 1; ++s) {
+                    final int start = bounds[s];
+                    final int end   = bounds[s + 1];
+                    tasks.add(new Callable<Void>() {
+                        /** {@inheritDoc} */
+                        public Void call() {
+                            substitute(bp, start, end);
+                            return null;
+                        }
+                    });
+                }
+                ConcurrencyUtils.invokeAll(executor, tasks);
+            }
+        }
+
+        /**
+         * Perform forward and backward substitutions on some columns of
+         * a permuted right-hand side.
+         *
+         * @param bp permuted right-hand side, replaced by the solution
+         * @param start first column to solve for
+         * @param end last column to solve for (excluded)
+         */
+        private void substitute(final double[][] bp, final int start, final int end) {
+            final int m = pivot.length;
+
+            // Solve LY = b
+            for (int col = 0; col < m; col++) {
+                final double[] bpCol = bp[col];
+                final int kBlock = col / BLOCK_SIZE;
+                final int kWidth = FastMath.min(BLOCK_SIZE, m - kBlock * BLOCK_SIZE);
+                final int c = col - kBlock * BLOCK_SIZE;
+                for (int iBlock = kBlock; iBlock < blockCount; ++iBlock) {
+                    final double[] block = blocks[iBlock * blockCount + kBlock];
+                    final int iStart  = iBlock * BLOCK_SIZE;
+                    final int iHeight = FastMath.min(BLOCK_SIZE, m - iStart);
+                    for (int p = (iBlock == kBlock) ? c + 1 : 0; p < iHeight; ++p) {
+                        final double l = block[p * kWidth + c];
+                        final double[] bpI = bp[iStart + p];
+                        for (int j = start; j < end; ++j) {
+                            bpI[j] -= bpCol[j] * l;
+                        }
+                    }
+                }
+            }
+
+            // Solve UX = Y
+            for (int col = m - 1; col >= 0; col--) {
+                final double[] bpCol = bp[col];
+                final int kBlock = col / BLOCK_SIZE;
+                final int kWidth = FastMath.min(BLOCK_SIZE, m - kBlock * BLOCK_SIZE);
+                final int c = col - kBlock * BLOCK_SIZE;
+                final double luDiag = blocks[kBlock * blockCount + kBlock][c * kWidth + c];
+                for (int j = start; j < end; ++j) {
+                    bpCol[j] /= luDiag;
+                }
+                for (int iBlock = 0; iBlock <= kBlock; ++iBlock) {
+                    final double[] block = blocks[iBlock * blockCount + kBlock];
+                    final int iStart  = iBlock * BLOCK_SIZE;
+                    final int iHeight = (iBlock == kBlock) ? c : BLOCK_SIZE;
+                    for (int p = 0; p < iHeight; ++p) {
+                        final double u = block[p * kWidth + c];
+                        final double[] bpI = bp[iStart + p];
+                        for (int j = start; j < end; ++j) {
+                            bpI[j] -= bpCol[j] * u;
+                        }
+                    }
+                }
+            }
+        }
+
+    }
+
+}
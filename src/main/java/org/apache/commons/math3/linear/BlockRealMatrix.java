@@ -18,15 +18,21 @@
 package org.apache.commons.math3.linear;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
 import org.apache.commons.math3.exception.NoDataException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.NumberIsTooSmallException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.util.ConcurrencyUtils;
 import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.util.MathUtils;
 
@@ -276,6 +282,46 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         return blocks;
     }
 
+    /**
+     * Copy the entries of a matrix into a new array in blocks layout.
+     * <p>
+     * Contrary to {@link #toBlocksLayout(double[][])}, this method does not
+     * need an intermediate copy of the whole matrix as a {@code double[][]}
+     * array: block matrices have their blocks cloned, other matrices are
+     * visited in {@link RealMatrix#walkInOptimizedOrder(RealMatrixPreservingVisitor)
+     * optimized order}.
+     * </p>
+     *
+     * @param m Matrix to copy.
+     * @return a new data array in blocks layout.
+     * @since 3.3
+     */
+    static double[][] copyBlocksLayout(final RealMatrix m) {
+        if (m instanceof BlockRealMatrix) {
+            final double[][] source = ((BlockRealMatrix) m).blocks;
+            final double[][] blocks = new double[source.length][];
+            for (int i = 0; i < source.length; ++i) {
+                blocks[i] = source[i].clone();
+            }
+            return blocks;
+        }
+
+        final int columns = m.getColumnDimension();
+        final int blockColumns = (columns + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        final double[][] blocks = createBlocksLayout(m.getRowDimension(), columns);
+        m.walkInOptimizedOrder(new DefaultRealMatrixPreservingVisitor() {
+            /** {@inheritDoc} */
+            @Override
+            public void visit(final int row, final int column, final double value) {
+                final int jBlock = column / BLOCK_SIZE;
+                final int jWidth = FastMath.min(BLOCK_SIZE, columns - jBlock * BLOCK_SIZE);
+                blocks[(row / BLOCK_SIZE) * blockColumns + jBlock]
+                      [(row % BLOCK_SIZE) * jWidth + column % BLOCK_SIZE] = value;
+            }
+        });
+        return blocks;
+    }
+
     /** {@inheritDoc} */
     @Override
     public BlockRealMatrix createMatrix(final int rowDimension,
@@ -482,41 +528,9 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
             final BlockRealMatrix out = new BlockRealMatrix(rows, m.getColumnDimension());
 
             // perform multiplication block-wise, to ensure good cache behavior
-            int blockIndex = 0;
             for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
-                final int pStart = iBlock * BLOCK_SIZE;
-                final int pEnd = FastMath.min(pStart + BLOCK_SIZE, rows);
-
                 for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
-                    final int qStart = jBlock * BLOCK_SIZE;
-                    final int qEnd = FastMath.min(qStart + BLOCK_SIZE, m.getColumnDimension());
-
-                    // select current block
-                    final double[] outBlock = out.blocks[blockIndex];
-
-                    // perform multiplication on current block
-                    for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
-                        final int kWidth = blockWidth(kBlock);
-                        final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
-                        final int rStart = kBlock * BLOCK_SIZE;
-                        int k = 0;
-                        for (int p = pStart; p < pEnd; ++p) {
-                            final int lStart = (p - pStart) * kWidth;
-                            final int lEnd = lStart + kWidth;
-                            for (int q = qStart; q < qEnd; ++q) {
-                                double sum = 0;
-                                int r = rStart;
-                                for (int l = lStart; l < lEnd; ++l) {
-                                    sum += tBlock[l] * m.getEntry(r, q);
-                                    ++r;
-                                }
-                                outBlock[k] += sum;
-                                ++k;
-                            }
-                        }
-                    }
-                    // go to next block
-                    ++blockIndex;
+                    multiplyBlock(m, out, iBlock, jBlock);
                 }
             }
 
@@ -524,6 +538,53 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         }
     }
 
+    /**
+     * Returns the result of postmultiplying this by {@code m}, using
+     * several threads.
+     * <p>
+     * The output block grid is split across tasks submitted to the
+     * {@code executor}, each task computing whole output blocks, so the
+     * result is identical to the one computed by {@link #multiply(RealMatrix)}.
+     * The {@code executor} is not shut down by this method.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param executor Executor service running the block tasks.
+     * @return {@code this} * m.
+     * @throws DimensionMismatchException if the matrices are not compatible.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the computation is interrupted.
+     * @since 3.3
+     */
+    public BlockRealMatrix multiply(final RealMatrix m, final ExecutorService executor)
+        throws DimensionMismatchException, NullArgumentException, MathIllegalStateException {
+        if (m instanceof BlockRealMatrix) {
+            return multiply((BlockRealMatrix) m, executor);
+        }
+
+        // safety check
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+
+        final BlockRealMatrix out = new BlockRealMatrix(rows, m.getColumnDimension());
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(out.blocks.length);
+        for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
+            for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
+                final int i = iBlock;
+                final int j = jBlock;
+                tasks.add(new Callable<Void>() {
+                    /** {@inheritDoc} */
+                    public Void call() {
+                        multiplyBlock(m, out, i, j);
+                        return null;
+                    }
+                });
+            }
+        }
+        ConcurrencyUtils.invokeAll(executor, tasks);
+
+        return out;
+    }
+
     /**
      * Returns the result of postmultiplying this by {@code m}.
      *
@@ -539,57 +600,207 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         final BlockRealMatrix out = new BlockRealMatrix(rows, m.columns);
 
         // perform multiplication block-wise, to ensure good cache behavior
-        int blockIndex = 0;
         for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
+            for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
+                multiplyBlock(m, out, iBlock, jBlock);
+            }
+        }
 
-            final int pStart = iBlock * BLOCK_SIZE;
-            final int pEnd = FastMath.min(pStart + BLOCK_SIZE, rows);
+        return out;
+    }
 
+    /**
+     * Returns the result of postmultiplying this by {@code m}, using the
+     * specified inner kernel.
+     * <p>
+     * The kernel is applied to each product of a block of this by a
+     * block of {@code m}. With the {@link MultiplicationKernel#TILED TILED}
+     * kernel, each block of {@code m} is packed once and reused for all
+     * the blocks of this it is multiplied by.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param kernel Inner kernel to use.
+     * @return {@code this} * m.
+     * @throws DimensionMismatchException if the matrices are not compatible.
+     * @throws NullArgumentException if {@code kernel} is {@code null}.
+     * @see #multiply(BlockRealMatrix)
+     * @since 3.3
+     */
+    public BlockRealMatrix multiplyWithKernel(final BlockRealMatrix m, final MultiplicationKernel kernel)
+        throws DimensionMismatchException, NullArgumentException {
+        MathUtils.checkNotNull(kernel);
+        if (kernel == MultiplicationKernel.CLASSICAL) {
+            return multiply(m);
+        }
+
+        // safety check
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+
+        final BlockRealMatrix out = new BlockRealMatrix(rows, m.columns);
+        final TiledMultiplication tiled = new TiledMultiplication();
+
+        // perform multiplication block-wise, packing each block of m only once;
+        // each output block still accumulates its terms in increasing kBlock order
+        for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
+            final int jWidth = out.blockWidth(jBlock);
+            for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
+                final int kWidth = blockWidth(kBlock);
+                tiled.pack(m.blocks[kBlock * m.blockColumns + jBlock], jWidth, kWidth);
+                for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
+                    tiled.multiplyPacked(blocks[iBlock * blockColumns + kBlock],
+                                         out.blocks[iBlock * out.blockColumns + jBlock],
+                                         blockHeight(iBlock), jWidth, kWidth);
+                }
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Returns the result of postmultiplying this by {@code m}, using
+     * several threads.
+     * <p>
+     * The output block grid is split across tasks submitted to the
+     * {@code executor}, each task computing whole output blocks, so the
+     * result is identical to the one computed by {@link #multiply(BlockRealMatrix)}.
+     * The {@code executor} is not shut down by this method.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param executor Executor service running the block tasks.
+     * @return {@code this} * m.
+     * @throws DimensionMismatchException if the matrices are not compatible.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the computation is interrupted.
+     * @since 3.3
+     */
+    public BlockRealMatrix multiply(final BlockRealMatrix m, final ExecutorService executor)
+        throws DimensionMismatchException, NullArgumentException, MathIllegalStateException {
+        // safety check
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+
+        final BlockRealMatrix out = new BlockRealMatrix(rows, m.columns);
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(out.blocks.length);
+        for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
             for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
-                final int jWidth = out.blockWidth(jBlock);
-                final int jWidth2 = jWidth  + jWidth;
-                final int jWidth3 = jWidth2 + jWidth;
-                final int jWidth4 = jWidth3 + jWidth;
+                final int i = iBlock;
+                final int j = jBlock;
+                tasks.add(new Callable<Void>() {
+                    /** {@inheritDoc} */
+                    public Void call() {
+                        multiplyBlock(m, out, i, j);
+                        return null;
+                    }
+                });
+            }
+        }
+        ConcurrencyUtils.invokeAll(executor, tasks);
 
-                // select current block
-                final double[] outBlock = out.blocks[blockIndex];
+        return out;
+    }
 
-                // perform multiplication on current block
-                for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
-                    final int kWidth = blockWidth(kBlock);
-                    final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
-                    final double[] mBlock = m.blocks[kBlock * m.blockColumns + jBlock];
-                    int k = 0;
-                    for (int p = pStart; p < pEnd; ++p) {
-                        final int lStart = (p - pStart) * kWidth;
-                        final int lEnd = lStart + kWidth;
-                        for (int nStart = 0; nStart < jWidth; ++nStart) {
-                            double sum = 0;
-                            int l = lStart;
-                            int n = nStart;
-                            while (l < lEnd - 3) {
-                                sum += tBlock[l] * mBlock[n] +
-                                       tBlock[l + 1] * mBlock[n + jWidth] +
-                                       tBlock[l + 2] * mBlock[n + jWidth2] +
-                                       tBlock[l + 3] * mBlock[n + jWidth3];
-                                l += 4;
-                                n += jWidth4;
-                            }
-                            while (l < lEnd) {
-                                sum += tBlock[l++] * mBlock[n];
-                                n += jWidth;
-                            }
-                            outBlock[k] += sum;
-                            ++k;
-                        }
+    /**
+     * Computes one block of the product of this by a general matrix.
+     * <p>
+     * Only the block at ({@code iBlock}, {@code jBlock}) of {@code out}
+     * is written, so distinct blocks can be computed concurrently.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param out Output matrix.
+     * @param iBlock Row index (in block sense) of the output block.
+     * @param jBlock Column index (in block sense) of the output block.
+     */
+    private void multiplyBlock(final RealMatrix m, final BlockRealMatrix out,
+                               final int iBlock, final int jBlock) {
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd = FastMath.min(pStart + BLOCK_SIZE, rows);
+        final int qStart = jBlock * BLOCK_SIZE;
+        final int qEnd = FastMath.min(qStart + BLOCK_SIZE, m.getColumnDimension());
+
+        // select current block
+        final double[] outBlock = out.blocks[iBlock * out.blockColumns + jBlock];
+
+        // perform multiplication on current block
+        for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
+            final int kWidth = blockWidth(kBlock);
+            final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
+            final int rStart = kBlock * BLOCK_SIZE;
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                final int lStart = (p - pStart) * kWidth;
+                final int lEnd = lStart + kWidth;
+                for (int q = qStart; q < qEnd; ++q) {
+                    double sum = 0;
+                    int r = rStart;
+                    for (int l = lStart; l < lEnd; ++l) {
+                        sum += tBlock[l] * m.getEntry(r, q);
+                        ++r;
                     }
+                    outBlock[k] += sum;
+                    ++k;
                 }
-                // go to next block
-                ++blockIndex;
             }
         }
+    }
 
-        return out;
+    /**
+     * Computes one block of the product of this by another block matrix.
+     * <p>
+     * Only the block at ({@code iBlock}, {@code jBlock}) of {@code out}
+     * is written, so distinct blocks can be computed concurrently.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param out Output matrix.
+     * @param iBlock Row index (in block sense) of the output block.
+     * @param jBlock Column index (in block sense) of the output block.
+     */
+    private void multiplyBlock(final BlockRealMatrix m, final BlockRealMatrix out,
+                               final int iBlock, final int jBlock) {
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd = FastMath.min(pStart + BLOCK_SIZE, rows);
+
+        final int jWidth = out.blockWidth(jBlock);
+        final int jWidth2 = jWidth  + jWidth;
+        final int jWidth3 = jWidth2 + jWidth;
+        final int jWidth4 = jWidth3 + jWidth;
+
+        // select current block
+        final double[] outBlock = out.blocks[iBlock * out.blockColumns + jBlock];
+
+        // perform multiplication on current block
+        for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
+            final int kWidth = blockWidth(kBlock);
+            final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
+            final double[] mBlock = m.blocks[kBlock * m.blockColumns + jBlock];
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                final int lStart = (p - pStart) * kWidth;
+                final int lEnd = lStart + kWidth;
+                for (int nStart = 0; nStart < jWidth; ++nStart) {
+                    double sum = 0;
+                    int l = lStart;
+                    int n = nStart;
+                    while (l < lEnd - 3) {
+                        sum += tBlock[l] * mBlock[n] +
+                               tBlock[l + 1] * mBlock[n + jWidth] +
+                               tBlock[l + 2] * mBlock[n + jWidth2] +
+                               tBlock[l + 3] * mBlock[n + jWidth3];
+                        l += 4;
+                        n += jWidth4;
+                    }
+                    while (l < lEnd) {
+                        sum += tBlock[l++] * mBlock[n];
+                        n += jWidth;
+                    }
+                    outBlock[k] += sum;
+                    ++k;
+                }
+            }
+        }
     }
 
     /** {@inheritDoc} */
@@ -1268,35 +1479,137 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
 
         // perform multiplication block-wise, to ensure good cache behavior
         for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
-            final int pStart = iBlock * BLOCK_SIZE;
-            final int pEnd = FastMath.min(pStart + BLOCK_SIZE, rows);
-            for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
-                final double[] block  = blocks[iBlock * blockColumns + jBlock];
-                final int qStart = jBlock * BLOCK_SIZE;
-                final int qEnd = FastMath.min(qStart + BLOCK_SIZE, columns);
-                int k = 0;
-                for (int p = pStart; p < pEnd; ++p) {
-                    double sum = 0;
-                    int q = qStart;
-                    while (q < qEnd - 3) {
-                        sum += block[k]     * v[q]     +
-                               block[k + 1] * v[q + 1] +
-                               block[k + 2] * v[q + 2] +
-                               block[k + 3] * v[q + 3];
-                        k += 4;
-                        q += 4;
-                    }
-                    while (q < qEnd) {
-                        sum += block[k++] * v[q++];
-                    }
-                    out[p] += sum;
-                }
-            }
+            operateBlockRow(v, out, iBlock);
         }
 
         return out;
     }
 
+    /**
+     * Returns the result of multiplying this by the vector {@code v}, using
+     * several threads.
+     * <p>
+     * Each task submitted to the {@code executor} handles one row of blocks,
+     * so the result is identical to the one computed by {@link #operate(double[])}.
+     * The {@code executor} is not shut down by this method.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param executor Executor service running the block rows tasks.
+     * @return {@code this * v}
+     * @throws DimensionMismatchException if the length of {@code v} does not
+     * match the column dimension of {@code this}.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the computation is interrupted.
+     * @since 3.3
+     */
+    public double[] operate(final double[] v, final ExecutorService executor)
+        throws DimensionMismatchException, NullArgumentException, MathIllegalStateException {
+        if (v.length != columns) {
+            throw new DimensionMismatchException(v.length, columns);
+        }
+        final double[] out = new double[rows];
+        operateBlockRows(v, out, executor);
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If both vectors are {@link ArrayRealVector} instances, the product is
+     * written directly in the storage array of {@code y}.
+     * </p>
+     * @since 3.3
+     */
+    @Override
+    public void operate(final RealVector x, final RealVector y)
+        throws DimensionMismatchException {
+        if (x instanceof ArrayRealVector && y instanceof ArrayRealVector) {
+            if (x.getDimension() != columns) {
+                throw new DimensionMismatchException(x.getDimension(), columns);
+            }
+            if (y.getDimension() != rows) {
+                throw new DimensionMismatchException(y.getDimension(), rows);
+            }
+            final double[] out = ((ArrayRealVector) y).getDataRef();
+            Arrays.fill(out, 0.0);
+            for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
+                operateBlockRow(((ArrayRealVector) x).getDataRef(), out, iBlock);
+            }
+        } else {
+            super.operate(x, y);
+        }
+    }
+
+    /**
+     * Multiplies this matrix by a vector, using several threads.
+     * <p>
+     * Each task submitted to the {@code executor} handles one row of blocks.
+     * No dimension checks are performed.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param out output vector, all its entries are overwritten
+     * @param executor Executor service running the block rows tasks.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the computation is interrupted.
+     */
+    void operateBlockRows(final double[] v, final double[] out, final ExecutorService executor)
+        throws NullArgumentException, MathIllegalStateException {
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(blockRows);
+        for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
+            final int i = iBlock;
+            tasks.add(new Callable<Void>() {
+                /** {@inheritDoc} */
+                public Void call() {
+                    final int pStart = i * BLOCK_SIZE;
+                    Arrays.fill(out, pStart, FastMath.min(pStart + BLOCK_SIZE, rows), 0.0);
+                    operateBlockRow(v, out, i);
+                    return null;
+                }
+            });
+        }
+        ConcurrencyUtils.invokeAll(executor, tasks);
+    }
+
+    /**
+     * Multiplies one row of blocks by a vector.
+     * <p>
+     * Only the entries of {@code out} corresponding to the rows of the
+     * block row are written, so distinct block rows can be handled concurrently.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param out output vector
+     * @param iBlock row index (in block sense) of the blocks to multiply
+     */
+    private void operateBlockRow(final double[] v, final double[] out, final int iBlock) {
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd = FastMath.min(pStart + BLOCK_SIZE, rows);
+        for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+            final double[] block  = blocks[iBlock * blockColumns + jBlock];
+            final int qStart = jBlock * BLOCK_SIZE;
+            final int qEnd = FastMath.min(qStart + BLOCK_SIZE, columns);
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                double sum = 0;
+                int q = qStart;
+                while (q < qEnd - 3) {
+                    sum += block[k]     * v[q]     +
+                           block[k + 1] * v[q + 1] +
+                           block[k + 2] * v[q + 2] +
+                           block[k + 3] * v[q + 3];
+                    k += 4;
+                    q += 4;
+                }
+                while (q < qEnd) {
+                    sum += block[k++] * v[q++];
+                }
+                out[p] += sum;
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public double[] preMultiply(final double[] v)
@@ -1308,40 +1621,98 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
 
         // perform multiplication block-wise, to ensure good cache behavior
         for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
-            final int jWidth  = blockWidth(jBlock);
-            final int jWidth2 = jWidth  + jWidth;
-            final int jWidth3 = jWidth2 + jWidth;
-            final int jWidth4 = jWidth3 + jWidth;
-            final int qStart = jBlock * BLOCK_SIZE;
-            final int qEnd = FastMath.min(qStart + BLOCK_SIZE, columns);
-            for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
-                final double[] block  = blocks[iBlock * blockColumns + jBlock];
-                final int pStart = iBlock * BLOCK_SIZE;
-                final int pEnd = FastMath.min(pStart + BLOCK_SIZE, rows);
-                for (int q = qStart; q < qEnd; ++q) {
-                    int k = q - qStart;
-                    double sum = 0;
-                    int p = pStart;
-                    while (p < pEnd - 3) {
-                        sum += block[k]           * v[p]     +
-                               block[k + jWidth]  * v[p + 1] +
-                               block[k + jWidth2] * v[p + 2] +
-                               block[k + jWidth3] * v[p + 3];
-                        k += jWidth4;
-                        p += 4;
-                    }
-                    while (p < pEnd) {
-                        sum += block[k] * v[p++];
-                        k += jWidth;
-                    }
-                    out[q] += sum;
+            preMultiplyBlockColumn(v, out, jBlock);
+        }
+
+        return out;
+    }
+
+    /**
+     * Returns the (row) vector result of premultiplying this by the vector
+     * {@code v}, i.e. the product of the transpose of this by {@code v},
+     * using several threads.
+     * <p>
+     * Each task submitted to the {@code executor} handles one column of blocks,
+     * so the result is identical to the one computed by {@link #preMultiply(double[])}.
+     * The {@code executor} is not shut down by this method.
+     * </p>
+     *
+     * @param v the row vector to premultiply by
+     * @param executor Executor service running the block columns tasks.
+     * @return {@code v * this}
+     * @throws DimensionMismatchException if the length of {@code v} does not
+     * match the row dimension of {@code this}.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the computation is interrupted.
+     * @since 3.3
+     */
+    public double[] preMultiply(final double[] v, final ExecutorService executor)
+        throws DimensionMismatchException, NullArgumentException, MathIllegalStateException {
+        if (v.length != rows) {
+            throw new DimensionMismatchException(v.length, rows);
+        }
+        final double[] out = new double[columns];
+
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(blockColumns);
+        for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+            final int j = jBlock;
+            tasks.add(new Callable<Void>() {
+                /** {@inheritDoc} */
+                public Void call() {
+                    preMultiplyBlockColumn(v, out, j);
+                    return null;
                 }
-            }
+            });
         }
+        ConcurrencyUtils.invokeAll(executor, tasks);
 
         return out;
     }
 
+    /**
+     * Premultiplies one column of blocks by a vector.
+     * <p>
+     * Only the entries of {@code out} corresponding to the columns of the
+     * block column are written, so distinct block columns can be handled
+     * concurrently.
+     * </p>
+     *
+     * @param v the row vector to premultiply by
+     * @param out output vector
+     * @param jBlock column index (in block sense) of the blocks to multiply
+     */
+    private void preMultiplyBlockColumn(final double[] v, final double[] out, final int jBlock) {
+        final int jWidth  = blockWidth(jBlock);
+        final int jWidth2 = jWidth  + jWidth;
+        final int jWidth3 = jWidth2 + jWidth;
+        final int jWidth4 = jWidth3 + jWidth;
+        final int qStart = jBlock * BLOCK_SIZE;
+        final int qEnd = FastMath.min(qStart + BLOCK_SIZE, columns);
+        for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
+            final double[] block  = blocks[iBlock * blockColumns + jBlock];
+            final int pStart = iBlock * BLOCK_SIZE;
+            final int pEnd = FastMath.min(pStart + BLOCK_SIZE, rows);
+            for (int q = qStart; q < qEnd; ++q) {
+                int k = q - qStart;
+                double sum = 0;
+                int p = pStart;
+                while (p < pEnd - 3) {
+                    sum += block[k]           * v[p]     +
+                           block[k + jWidth]  * v[p + 1] +
+                           block[k + jWidth2] * v[p + 2] +
+                           block[k + jWidth3] * v[p + 3];
+                    k += jWidth4;
+                    p += 4;
+                }
+                while (p < pEnd) {
+                    sum += block[k] * v[p++];
+                    k += jWidth;
+                }
+                out[q] += sum;
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public double walkInRowOrder(final RealMatrixChangingVisitor visitor) {
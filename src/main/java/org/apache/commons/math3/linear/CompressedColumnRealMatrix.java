@@ -0,0 +1,438 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import java.io.Serializable;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathUnsupportedOperationException;
+import org.apache.commons.math3.exception.NonMonotonicSequenceException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+
+/**
+ * Immutable sparse matrix in compressed column storage.
+ * <p>
+ * This is the column oriented counterpart of {@link CompressedRowRealMatrix}:
+ * the non-zero entries are stored column after column, with their row indices
+ * sorted within each column. This layout is the natural one for {@link
+ * #preMultiply(double[]) transposed matrix-vector products} and for algorithms
+ * accessing the matrix column by column.
+ * </p>
+ * <p>
+ * Instances are immutable: all the methods that would modify an entry throw
+ * {@link MathUnsupportedOperationException}. The {@link #transpose() transpose}
+ * of a compressed column matrix is a {@link CompressedRowRealMatrix} sharing the
+ * same storage, and is therefore obtained in constant time.
+ * </p>
+ *
+ * @see CompressedRowRealMatrix
+ * @see CompressedMatrixBuilder
+ * @version $Id$
+ * @since 3.3
+ */
+public class CompressedColumnRealMatrix extends AbstractRealMatrix implements Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20131020L;
+
+    /** Compressed storage, with columns as major indices. */
+    private final CompressedStorage storage;
+
+    /**
+     * Build a matrix from its compressed column storage.
+     * <p>
+     * The arrays are checked and copied.
+     * </p>
+     *
+     * @param rowDimension number of rows
+     * @param columnDimension number of columns
+     * @param columnPointers start of the entries of each column in the other arrays,
+     * with one extra end marker (its length must be {@code columnDimension + 1})
+     * @param rowIndices row indices of the entries, strictly increasing within each column
+     * @param values values of the entries
+     * @throws NotStrictlyPositiveException if the row or column dimension is not positive
+     * @throws NullArgumentException if one of the arrays is null
+     * @throws DimensionMismatchException if the arrays lengths are inconsistent
+     * @throws NonMonotonicSequenceException if the column pointers are not increasing
+     * or the row indices are not strictly increasing within one column
+     * @throws OutOfRangeException if a row index is out of range
+     */
+    public CompressedColumnRealMatrix(final int rowDimension, final int columnDimension,
+                                      final int[] columnPointers, final int[] rowIndices,
+                                      final double[] values)
+        throws NotStrictlyPositiveException, NullArgumentException, DimensionMismatchException,
+               NonMonotonicSequenceException, OutOfRangeException {
+        super(rowDimension, columnDimension);
+        storage = CompressedStorage.create(columnDimension, rowDimension,
+                                           columnPointers, rowIndices, values);
+    }
+
+    /**
+     * Build a matrix holding the non-zero entries of another matrix.
+     *
+     * @param matrix matrix to convert
+     */
+    public CompressedColumnRealMatrix(final RealMatrix matrix) {
+        this(toStorage(matrix));
+    }
+
+    /**
+     * Build a matrix sharing a compressed storage.
+     *
+     * @param storage compressed storage, with columns as major indices
+     */
+    CompressedColumnRealMatrix(final CompressedStorage storage) {
+        super(storage.getMinorDimension(), storage.getMajorDimension());
+        this.storage = storage;
+    }
+
+    /**
+     * Get the compressed column storage of a matrix.
+     *
+     * @param matrix matrix to convert
+     * @return compressed column storage of the matrix
+     */
+    private static CompressedStorage toStorage(final RealMatrix matrix) {
+        if (matrix instanceof CompressedColumnRealMatrix) {
+            return ((CompressedColumnRealMatrix) matrix).storage;
+        } else if (matrix instanceof CompressedRowRealMatrix) {
+            return ((CompressedRowRealMatrix) matrix).getStorage().transpose();
+        }
+        return CompressedStorage.create(matrix, false);
+    }
+
+    /**
+     * Get the compressed storage.
+     *
+     * @return compressed storage, with columns as major indices
+     */
+    CompressedStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Get the number of stored entries.
+     *
+     * @return number of stored entries
+     */
+    public int getNonZeroCount() {
+        return storage.getNonZeroCount();
+    }
+
+    /**
+     * Get a copy of the start of the entries of each column.
+     *
+     * @return start of the entries of each column, with one extra end marker
+     */
+    public int[] getColumnPointers() {
+        return storage.getPointersRef().clone();
+    }
+
+    /**
+     * Get a copy of the row indices of the entries.
+     *
+     * @return row indices of the entries
+     */
+    public int[] getRowIndices() {
+        return storage.getIndicesRef().clone();
+    }
+
+    /**
+     * Get a copy of the values of the entries.
+     *
+     * @return values of the entries
+     */
+    public double[] getValues() {
+        return storage.getValuesRef().clone();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return storage.getMinorDimension();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return storage.getMajorDimension();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As compressed matrices are immutable, the new matrix is a dense one.
+     * </p>
+     */
+    @Override
+    public RealMatrix createMatrix(final int rowDimension, final int columnDimension)
+        throws NotStrictlyPositiveException {
+        return MatrixUtils.createRealMatrix(rowDimension, columnDimension);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As compressed matrices are immutable, the copy shares the storage of the instance.
+     * </p>
+     */
+    @Override
+    public CompressedColumnRealMatrix copy() {
+        return new CompressedColumnRealMatrix(storage);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column)
+        throws OutOfRangeException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        return storage.getEntry(column, row);
+    }
+
+    /**
+     * Unsupported operation.
+     *
+     * @param row row index
+     * @param column column index
+     * @param value value to set
+     * @throws MathUnsupportedOperationException always, as the matrix is immutable
+     */
+    @Override
+    public void setEntry(final int row, final int column, final double value)
+        throws MathUnsupportedOperationException {
+        throw new MathUnsupportedOperationException();
+    }
+
+    /**
+     * Unsupported operation.
+     *
+     * @param row row index
+     * @param column column index
+     * @param increment value to add
+     * @throws MathUnsupportedOperationException always, as the matrix is immutable
+     */
+    @Override
+    public void addToEntry(final int row, final int column, final double increment)
+        throws MathUnsupportedOperationException {
+        throw new MathUnsupportedOperationException();
+    }
+
+    /**
+     * Unsupported operation.
+     *
+     * @param row row index
+     * @param column column index
+     * @param factor multiplication factor
+     * @throws MathUnsupportedOperationException always, as the matrix is immutable
+     */
+    @Override
+    public void multiplyEntry(final int row, final int column, final double factor)
+        throws MathUnsupportedOperationException {
+        throw new MathUnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix add(final RealMatrix m)
+        throws MatrixDimensionMismatchException {
+        if (m instanceof CompressedColumnRealMatrix) {
+            return add((CompressedColumnRealMatrix) m);
+        }
+        return super.add(m);
+    }
+
+    /**
+     * Compute the sum of {@code this} and {@code m}.
+     *
+     * @param m matrix to be added
+     * @return {@code this + m}
+     * @throws MatrixDimensionMismatchException if {@code m} is not the same
+     * size as {@code this}
+     */
+    public CompressedColumnRealMatrix add(final CompressedColumnRealMatrix m)
+        throws MatrixDimensionMismatchException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        return new CompressedColumnRealMatrix(storage.combine(m.storage, 1.0));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix subtract(final RealMatrix m)
+        throws MatrixDimensionMismatchException {
+        if (m instanceof CompressedColumnRealMatrix) {
+            return subtract((CompressedColumnRealMatrix) m);
+        }
+        return super.subtract(m);
+    }
+
+    /**
+     * Subtract {@code m} from this matrix.
+     *
+     * @param m matrix to be subtracted
+     * @return {@code this - m}
+     * @throws MatrixDimensionMismatchException if {@code m} is not the same
+     * size as {@code this}
+     */
+    public CompressedColumnRealMatrix subtract(final CompressedColumnRealMatrix m)
+        throws MatrixDimensionMismatchException {
+        MatrixUtils.checkSubtractionCompatible(this, m);
+        return new CompressedColumnRealMatrix(storage.combine(m.storage, -1.0));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedColumnRealMatrix scalarMultiply(final double d) {
+        return new CompressedColumnRealMatrix(storage.scale(d));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The product is a compressed column matrix if {@code m} is a compressed
+     * column matrix, a compressed row matrix if {@code m} is a compressed row
+     * matrix, and a dense matrix otherwise.
+     * </p>
+     */
+    @Override
+    public RealMatrix multiply(final RealMatrix m)
+        throws DimensionMismatchException {
+        if (m instanceof CompressedColumnRealMatrix) {
+            return multiply((CompressedColumnRealMatrix) m);
+        }
+        return toCompressedRow().multiply(m);
+    }
+
+    /**
+     * Returns the result of postmultiplying {@code this} by {@code m}.
+     *
+     * @param m matrix to postmultiply by
+     * @return {@code this * m}
+     * @throws DimensionMismatchException if
+     * {@code columnDimension(this) != rowDimension(m)}
+     * @throws NumberIsTooLargeException if the product has more than
+     * {@code Integer.MAX_VALUE} non-zero entries
+     */
+    public CompressedColumnRealMatrix multiply(final CompressedColumnRealMatrix m)
+        throws DimensionMismatchException, NumberIsTooLargeException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        // the compressed column storage of A B is the compressed row storage of B^T A^T
+        return new CompressedColumnRealMatrix(m.storage.multiply(storage));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The transpose shares the storage of the instance, so it is
+     * obtained in constant time.
+     * </p>
+     */
+    @Override
+    public CompressedRowRealMatrix transpose() {
+        return new CompressedRowRealMatrix(storage);
+    }
+
+    /**
+     * Convert the instance to compressed row storage.
+     *
+     * @return compressed row matrix with the same entries
+     */
+    public CompressedRowRealMatrix toCompressedRow() {
+        return new CompressedRowRealMatrix(storage.transpose());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v)
+        throws DimensionMismatchException {
+        if (v.length != getColumnDimension()) {
+            throw new DimensionMismatchException(v.length, getColumnDimension());
+        }
+        return storage.scatter(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector v)
+        throws DimensionMismatchException {
+        final double[] data = (v instanceof ArrayRealVector) ?
+                              ((ArrayRealVector) v).getDataRef() : v.toArray();
+        return new ArrayRealVector(operate(data), false);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If both vectors are {@link ArrayRealVector} instances, the product is
+     * written directly in the storage array of {@code y}.
+     * </p>
+     */
+    @Override
+    public void operate(final RealVector x, final RealVector y)
+        throws DimensionMismatchException {
+        if (x instanceof ArrayRealVector && y instanceof ArrayRealVector) {
+            if (x.getDimension() != getColumnDimension()) {
+                throw new DimensionMismatchException(x.getDimension(), getColumnDimension());
+            }
+            if (y.getDimension() != getRowDimension()) {
+                throw new DimensionMismatchException(y.getDimension(), getRowDimension());
+            }
+            storage.scatter(((ArrayRealVector) x).getDataRef(), ((ArrayRealVector) y).getDataRef());
+        } else {
+            super.operate(x, y);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(final double[] v)
+        throws DimensionMismatchException {
+        if (v.length != getRowDimension()) {
+            throw new DimensionMismatchException(v.length, getRowDimension());
+        }
+        return storage.gather(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector preMultiply(final RealVector v)
+        throws DimensionMismatchException {
+        final double[] data = (v instanceof ArrayRealVector) ?
+                              ((ArrayRealVector) v).getDataRef() : v.toArray();
+        return new ArrayRealVector(preMultiply(data), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(final Object object) {
+        if (object instanceof CompressedColumnRealMatrix) {
+            return storage.sameEntries(((CompressedColumnRealMatrix) object).storage);
+        } else if (object instanceof CompressedRowRealMatrix) {
+            return object.equals(this);
+        }
+        return super.equals(object);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return storage.transpose().rowMajorHashCode();
+    }
+
+}
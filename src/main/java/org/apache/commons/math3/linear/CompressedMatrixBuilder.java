@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+
+/**
+ * Builder for {@link CompressedRowRealMatrix compressed row} and
+ * {@link CompressedColumnRealMatrix compressed column} matrices.
+ * <p>
+ * The entries are added in any order as coordinates triplets (row index,
+ * column index, value). Entries added several times with the same indices are
+ * summed, which is the natural way to assemble finite elements matrices for
+ * example. Conversion to compressed storage is performed by two counting sorts,
+ * so its cost is linear in the number of triplets and in the dimensions.
+ * </p>
+ * <p>
+ * All added entries are stored, even if their value is zero, so the structure
+ * of the built matrix is exactly the set of added indices. A builder can be
+ * used to build several matrices, and can still be updated after a build.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+public class CompressedMatrixBuilder {
+
+    /** Default initial capacity. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Number of rows. */
+    private final int rowDimension;
+
+    /** Number of columns. */
+    private final int columnDimension;
+
+    /** Row indices of the triplets. */
+    private int[] rows;
+
+    /** Column indices of the triplets. */
+    private int[] columns;
+
+    /** Values of the triplets. */
+    private double[] values;
+
+    /** Number of triplets. */
+    private int size;
+
+    /**
+     * Simple constructor.
+     *
+     * @param rowDimension number of rows of the matrix
+     * @param columnDimension number of columns of the matrix
+     * @throws NotStrictlyPositiveException if the row or column dimension is not positive
+     */
+    public CompressedMatrixBuilder(final int rowDimension, final int columnDimension)
+        throws NotStrictlyPositiveException {
+        this(rowDimension, columnDimension, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Simple constructor.
+     *
+     * @param rowDimension number of rows of the matrix
+     * @param columnDimension number of columns of the matrix
+     * @param expectedEntries expected number of entries, used
+     * to size the internal arrays (they grow as needed)
+     * @throws NotStrictlyPositiveException if the row or column dimension
+     * or the expected number of entries is not positive
+     */
+    public CompressedMatrixBuilder(final int rowDimension, final int columnDimension,
+                                   final int expectedEntries)
+        throws NotStrictlyPositiveException {
+        if (rowDimension <= 0) {
+            throw new NotStrictlyPositiveException(LocalizedFormats.DIMENSION, rowDimension);
+        }
+        if (columnDimension <= 0) {
+            throw new NotStrictlyPositiveException(LocalizedFormats.DIMENSION, columnDimension);
+        }
+        if (expectedEntries <= 0) {
+            throw new NotStrictlyPositiveException(expectedEntries);
+        }
+        this.rowDimension    = rowDimension;
+        this.columnDimension = columnDimension;
+        this.rows            = new int[expectedEntries];
+        this.columns         = new int[expectedEntries];
+        this.values          = new double[expectedEntries];
+        this.size            = 0;
+    }
+
+    /**
+     * Get the number of rows of the matrix.
+     *
+     * @return number of rows
+     */
+    public int getRowDimension() {
+        return rowDimension;
+    }
+
+    /**
+     * Get the number of columns of the matrix.
+     *
+     * @return number of columns
+     */
+    public int getColumnDimension() {
+        return columnDimension;
+    }
+
+    /**
+     * Get the number of triplets added so far.
+     * <p>
+     * This may be larger than the number of non-zero entries of the
+     * built matrices, as triplets with the same indices are summed.
+     * </p>
+     *
+     * @return number of triplets added so far
+     */
+    public int getTripletCount() {
+        return size;
+    }
+
+    /**
+     * Add a triplet.
+     *
+     * @param row row index of the entry
+     * @param column column index of the entry
+     * @param value value to add to the entry
+     * @throws OutOfRangeException if one of the indices is out of range
+     */
+    public void addEntry(final int row, final int column, final double value)
+        throws OutOfRangeException {
+        if (row < 0 || row >= rowDimension) {
+            throw new OutOfRangeException(LocalizedFormats.ROW_INDEX, row, 0, rowDimension - 1);
+        }
+        if (column < 0 || column >= columnDimension) {
+            throw new OutOfRangeException(LocalizedFormats.COLUMN_INDEX, column, 0, columnDimension - 1);
+        }
+        if (size == rows.length) {
+            final int capacity = (int) FastMath.min(Integer.MAX_VALUE, 2l * size);
+            rows    = MathArrays.copyOf(rows,    capacity);
+            columns = MathArrays.copyOf(columns, capacity);
+            values  = MathArrays.copyOf(values,  capacity);
+        }
+        rows[size]    = row;
+        columns[size] = column;
+        values[size]  = value;
+        ++size;
+    }
+
+    /**
+     * Build a matrix in compressed row storage from the triplets added so far.
+     *
+     * @return a new compressed row matrix
+     */
+    public CompressedRowRealMatrix buildRowMatrix() {
+        return new CompressedRowRealMatrix(CompressedStorage.create(rowDimension, columnDimension,
+                                                                    rows, columns, values, size));
+    }
+
+    /**
+     * Build a matrix in compressed column storage from the triplets added so far.
+     *
+     * @return a new compressed column matrix
+     */
+    public CompressedColumnRealMatrix buildColumnMatrix() {
+        return new CompressedColumnRealMatrix(CompressedStorage.create(columnDimension, rowDimension,
+                                                                       columns, rows, values, size));
+    }
+
+}
@@ -0,0 +1,530 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.MathUnsupportedOperationException;
+import org.apache.commons.math3.exception.NonMonotonicSequenceException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.util.ConcurrencyUtils;
+
+/**
+ * Immutable sparse matrix in compressed row storage.
+ * <p>
+ * Only the non-zero entries are stored, row after row, in three arrays: the
+ * column indices and values of the entries (sorted by increasing column index
+ * within each row), and the start of each row in these arrays. This layout
+ * makes {@link #operate(double[]) matrix-vector products} a single sequential
+ * pass over the entries, with a cost proportional to the number of non-zero
+ * entries only, and allows {@link #multiply(CompressedRowRealMatrix)
+ * sparse-sparse products} without any intermediate dense storage.
+ * </p>
+ * <p>
+ * Instances are immutable: all the methods that would modify an entry throw
+ * {@link MathUnsupportedOperationException}. Instances are therefore
+ * usually built using a {@link CompressedMatrixBuilder}, or converted from
+ * another matrix. The {@link #transpose() transpose} of a compressed row matrix
+ * is a {@link CompressedColumnRealMatrix} sharing the same storage, and is
+ * therefore obtained in constant time.
+ * </p>
+ *
+ * @see CompressedColumnRealMatrix
+ * @see CompressedMatrixBuilder
+ * @version $Id$
+ * @since 3.3
+ */
+public class CompressedRowRealMatrix extends AbstractRealMatrix implements Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20131020L;
+
+    /** Minimal number of entries handled by one task in parallel products. */
+    private static final int MIN_SLICE_ENTRIES = 16384;
+
+    /** Compressed storage, with rows as major indices. */
+    private final CompressedStorage storage;
+
+    /**
+     * Build a matrix from its compressed row storage.
+     * <p>
+     * The arrays are checked and copied.
+     * </p>
+     *
+     * @param rowDimension number of rows
+     * @param columnDimension number of columns
+     * @param rowPointers start of the entries of each row in the other arrays,
+     * with one extra end marker (its length must be {@code rowDimension + 1})
+     * @param columnIndices column indices of the entries, strictly increasing within each row
+     * @param values values of the entries
+     * @throws NotStrictlyPositiveException if the row or column dimension is not positive
+     * @throws NullArgumentException if one of the arrays is null
+     * @throws DimensionMismatchException if the arrays lengths are inconsistent
+     * @throws NonMonotonicSequenceException if the row pointers are not increasing
+     * or the column indices are not strictly increasing within one row
+     * @throws OutOfRangeException if a column index is out of range
+     */
+    public CompressedRowRealMatrix(final int rowDimension, final int columnDimension,
+                                   final int[] rowPointers, final int[] columnIndices,
+                                   final double[] values)
+        throws NotStrictlyPositiveException, NullArgumentException, DimensionMismatchException,
+               NonMonotonicSequenceException, OutOfRangeException {
+        super(rowDimension, columnDimension);
+        storage = CompressedStorage.create(rowDimension, columnDimension,
+                                           rowPointers, columnIndices, values);
+    }
+
+    /**
+     * Build a matrix holding the non-zero entries of another matrix.
+     *
+     * @param matrix matrix to convert
+     */
+    public CompressedRowRealMatrix(final RealMatrix matrix) {
+        this(toStorage(matrix));
+    }
+
+    /**
+     * Build a matrix sharing a compressed storage.
+     *
+     * @param storage compressed storage, with rows as major indices
+     */
+    CompressedRowRealMatrix(final CompressedStorage storage) {
+        super(storage.getMajorDimension(), storage.getMinorDimension());
+        this.storage = storage;
+    }
+
+    /**
+     * Get the compressed row storage of a matrix.
+     *
+     * @param matrix matrix to convert
+     * @return compressed row storage of the matrix
+     */
+    private static CompressedStorage toStorage(final RealMatrix matrix) {
+        if (matrix instanceof CompressedRowRealMatrix) {
+            return ((CompressedRowRealMatrix) matrix).storage;
+        } else if (matrix instanceof CompressedColumnRealMatrix) {
+            return ((CompressedColumnRealMatrix) matrix).getStorage().transpose();
+        }
+        return CompressedStorage.create(matrix, true);
+    }
+
+    /**
+     * Get the compressed storage.
+     *
+     * @return compressed storage, with rows as major indices
+     */
+    CompressedStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Get the number of stored entries.
+     *
+     * @return number of stored entries
+     */
+    public int getNonZeroCount() {
+        return storage.getNonZeroCount();
+    }
+
+    /**
+     * Get a copy of the start of the entries of each row.
+     *
+     * @return start of the entries of each row, with one extra end marker
+     */
+    public int[] getRowPointers() {
+        return storage.getPointersRef().clone();
+    }
+
+    /**
+     * Get a copy of the column indices of the entries.
+     *
+     * @return column indices of the entries
+     */
+    public int[] getColumnIndices() {
+        return storage.getIndicesRef().clone();
+    }
+
+    /**
+     * Get a copy of the values of the entries.
+     *
+     * @return values of the entries
+     */
+    public double[] getValues() {
+        return storage.getValuesRef().clone();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return storage.getMajorDimension();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return storage.getMinorDimension();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As compressed matrices are immutable, the new matrix is a dense one.
+     * </p>
+     */
+    @Override
+    public RealMatrix createMatrix(final int rowDimension, final int columnDimension)
+        throws NotStrictlyPositiveException {
+        return MatrixUtils.createRealMatrix(rowDimension, columnDimension);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As compressed matrices are immutable, the copy shares the storage of the instance.
+     * </p>
+     */
+    @Override
+    public CompressedRowRealMatrix copy() {
+        return new CompressedRowRealMatrix(storage);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column)
+        throws OutOfRangeException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        return storage.getEntry(row, column);
+    }
+
+    /**
+     * Unsupported operation.
+     *
+     * @param row row index
+     * @param column column index
+     * @param value value to set
+     * @throws MathUnsupportedOperationException always, as the matrix is immutable
+     */
+    @Override
+    public void setEntry(final int row, final int column, final double value)
+        throws MathUnsupportedOperationException {
+        throw new MathUnsupportedOperationException();
+    }
+
+    /**
+     * Unsupported operation.
+     *
+     * @param row row index
+     * @param column column index
+     * @param increment value to add
+     * @throws MathUnsupportedOperationException always, as the matrix is immutable
+     */
+    @Override
+    public void addToEntry(final int row, final int column, final double increment)
+        throws MathUnsupportedOperationException {
+        throw new MathUnsupportedOperationException();
+    }
+
+    /**
+     * Unsupported operation.
+     *
+     * @param row row index
+     * @param column column index
+     * @param factor multiplication factor
+     * @throws MathUnsupportedOperationException always, as the matrix is immutable
+     */
+    @Override
+    public void multiplyEntry(final int row, final int column, final double factor)
+        throws MathUnsupportedOperationException {
+        throw new MathUnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix add(final RealMatrix m)
+        throws MatrixDimensionMismatchException {
+        if (m instanceof CompressedRowRealMatrix) {
+            return add((CompressedRowRealMatrix) m);
+        }
+        return super.add(m);
+    }
+
+    /**
+     * Compute the sum of {@code this} and {@code m}.
+     *
+     * @param m matrix to be added
+     * @return {@code this + m}
+     * @throws MatrixDimensionMismatchException if {@code m} is not the same
+     * size as {@code this}
+     */
+    public CompressedRowRealMatrix add(final CompressedRowRealMatrix m)
+        throws MatrixDimensionMismatchException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        return new CompressedRowRealMatrix(storage.combine(m.storage, 1.0));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix subtract(final RealMatrix m)
+        throws MatrixDimensionMismatchException {
+        if (m instanceof CompressedRowRealMatrix) {
+            return subtract((CompressedRowRealMatrix) m);
+        }
+        return super.subtract(m);
+    }
+
+    /**
+     * Subtract {@code m} from this matrix.
+     *
+     * @param m matrix to be subtracted
+     * @return {@code this - m}
+     * @throws MatrixDimensionMismatchException if {@code m} is not the same
+     * size as {@code this}
+     */
+    public CompressedRowRealMatrix subtract(final CompressedRowRealMatrix m)
+        throws MatrixDimensionMismatchException {
+        MatrixUtils.checkSubtractionCompatible(this, m);
+        return new CompressedRowRealMatrix(storage.combine(m.storage, -1.0));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedRowRealMatrix scalarMultiply(final double d) {
+        return new CompressedRowRealMatrix(storage.scale(d));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The product is a compressed row matrix if {@code m} is a compressed
+     * row or compressed column matrix, and a dense matrix otherwise.
+     * </p>
+     */
+    @Override
+    public RealMatrix multiply(final RealMatrix m)
+        throws DimensionMismatchException {
+        if (m instanceof CompressedRowRealMatrix) {
+            return multiply((CompressedRowRealMatrix) m);
+        } else if (m instanceof CompressedColumnRealMatrix) {
+            return multiply(((CompressedColumnRealMatrix) m).toCompressedRow());
+        }
+
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        final int nRows = getRowDimension();
+        final int nCols = m.getColumnDimension();
+        final int[] pointers   = storage.getPointersRef();
+        final int[] indices    = storage.getIndicesRef();
+        final double[] values  = storage.getValuesRef();
+        final double[][] mData = m.getData();
+        final double[][] out   = new double[nRows][nCols];
+        for (int i = 0; i < nRows; ++i) {
+            final double[] outI = out[i];
+            for (int p = pointers[i]; p < pointers[i + 1]; ++p) {
+                final double a = values[p];
+                final double[] mK = mData[indices[p]];
+                for (int j = 0; j < nCols; ++j) {
+                    outI[j] += a * mK[j];
+                }
+            }
+        }
+        return MatrixUtils.createRealMatrix(out);
+    }
+
+    /**
+     * Returns the result of postmultiplying {@code this} by {@code m}.
+     *
+     * @param m matrix to postmultiply by
+     * @return {@code this * m}
+     * @throws DimensionMismatchException if
+     * {@code columnDimension(this) != rowDimension(m)}
+     * @throws NumberIsTooLargeException if the product has more than
+     * {@code Integer.MAX_VALUE} non-zero entries
+     */
+    public CompressedRowRealMatrix multiply(final CompressedRowRealMatrix m)
+        throws DimensionMismatchException, NumberIsTooLargeException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        return new CompressedRowRealMatrix(storage.multiply(m.storage));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The transpose shares the storage of the instance, so it is
+     * obtained in constant time.
+     * </p>
+     */
+    @Override
+    public CompressedColumnRealMatrix transpose() {
+        return new CompressedColumnRealMatrix(storage);
+    }
+
+    /**
+     * Convert the instance to compressed column storage.
+     *
+     * @return compressed column matrix with the same entries
+     */
+    public CompressedColumnRealMatrix toCompressedColumn() {
+        return new CompressedColumnRealMatrix(storage.transpose());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v)
+        throws DimensionMismatchException {
+        if (v.length != getColumnDimension()) {
+            throw new DimensionMismatchException(v.length, getColumnDimension());
+        }
+        return storage.gather(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector v)
+        throws DimensionMismatchException {
+        final double[] data = (v instanceof ArrayRealVector) ?
+                              ((ArrayRealVector) v).getDataRef() : v.toArray();
+        return new ArrayRealVector(operate(data), false);
+    }
+
+    /**
+     * Returns the result of multiplying this by the vector {@code v}, using
+     * several threads.
+     * <p>
+     * The rows are split in contiguous slices holding about the same number
+     * of entries, each task submitted to the {@code executor} handling one
+     * slice, so the result is identical to the one computed by {@link
+     * #operate(double[])}. The {@code executor} is not shut down by this method.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param executor Executor service running the rows slices tasks.
+     * @return {@code this * v}
+     * @throws DimensionMismatchException if the length of {@code v} does not
+     * match the column dimension of {@code this}.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the computation is interrupted.
+     */
+    public double[] operate(final double[] v, final ExecutorService executor)
+        throws DimensionMismatchException, NullArgumentException, MathIllegalStateException {
+        if (v.length != getColumnDimension()) {
+            throw new DimensionMismatchException(v.length, getColumnDimension());
+        }
+        final double[] out = new double[getRowDimension()];
+        operateRows(v, out, executor);
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If both vectors are {@link ArrayRealVector} instances, the product is
+     * written directly in the storage array of {@code y}.
+     * </p>
+     */
+    @Override
+    public void operate(final RealVector x, final RealVector y)
+        throws DimensionMismatchException {
+        if (x instanceof ArrayRealVector && y instanceof ArrayRealVector) {
+            if (x.getDimension() != getColumnDimension()) {
+                throw new DimensionMismatchException(x.getDimension(), getColumnDimension());
+            }
+            if (y.getDimension() != getRowDimension()) {
+                throw new DimensionMismatchException(y.getDimension(), getRowDimension());
+            }
+            storage.gather(((ArrayRealVector) x).getDataRef(), ((ArrayRealVector) y).getDataRef(),
+                           0, getRowDimension());
+        } else {
+            super.operate(x, y);
+        }
+    }
+
+    /**
+     * Multiplies the rows of this matrix by a vector, using several threads.
+     * <p>
+     * No dimension checks are performed.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param out output vector, all its entries are overwritten
+     * @param executor Executor service running the rows slices tasks.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the computation is interrupted.
+     */
+    void operateRows(final double[] v, final double[] out, final ExecutorService executor)
+        throws NullArgumentException, MathIllegalStateException {
+        final int[] bounds =
+                storage.partition(ConcurrencyUtils.slices(storage.getNonZeroCount(), MIN_SLICE_ENTRIES));
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(bounds.length - 1);
+        for (int k = 0; k < bounds.length - 1; ++k) {
+            final int from = bounds[k];
+            final int to   = bounds[k + 1];
+            tasks.add(new Callable<Void>() {
+                /** {@inheritDoc} */
+                public Void call() {
+                    storage.gather(v, out, from, to);
+                    return null;
+                }
+            });
+        }
+        ConcurrencyUtils.invokeAll(executor, tasks);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(final double[] v)
+        throws DimensionMismatchException {
+        if (v.length != getRowDimension()) {
+            throw new DimensionMismatchException(v.length, getRowDimension());
+        }
+        return storage.scatter(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector preMultiply(final RealVector v)
+        throws DimensionMismatchException {
+        final double[] data = (v instanceof ArrayRealVector) ?
+                              ((ArrayRealVector) v).getDataRef() : v.toArray();
+        return new ArrayRealVector(preMultiply(data), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(final Object object) {
+        if (object instanceof CompressedRowRealMatrix) {
+            return storage.sameEntries(((CompressedRowRealMatrix) object).storage);
+        } else if (object instanceof CompressedColumnRealMatrix) {
+            return storage.sameEntries(((CompressedColumnRealMatrix) object).getStorage().transpose());
+        }
+        return super.equals(object);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return storage.rowMajorHashCode();
+    }
+
+}
@@ -0,0 +1,695 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.NonMonotonicSequenceException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Compressed storage of the non-zero entries of a sparse matrix, shared by
+ * {@link CompressedRowRealMatrix} and {@link CompressedColumnRealMatrix}.
+ * <p>
+ * The entries are grouped by <em>major</em> index, which is the row index for
+ * compressed row storage and the column index for compressed column storage.
+ * The entries of major index {@code i} are stored from position
+ * {@code pointers[i]} (included) to position {@code pointers[i + 1]} (excluded)
+ * of the {@code indices} and {@code values} arrays, sorted by increasing
+ * <em>minor</em> index.
+ * </p>
+ * <p>
+ * As the compressed row storage of a matrix is also the compressed column
+ * storage of its transpose, all the algorithms are written once here, in terms
+ * of major and minor indices.
+ * </p>
+ * <p>
+ * Instances are immutable and can therefore be shared between matrices.
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+class CompressedStorage implements Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20131018L;
+
+    /** Number of major indices. */
+    private final int majorDimension;
+
+    /** Number of minor indices. */
+    private final int minorDimension;
+
+    /** Start of the entries of each major index (with one extra end marker). */
+    private final int[] pointers;
+
+    /** Minor indices of the entries. */
+    private final int[] indices;
+
+    /** Values of the entries. */
+    private final double[] values;
+
+    /**
+     * Simple constructor.
+     * <p>
+     * The arrays are referenced, not copied, and are not checked.
+     * </p>
+     *
+     * @param majorDimension number of major indices
+     * @param minorDimension number of minor indices
+     * @param pointers start of the entries of each major index, with one extra end marker
+     * @param indices minor indices of the entries
+     * @param values values of the entries
+     */
+    CompressedStorage(final int majorDimension, final int minorDimension,
+                      final int[] pointers, final int[] indices, final double[] values) {
+        this.majorDimension = majorDimension;
+        this.minorDimension = minorDimension;
+        this.pointers       = pointers;
+        this.indices        = indices;
+        this.values         = values;
+    }
+
+    /**
+     * Creates a storage from user supplied arrays, checking and copying them.
+     *
+     * @param majorDimension number of major indices
+     * @param minorDimension number of minor indices
+     * @param pointers start of the entries of each major index, with one extra end marker
+     * @param indices minor indices of the entries
+     * @param values values of the entries
+     * @return a new storage
+     * @throws NullArgumentException if one of the arrays is null
+     * @throws DimensionMismatchException if the arrays lengths are inconsistent
+     * @throws NonMonotonicSequenceException if the pointers are not increasing
+     * or the minor indices are not strictly increasing for one major index
+     * @throws OutOfRangeException if a minor index is out of range
+     */
+    static CompressedStorage create(final int majorDimension, final int minorDimension,
+                                    final int[] pointers, final int[] indices, final double[] values)
+        throws NullArgumentException, DimensionMismatchException,
+               NonMonotonicSequenceException, OutOfRangeException {
+
+        MathUtils.checkNotNull(pointers);
+        MathUtils.checkNotNull(indices);
+        MathUtils.checkNotNull(values);
+        if (pointers.length != majorDimension + 1) {
+            throw new DimensionMismatchException(pointers.length, majorDimension + 1);
+        }
+        if (pointers[0] != 0) {
+            throw new OutOfRangeException(pointers[0], 0, 0);
+        }
+        if (pointers[majorDimension] != indices.length) {
+            throw new DimensionMismatchException(pointers[majorDimension], indices.length);
+        }
+        if (values.length != indices.length) {
+            throw new DimensionMismatchException(values.length, indices.length);
+        }
+
+        for (int i = 0; i < majorDimension; ++i) {
+            if (pointers[i + 1] < pointers[i]) {
+                throw new NonMonotonicSequenceException(pointers[i + 1], pointers[i], i + 1,
+                                                        MathArrays.OrderDirection.INCREASING, false);
+            }
+            for (int p = pointers[i]; p < pointers[i + 1]; ++p) {
+                if (indices[p] < 0 || indices[p] >= minorDimension) {
+                    throw new OutOfRangeException(indices[p], 0, minorDimension - 1);
+                }
+                if (p > pointers[i] && indices[p] <= indices[p - 1]) {
+                    throw new NonMonotonicSequenceException(indices[p], indices[p - 1], p);
+                }
+            }
+        }
+
+        return new CompressedStorage(majorDimension, minorDimension,
+                                     pointers.clone(), indices.clone(), values.clone());
+
+    }
+
+    /**
+     * Creates a storage holding the non-zero entries of a matrix.
+     *
+     * @param matrix matrix to convert
+     * @param rowMajor if true, the major index is the row index,
+     * otherwise it is the column index
+     * @return a new storage
+     */
+    static CompressedStorage create(final RealMatrix matrix, final boolean rowMajor) {
+
+        final int majorDimension = rowMajor ? matrix.getRowDimension() : matrix.getColumnDimension();
+        final int minorDimension = rowMajor ? matrix.getColumnDimension() : matrix.getRowDimension();
+        final int[] pointers = new int[majorDimension + 1];
+        int[] indices   = new int[16];
+        double[] values = new double[16];
+
+        int count = 0;
+        for (int i = 0; i < majorDimension; ++i) {
+            for (int j = 0; j < minorDimension; ++j) {
+                final double value = rowMajor ? matrix.getEntry(i, j) : matrix.getEntry(j, i);
+                if (value != 0) {
+                    if (count == indices.length) {
+                        indices = MathArrays.copyOf(indices, 2 * count);
+                        values  = MathArrays.copyOf(values,  2 * count);
+                    }
+                    indices[count] = j;
+                    values[count]  = value;
+                    ++count;
+                }
+            }
+            pointers[i + 1] = count;
+        }
+
+        return new CompressedStorage(majorDimension, minorDimension, pointers,
+                                     MathArrays.copyOf(indices, count), MathArrays.copyOf(values, count));
+
+    }
+
+    /**
+     * Creates a storage from coordinates triplets.
+     * <p>
+     * The triplets are sorted by two stable counting sorts, first by minor
+     * index and then by major index, so the cost is linear in the number of
+     * triplets and dimensions. Triplets sharing the same indices are summed.
+     * </p>
+     *
+     * @param majorDimension number of major indices
+     * @param minorDimension number of minor indices
+     * @param major major indices of the triplets (assumed to be in range)
+     * @param minor minor indices of the triplets (assumed to be in range)
+     * @param triplets values of the triplets
+     * @param n number of triplets
+     * @return a new storage
+     */
+    static CompressedStorage create(final int majorDimension, final int minorDimension,
+                                    final int[] major, final int[] minor, final double[] triplets,
+                                    final int n) {
+
+        // stable counting sort by minor index
+        final int[] minorStart = new int[minorDimension + 1];
+        for (int k = 0; k < n; ++k) {
+            ++minorStart[minor[k] + 1];
+        }
+        for (int j = 0; j < minorDimension; ++j) {
+            minorStart[j + 1] += minorStart[j];
+        }
+        final int[] order = new int[n];
+        for (int k = 0; k < n; ++k) {
+            order[minorStart[minor[k]]++] = k;
+        }
+
+        // stable counting sort by major index, which keeps
+        // the minor indices sorted for each major index
+        final int[] pointers = new int[majorDimension + 1];
+        for (int k = 0; k < n; ++k) {
+            ++pointers[major[k] + 1];
+        }
+        for (int i = 0; i < majorDimension; ++i) {
+            pointers[i + 1] += pointers[i];
+        }
+        final int[] next = MathArrays.copyOf(pointers, majorDimension);
+        final int[] indices   = new int[n];
+        final double[] values = new double[n];
+        for (final int k : order) {
+            final int p = next[major[k]]++;
+            indices[p] = minor[k];
+            values[p]  = triplets[k];
+        }
+
+        // sum the duplicated entries
+        int count = 0;
+        for (int i = 0; i < majorDimension; ++i) {
+            final int start = pointers[i];
+            final int end   = pointers[i + 1];
+            pointers[i] = count;
+            for (int p = start; p < end; ++p) {
+                if (count > pointers[i] && indices[count - 1] == indices[p]) {
+                    values[count - 1] += values[p];
+                } else {
+                    indices[count] = indices[p];
+                    values[count]  = values[p];
+                    ++count;
+                }
+            }
+        }
+        pointers[majorDimension] = count;
+
+        return (count == n) ?
+               new CompressedStorage(majorDimension, minorDimension, pointers, indices, values) :
+               new CompressedStorage(majorDimension, minorDimension, pointers,
+                                     MathArrays.copyOf(indices, count), MathArrays.copyOf(values, count));
+
+    }
+
+    /**
+     * Get the number of major indices.
+     *
+     * @return number of major indices
+     */
+    int getMajorDimension() {
+        return majorDimension;
+    }
+
+    /**
+     * Get the number of minor indices.
+     *
+     * @return number of minor indices
+     */
+    int getMinorDimension() {
+        return minorDimension;
+    }
+
+    /**
+     * Get the number of stored entries.
+     *
+     * @return number of stored entries
+     */
+    int getNonZeroCount() {
+        return pointers[majorDimension];
+    }
+
+    /**
+     * Get a reference to the pointers array.
+     *
+     * @return reference to the pointers array
+     */
+    int[] getPointersRef() {
+        return pointers;
+    }
+
+    /**
+     * Get a reference to the minor indices array.
+     *
+     * @return reference to the minor indices array
+     */
+    int[] getIndicesRef() {
+        return indices;
+    }
+
+    /**
+     * Get a reference to the values array.
+     *
+     * @return reference to the values array
+     */
+    double[] getValuesRef() {
+        return values;
+    }
+
+    /**
+     * Get an entry.
+     *
+     * @param i major index (assumed to be in range)
+     * @param j minor index (assumed to be in range)
+     * @return value of the entry (0 if it is not stored)
+     */
+    double getEntry(final int i, final int j) {
+        final int p = find(i, j);
+        return (p < 0) ? 0.0 : values[p];
+    }
+
+    /**
+     * Find the position of an entry.
+     *
+     * @param i major index
+     * @param j minor index
+     * @return position of the entry in the {@code indices} and {@code values}
+     * arrays, or -1 if it is not stored
+     */
+    int find(final int i, final int j) {
+        int lo = pointers[i];
+        int hi = pointers[i + 1] - 1;
+        while (lo <= hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (indices[mid] < j) {
+                lo = mid + 1;
+            } else if (indices[mid] > j) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compute the dot products of the stored rows with a vector.
+     * <p>
+     * This is the matrix-vector product when the major index is the row index.
+     * </p>
+     *
+     * @param v vector, indexed by minor index (assumed to have the right dimension)
+     * @return dot products, indexed by major index
+     */
+    double[] gather(final double[] v) {
+        final double[] out = new double[majorDimension];
+        gather(v, out, 0, majorDimension);
+        return out;
+    }
+
+    /**
+     * Compute the dot products of a range of stored rows with a vector.
+     * <p>
+     * Only the entries of {@code out} corresponding to the range are
+     * written, so distinct ranges can be handled concurrently.
+     * </p>
+     *
+     * @param v vector, indexed by minor index (assumed to have the right dimension)
+     * @param out output array for the dot products, indexed by major index
+     * @param from first major index of the range
+     * @param to major index after the last one of the range
+     */
+    void gather(final double[] v, final double[] out, final int from, final int to) {
+        for (int i = from; i < to; ++i) {
+            double sum = 0;
+            for (int p = pointers[i]; p < pointers[i + 1]; ++p) {
+                sum += values[p] * v[indices[p]];
+            }
+            out[i] = sum;
+        }
+    }
+
+    /**
+     * Split the major indices into slices holding about the same number of entries.
+     *
+     * @param slices number of slices
+     * @return the slices boundaries (its length is the number of slices plus one,
+     * some slices may be empty)
+     */
+    int[] partition(final int slices) {
+        final int[] bounds = new int[slices + 1];
+        final long nnz = getNonZeroCount();
+        for (int k = 1; k < slices; ++k) {
+            // first major index whose entries start at or after the target position
+            final long target = (k * nnz) / slices;
+            int lo = bounds[k - 1];
+            int hi = majorDimension;
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (pointers[mid] < target) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            bounds[k] = lo;
+        }
+        bounds[slices] = majorDimension;
+        return bounds;
+    }
+
+    /**
+     * Accumulate the stored rows, weighted by the components of a vector.
+     * <p>
+     * This is the matrix-vector product when the major index is the column index.
+     * </p>
+     *
+     * @param v vector, indexed by major index (assumed to have the right dimension)
+     * @return weighted sum, indexed by minor index
+     */
+    double[] scatter(final double[] v) {
+        final double[] out = new double[minorDimension];
+        scatter(v, out);
+        return out;
+    }
+
+    /**
+     * Accumulate the stored rows, weighted by the components of a vector.
+     *
+     * @param v vector, indexed by major index (assumed to have the right dimension)
+     * @param out output array for the weighted sum, indexed by minor index
+     * (it is reset before accumulation)
+     */
+    void scatter(final double[] v, final double[] out) {
+        Arrays.fill(out, 0.0);
+        for (int i = 0; i < majorDimension; ++i) {
+            final double vi = v[i];
+            if (vi != 0) {
+                for (int p = pointers[i]; p < pointers[i + 1]; ++p) {
+                    out[indices[p]] += values[p] * vi;
+                }
+            }
+        }
+    }
+
+    /**
+     * Swap the roles of the major and minor indices.
+     *
+     * @return storage with major and minor indices swapped
+     */
+    CompressedStorage transpose() {
+
+        final int nnz = getNonZeroCount();
+        final int[] tPointers = new int[minorDimension + 1];
+        for (int p = 0; p < nnz; ++p) {
+            ++tPointers[indices[p] + 1];
+        }
+        for (int j = 0; j < minorDimension; ++j) {
+            tPointers[j + 1] += tPointers[j];
+        }
+
+        final int[] next = MathArrays.copyOf(tPointers, minorDimension);
+        final int[] tIndices   = new int[nnz];
+        final double[] tValues = new double[nnz];
+        for (int i = 0; i < majorDimension; ++i) {
+            for (int p = pointers[i]; p < pointers[i + 1]; ++p) {
+                final int q = next[indices[p]]++;
+                tIndices[q] = i;
+                tValues[q]  = values[p];
+            }
+        }
+
+        return new CompressedStorage(minorDimension, majorDimension, tPointers, tIndices, tValues);
+
+    }
+
+    /**
+     * Multiply all entries by a scalar.
+     *
+     * @param factor multiplication factor
+     * @return scaled storage, with the same structure
+     */
+    CompressedStorage scale(final double factor) {
+        final double[] scaled = new double[values.length];
+        for (int p = 0; p < scaled.length; ++p) {
+            scaled[p] = factor * values[p];
+        }
+        return new CompressedStorage(majorDimension, minorDimension, pointers, indices, scaled);
+    }
+
+    /**
+     * Compute a linear combination {@code this + factor * other}.
+     *
+     * @param other other storage (assumed to have the same dimensions)
+     * @param factor multiplication factor for {@code other}
+     * @return combined storage, whose structure is the union of both structures
+     */
+    CompressedStorage combine(final CompressedStorage other, final double factor) {
+
+        final int[] cPointers   = new int[majorDimension + 1];
+        final int capacity      = getNonZeroCount() + other.getNonZeroCount();
+        final int[] cIndices    = new int[capacity];
+        final double[] cValues  = new double[capacity];
+
+        int count = 0;
+        for (int i = 0; i < majorDimension; ++i) {
+            int p = pointers[i];
+            int q = other.pointers[i];
+            while (p < pointers[i + 1] || q < other.pointers[i + 1]) {
+                if (q == other.pointers[i + 1] ||
+                    (p < pointers[i + 1] && indices[p] < other.indices[q])) {
+                    cIndices[count] = indices[p];
+                    cValues[count]  = values[p++];
+                } else if (p == pointers[i + 1] || other.indices[q] < indices[p]) {
+                    cIndices[count] = other.indices[q];
+                    cValues[count]  = factor * other.values[q++];
+                } else {
+                    cIndices[count] = indices[p];
+                    cValues[count]  = values[p++] + factor * other.values[q++];
+                }
+                ++count;
+            }
+            cPointers[i + 1] = count;
+        }
+
+        return new CompressedStorage(majorDimension, minorDimension, cPointers,
+                                     MathArrays.copyOf(cIndices, count), MathArrays.copyOf(cValues, count));
+
+    }
+
+    /**
+     * Compute the product of two storages seen as compressed row storages.
+     * <p>
+     * This is Gustavson's row by row algorithm: a first symbolic pass counts
+     * the entries of the product, and a second numeric pass accumulates each
+     * row of the product in a dense work array. The cost is proportional to
+     * the number of elementary multiplications, independently of the dimensions.
+     * </p>
+     *
+     * @param right right factor (its major dimension is assumed to be the
+     * minor dimension of {@code this})
+     * @return product, with the major dimension of {@code this} and the minor
+     * dimension of {@code right}
+     * @throws NumberIsTooLargeException if the product has more than
+     * {@code Integer.MAX_VALUE} entries
+     */
+    CompressedStorage multiply(final CompressedStorage right)
+        throws NumberIsTooLargeException {
+
+        final int[] marker = new int[right.minorDimension];
+        Arrays.fill(marker, -1);
+
+        // symbolic pass
+        final int[] pPointers = new int[majorDimension + 1];
+        long count = 0;
+        for (int i = 0; i < majorDimension; ++i) {
+            for (int p = pointers[i]; p < pointers[i + 1]; ++p) {
+                final int k = indices[p];
+                for (int q = right.pointers[k]; q < right.pointers[k + 1]; ++q) {
+                    final int j = right.indices[q];
+                    if (marker[j] != i) {
+                        marker[j] = i;
+                        ++count;
+                    }
+                }
+            }
+            if (count > Integer.MAX_VALUE) {
+                throw new NumberIsTooLargeException(count, Integer.MAX_VALUE, true);
+            }
+            pPointers[i + 1] = (int) count;
+        }
+
+        // numeric pass
+        Arrays.fill(marker, -1);
+        final double[] work    = new double[right.minorDimension];
+        final int[] pIndices   = new int[(int) count];
+        final double[] pValues = new double[(int) count];
+        for (int i = 0; i < majorDimension; ++i) {
+            int next = pPointers[i];
+            for (int p = pointers[i]; p < pointers[i + 1]; ++p) {
+                final int k = indices[p];
+                final double a = values[p];
+                for (int q = right.pointers[k]; q < right.pointers[k + 1]; ++q) {
+                    final int j = right.indices[q];
+                    if (marker[j] != i) {
+                        marker[j] = i;
+                        pIndices[next++] = j;
+                        work[j] = a * right.values[q];
+                    } else {
+                        work[j] += a * right.values[q];
+                    }
+                }
+            }
+            Arrays.sort(pIndices, pPointers[i], pPointers[i + 1]);
+            for (int r = pPointers[i]; r < pPointers[i + 1]; ++r) {
+                pValues[r] = work[pIndices[r]];
+            }
+        }
+
+        return new CompressedStorage(majorDimension, right.minorDimension, pPointers, pIndices, pValues);
+
+    }
+
+    /**
+     * Check if two storages represent the same matrix.
+     * <p>
+     * Entries stored in only one of the storages must be zero.
+     * </p>
+     *
+     * @param other other storage
+     * @return true if the storages represent the same entries
+     */
+    boolean sameEntries(final CompressedStorage other) {
+
+        if (majorDimension != other.majorDimension || minorDimension != other.minorDimension) {
+            return false;
+        }
+
+        for (int i = 0; i < majorDimension; ++i) {
+            int p = pointers[i];
+            int q = other.pointers[i];
+            while (p < pointers[i + 1] || q < other.pointers[i + 1]) {
+                if (q == other.pointers[i + 1] ||
+                    (p < pointers[i + 1] && indices[p] < other.indices[q])) {
+                    if (values[p++] != 0) {
+                        return false;
+                    }
+                } else if (p == pointers[i + 1] || other.indices[q] < indices[p]) {
+                    if (other.values[q++] != 0) {
+                        return false;
+                    }
+                } else if (values[p++] != other.values[q++]) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Compute the hash code of the matrix, seen as a compressed row storage.
+     * <p>
+     * The result is the same as {@link AbstractRealMatrix#hashCode()}, but the
+     * runs of zero entries are accounted for in logarithmic time, as each one
+     * only multiplies the hash code by 31.
+     * </p>
+     *
+     * @return hash code of the matrix
+     */
+    int rowMajorHashCode() {
+        int ret = 7;
+        ret = ret * 31 + majorDimension;
+        ret = ret * 31 + minorDimension;
+        long next = 0;
+        for (int i = 0; i < majorDimension; ++i) {
+            for (int p = pointers[i]; p < pointers[i + 1]; ++p) {
+                final int j = indices[p];
+                final long position = ((long) i) * minorDimension + j;
+                ret = ret * pow31(position - next) * 31 +
+                      (11 * (i + 1) + 17 * (j + 1)) * MathUtils.hash(values[p]);
+                next = position + 1;
+            }
+        }
+        return ret * pow31(((long) majorDimension) * minorDimension - next);
+    }
+
+    /**
+     * Compute 31<sup>e</sup> in int arithmetic (i.e. modulo 2<sup>32</sup>).
+     *
+     * @param e exponent
+     * @return 31<sup>e</sup> modulo 2<sup>32</sup>
+     */
+    private static int pow31(final long e) {
+        int result = 1;
+        int square = 31;
+        for (long k = e; k != 0; k >>>= 1) {
+            if ((k & 0x1l) != 0) {
+                result *= square;
+            }
+            square *= square;
+        }
+        return result;
+    }
+
+}
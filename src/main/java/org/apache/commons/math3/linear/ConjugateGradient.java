@@ -167,16 +167,19 @@ public class ConjugateGradient
         final RealVector x = x0;
         final RealVector xro = RealVector.unmodifiableRealVector(x);
         final RealVector p = x.copy();
-        RealVector q = a.operate(p);
+        // q and z are allocated once, and then updated in place; q must not
+        // be the vector returned by a.operate(p), which belongs to a
+        final RealVector q = new ArrayRealVector(a.getRowDimension());
+        a.operate(p, q);
 
         final RealVector r = b.combine(1, -1, q);
         final RealVector rro = RealVector.unmodifiableRealVector(r);
         double rnorm = r.getNorm();
-        RealVector z;
+        final RealVector z;
         if (m == null) {
             z = r;
         } else {
-            z = null;
+            z = new ArrayRealVector(r.getDimension());
         }
         IterativeLinearSolverEvent evt;
         evt = new DefaultIterativeLinearSolverEvent(this,
@@ -193,7 +196,7 @@ public class ConjugateGradient
                 manager.getIterations(), xro, bro, rro, rnorm);
             manager.fireIterationStartedEvent(evt);
             if (m != null) {
-                z = m.operate(r);
+                m.operate(r, z);
             }
             final double rhoNext = r.dotProduct(z);
             if (check && (rhoNext <= 0.)) {
@@ -209,7 +212,7 @@ public class ConjugateGradient
             } else {
                 p.combineToSelf(rhoNext / rhoPrev, 1., z);
             }
-            q = a.operate(p);
+            a.operate(p, q);
             final double pq = p.dotProduct(q);
             if (check && (pq <= 0.)) {
                 final NonPositiveDefiniteOperatorException e;
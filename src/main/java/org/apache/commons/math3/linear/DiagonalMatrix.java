@@ -289,6 +289,35 @@ public class DiagonalMatrix extends AbstractRealMatrix
         return multiply(new DiagonalMatrix(v, false)).getDataRef();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If {@code y} is an {@link ArrayRealVector} instance, the product is
+     * written directly in its storage array.
+     * </p>
+     * @since 3.3
+     */
+    @Override
+    public void operate(final RealVector x, final RealVector y)
+        throws DimensionMismatchException {
+        if (x.getDimension() != data.length) {
+            throw new DimensionMismatchException(x.getDimension(), data.length);
+        }
+        if (y.getDimension() != data.length) {
+            throw new DimensionMismatchException(y.getDimension(), data.length);
+        }
+        if (y instanceof ArrayRealVector) {
+            final double[] out = ((ArrayRealVector) y).getDataRef();
+            for (int i = 0; i < data.length; i++) {
+                out[i] = data[i] * x.getEntry(i);
+            }
+        } else {
+            for (int i = 0; i < data.length; i++) {
+                y.setEntry(i, data[i] * x.getEntry(i));
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public double[] preMultiply(final double[] v)
@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MaxCountExceededException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.IterationManager;
+
+/**
+ * <p>
+ * This is an implementation of the restarted generalized minimal residual
+ * method, GMRES(m), for {@link RealLinearOperator}. Unlike
+ * {@link ConjugateGradient} and {@link SymmLQ}, it does not require the linear
+ * operator to be self-adjoint. It follows closely the template by <a
+ * href="#BARR1994">Barrett et al. (1994)</a> (figure 2.6). The linear system at
+ * hand is A &middot; x = b, and the residual is r = b - A &middot; x.
+ * </p>
+ * <p>
+ * In each cycle, an orthonormal basis of the Krylov subspace is built by the
+ * Arnoldi process (with modified Gram-Schmidt orthogonalization), and the
+ * estimate of the solution minimizing the norm of the residual over this
+ * subspace is computed by means of Givens rotations. Storage of the basis
+ * requires m + 1 vectors, where m is the restart parameter: after m steps, the
+ * estimate of the solution is updated, and a new cycle is started from the
+ * current residual.
+ * </p>
+ * <h3>Preconditioning</h3>
+ * <p>
+ * The preconditioner M, which approximates A<sup>-1</sup>, is applied on the
+ * right: the solver works on the system (A &middot; M) &middot; y = b, with
+ * x = M &middot; y. The residual of the preconditioned system is therefore the
+ * same as the residual of the original system. M does not need to be
+ * self-adjoint.
+ * </p>
+ * <h3><a id="stopcrit">Default stopping criterion</a></h3>
+ * <p>
+ * A default stopping criterion is implemented. The iterations stop when || r ||
+ * &le; &delta; || b ||, where b is the right-hand side vector, r the residual,
+ * and &delta; a user-specified tolerance. Within a cycle, the norm of the
+ * residual is estimated as a by-product of the Givens rotations, and the
+ * estimate of the solution is not updated: the events fired during a cycle
+ * report the estimate of the solution at the beginning of the cycle, and do not
+ * provide the residual vector. At the end of each cycle, the true residual is
+ * computed, and the stopping criterion is checked against its norm.
+ * </p>
+ * <h3>Iteration count</h3>
+ * <p>
+ * In the present context, an iteration should be understood as one evaluation
+ * of the matrix-vector product A &middot; x. The initialization phase
+ * therefore counts as one iteration. The product required to compute the true
+ * residual at the end of each cycle is <em>not</em> accounted for in the
+ * iteration count.
+ * </p>
+ * <h3>References</h3>
+ * <dl>
+ * <dt><a id="BARR1994">Barret et al. (1994)</a></dt>
+ * <dd>R. Barrett, M. Berry, T. F. Chan, J. Demmel, J. M. Donato, J. Dongarra,
+ * V. Eijkhout, R. Pozo, C. Romine and H. Van der Vorst,
+ * <a href="http://www.netlib.org/linalg/html_templates/Templates.html"><em>
+ * Templates for the Solution of Linear Systems: Building Blocks for Iterative
+ * Methods</em></a>, SIAM</dd>
+ * <dt><a id="SAAD1986">Saad and Schultz (1986)</a></dt>
+ * <dd>Y. Saad and M. H. Schultz, <em>GMRES: A Generalized Minimal Residual
+ * Algorithm for Solving Nonsymmetric Linear Systems</em>, SIAM Journal on
+ * Scientific and Statistical Computing 7(3): 856-869, 1986</dd>
+ * </dl>
+ *
+ * @see BiCGSTAB
+ * @version $Id$
+ * @since 3.3
+ */
+public class GMRES extends PreconditionedIterativeLinearSolver {
+
+    /** Number of steps between restarts. */
+    private final int restart;
+
+    /** The value of &delta;, for the default stopping criterion. */
+    private final double delta;
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a>.
+     *
+     * @param maxIterations the maximum number of iterations
+     * @param restart the number of steps between restarts, i.e. the
+     * maximum dimension of the Krylov subspace
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @throws NotStrictlyPositiveException if {@code restart} is not
+     * strictly positive
+     */
+    public GMRES(final int maxIterations, final int restart, final double delta)
+        throws NotStrictlyPositiveException {
+        super(maxIterations);
+        if (restart <= 0) {
+            throw new NotStrictlyPositiveException(restart);
+        }
+        this.restart = restart;
+        this.delta   = delta;
+    }
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a> and custom iteration manager.
+     *
+     * @param manager the custom iteration manager
+     * @param restart the number of steps between restarts, i.e. the
+     * maximum dimension of the Krylov subspace
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @throws NullArgumentException if {@code manager} is {@code null}
+     * @throws NotStrictlyPositiveException if {@code restart} is not
+     * strictly positive
+     */
+    public GMRES(final IterationManager manager, final int restart,
+                 final double delta)
+        throws NullArgumentException, NotStrictlyPositiveException {
+        super(manager);
+        if (restart <= 0) {
+            throw new NotStrictlyPositiveException(restart);
+        }
+        this.restart = restart;
+        this.delta   = delta;
+    }
+
+    /**
+     * Returns the number of steps between restarts.
+     *
+     * @return the maximum dimension of the Krylov subspace
+     */
+    public final int getRestart() {
+        return restart;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws SingularOperatorException if {@code a} (or the product of
+     * {@code a} and {@code m}) is found to be singular
+     */
+    @Override
+    public RealVector solveInPlace(final RealLinearOperator a,
+                                   final RealLinearOperator m,
+                                   final RealVector b,
+                                   final RealVector x0)
+        throws NullArgumentException, NonSquareOperatorException,
+        DimensionMismatchException, MaxCountExceededException,
+        SingularOperatorException {
+        checkParameters(a, m, b, x0);
+        final IterationManager manager = getIterationManager();
+        // Initialization of default stopping criterion
+        manager.resetIterationCount();
+        final double rmax = delta * b.getNorm();
+        final RealVector bro = RealVector.unmodifiableRealVector(b);
+
+        // Initialization phase counts as one iteration.
+        manager.incrementIterationCount();
+        final int n = a.getColumnDimension();
+        final RealVector x = x0;
+        final RealVector xro = RealVector.unmodifiableRealVector(x);
+        final RealVector r = new ArrayRealVector(n);
+        a.operate(x, r);
+        r.combineToSelf(-1., 1., b);
+        final RealVector rro = RealVector.unmodifiableRealVector(r);
+        double rnorm = r.getNorm();
+        IterativeLinearSolverEvent evt;
+        evt = new DefaultIterativeLinearSolverEvent(this,
+            manager.getIterations(), xro, bro, rro, rnorm);
+        manager.fireInitializationEvent(evt);
+        if (rnorm <= rmax) {
+            manager.fireTerminationEvent(evt);
+            return x;
+        }
+
+        // all work arrays are allocated once, and then updated in place
+        final int size = FastMath.min(restart, n);
+        final RealVector[] basis = new RealVector[size + 1];
+        for (int i = 0; i < basis.length; ++i) {
+            basis[i] = new ArrayRealVector(n);
+        }
+        final RealVector z = (m == null) ? null : new ArrayRealVector(n);
+        final double[][] h = new double[size + 1][size];
+        final double[] cs  = new double[size];
+        final double[] sn  = new double[size];
+        final double[] g   = new double[size + 1];
+
+        while (true) {
+
+            // start a new cycle from the current residual
+            basis[0].setSubVector(0, r);
+            basis[0].mapDivideToSelf(rnorm);
+            Arrays.fill(g, 0.);
+            g[0] = rnorm;
+
+            int k = 0;
+            while (k < size) {
+                manager.incrementIterationCount();
+                evt = new DefaultIterativeLinearSolverEvent(this,
+                    manager.getIterations(), xro, bro, rnorm);
+                manager.fireIterationStartedEvent(evt);
+
+                // Arnoldi step: w = A.M.v[k], orthogonalized against v[0] ... v[k]
+                final RealVector w = basis[k + 1];
+                if (m == null) {
+                    a.operate(basis[k], w);
+                } else {
+                    m.operate(basis[k], z);
+                    a.operate(z, w);
+                }
+                for (int i = 0; i <= k; ++i) {
+                    h[i][k] = w.dotProduct(basis[i]);
+                    w.combineToSelf(1., -h[i][k], basis[i]);
+                }
+                final double hNext = w.getNorm();
+                if (hNext > 0.) {
+                    w.mapDivideToSelf(hNext);
+                }
+
+                // apply the previous rotations to the new column of h
+                for (int i = 0; i < k; ++i) {
+                    final double hik = h[i][k];
+                    h[i][k]     =  cs[i] * hik + sn[i] * h[i + 1][k];
+                    h[i + 1][k] = -sn[i] * hik + cs[i] * h[i + 1][k];
+                }
+
+                // compute and apply the rotation eliminating h[k + 1][k]
+                final double diag = FastMath.hypot(h[k][k], hNext);
+                if (diag == 0.) {
+                    throw new SingularOperatorException();
+                }
+                cs[k] = h[k][k] / diag;
+                sn[k] = hNext / diag;
+                h[k][k]     = diag;
+                g[k + 1]    = -sn[k] * g[k];
+                g[k]        =  cs[k] * g[k];
+                ++k;
+
+                rnorm = FastMath.abs(g[k]);
+                evt = new DefaultIterativeLinearSolverEvent(this,
+                    manager.getIterations(), xro, bro, rnorm);
+                manager.fireIterationPerformedEvent(evt);
+                if (rnorm <= rmax || hNext == 0.) {
+                    // either converged, or the Krylov subspace is invariant
+                    break;
+                }
+            }
+
+            // solve the upper triangular system h.y = g, in place in g
+            for (int i = k - 1; i >= 0; --i) {
+                double sum = g[i];
+                for (int j = i + 1; j < k; ++j) {
+                    sum -= h[i][j] * g[j];
+                }
+                g[i] = sum / h[i][i];
+            }
+
+            // update the solution: x = x + M.V.y, using r as a work vector
+            r.set(0.);
+            for (int i = 0; i < k; ++i) {
+                r.combineToSelf(1., g[i], basis[i]);
+            }
+            if (m == null) {
+                x.combineToSelf(1., 1., r);
+            } else {
+                m.operate(r, z);
+                x.combineToSelf(1., 1., z);
+            }
+
+            // compute the true residual
+            a.operate(x, r);
+            r.combineToSelf(-1., 1., b);
+            rnorm = r.getNorm();
+            if (rnorm <= rmax) {
+                evt = new DefaultIterativeLinearSolverEvent(this,
+                    manager.getIterations(), xro, bro, rro, rnorm);
+                manager.fireTerminationEvent(evt);
+                return x;
+            }
+
+        }
+    }
+
+}
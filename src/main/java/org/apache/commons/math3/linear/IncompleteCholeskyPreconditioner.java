@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * This class implements the incomplete Cholesky preconditioner with no fill-in,
+ * IC(0).
+ * <p>
+ * For a symmetric positive definite matrix A, the factorization computes a
+ * lower triangular matrix L with the same sparsity pattern as the lower
+ * triangle of A, such that L &middot; L<sup>T</sup> matches A on this pattern.
+ * The preconditioner is M = (L &middot; L<sup>T</sup>)<sup>-1</sup>, its
+ * application to a vector costs one forward and one backward substitution, i.e.
+ * about twice the cost of a product by A.
+ * </p>
+ * <p>
+ * Only the lower triangle of A (including the diagonal) is read, A is assumed
+ * to be symmetric. The factorization is guaranteed to exist for M-matrices
+ * (for example discretized Laplacians), but may break down for other
+ * symmetric positive definite matrices, in which case a
+ * {@link NonPositiveDefiniteMatrixException} is thrown.
+ * </p>
+ *
+ * @see ConjugateGradient
+ * @see SSORPreconditioner
+ * @version $Id$
+ * @since 3.3
+ */
+public class IncompleteCholeskyPreconditioner extends RealLinearOperator {
+
+    /** Start of each row of L, in {@link #indices} and {@link #values}. */
+    private final int[] pointers;
+
+    /** Column indices of L, sorted in each row. The diagonal entry is last. */
+    private final int[] indices;
+
+    /** Entries of L. */
+    private final double[] values;
+
+    /**
+     * Computes the incomplete Cholesky factorization of a matrix.
+     *
+     * @param a the symmetric positive definite matrix to be preconditioned
+     * @throws NonSquareMatrixException if {@code a} is not square
+     * @throws NonPositiveDefiniteMatrixException if a diagonal entry of
+     * {@code a} is missing or if a non-positive pivot is encountered
+     */
+    public IncompleteCholeskyPreconditioner(final CompressedRowRealMatrix a)
+        throws NonSquareMatrixException, NonPositiveDefiniteMatrixException {
+
+        final int n = a.getRowDimension();
+        if (a.getColumnDimension() != n) {
+            throw new NonSquareMatrixException(n, a.getColumnDimension());
+        }
+
+        // extract the lower triangle of a
+        final CompressedStorage storage = a.getStorage();
+        final int[]    aPointers = storage.getPointersRef();
+        final int[]    aIndices  = storage.getIndicesRef();
+        final double[] aValues   = storage.getValuesRef();
+        pointers = new int[n + 1];
+        for (int i = 0; i < n; ++i) {
+            int end = aPointers[i];
+            while (end < aPointers[i + 1] && aIndices[end] <= i) {
+                ++end;
+            }
+            if (end == aPointers[i] || aIndices[end - 1] != i) {
+                // missing diagonal entry
+                throw new NonPositiveDefiniteMatrixException(0.0, i, 0.0);
+            }
+            pointers[i + 1] = pointers[i] + end - aPointers[i];
+        }
+        indices = new int[pointers[n]];
+        values  = new double[pointers[n]];
+        for (int i = 0; i < n; ++i) {
+            final int length = pointers[i + 1] - pointers[i];
+            System.arraycopy(aIndices, aPointers[i], indices, pointers[i], length);
+            System.arraycopy(aValues,  aPointers[i], values,  pointers[i], length);
+        }
+
+        // factorize in place, row by row
+        for (int i = 0; i < n; ++i) {
+            final int start = pointers[i];
+            final int diag  = pointers[i + 1] - 1;
+            for (int p = start; p < diag; ++p) {
+                // compute l[i][k] using the entries of rows i and k left of column k
+                final int k     = indices[p];
+                final int kDiag = pointers[k + 1] - 1;
+                double sum = values[p];
+                int r = start;
+                int q = pointers[k];
+                while (r < p && q < kDiag) {
+                    final int jr = indices[r];
+                    final int jq = indices[q];
+                    if (jr == jq) {
+                        sum -= values[r++] * values[q++];
+                    } else if (jr < jq) {
+                        ++r;
+                    } else {
+                        ++q;
+                    }
+                }
+                values[p] = sum / values[kDiag];
+            }
+            double pivot = values[diag];
+            for (int p = start; p < diag; ++p) {
+                pivot -= values[p] * values[p];
+            }
+            if (!(pivot > 0)) {
+                throw new NonPositiveDefiniteMatrixException(pivot, i, 0.0);
+            }
+            values[diag] = FastMath.sqrt(pivot);
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return pointers.length - 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return pointers.length - 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector x)
+        throws DimensionMismatchException {
+        final ArrayRealVector y = new ArrayRealVector(getRowDimension());
+        operate(x, y);
+        return y;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If {@code y} is an {@link ArrayRealVector} instance, the substitutions
+     * are performed directly in its storage array.
+     * </p>
+     */
+    @Override
+    public void operate(final RealVector x, final RealVector y)
+        throws DimensionMismatchException {
+
+        final int n = getRowDimension();
+        if (x.getDimension() != n) {
+            throw new DimensionMismatchException(x.getDimension(), n);
+        }
+        if (y.getDimension() != n) {
+            throw new DimensionMismatchException(y.getDimension(), n);
+        }
+        final double[] v   = (x instanceof ArrayRealVector) ?
+                             ((ArrayRealVector) x).getDataRef() : x.toArray();
+        final double[] out = (y instanceof ArrayRealVector) ?
+                             ((ArrayRealVector) y).getDataRef() : new double[n];
+
+        // forward substitution: L.u = x
+        for (int i = 0; i < n; ++i) {
+            final int diag = pointers[i + 1] - 1;
+            double sum = v[i];
+            for (int p = pointers[i]; p < diag; ++p) {
+                sum -= values[p] * out[indices[p]];
+            }
+            out[i] = sum / values[diag];
+        }
+
+        // backward substitution: L^T.z = u, traversing L^T by columns
+        for (int i = n - 1; i >= 0; --i) {
+            final int diag = pointers[i + 1] - 1;
+            final double zi = out[i] / values[diag];
+            out[i] = zi;
+            for (int p = pointers[i]; p < diag; ++p) {
+                out[indices[p]] -= values[p] * zi;
+            }
+        }
+
+        if (!(y instanceof ArrayRealVector)) {
+            for (int i = 0; i < n; ++i) {
+                y.setEntry(i, out[i]);
+            }
+        }
+
+    }
+
+}
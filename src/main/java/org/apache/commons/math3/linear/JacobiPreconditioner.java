@@ -17,6 +17,7 @@
 package org.apache.commons.math3.linear;
 
 import org.apache.commons.math3.analysis.function.Sqrt;
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.util.MathArrays;
 
 /**
@@ -97,10 +98,24 @@ public class JacobiPreconditioner extends RealLinearOperator {
     public RealVector operate(final RealVector x) {
         // Dimension check is carried out by ebeDivide
         return new ArrayRealVector(MathArrays.ebeDivide(x.toArray(),
-                                                        diag.toArray()),
+                                                        diag.getDataRef()),
                                    false);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If {@code y} is an {@link ArrayRealVector} instance, the result is
+     * written directly in its storage array.
+     * </p>
+     * @since 3.3
+     */
+    @Override
+    public void operate(final RealVector x, final RealVector y)
+        throws DimensionMismatchException {
+        divide(x, diag.getDataRef(), y);
+    }
+
     /**
      * Returns the square root of {@code this} diagonal operator. More
      * precisely, this method returns
@@ -110,16 +125,23 @@ public class JacobiPreconditioner extends RealLinearOperator {
      * @since 3.1
      */
     public RealLinearOperator sqrt() {
-        final RealVector sqrtDiag = diag.map(new Sqrt());
+        final ArrayRealVector sqrtDiag = diag.map(new Sqrt());
         return new RealLinearOperator() {
             /** {@inheritDoc} */
             @Override
             public RealVector operate(final RealVector x) {
                 return new ArrayRealVector(MathArrays.ebeDivide(x.toArray(),
-                                                                sqrtDiag.toArray()),
+                                                                sqrtDiag.getDataRef()),
                                            false);
             }
 
+            /** {@inheritDoc} */
+            @Override
+            public void operate(final RealVector x, final RealVector y)
+                throws DimensionMismatchException {
+                divide(x, sqrtDiag.getDataRef(), y);
+            }
+
             /** {@inheritDoc} */
             @Override
             public int getRowDimension() {
@@ -133,4 +155,33 @@ public class JacobiPreconditioner extends RealLinearOperator {
             }
         };
     }
+
+    /**
+     * Divides a vector component-wise, storing the result in another vector.
+     *
+     * @param x the vector to divide
+     * @param d the divisors
+     * @param y the vector in which the quotient is stored
+     * @throws DimensionMismatchException if the dimensions of {@code x}
+     * or {@code y} do not match the number of divisors
+     */
+    private static void divide(final RealVector x, final double[] d, final RealVector y)
+        throws DimensionMismatchException {
+        if (x.getDimension() != d.length) {
+            throw new DimensionMismatchException(x.getDimension(), d.length);
+        }
+        if (y.getDimension() != d.length) {
+            throw new DimensionMismatchException(y.getDimension(), d.length);
+        }
+        if (y instanceof ArrayRealVector) {
+            final double[] out = ((ArrayRealVector) y).getDataRef();
+            for (int i = 0; i < d.length; i++) {
+                out[i] = x.getEntry(i) / d[i];
+            }
+        } else {
+            for (int i = 0; i < d.length; i++) {
+                y.setEntry(i, x.getEntry(i) / d[i]);
+            }
+        }
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+/**
+ * Inner kernels available for dense matrix multiplication.
+ * <p>
+ * Both kernels compute the same product, but they accumulate the
+ * partial sums in a different order, so results may differ in the
+ * last bits.
+ * </p>
+ *
+ * @see Array2DRowRealMatrix#multiplyWithKernel(Array2DRowRealMatrix, MultiplicationKernel)
+ * @see BlockRealMatrix#multiplyWithKernel(BlockRealMatrix, MultiplicationKernel)
+ * @version $Id$
+ * @since 3.3
+ */
+public enum MultiplicationKernel {
+
+    /**
+     * Classical loops, computing each entry of the result as one dot
+     * product. This is the kernel used by the {@code multiply} methods
+     * without a kernel argument.
+     */
+    CLASSICAL,
+
+    /**
+     * Register-tiled kernel: the operands are copied into packed panels
+     * sized for the processor caches, and the result is computed by
+     * 4x4 tiles whose partial sums are held in local variables. This
+     * kernel is faster for matrices with more than a few dozen rows
+     * and columns.
+     */
+    TILED
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Linear operator computing the matrix-vector products of a matrix on an executor.
+ * <p>
+ * This adapter allows {@link IterativeLinearSolver iterative solvers} to use
+ * the parallel matrix-vector products of {@link Array2DRowRealMatrix},
+ * {@link BlockRealMatrix} and {@link CompressedRowRealMatrix}: the rows of
+ * these matrices are split in slices, each one handled by a task submitted to
+ * the executor. The results are identical to the sequential products. For
+ * other matrix types, the products are computed sequentially.
+ * </p>
+ * <p>
+ * The executor is not shut down by this class, it remains under the control
+ * of the caller.
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+public class ParallelMatrixOperator extends RealLinearOperator {
+
+    /** Underlying matrix. */
+    private final RealMatrix matrix;
+
+    /** Executor service running the products tasks. */
+    private final ExecutorService executor;
+
+    /**
+     * Simple constructor.
+     *
+     * @param matrix the underlying matrix
+     * @param executor Executor service running the products tasks.
+     * @throws NullArgumentException if {@code matrix} or {@code executor} is {@code null}.
+     */
+    public ParallelMatrixOperator(final RealMatrix matrix, final ExecutorService executor)
+        throws NullArgumentException {
+        MathUtils.checkNotNull(matrix);
+        MathUtils.checkNotNull(executor);
+        this.matrix   = matrix;
+        this.executor = executor;
+    }
+
+    /**
+     * Get the underlying matrix.
+     *
+     * @return underlying matrix
+     */
+    public RealMatrix getMatrix() {
+        return matrix;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return matrix.getRowDimension();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return matrix.getColumnDimension();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MathIllegalStateException if the computation is interrupted.
+     */
+    @Override
+    public RealVector operate(final RealVector x)
+        throws DimensionMismatchException, MathIllegalStateException {
+        final RealVector y = new ArrayRealVector(getRowDimension());
+        operate(x, y);
+        return y;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MathIllegalStateException if the computation is interrupted.
+     */
+    @Override
+    public void operate(final RealVector x, final RealVector y)
+        throws DimensionMismatchException, MathIllegalStateException {
+
+        final int nRows = getRowDimension();
+        if (x.getDimension() != getColumnDimension()) {
+            throw new DimensionMismatchException(x.getDimension(), getColumnDimension());
+        }
+        if (y.getDimension() != nRows) {
+            throw new DimensionMismatchException(y.getDimension(), nRows);
+        }
+
+        final double[] v   = (x instanceof ArrayRealVector) ?
+                             ((ArrayRealVector) x).getDataRef() : x.toArray();
+        final double[] out = (y instanceof ArrayRealVector) ?
+                             ((ArrayRealVector) y).getDataRef() : new double[nRows];
+
+        if (matrix instanceof Array2DRowRealMatrix) {
+            ((Array2DRowRealMatrix) matrix).operateRows(v, out, executor);
+        } else if (matrix instanceof BlockRealMatrix) {
+            ((BlockRealMatrix) matrix).operateBlockRows(v, out, executor);
+        } else if (matrix instanceof CompressedRowRealMatrix) {
+            ((CompressedRowRealMatrix) matrix).operateRows(v, out, executor);
+        } else {
+            System.arraycopy(matrix.operate(v), 0, out, 0, nRows);
+        }
+
+        if (!(y instanceof ArrayRealVector)) {
+            for (int i = 0; i < nRows; ++i) {
+                y.setEntry(i, out[i]);
+            }
+        }
+
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The transposed products are computed sequentially.
+     * </p>
+     */
+    @Override
+    public RealVector operateTranspose(final RealVector x)
+        throws DimensionMismatchException {
+        return matrix.preMultiply(x);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code true}
+     */
+    @Override
+    public boolean isTransposable() {
+        return true;
+    }
+
+}
@@ -76,6 +76,40 @@ public abstract class RealLinearOperator {
     public abstract RealVector operate(final RealVector x)
         throws DimensionMismatchException;
 
+    /**
+     * Computes the result of multiplying {@code this} by the vector {@code x},
+     * and stores it in the vector {@code y}.
+     * <p>
+     * This method is intended for iterative algorithms, which can allocate
+     * {@code y} once and reuse it at each iteration. The default implementation
+     * simply copies the result of {@link #operate(RealVector)} into {@code y},
+     * operators that can write the product directly into {@code y} should
+     * override it. The vectors {@code x} and {@code y} must be distinct.
+     * </p>
+     * <p>
+     * The vector {@code y} is owned by the caller: implementations only
+     * overwrite its entries, and never keep a reference to it. Conversely,
+     * the default implementation only reads the vector returned by
+     * {@link #operate(RealVector)}, so operators returning a cached or
+     * read-only vector are supported.
+     * </p>
+     *
+     * @param x the vector to operate on
+     * @param y the vector in which the product of {@code this} instance
+     * with {@code x} is stored
+     * @throws DimensionMismatchException if the column dimension does not match
+     * the size of {@code x}, or if the row dimension does not match the size
+     * of {@code y}
+     * @since 3.3
+     */
+    public void operate(final RealVector x, final RealVector y)
+        throws DimensionMismatchException {
+        if (y.getDimension() != getRowDimension()) {
+            throw new DimensionMismatchException(y.getDimension(), getRowDimension());
+        }
+        y.setSubVector(0, operate(x));
+    }
+
     /**
      * Returns the result of multiplying the transpose of {@code this} operator
      * by the vector {@code x} (optional operation). The default implementation
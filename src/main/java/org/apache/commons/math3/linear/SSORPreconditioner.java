@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+
+/**
+ * This class implements the symmetric successive over-relaxation (SSOR)
+ * preconditioner.
+ * <p>
+ * Splitting the matrix as A = L + D + U, where L (resp. U) is the strictly
+ * lower (resp. upper) triangle and D the diagonal of A, the preconditioner for
+ * a relaxation factor &omega; is M = &omega; (2 - &omega;)
+ * (D + &omega; U)<sup>-1</sup> D (D + &omega; L)<sup>-1</sup>. Its application
+ * to a vector costs one forward and one backward sweep over the entries of A,
+ * i.e. about twice the cost of a product by A, and requires no factorization.
+ * </p>
+ * <p>
+ * If A is symmetric positive definite, so is the preconditioner, which can
+ * then be used with {@link ConjugateGradient}. A relaxation factor of 1
+ * corresponds to the symmetric Gauss-Seidel preconditioner.
+ * </p>
+ *
+ * @see ConjugateGradient
+ * @see IncompleteCholeskyPreconditioner
+ * @version $Id$
+ * @since 3.3
+ */
+public class SSORPreconditioner extends RealLinearOperator {
+
+    /** Start of each row of A, in {@link #indices} and {@link #values}. */
+    private final int[] pointers;
+
+    /** Column indices of A, sorted in each row. */
+    private final int[] indices;
+
+    /** Entries of A. */
+    private final double[] values;
+
+    /** Position of the diagonal entry of each row of A. */
+    private final int[] diagonal;
+
+    /** Relaxation factor. */
+    private final double omega;
+
+    /**
+     * Builds a symmetric Gauss-Seidel preconditioner (relaxation factor set to 1).
+     *
+     * @param a the matrix to be preconditioned
+     * @throws NonSquareMatrixException if {@code a} is not square
+     * @throws NonPositiveDefiniteMatrixException if a diagonal entry of
+     * {@code a} is missing or not positive
+     */
+    public SSORPreconditioner(final CompressedRowRealMatrix a)
+        throws NonSquareMatrixException, NonPositiveDefiniteMatrixException {
+        this(a, 1.0);
+    }
+
+    /**
+     * Builds a SSOR preconditioner.
+     *
+     * @param a the matrix to be preconditioned
+     * @param omega relaxation factor, must be strictly between 0 and 2
+     * @throws NonSquareMatrixException if {@code a} is not square
+     * @throws OutOfRangeException if {@code omega} is not in the (0, 2) interval
+     * @throws NonPositiveDefiniteMatrixException if a diagonal entry of
+     * {@code a} is missing or not positive
+     */
+    public SSORPreconditioner(final CompressedRowRealMatrix a, final double omega)
+        throws NonSquareMatrixException, OutOfRangeException, NonPositiveDefiniteMatrixException {
+
+        final int n = a.getRowDimension();
+        if (a.getColumnDimension() != n) {
+            throw new NonSquareMatrixException(n, a.getColumnDimension());
+        }
+        if (!(omega > 0 && omega < 2)) {
+            throw new OutOfRangeException(omega, 0, 2);
+        }
+
+        // the matrix is immutable, its storage can be shared
+        final CompressedStorage storage = a.getStorage();
+        pointers = storage.getPointersRef();
+        indices  = storage.getIndicesRef();
+        values   = storage.getValuesRef();
+        diagonal = new int[n];
+        for (int i = 0; i < n; ++i) {
+            int p = pointers[i];
+            while (p < pointers[i + 1] && indices[p] < i) {
+                ++p;
+            }
+            if (p == pointers[i + 1] || indices[p] != i) {
+                // missing diagonal entry
+                throw new NonPositiveDefiniteMatrixException(0.0, i, 0.0);
+            }
+            if (!(values[p] > 0)) {
+                throw new NonPositiveDefiniteMatrixException(values[p], i, 0.0);
+            }
+            diagonal[i] = p;
+        }
+        this.omega = omega;
+
+    }
+
+    /**
+     * Get the relaxation factor.
+     *
+     * @return relaxation factor
+     */
+    public double getOmega() {
+        return omega;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return diagonal.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return diagonal.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector x)
+        throws DimensionMismatchException {
+        final ArrayRealVector y = new ArrayRealVector(getRowDimension());
+        operate(x, y);
+        return y;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If {@code y} is an {@link ArrayRealVector} instance, the sweeps
+     * are performed directly in its storage array.
+     * </p>
+     */
+    @Override
+    public void operate(final RealVector x, final RealVector y)
+        throws DimensionMismatchException {
+
+        final int n = getRowDimension();
+        if (x.getDimension() != n) {
+            throw new DimensionMismatchException(x.getDimension(), n);
+        }
+        if (y.getDimension() != n) {
+            throw new DimensionMismatchException(y.getDimension(), n);
+        }
+        final double[] v   = (x instanceof ArrayRealVector) ?
+                             ((ArrayRealVector) x).getDataRef() : x.toArray();
+        final double[] out = (y instanceof ArrayRealVector) ?
+                             ((ArrayRealVector) y).getDataRef() : new double[n];
+
+        // forward sweep: (D + omega L).u = x
+        for (int i = 0; i < n; ++i) {
+            final int diag = diagonal[i];
+            double sum = 0;
+            for (int p = pointers[i]; p < diag; ++p) {
+                sum += values[p] * out[indices[p]];
+            }
+            out[i] = (v[i] - omega * sum) / values[diag];
+        }
+
+        // backward sweep: (D + omega U).z = D.u
+        for (int i = n - 1; i >= 0; --i) {
+            final int diag = diagonal[i];
+            double sum = 0;
+            for (int p = diag + 1; p < pointers[i + 1]; ++p) {
+                sum += values[p] * out[indices[p]];
+            }
+            out[i] -= omega * sum / values[diag];
+        }
+
+        final double scale = omega * (2 - omega);
+        if (y instanceof ArrayRealVector) {
+            for (int i = 0; i < n; ++i) {
+                out[i] *= scale;
+            }
+        } else {
+            for (int i = 0; i < n; ++i) {
+                y.setEntry(i, scale * out[i]);
+            }
+        }
+
+    }
+
+}
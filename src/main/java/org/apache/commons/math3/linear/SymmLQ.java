@@ -356,6 +356,15 @@ public class SymmLQ
         /** The value of beta[k+1] * P' * v[k+1]. */
         private RealVector y;
 
+        /** Buffer for the value of P' * v[k]. */
+        private final RealVector v;
+
+        /** Buffer for the value of M * r2, unused if there is no preconditioner. */
+        private final RealVector mr2;
+
+        /** Spare buffer, holding none of the above vectors. */
+        private RealVector spare;
+
         /** The value of zeta[1]^2 + ... + zeta[k-1]^2. */
         private double ynorm2;
 
@@ -395,6 +404,9 @@ public class SymmLQ
             this.goodb = goodb;
             this.shift = shift;
             this.mb = m == null ? b : m.operate(b);
+            this.v = new ArrayRealVector(b.getDimension());
+            this.mr2 = m == null ? null : new ArrayRealVector(b.getDimension());
+            this.spare = new ArrayRealVector(b.getDimension());
             this.hasConverged = false;
             this.check = check;
             this.delta = delta;
@@ -466,6 +478,22 @@ public class SymmLQ
             }
         }
 
+        /**
+         * A BLAS-like function, for the operation y &larr; a &middot; x. This
+         * is for internal use only: no dimension checks are provided.
+         *
+         * @param a the scalar by which {@code x} is to be multiplied
+         * @param x the vector to be multiplied
+         * @param y the vector in which the result is stored
+         */
+        private static void scale(final double a, final RealVector x,
+            final RealVector y) {
+            final int n = x.getDimension();
+            for (int i = 0; i < n; i++) {
+                y.setEntry(i, a * x.getEntry(i));
+            }
+        }
+
         /**
          * A BLAS-like function, for the operation z &larr; a &middot; x + b
          * &middot; y + z. This is for internal use only: no dimension checks are
@@ -569,17 +597,17 @@ public class SymmLQ
              *   y = M * b,
              *   beta1 = beta[1].
              */
-            final RealVector v = this.y.mapMultiply(1. / this.beta1);
-            this.y = this.a.operate(v);
+            final RealVector v1 = this.y.mapMultiply(1. / this.beta1);
+            this.y = this.a.operate(v1);
             if (this.check) {
-                checkSymmetry(this.a, v, this.y, this.a.operate(this.y));
+                checkSymmetry(this.a, v1, this.y, this.a.operate(this.y));
             }
             /*
              * Set up y for the second Lanczos vector. y and beta will be zero
              * or very small if b is an eigenvector.
              */
-            daxpy(-this.shift, v, this.y);
-            final double alpha = v.dotProduct(this.y);
+            daxpy(-this.shift, v1, this.y);
+            final double alpha = v1.dotProduct(this.y);
             daxpy(-alpha / this.beta1, this.r1, this.y);
             /*
              * At this point
@@ -587,9 +615,9 @@ public class SymmLQ
              *   y     = beta[2] * M^(-1) * P' * v[2]
              */
             /* Make sure r2 will be orthogonal to the first v. */
-            final double vty = v.dotProduct(this.y);
-            final double vtv = v.dotProduct(v);
-            daxpy(-vty / vtv, v, this.y);
+            final double vty = v1.dotProduct(this.y);
+            final double vtv = v1.dotProduct(v1);
+            daxpy(-vty / vtv, v1, this.y);
             this.r2 = this.y.copy();
             if (this.m != null) {
                 this.y = this.m.operate(this.r2);
@@ -623,7 +651,7 @@ public class SymmLQ
                 this.wbar = new ArrayRealVector(this.a.getRowDimension());
                 this.wbar.set(0.);
             } else {
-                this.wbar = v;
+                this.wbar = v1;
             }
             updateNorms();
         }
@@ -635,8 +663,10 @@ public class SymmLQ
          * current iteration count {@code k}.
          */
         void update() {
-            final RealVector v = y.mapMultiply(1. / beta);
-            y = a.operate(v);
+            // the vectors are updated in preallocated buffers, without any allocation
+            scale(1. / beta, y, v);
+            y = spare;
+            a.operate(v, y);
             daxpbypz(-shift, v, -beta / oldb, r1, y);
             final double alpha = v.dotProduct(y);
             /*
@@ -659,14 +689,17 @@ public class SymmLQ
              *     = beta[k+1] * M^(-1) * P' * v[k+1],
              * from Paige and Saunders (1975), equation (3.2).
              *
-             * WATCH-IT: the two following lines work only because y is no longer
+             * WATCH-IT: the following lines work only because y is no longer
              * updated up to the end of the present iteration, and is
-             * reinitialized at the beginning of the next iteration.
+             * reinitialized at the beginning of the next iteration. The buffer
+             * holding the previous value of r1 is recycled for the next y.
              */
+            spare = r1;
             r1 = r2;
             r2 = y;
             if (m != null) {
-                y = m.operate(r2);
+                m.operate(r2, mr2);
+                y = mr2;
             }
             oldb = beta;
             beta = r2.dotProduct(y);
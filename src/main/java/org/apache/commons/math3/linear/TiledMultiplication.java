@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Register-tiled kernel for dense matrix multiplication.
+ * <p>
+ * This class implements the {@link MultiplicationKernel#TILED TILED}
+ * kernel shared by {@link Array2DRowRealMatrix} and {@link BlockRealMatrix}.
+ * The product C += A &times; B is computed as follows:
+ * </p>
+ * <ul>
+ *   <li>B is split in panels of {@link #KC} rows and {@link #NC} columns,
+ *   which are packed in a contiguous array as slivers of {@link #NR}
+ *   columns, so the panel stays in the L2 cache while it is used,</li>
+ *   <li>for each panel, A is processed by slivers of {@link #MR} rows,
+ *   which are also packed so that the {@link #MR} entries needed at each
+ *   step are contiguous,</li>
+ *   <li>the micro-kernel multiplies one A sliver by one B sliver, keeping
+ *   the {@link #MR}x{@link #NR} partial sums in local variables (hence
+ *   in registers) during the whole loop over the common dimension.</li>
+ * </ul>
+ * <p>
+ * Slivers at the bottom and right edges are padded with zeros, so the
+ * micro-kernel never needs to handle partial tiles.
+ * </p>
+ * <p>
+ * Instances hold the packing buffers, they are therefore <em>not</em>
+ * thread-safe.
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+class TiledMultiplication {
+
+    /** Number of rows of a register tile. */
+    static final int MR = 4;
+
+    /** Number of columns of a register tile. */
+    static final int NR = 4;
+
+    /** Depth of packed panels (number of terms in partial sums). */
+    static final int KC = 256;
+
+    /** Width of packed B panels. */
+    static final int NC = 512;
+
+    /** Packed sliver of A. */
+    private final double[] aPack;
+
+    /** Packed panel of B. */
+    private final double[] bPack;
+
+    /** Buffer for one register tile. */
+    private final double[] tile;
+
+    /**
+     * Simple constructor.
+     */
+    TiledMultiplication() {
+        aPack = new double[MR * KC];
+        bPack = new double[KC * NC];
+        tile  = new double[MR * NR];
+    }
+
+    /**
+     * Computes c += a &times; b for matrices stored as rows arrays.
+     *
+     * @param a left operand (m rows, k columns)
+     * @param b right operand (k rows, n columns)
+     * @param c result (m rows, n columns), updated in place
+     * @param m number of rows of a and c
+     * @param n number of columns of b and c
+     * @param k number of columns of a and rows of b
+     */
+    void multiply(final double[][] a, final double[][] b, final double[][] c,
+                  final int m, final int n, final int k) {
+        for (int jc = 0; jc < n; jc += NC) {
+            final int nc = FastMath.min(NC, n - jc);
+            for (int pc = 0; pc < k; pc += KC) {
+                final int kc = FastMath.min(KC, k - pc);
+                packB(b, pc, kc, jc, nc);
+                for (int ic = 0; ic < m; ic += MR) {
+                    final int mr = FastMath.min(MR, m - ic);
+                    packA(a, ic, mr, pc, kc);
+                    for (int jr = 0; jr < nc; jr += NR) {
+                        final int nr = FastMath.min(NR, nc - jr);
+                        microKernel(kc, jr * kc);
+                        for (int r = 0; r < mr; ++r) {
+                            final double[] cRow = c[ic + r];
+                            final int t = r * NR;
+                            for (int s = 0; s < nr; ++s) {
+                                cRow[jc + jr + s] += tile[t + s];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs a whole flat row major matrix as the current B panel.
+     * <p>
+     * The packed panel can then be reused by several calls to
+     * {@link #multiplyPacked(double[], double[], int, int, int)},
+     * which avoids packing the same matrix again for each left operand.
+     * </p>
+     *
+     * @param b flat row major array (k rows, n columns, rows stride n)
+     * @param n number of columns of b, at most {@link #NC}
+     * @param k number of rows of b, at most {@link #KC}
+     */
+    void pack(final double[] b, final int n, final int k) {
+        packB(b, n, 0, k, 0, n);
+    }
+
+    /**
+     * Computes c += a &times; b for matrices stored as flat row major arrays,
+     * b being the panel packed by the last call to {@link #pack(double[], int, int)}.
+     *
+     * @param a left operand (m rows, k columns, rows stride k)
+     * @param c result (m rows, n columns, rows stride n), updated in place
+     * @param m number of rows of a and c
+     * @param n number of columns of the packed panel and c
+     * @param k number of columns of a and rows of the packed panel
+     */
+    void multiplyPacked(final double[] a, final double[] c,
+                        final int m, final int n, final int k) {
+        for (int ic = 0; ic < m; ic += MR) {
+            final int mr = FastMath.min(MR, m - ic);
+            packA(a, k, ic, mr, 0, k);
+            for (int jr = 0; jr < n; jr += NR) {
+                final int nr = FastMath.min(NR, n - jr);
+                microKernel(k, jr * k);
+                for (int r = 0; r < mr; ++r) {
+                    final int cStart = (ic + r) * n + jr;
+                    final int t = r * NR;
+                    for (int s = 0; s < nr; ++s) {
+                        c[cStart + s] += tile[t + s];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs a sliver of rows arrays into {@link #aPack}.
+     * <p>
+     * Entry (r, l) of the sliver is stored at index l * MR + r,
+     * missing rows are padded with zeros.
+     * </p>
+     *
+     * @param a rows arrays
+     * @param row0 first row of the sliver
+     * @param mr number of rows of the sliver
+     * @param col0 first column of the sliver
+     * @param kc number of columns of the sliver
+     */
+    private void packA(final double[][] a, final int row0, final int mr,
+                       final int col0, final int kc) {
+        for (int r = 0; r < MR; ++r) {
+            if (r < mr) {
+                final double[] aRow = a[row0 + r];
+                for (int l = 0; l < kc; ++l) {
+                    aPack[l * MR + r] = aRow[col0 + l];
+                }
+            } else {
+                for (int l = 0; l < kc; ++l) {
+                    aPack[l * MR + r] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs a sliver of a flat row major array into {@link #aPack}.
+     * <p>
+     * Entry (r, l) of the sliver is stored at index l * MR + r,
+     * missing rows are padded with zeros.
+     * </p>
+     *
+     * @param a flat row major array
+     * @param stride rows stride of the array
+     * @param row0 first row of the sliver
+     * @param mr number of rows of the sliver
+     * @param col0 first column of the sliver
+     * @param kc number of columns of the sliver
+     */
+    private void packA(final double[] a, final int stride, final int row0, final int mr,
+                       final int col0, final int kc) {
+        for (int r = 0; r < MR; ++r) {
+            if (r < mr) {
+                final int start = (row0 + r) * stride + col0;
+                for (int l = 0; l < kc; ++l) {
+                    aPack[l * MR + r] = a[start + l];
+                }
+            } else {
+                for (int l = 0; l < kc; ++l) {
+                    aPack[l * MR + r] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs a panel of rows arrays into {@link #bPack}.
+     * <p>
+     * The panel is split in slivers of NR columns, sliver j starting at
+     * index j * NR * kc. Entry (l, s) of a sliver is stored at offset
+     * l * NR + s, missing columns are padded with zeros.
+     * </p>
+     *
+     * @param b rows arrays
+     * @param row0 first row of the panel
+     * @param kc number of rows of the panel
+     * @param col0 first column of the panel
+     * @param nc number of columns of the panel
+     */
+    private void packB(final double[][] b, final int row0, final int kc,
+                       final int col0, final int nc) {
+        for (int l = 0; l < kc; ++l) {
+            final double[] bRow = b[row0 + l];
+            for (int jr = 0; jr < nc; jr += NR) {
+                final int nr = FastMath.min(NR, nc - jr);
+                final int start = jr * kc + l * NR;
+                for (int s = 0; s < nr; ++s) {
+                    bPack[start + s] = bRow[col0 + jr + s];
+                }
+                for (int s = nr; s < NR; ++s) {
+                    bPack[start + s] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs a panel of a flat row major array into {@link #bPack}.
+     * <p>
+     * The panel is split in slivers of NR columns, sliver j starting at
+     * index j * NR * kc. Entry (l, s) of a sliver is stored at offset
+     * l * NR + s, missing columns are padded with zeros.
+     * </p>
+     *
+     * @param b flat row major array
+     * @param stride rows stride of the array
+     * @param row0 first row of the panel
+     * @param kc number of rows of the panel
+     * @param col0 first column of the panel
+     * @param nc number of columns of the panel
+     */
+    private void packB(final double[] b, final int stride, final int row0, final int kc,
+                       final int col0, final int nc) {
+        for (int l = 0; l < kc; ++l) {
+            final int bStart = (row0 + l) * stride + col0;
+            for (int jr = 0; jr < nc; jr += NR) {
+                final int nr = FastMath.min(NR, nc - jr);
+                final int start = jr * kc + l * NR;
+                for (int s = 0; s < nr; ++s) {
+                    bPack[start + s] = b[bStart + jr + s];
+                }
+                for (int s = nr; s < NR; ++s) {
+                    bPack[start + s] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Multiplies the packed A sliver by one packed B sliver.
+     * <p>
+     * The result is stored in {@link #tile} in row major order.
+     * The loop over the common dimension is unrolled twice.
+     * </p>
+     *
+     * @param kc common dimension of the slivers
+     * @param bStart start index of the B sliver in {@link #bPack}
+     */
+    private void microKernel(final int kc, final int bStart) {
+        double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+        int ia = 0;
+        int ib = bStart;
+        int l  = 0;
+        while (l < kc - 1) {
+            double a0 = aPack[ia];
+            double a1 = aPack[ia + 1];
+            double a2 = aPack[ia + 2];
+            double a3 = aPack[ia + 3];
+            double b0 = bPack[ib];
+            double b1 = bPack[ib + 1];
+            double b2 = bPack[ib + 2];
+            double b3 = bPack[ib + 3];
+            c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+            c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+            c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+            c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+
+            a0 = aPack[ia + 4];
+            a1 = aPack[ia + 5];
+            a2 = aPack[ia + 6];
+            a3 = aPack[ia + 7];
+            b0 = bPack[ib + 4];
+            b1 = bPack[ib + 5];
+            b2 = bPack[ib + 6];
+            b3 = bPack[ib + 7];
+            c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+            c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+            c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+            c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+
+            ia += 2 * MR;
+            ib += 2 * NR;
+            l  += 2;
+        }
+        if (l < kc) {
+            final double a0 = aPack[ia];
+            final double a1 = aPack[ia + 1];
+            final double a2 = aPack[ia + 2];
+            final double a3 = aPack[ia + 3];
+            final double b0 = bPack[ib];
+            final double b1 = bPack[ib + 1];
+            final double b2 = bPack[ib + 2];
+            final double b3 = bPack[ib + 3];
+            c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+            c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+            c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+            c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+        }
+
+        tile[0]  = c00; tile[1]  = c01; tile[2]  = c02; tile[3]  = c03;
+        tile[4]  = c10; tile[5]  = c11; tile[6]  = c12; tile[7]  = c13;
+        tile[8]  = c20; tile[9]  = c21; tile[10] = c22; tile[11] = c23;
+        tile[12] = c30; tile[13] = c31; tile[14] = c32; tile[15] = c33;
+    }
+
+}
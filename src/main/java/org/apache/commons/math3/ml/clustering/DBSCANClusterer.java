@@ -28,6 +28,9 @@ import org.apache.commons.math3.exception.NotPositiveException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.ml.distance.DistanceMeasure;
 import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.ml.neighbors.DefaultNeighborSearchFactory;
+import org.apache.commons.math3.ml.neighbors.NeighborSearch;
+import org.apache.commons.math3.ml.neighbors.NeighborSearchFactory;
 import org.apache.commons.math3.util.MathUtils;
 
 /**
@@ -48,6 +51,11 @@ import org.apache.commons.math3.util.MathUtils;
  *   <li>eps: the distance that defines the &epsilon;-neighborhood of a point
  *   <li>minPoints: the minimum number of density-connected points required to form a cluster
  * </ul>
+ * <p>
+ * The &epsilon;-neighborhoods are found using a {@link NeighborSearch} structure built
+ * from the points at the start of the analysis. By default, a k-d tree is used with the
+ * Euclidean, Manhattan and Chebyshev distances, and a brute force search with other
+ * distance measures (see {@link DefaultNeighborSearchFactory}).
  *
  * @param <T> type of the points to cluster
  * @see <a href="http://en.wikipedia.org/wiki/DBSCAN">DBSCAN (wikipedia)</a>
@@ -64,6 +72,9 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
     /** Minimum number of points needed for a cluster. */
     private final int                 minPts;
 
+    /** Factory for the neighbor search structures. */
+    private final NeighborSearchFactory searchFactory;
+
     /** Status of a point during the clustering process. */
     private enum PointStatus {
         /** The point has is considered to be noise. */
@@ -96,7 +107,25 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
      */
     public DBSCANClusterer(final double eps, final int minPts, final DistanceMeasure measure)
         throws NotPositiveException {
+        this(eps, minPts, measure, new DefaultNeighborSearchFactory());
+    }
+
+    /**
+     * Creates a new instance of a DBSCANClusterer.
+     *
+     * @param eps maximum radius of the neighborhood to be considered
+     * @param minPts minimum number of points needed for a cluster
+     * @param measure the distance measure to use
+     * @param searchFactory factory for the structures used to find the neighborhoods
+     * @throws NotPositiveException if {@code eps < 0.0} or {@code minPts < 0}
+     * @throws NullArgumentException if {@code searchFactory} is null
+     * @since 3.3
+     */
+    public DBSCANClusterer(final double eps, final int minPts, final DistanceMeasure measure,
+                           final NeighborSearchFactory searchFactory)
+        throws NotPositiveException, NullArgumentException {
         super(measure);
+        MathUtils.checkNotNull(searchFactory);
 
         if (eps < 0.0d) {
             throw new NotPositiveException(eps);
@@ -106,6 +135,7 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
         }
         this.eps = eps;
         this.minPts = minPts;
+        this.searchFactory = searchFactory;
     }
 
     /**
@@ -124,6 +154,15 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
         return minPts;
     }
 
+    /**
+     * Returns the factory for the structures used to find the neighborhoods.
+     * @return factory for the neighbor search structures
+     * @since 3.3
+     */
+    public NeighborSearchFactory getNeighborSearchFactory() {
+        return searchFactory;
+    }
+
     /**
      * Performs DBSCAN cluster analysis.
      *
@@ -138,16 +177,17 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
 
         final List<Cluster<T>> clusters = new ArrayList<Cluster<T>>();
         final Map<Clusterable, PointStatus> visited = new HashMap<Clusterable, PointStatus>();
+        final NeighborSearch<T> search = searchFactory.create(points, getDistanceMeasure());
 
         for (final T point : points) {
             if (visited.get(point) != null) {
                 continue;
             }
-            final List<T> neighbors = getNeighbors(point, points);
+            final List<T> neighbors = search.getNeighbors(point, eps);
             if (neighbors.size() >= minPts) {
                 // DBSCAN does not care about center points
                 final Cluster<T> cluster = new Cluster<T>();
-                clusters.add(expandCluster(cluster, point, neighbors, points, visited));
+                clusters.add(expandCluster(cluster, point, neighbors, search, visited));
             } else {
                 visited.put(point, PointStatus.NOISE);
             }
@@ -162,28 +202,29 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
      * @param cluster Cluster to expand
      * @param point Point to add to cluster
      * @param neighbors List of neighbors
-     * @param points the data set
+     * @param search neighbor search structure for the data set
      * @param visited the set of already visited points
      * @return the expanded cluster
      */
     private Cluster<T> expandCluster(final Cluster<T> cluster,
                                      final T point,
                                      final List<T> neighbors,
-                                     final Collection<T> points,
+                                     final NeighborSearch<T> search,
                                      final Map<Clusterable, PointStatus> visited) {
         cluster.addPoint(point);
         visited.put(point, PointStatus.PART_OF_CLUSTER);
 
-        List<T> seeds = new ArrayList<T>(neighbors);
+        final List<T> seeds = new ArrayList<T>(neighbors);
+        final Set<T> seedsSet = new HashSet<T>(neighbors);
         int index = 0;
         while (index < seeds.size()) {
             final T current = seeds.get(index);
             PointStatus pStatus = visited.get(current);
             // only check non-visited points
             if (pStatus == null) {
-                final List<T> currentNeighbors = getNeighbors(current, points);
+                final List<T> currentNeighbors = search.getNeighbors(current, eps);
                 if (currentNeighbors.size() >= minPts) {
-                    seeds = merge(seeds, currentNeighbors);
+                    merge(seeds, seedsSet, currentNeighbors);
                 }
             }
 
@@ -197,37 +238,20 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
         return cluster;
     }
 
-    /**
-     * Returns a list of density-reachable neighbors of a {@code point}.
-     *
-     * @param point the point to look for
-     * @param points possible neighbors
-     * @return the List of neighbors
-     */
-    private List<T> getNeighbors(final T point, final Collection<T> points) {
-        final List<T> neighbors = new ArrayList<T>();
-        for (final T neighbor : points) {
-            if (point != neighbor && distance(neighbor, point) <= eps) {
-                neighbors.add(neighbor);
-            }
-        }
-        return neighbors;
-    }
-
     /**
      * Merges two lists together.
      *
-     * @param one first list
+     * @param one first list, updated in place
+     * @param oneSet set holding the elements of the first list, updated in place
      * @param two second list
-     * @return merged lists
      */
-    private List<T> merge(final List<T> one, final List<T> two) {
-        final Set<T> oneSet = new HashSet<T>(one);
+    private void merge(final List<T> one, final Set<T> oneSet, final List<T> two) {
+        final int size = one.size();
         for (T item : two) {
             if (!oneSet.contains(item)) {
                 one.add(item);
             }
         }
-        return one;
+        oneSet.addAll(one.subList(size, one.size()));
     }
 }
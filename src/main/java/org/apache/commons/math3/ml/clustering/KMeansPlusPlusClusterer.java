@@ -18,12 +18,16 @@
 package org.apache.commons.math3.ml.clustering;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.math3.exception.ConvergenceException;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
 import org.apache.commons.math3.exception.NumberIsTooSmallException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.ml.distance.DistanceMeasure;
@@ -31,6 +35,7 @@ import org.apache.commons.math3.ml.distance.EuclideanDistance;
 import org.apache.commons.math3.random.JDKRandomGenerator;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.stat.descriptive.moment.Variance;
+import org.apache.commons.math3.util.ConcurrencyUtils;
 import org.apache.commons.math3.util.MathUtils;
 
 /**
@@ -59,6 +64,18 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
 
     }
 
+    /** Minimal number of points handled by one task in parallel clustering. */
+    private static final int MIN_SLICE_SIZE = 1024;
+
+    /**
+     * Number of points accumulated by one task in parallel clustering.
+     * <p>
+     * This size is fixed, so that the partial sums are merged in the same
+     * order whatever the number of available processors.
+     * </p>
+     */
+    private static final int SUMS_SLICE_SIZE = 4096;
+
     /** The number of clusters. */
     private final int k;
 
@@ -205,7 +222,7 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
         }
 
         // create the initial clusters
-        List<CentroidCluster<T>> clusters = chooseInitialCenters(points);
+        List<CentroidCluster<T>> clusters = chooseInitialCenters(points, null);
 
         // create an array containing the latest assignment of a point to a cluster
         // no need to initialize the array, as it will be filled with the first assignment
@@ -251,6 +268,168 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
         return clusters;
     }
 
+    /**
+     * Runs the K-means++ clustering algorithm, using several threads.
+     * <p>
+     * The points are split in slices processed by tasks submitted to the
+     * {@code executor}. Each task computes the distances to the centers
+     * during the initial centers selection, and assigns its points to the
+     * nearest cluster while accumulating the partial sums of the cluster
+     * points; the partial sums of all tasks are then merged to compute the
+     * new centroids. The random choices are made in the calling thread and
+     * the points are split in slices of a fixed size, merged in order, so
+     * for a given random generator state the result depends neither on the
+     * number of threads nor on the number of available processors. It may
+     * differ from the result of {@link #cluster(Collection)} only by rounding
+     * errors in the centroids.
+     * </p>
+     * <p>
+     * The {@code executor} is not shut down by this method.
+     * </p>
+     *
+     * @param points the points to cluster
+     * @param executor executor service running the tasks
+     * @return a list of clusters containing the points
+     * @throws MathIllegalArgumentException if the data points or the executor
+     *     are null or the number of clusters is larger than the number of data points
+     * @throws ConvergenceException if an empty cluster is encountered and the
+     * {@link #emptyStrategy} is set to {@code ERROR}
+     * @throws MathIllegalStateException if the computation is interrupted
+     * @since 3.3
+     */
+    public List<CentroidCluster<T>> cluster(final Collection<T> points,
+                                            final ExecutorService executor)
+        throws MathIllegalArgumentException, ConvergenceException, MathIllegalStateException {
+
+        // sanity checks
+        MathUtils.checkNotNull(points);
+        MathUtils.checkNotNull(executor);
+
+        // number of clusters has to be smaller or equal the number of data points
+        if (points.size() < k) {
+            throw new NumberIsTooSmallException(points.size(), k, false);
+        }
+
+        final List<T> pointList = new ArrayList<T>(points);
+        final int[] bounds =
+                ConcurrencyUtils.partition(pointList.size(),
+                                           (pointList.size() + SUMS_SLICE_SIZE - 1) / SUMS_SLICE_SIZE);
+
+        // create the initial clusters
+        List<CentroidCluster<T>> clusters = chooseInitialCenters(pointList, executor);
+        final int dimension = clusters.get(0).getCenter().getPoint().length;
+
+        // create an array containing the latest assignment of a point to a cluster
+        // no need to initialize the array, as it will be filled with the first assignment
+        final int[] assignments = new int[pointList.size()];
+        PartialSums sums = assignPointsToClusters(clusters, pointList, assignments,
+                                                  dimension, bounds, executor);
+
+        // iterate through updating the centers until we're done
+        final int max = (maxIterations < 0) ? Integer.MAX_VALUE : maxIterations;
+        for (int count = 0; count < max; count++) {
+            boolean emptyCluster = false;
+            List<CentroidCluster<T>> newClusters = new ArrayList<CentroidCluster<T>>();
+            for (int i = 0; i < clusters.size(); ++i) {
+                final CentroidCluster<T> cluster = clusters.get(i);
+                final Clusterable newCenter;
+                if (cluster.getPoints().isEmpty()) {
+                    switch (emptyStrategy) {
+                        case LARGEST_VARIANCE :
+                            newCenter = getPointFromLargestVarianceCluster(clusters);
+                            break;
+                        case LARGEST_POINTS_NUMBER :
+                            newCenter = getPointFromLargestNumberCluster(clusters);
+                            break;
+                        case FARTHEST_POINT :
+                            newCenter = getFarthestPoint(clusters);
+                            break;
+                        default :
+                            throw new ConvergenceException(LocalizedFormats.EMPTY_CLUSTER_IN_K_MEANS);
+                    }
+                    emptyCluster = true;
+                } else if (cluster.getPoints().size() == sums.counts[i]) {
+                    newCenter = sums.centroid(i);
+                } else {
+                    // a point has been moved out of this cluster by an empty cluster strategy
+                    newCenter = centroidOf(cluster.getPoints(), dimension);
+                }
+                newClusters.add(new CentroidCluster<T>(newCenter));
+            }
+            sums = assignPointsToClusters(newClusters, pointList, assignments,
+                                          dimension, bounds, executor);
+            clusters = newClusters;
+
+            // if there were no more changes in the point-to-cluster assignment
+            // and there are no empty clusters left, return the current clusters
+            if (sums.changes == 0 && !emptyCluster) {
+                return clusters;
+            }
+        }
+        return clusters;
+    }
+
+    /**
+     * Adds the given points to the closest {@link Cluster}, using several threads.
+     * <p>
+     * Each slice of points is handled by one task, which finds the nearest
+     * cluster of its points and accumulates their coordinates. The points are
+     * then added to the clusters in the calling thread, in iteration order.
+     * </p>
+     *
+     * @param clusters the {@link Cluster}s to add the points to
+     * @param pointList the points to add to the given {@link Cluster}s
+     * @param assignments points assignments to clusters
+     * @param dimension the point dimension
+     * @param bounds boundaries of the slices of points
+     * @param executor executor service running the tasks
+     * @return the merged partial sums of the points assigned to each cluster
+     */
+    private PartialSums assignPointsToClusters(final List<CentroidCluster<T>> clusters,
+                                               final List<T> pointList,
+                                               final int[] assignments,
+                                               final int dimension,
+                                               final int[] bounds,
+                                               final ExecutorService executor) {
+
+        final List<Callable<PartialSums>> tasks =
+                new ArrayList<Callable<PartialSums>>(bounds.length - 1);
+        for (int i = 0; i < bounds.length - 1; ++i) {
+            final int from = bounds[i];
+            final int to   = bounds[i + 1];
+            tasks.add(new Callable<PartialSums>() {
+                /** {@inheritDoc} */
+                public PartialSums call() {
+                    final PartialSums partial = new PartialSums(clusters.size(), dimension);
+                    for (int j = from; j < to; ++j) {
+                        final T p = pointList.get(j);
+                        final int clusterIndex = getNearestCluster(clusters, p);
+                        if (clusterIndex != assignments[j]) {
+                            partial.changes++;
+                        }
+                        assignments[j] = clusterIndex;
+                        partial.add(clusterIndex, p.getPoint());
+                    }
+                    return partial;
+                }
+            });
+        }
+
+        // merge the partial sums, in slices order
+        final PartialSums sums = new PartialSums(clusters.size(), dimension);
+        for (final PartialSums partial : ConcurrencyUtils.invokeAll(executor, tasks)) {
+            sums.merge(partial);
+        }
+
+        // populate the clusters
+        for (int j = 0; j < assignments.length; ++j) {
+            clusters.get(assignments[j]).addPoint(pointList.get(j));
+        }
+
+        return sums;
+
+    }
+
     /**
      * Adds the given points to the closest {@link Cluster}.
      *
@@ -280,11 +459,19 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
 
     /**
      * Use K-means++ to choose the initial centers.
+     * <p>
+     * The random selection of the centers is always sequential, only the
+     * distances computations are split across the executor if one is
+     * provided, so the selected centers do not depend on the executor.
+     * </p>
      *
      * @param points the points to choose the initial centers from
+     * @param executor executor service for distances computations,
+     * null for sequential computation
      * @return the initial centers
      */
-    private List<CentroidCluster<T>> chooseInitialCenters(final Collection<T> points) {
+    private List<CentroidCluster<T>> chooseInitialCenters(final Collection<T> points,
+                                                          final ExecutorService executor) {
 
         // Convert to list for indexed access. Make it unmodifiable, since removal of items
         // would screw up the logic of this method.
@@ -316,12 +503,8 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
 
         // Initialize the elements.  Since the only point in resultSet is firstPoint,
         // this is very easy.
-        for (int i = 0; i < numPoints; i++) {
-            if (i != firstPointIndex) { // That point isn't considered
-                double d = distance(firstPoint, pointList.get(i));
-                minDistSquared[i] = d*d;
-            }
-        }
+        Arrays.fill(minDistSquared, Double.POSITIVE_INFINITY);
+        updateMinDistSquared(firstPoint, pointList, taken, minDistSquared, executor);
 
         while (resultSet.size() < k) {
 
@@ -380,16 +563,7 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
                 if (resultSet.size() < k) {
                     // Now update elements of minDistSquared.  We only have to compute
                     // the distance to the new center to do this.
-                    for (int j = 0; j < numPoints; j++) {
-                        // Only have to worry about the points still not taken.
-                        if (!taken[j]) {
-                            double d = distance(p, pointList.get(j));
-                            double d2 = d * d;
-                            if (d2 < minDistSquared[j]) {
-                                minDistSquared[j] = d2;
-                            }
-                        }
-                    }
+                    updateMinDistSquared(p, pointList, taken, minDistSquared, executor);
                 }
 
             } else {
@@ -403,6 +577,68 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
         return resultSet;
     }
 
+    /**
+     * Updates the minimum squared distances of the points not taken yet
+     * after a new center has been selected.
+     *
+     * @param center the new center
+     * @param pointList the points
+     * @param taken flags for the points already selected as centers
+     * @param minDistSquared minimum squared distances to the centers, updated in place
+     * @param executor executor service for distances computations,
+     * null for sequential computation
+     */
+    private void updateMinDistSquared(final T center, final List<T> pointList,
+                                      final boolean[] taken, final double[] minDistSquared,
+                                      final ExecutorService executor) {
+        if (executor == null) {
+            updateMinDistSquared(center, pointList, taken, minDistSquared, 0, pointList.size());
+        } else {
+            final int[] bounds =
+                    ConcurrencyUtils.partition(pointList.size(),
+                                               ConcurrencyUtils.slices(pointList.size(), MIN_SLICE_SIZE));
+            final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(bounds.length - 1);
+            for (int i = 0; i < bounds.length - 1; ++i) {
+                final int from = bounds[i];
+                final int to   = bounds[i + 1];
+                tasks.add(new Callable<Void>() {
+                    /** {@inheritDoc} */
+                    public Void call() {
+                        updateMinDistSquared(center, pointList, taken, minDistSquared, from, to);
+                        return null;
+                    }
+                });
+            }
+            ConcurrencyUtils.invokeAll(executor, tasks);
+        }
+    }
+
+    /**
+     * Updates the minimum squared distances of a slice of the points not
+     * taken yet after a new center has been selected.
+     *
+     * @param center the new center
+     * @param pointList the points
+     * @param taken flags for the points already selected as centers
+     * @param minDistSquared minimum squared distances to the centers, updated in place
+     * @param from index of the first point of the slice
+     * @param to index after the last point of the slice
+     */
+    private void updateMinDistSquared(final T center, final List<T> pointList,
+                                      final boolean[] taken, final double[] minDistSquared,
+                                      final int from, final int to) {
+        for (int j = from; j < to; j++) {
+            // Only have to worry about the points still not taken.
+            if (!taken[j]) {
+                double d = distance(center, pointList.get(j));
+                double d2 = d * d;
+                if (d2 < minDistSquared[j]) {
+                    minDistSquared[j] = d2;
+                }
+            }
+        }
+    }
+
     /**
      * Get a random point from the {@link Cluster} with the largest distance variance.
      *
@@ -562,4 +798,66 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
         return new DoublePoint(centroid);
     }
 
+    /** Partial sums of the points assigned to each cluster. */
+    private static class PartialSums {
+
+        /** Sums of the points coordinates, per cluster. */
+        private final double[][] sums;
+
+        /** Number of points, per cluster. */
+        private final int[] counts;
+
+        /** Number of points assigned to a different cluster than at previous iteration. */
+        private int changes;
+
+        /** Simple constructor.
+         * @param k number of clusters
+         * @param dimension the point dimension
+         */
+        PartialSums(final int k, final int dimension) {
+            sums   = new double[k][dimension];
+            counts = new int[k];
+        }
+
+        /** Add a point to the sums of one cluster.
+         * @param clusterIndex index of the cluster
+         * @param point coordinates of the point
+         */
+        void add(final int clusterIndex, final double[] point) {
+            final double[] sum = sums[clusterIndex];
+            for (int i = 0; i < sum.length; i++) {
+                sum[i] += point[i];
+            }
+            counts[clusterIndex]++;
+        }
+
+        /** Merge other partial sums into this instance.
+         * @param other partial sums to merge
+         */
+        void merge(final PartialSums other) {
+            for (int c = 0; c < sums.length; ++c) {
+                final double[] sum      = sums[c];
+                final double[] otherSum = other.sums[c];
+                for (int i = 0; i < sum.length; i++) {
+                    sum[i] += otherSum[i];
+                }
+                counts[c] += other.counts[c];
+            }
+            changes += other.changes;
+        }
+
+        /** Compute the centroid of one cluster.
+         * @param clusterIndex index of the cluster
+         * @return centroid of the points assigned to the cluster
+         */
+        Clusterable centroid(final int clusterIndex) {
+            final double[] centroid = sums[clusterIndex].clone();
+            for (int i = 0; i < centroid.length; i++) {
+                centroid[i] /= counts[clusterIndex];
+            }
+            return new DoublePoint(centroid);
+        }
+
+    }
+
 }
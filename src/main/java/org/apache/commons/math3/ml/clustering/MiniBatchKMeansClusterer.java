@@ -0,0 +1,403 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.clustering;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Mini-batch variant of the K-means clustering algorithm.
+ * <p>
+ * Instead of assigning all the points at each iteration, the algorithm
+ * draws a small random batch of points, assigns each of them to its
+ * nearest center and moves that center towards the point with a learning
+ * rate equal to the inverse of the number of points the center has already
+ * absorbed. Each center therefore converges to the mean of the points it
+ * attracts, at a cost per iteration which only depends on the batch size.
+ * The initial centers are chosen by the K-means++ algorithm on a sample of
+ * the points.
+ * </p>
+ * <p>
+ * Two modes are available:
+ * <ul>
+ *   <li>{@link #cluster(Collection)} samples batches from an in-memory
+ *   collection and ends with one full assignment pass, so the returned
+ *   clusters hold all the points,</li>
+ *   <li>{@link #cluster(Iterator)} consumes the points in consecutive
+ *   batches as they come and never retains them, so the returned clusters
+ *   only hold their centers.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * The result is an approximation of the K-means clustering, usually very
+ * close to it when the batches are large compared to the number of clusters.
+ * </p>
+ *
+ * @param <T> type of the points to cluster
+ * @see <a href="http://dx.doi.org/10.1145/1772690.1772862">D. Sculley,
+ * Web-Scale K-Means Clustering, WWW 2010</a>
+ * @see KMeansPlusPlusClusterer
+ * @version $Id$
+ * @since 3.3
+ */
+public class MiniBatchKMeansClusterer<T extends Clusterable> extends Clusterer<T> {
+
+    /** Default number of points per batch. */
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    /** Default number of iterations. */
+    private static final int DEFAULT_MAX_ITERATIONS = 100;
+
+    /** Minimal ratio between the size of the initialization sample and the number of clusters. */
+    private static final int INIT_SAMPLE_RATIO = 3;
+
+    /** The number of clusters. */
+    private final int k;
+
+    /** The maximum number of iterations. */
+    private final int maxIterations;
+
+    /** The number of points per batch. */
+    private final int batchSize;
+
+    /** Random generator for choosing initial centers and batches. */
+    private final RandomGenerator random;
+
+    /** Build a clusterer.
+     * <p>
+     * The clusterer will run {@value #DEFAULT_MAX_ITERATIONS} iterations
+     * with batches of {@value #DEFAULT_BATCH_SIZE} points, and use the
+     * euclidean distance.
+     * </p>
+     *
+     * @param k the number of clusters to split the data into
+     * @throws NotStrictlyPositiveException if {@code k <= 0}
+     */
+    public MiniBatchKMeansClusterer(final int k) throws NotStrictlyPositiveException {
+        this(k, DEFAULT_MAX_ITERATIONS, DEFAULT_BATCH_SIZE);
+    }
+
+    /** Build a clusterer.
+     * <p>
+     * The euclidean distance will be used as default distance measure.
+     * </p>
+     *
+     * @param k the number of clusters to split the data into
+     * @param maxIterations the maximum number of iterations to run the algorithm for.
+     *   If negative, no maximum will be used (this is only allowed for
+     *   {@link #cluster(Iterator) streaming}, which stops when the points are exhausted).
+     * @param batchSize the number of points per batch
+     * @throws NotStrictlyPositiveException if {@code k <= 0} or {@code batchSize <= 0}
+     */
+    public MiniBatchKMeansClusterer(final int k, final int maxIterations, final int batchSize)
+        throws NotStrictlyPositiveException {
+        this(k, maxIterations, batchSize, new EuclideanDistance(), new JDKRandomGenerator());
+    }
+
+    /** Build a clusterer.
+     *
+     * @param k the number of clusters to split the data into
+     * @param maxIterations the maximum number of iterations to run the algorithm for.
+     *   If negative, no maximum will be used (this is only allowed for
+     *   {@link #cluster(Iterator) streaming}, which stops when the points are exhausted).
+     * @param batchSize the number of points per batch
+     * @param measure the distance measure to use
+     * @param random random generator to use for choosing initial centers and batches
+     * @throws NotStrictlyPositiveException if {@code k <= 0} or {@code batchSize <= 0}
+     */
+    public MiniBatchKMeansClusterer(final int k, final int maxIterations, final int batchSize,
+                                    final DistanceMeasure measure, final RandomGenerator random)
+        throws NotStrictlyPositiveException {
+        super(measure);
+        if (k <= 0) {
+            throw new NotStrictlyPositiveException(k);
+        }
+        if (batchSize <= 0) {
+            throw new NotStrictlyPositiveException(batchSize);
+        }
+        this.k             = k;
+        this.maxIterations = (maxIterations < 0) ? -1 : maxIterations;
+        this.batchSize     = batchSize;
+        this.random        = random;
+    }
+
+    /**
+     * Return the number of clusters this instance will use.
+     * @return the number of clusters
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Returns the maximum number of iterations this instance will use.
+     * @return the maximum number of iterations, or -1 if no maximum is set
+     */
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Returns the number of points per batch.
+     * @return the number of points per batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Returns the random generator this instance will use.
+     * @return the random generator
+     */
+    public RandomGenerator getRandomGenerator() {
+        return random;
+    }
+
+    /**
+     * Runs the mini-batch K-means clustering algorithm on an in-memory collection.
+     * <p>
+     * Each iteration draws {@link #getBatchSize() batchSize} points at random,
+     * with replacement. After the last iteration, all the points are assigned
+     * to their nearest center.
+     * </p>
+     *
+     * @param points the points to cluster
+     * @return a list of clusters containing the points
+     * @throws MathIllegalArgumentException if the data points are null, the number
+     *     of clusters is larger than the number of data points, or the maximum
+     *     number of iterations is negative
+     */
+    public List<CentroidCluster<T>> cluster(final Collection<T> points)
+        throws MathIllegalArgumentException {
+
+        // sanity checks
+        MathUtils.checkNotNull(points);
+        if (points.size() < k) {
+            throw new NumberIsTooSmallException(points.size(), k, false);
+        }
+        if (maxIterations < 0) {
+            throw new NumberIsTooSmallException(maxIterations, 0, true);
+        }
+
+        // batches are drawn by index
+        final List<T> pointList = (points instanceof List && points instanceof RandomAccess) ?
+                                  (List<T>) points : new ArrayList<T>(points);
+        final int n = pointList.size();
+
+        // choose the initial centers on a random sample, drawn without replacement
+        final int sampleSize = initialSampleSize(n);
+        final List<T> sample = new ArrayList<T>(sampleSize);
+        // partial Fisher-Yates shuffle of the indices, only the swapped
+        // positions are stored so memory is O(sampleSize) rather than O(n)
+        final Map<Integer, Integer> swapped = new HashMap<Integer, Integer>();
+        for (int i = 0; i < sampleSize; ++i) {
+            final int j = i + random.nextInt(n - i);
+            final Integer atJ = swapped.get(j);
+            final Integer atI = swapped.get(i);
+            swapped.put(j, (atI == null) ? i : atI);
+            sample.add(pointList.get((atJ == null) ? j : atJ));
+        }
+        final double[][] centers = chooseInitialCenters(sample);
+        final long[] counts = new long[k];
+
+        // move the centers with the successive batches
+        for (int iteration = 0; iteration < maxIterations; ++iteration) {
+            final List<T> batch = new ArrayList<T>(batchSize);
+            for (int i = 0; i < batchSize; ++i) {
+                batch.add(pointList.get(random.nextInt(n)));
+            }
+            update(centers, counts, batch);
+        }
+
+        // assign all the points to their nearest center
+        final List<CentroidCluster<T>> clusters = createClusters(centers);
+        for (final T point : pointList) {
+            clusters.get(getNearestCenter(centers, point.getPoint())).addPoint(point);
+        }
+        return clusters;
+
+    }
+
+    /**
+     * Runs the mini-batch K-means clustering algorithm on a stream of points.
+     * <p>
+     * The points are consumed in consecutive batches of {@link #getBatchSize()
+     * batchSize} points (the first batch is larger if needed to hold three
+     * times the number of clusters, as it is also used to choose the initial
+     * centers). Clustering stops when the iterator is exhausted or when the
+     * maximum number of iterations has been reached, whichever comes first.
+     * The points are not retained, so the returned clusters hold their centers
+     * but no points; memory consumption only depends on the batch size.
+     * </p>
+     *
+     * @param points the points to cluster
+     * @return a list of clusters, without points
+     * @throws MathIllegalArgumentException if the data points are null or the
+     *     number of clusters is larger than the number of available data points
+     */
+    public List<CentroidCluster<T>> cluster(final Iterator<T> points)
+        throws MathIllegalArgumentException {
+
+        // sanity checks
+        MathUtils.checkNotNull(points);
+
+        // choose the initial centers on the first batch
+        final int firstSize = FastMath.max(batchSize, INIT_SAMPLE_RATIO * k);
+        List<T> batch = nextBatch(points, firstSize);
+        if (batch.size() < k) {
+            throw new NumberIsTooSmallException(batch.size(), k, false);
+        }
+        final double[][] centers = chooseInitialCenters(batch);
+        final long[] counts = new long[k];
+
+        // move the centers with the successive batches
+        final int max = (maxIterations < 0) ? Integer.MAX_VALUE : maxIterations;
+        for (int iteration = 0; iteration < max && !batch.isEmpty(); ++iteration) {
+            update(centers, counts, batch);
+            if (iteration + 1 < max) {
+                batch = nextBatch(points, batchSize);
+            }
+        }
+
+        return createClusters(centers);
+
+    }
+
+    /**
+     * Computes the size of the sample used to choose the initial centers.
+     *
+     * @param n the number of points
+     * @return the size of the initialization sample
+     */
+    private int initialSampleSize(final int n) {
+        return FastMath.min(n, FastMath.max(batchSize, INIT_SAMPLE_RATIO * k));
+    }
+
+    /**
+     * Reads the next batch of points from an iterator.
+     *
+     * @param points the points source
+     * @param size the maximal number of points to read
+     * @return the next batch (empty if the source is exhausted)
+     */
+    private List<T> nextBatch(final Iterator<T> points, final int size) {
+        final List<T> batch = new ArrayList<T>(size);
+        while (batch.size() < size && points.hasNext()) {
+            batch.add(points.next());
+        }
+        return batch;
+    }
+
+    /**
+     * Use K-means++ to choose the initial centers from a sample.
+     *
+     * @param sample the points to choose the initial centers from
+     * @return the coordinates of the initial centers (one row per center)
+     */
+    private double[][] chooseInitialCenters(final List<T> sample) {
+        // a K-means++ clusterer without iterations returns its seeds
+        final KMeansPlusPlusClusterer<T> seeder =
+                new KMeansPlusPlusClusterer<T>(k, 0, getDistanceMeasure(), random);
+        final List<CentroidCluster<T>> seeds = seeder.cluster(sample);
+        final double[][] centers = new double[k][];
+        for (int i = 0; i < k; ++i) {
+            centers[i] = seeds.get(i).getCenter().getPoint().clone();
+        }
+        return centers;
+    }
+
+    /**
+     * Moves the centers towards the points of one batch.
+     * <p>
+     * The nearest centers of all the points are computed first, with the
+     * centers of the previous batch, then each point moves its center with
+     * a per-center learning rate decreasing as the center absorbs points.
+     * </p>
+     *
+     * @param centers the coordinates of the centers, updated in place
+     * @param counts the number of points absorbed by each center, updated in place
+     * @param batch the batch points
+     */
+    private void update(final double[][] centers, final long[] counts, final List<T> batch) {
+
+        final int[] nearest = new int[batch.size()];
+        for (int i = 0; i < nearest.length; ++i) {
+            nearest[i] = getNearestCenter(centers, batch.get(i).getPoint());
+        }
+
+        for (int i = 0; i < nearest.length; ++i) {
+            final double[] center = centers[nearest[i]];
+            final double[] point  = batch.get(i).getPoint();
+            final double eta = 1.0 / ++counts[nearest[i]];
+            for (int j = 0; j < center.length; ++j) {
+                center[j] += eta * (point[j] - center[j]);
+            }
+        }
+
+    }
+
+    /**
+     * Returns the nearest center to a point.
+     *
+     * @param centers the coordinates of the centers
+     * @param point the point coordinates
+     * @return the index of the nearest center
+     */
+    private int getNearestCenter(final double[][] centers, final double[] point) {
+        final DistanceMeasure measure = getDistanceMeasure();
+        double minDistance = Double.MAX_VALUE;
+        int minCenter = 0;
+        for (int i = 0; i < centers.length; ++i) {
+            final double distance = measure.compute(centers[i], point);
+            if (distance < minDistance) {
+                minDistance = distance;
+                minCenter = i;
+            }
+        }
+        return minCenter;
+    }
+
+    /**
+     * Creates empty clusters around the centers.
+     *
+     * @param centers the coordinates of the centers
+     * @return clusters without points
+     */
+    private List<CentroidCluster<T>> createClusters(final double[][] centers) {
+        final List<CentroidCluster<T>> clusters = new ArrayList<CentroidCluster<T>>(centers.length);
+        for (final double[] center : centers) {
+            clusters.add(new CentroidCluster<T>(new DoublePoint(center)));
+        }
+        return clusters;
+    }
+
+}
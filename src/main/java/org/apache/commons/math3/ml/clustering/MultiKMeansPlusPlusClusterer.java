@@ -17,12 +17,21 @@
 
 package org.apache.commons.math3.ml.clustering;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.math3.exception.ConvergenceException;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.random.JumpableRandomGenerator;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
 import org.apache.commons.math3.stat.descriptive.moment.Variance;
+import org.apache.commons.math3.util.ConcurrencyUtils;
+import org.apache.commons.math3.util.MathUtils;
 
 /**
  * A wrapper around a k-means++ clustering algorithm which performs multiple trials
@@ -91,27 +100,98 @@ public class MultiKMeansPlusPlusClusterer<T extends Clusterable> extends Cluster
             List<CentroidCluster<T>> clusters = clusterer.cluster(points);
 
             // compute the variance of the current list
-            double varianceSum = 0.0;
-            for (final CentroidCluster<T> cluster : clusters) {
-                if (!cluster.getPoints().isEmpty()) {
-
-                    // compute the distance variance of the current cluster
-                    final Clusterable center = cluster.getCenter();
-                    final Variance stat = new Variance();
-                    for (final T point : cluster.getPoints()) {
-                        stat.increment(distance(point, center));
-                    }
-                    varianceSum += stat.getResult();
+            final double varianceSum = varianceSum(clusters);
 
-                }
+            if (varianceSum <= bestVarianceSum) {
+                // this one is the best we have found so far, remember it
+                best            = clusters;
+                bestVarianceSum = varianceSum;
             }
 
+        }
+
+        // return the best clusters list found
+        return best;
+
+    }
+
+    /**
+     * Runs the K-means++ clustering algorithm, performing the trials concurrently.
+     * <p>
+     * Each trial is a task submitted to the {@code executor}. As random
+     * generators are not thread-safe, each trial uses its own generator,
+     * derived from the generator of the embedded clusterer before the trials
+     * are started:
+     * </p>
+     * <ul>
+     *   <li>if this generator is a {@link JumpableRandomGenerator}, the
+     *   generators of the trials are {@link JumpableRandomGenerator#jump()
+     *   jumped} from it, so their streams do not overlap,</li>
+     *   <li>otherwise, they are new instances of the class of this generator,
+     *   each one seeded by a call to its {@link RandomGenerator#nextLong()}
+     *   method; {@link Well19937c} instances are used instead if the class has
+     *   no public no-argument constructor.</li>
+     * </ul>
+     * <p>
+     * The result is therefore reproducible for a given initial state of this
+     * generator, but it differs from the result of {@link #cluster(Collection)}.
+     * Within a trial the clustering is sequential, so the tasks never wait for
+     * other tasks and any executor can be used.
+     * </p>
+     * <p>
+     * The {@code executor} is not shut down by this method.
+     * </p>
+     *
+     * @param points the points to cluster
+     * @param executor executor service running the trials
+     * @return a list of clusters containing the points
+     * @throws MathIllegalArgumentException if the data points or the executor
+     *   are null or the number of clusters is larger than the number of data points
+     * @throws ConvergenceException if an empty cluster is encountered and the
+     *   underlying {@link KMeansPlusPlusClusterer} has its
+     *   {@link KMeansPlusPlusClusterer.EmptyClusterStrategy} is set to {@code ERROR}.
+     * @throws MathIllegalStateException if the computation is interrupted
+     * @since 3.3
+     */
+    public List<CentroidCluster<T>> cluster(final Collection<T> points,
+                                            final ExecutorService executor)
+        throws MathIllegalArgumentException, ConvergenceException, MathIllegalStateException {
+
+        MathUtils.checkNotNull(points);
+        MathUtils.checkNotNull(executor);
+
+        // prepare the trials, with independent random generators
+        // derived in trials order on the calling thread
+        final RandomGenerator random = clusterer.getRandomGenerator();
+        final List<Callable<List<CentroidCluster<T>>>> trials =
+                new ArrayList<Callable<List<CentroidCluster<T>>>>(numTrials);
+        for (int i = 0; i < numTrials; ++i) {
+            final KMeansPlusPlusClusterer<T> trialClusterer =
+                    new KMeansPlusPlusClusterer<T>(clusterer.getK(),
+                                                   clusterer.getMaxIterations(),
+                                                   clusterer.getDistanceMeasure(),
+                                                   createTrialGenerator(random),
+                                                   clusterer.getEmptyClusterStrategy());
+            trials.add(new Callable<List<CentroidCluster<T>>>() {
+                /** {@inheritDoc} */
+                public List<CentroidCluster<T>> call() {
+                    return trialClusterer.cluster(points);
+                }
+            });
+        }
+
+        // at first, we have not found any clusters list yet
+        List<CentroidCluster<T>> best = null;
+        double bestVarianceSum = Double.POSITIVE_INFINITY;
+
+        // select the best trial, in trials order
+        for (final List<CentroidCluster<T>> clusters : ConcurrencyUtils.invokeAll(executor, trials)) {
+            final double varianceSum = varianceSum(clusters);
             if (varianceSum <= bestVarianceSum) {
                 // this one is the best we have found so far, remember it
                 best            = clusters;
                 bestVarianceSum = varianceSum;
             }
-
         }
 
         // return the best clusters list found
@@ -119,4 +199,51 @@ public class MultiKMeansPlusPlusClusterer<T extends Clusterable> extends Cluster
 
     }
 
+    /**
+     * Creates the random generator of one trial.
+     *
+     * @param random generator of the embedded clusterer
+     * @return a generator independent of {@code random}, of the same class if possible
+     */
+    private static RandomGenerator createTrialGenerator(final RandomGenerator random) {
+        if (random instanceof JumpableRandomGenerator) {
+            return ((JumpableRandomGenerator) random).jump();
+        }
+        final long seed = random.nextLong();
+        RandomGenerator generator;
+        try {
+            generator = random.getClass().newInstance();
+        } catch (InstantiationException ie) {
+            generator = new Well19937c();
+        } catch (IllegalAccessException iae) {
+            generator = new Well19937c();
+        }
+        generator.setSeed(seed);
+        return generator;
+    }
+
+    /**
+     * Computes the sum of the distance variances of the clusters.
+     *
+     * @param clusters the clusters
+     * @return sum of the distance variances of the non-empty clusters
+     */
+    private double varianceSum(final List<CentroidCluster<T>> clusters) {
+        double varianceSum = 0.0;
+        for (final CentroidCluster<T> cluster : clusters) {
+            if (!cluster.getPoints().isEmpty()) {
+
+                // compute the distance variance of the current cluster
+                final Clusterable center = cluster.getCenter();
+                final Variance stat = new Variance();
+                for (final T point : cluster.getPoints()) {
+                    stat.increment(distance(point, center));
+                }
+                varianceSum += stat.getResult();
+
+            }
+        }
+        return varianceSum;
+    }
+
 }
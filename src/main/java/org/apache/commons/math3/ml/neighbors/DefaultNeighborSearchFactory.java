@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.neighbors;
+
+import java.util.Collection;
+
+import org.apache.commons.math3.ml.clustering.Clusterable;
+import org.apache.commons.math3.ml.distance.ChebyshevDistance;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.ml.distance.ManhattanDistance;
+
+/**
+ * Factory selecting the neighbor search structure according to the
+ * distance measure.
+ * <p>
+ * A {@link KDTreeNeighborSearch k-d tree} is built for the {@link
+ * EuclideanDistance Euclidean}, {@link ManhattanDistance Manhattan} and
+ * {@link ChebyshevDistance Chebyshev} distances. For any other measure
+ * (including subclasses of these ones, which may override the distance
+ * computation), the factory falls back to a {@link LinearNeighborSearch
+ * brute force search}.
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+public class DefaultNeighborSearchFactory implements NeighborSearchFactory {
+
+    /** {@inheritDoc} */
+    public <T extends Clusterable> NeighborSearch<T> create(final Collection<T> points,
+                                                            final DistanceMeasure measure) {
+        if (supportsTree(measure)) {
+            return new KDTreeNeighborSearch<T>(points, measure);
+        }
+        return new LinearNeighborSearch<T>(points, measure);
+    }
+
+    /**
+     * Checks if a distance measure can be used with a k-d tree.
+     *
+     * @param measure distance measure to check
+     * @return true if the measure is bounded below by coordinates differences
+     */
+    private boolean supportsTree(final DistanceMeasure measure) {
+        if (measure == null) {
+            return false;
+        }
+        final Class<?> type = measure.getClass();
+        return type == EuclideanDistance.class ||
+               type == ManhattanDistance.class ||
+               type == ChebyshevDistance.class;
+    }
+
+}
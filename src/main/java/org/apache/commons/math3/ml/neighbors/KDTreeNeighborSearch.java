@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.neighbors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.ml.clustering.Clusterable;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Neighbor search based on a k-d tree.
+ * <p>
+ * The tree is built once by recursively splitting the points at the median
+ * of the coordinate with the largest spread. A range query only visits the
+ * subtrees whose splitting hyperplane is within the query radius, so its
+ * cost is sublinear for well spread data in low or moderate dimension.
+ * </p>
+ * <p>
+ * The pruning relies on the fact that the distance between two points is
+ * never smaller than the absolute difference of any of their coordinates.
+ * This holds for all L<sub>p</sub> norms, in particular for the {@link
+ * org.apache.commons.math3.ml.distance.EuclideanDistance Euclidean}, {@link
+ * org.apache.commons.math3.ml.distance.ManhattanDistance Manhattan} and {@link
+ * org.apache.commons.math3.ml.distance.ChebyshevDistance Chebyshev} distances,
+ * but <em>not</em> for arbitrary distance measures, which must use a {@link
+ * LinearNeighborSearch} instead.
+ * </p>
+ *
+ * @param <T> type of the indexed points
+ * @see <a href="http://en.wikipedia.org/wiki/K-d_tree">k-d tree (Wikipedia)</a>
+ * @version $Id$
+ * @since 3.3
+ */
+public class KDTreeNeighborSearch<T extends Clusterable> implements NeighborSearch<T> {
+
+    /** Maximal number of points in a leaf (leaves are scanned linearly). */
+    private static final int LEAF_SIZE = 8;
+
+    /** Relative slack of the pruning test, covering rounding errors in distances. */
+    private static final double RELATIVE_SLACK = 1.0e-10;
+
+    /** Absolute slack of the pruning test, covering underflow in distances. */
+    private static final double ABSOLUTE_SLACK = 1.0e-150;
+
+    /** Indexed points, in original order. */
+    private final List<T> points;
+
+    /** Distance measure. */
+    private final DistanceMeasure measure;
+
+    /** Original indices of the points, in tree order. */
+    private final int[] order;
+
+    /** Coordinates of the points, in tree order. */
+    private final double[][] coordinates;
+
+    /** Splitting axis of the nodes, indexed by the tree order of their median point. */
+    private final int[] axes;
+
+    /**
+     * Simple constructor.
+     *
+     * @param points the points to index
+     * @param measure the distance measure used by the queries, must
+     * be bounded below by the absolute difference of any coordinate
+     * @throws NullArgumentException if {@code points} or {@code measure} is null
+     * @throws DimensionMismatchException if the points do not have the same dimension
+     */
+    public KDTreeNeighborSearch(final Collection<T> points, final DistanceMeasure measure)
+        throws NullArgumentException, DimensionMismatchException {
+        MathUtils.checkNotNull(points);
+        MathUtils.checkNotNull(measure);
+        this.points  = new ArrayList<T>(points);
+        this.measure = measure;
+
+        final int n = this.points.size();
+        order       = new int[n];
+        coordinates = new double[n][];
+        axes        = new int[n];
+        for (int i = 0; i < n; ++i) {
+            order[i]       = i;
+            coordinates[i] = this.points.get(i).getPoint();
+            if (coordinates[i].length != coordinates[0].length) {
+                throw new DimensionMismatchException(coordinates[i].length, coordinates[0].length);
+            }
+        }
+
+        build(0, n);
+    }
+
+    /** {@inheritDoc} */
+    public List<T> getNeighbors(final T point, final double radius) {
+
+        final double[] q = point.getPoint();
+        final IndexCollector collector = new IndexCollector();
+        search(0, coordinates.length, point, q, radius, collector);
+
+        // restore the original order of the points
+        final int[] indices = collector.toSortedArray();
+        final List<T> neighbors = new ArrayList<T>(indices.length);
+        for (final int index : indices) {
+            neighbors.add(points.get(index));
+        }
+        return neighbors;
+
+    }
+
+    /**
+     * Recursively builds the subtree holding a range of points.
+     *
+     * @param lo index of the first point of the range
+     * @param hi index after the last point of the range
+     */
+    private void build(final int lo, final int hi) {
+
+        if (hi - lo <= LEAF_SIZE) {
+            return;
+        }
+
+        // split along the coordinate with the largest spread
+        final int dimension = coordinates[lo].length;
+        int axis = 0;
+        double maxSpread = -1;
+        for (int d = 0; d < dimension; ++d) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = lo; i < hi; ++i) {
+                final double c = coordinates[i][d];
+                min = FastMath.min(min, c);
+                max = FastMath.max(max, c);
+            }
+            if (max - min > maxSpread) {
+                maxSpread = max - min;
+                axis      = d;
+            }
+        }
+
+        final int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, axis);
+        axes[mid] = axis;
+
+        build(lo, mid);
+        build(mid + 1, hi);
+
+    }
+
+    /**
+     * Partially sorts a range of points along one axis, so that the point at
+     * index {@code k} is the one that would be there if the range was sorted,
+     * and the points before (resp. after) it are not larger (resp. smaller).
+     *
+     * @param first index of the first point of the range
+     * @param last index of the last point of the range
+     * @param k index of the point to select
+     * @param axis sorting axis
+     */
+    private void select(final int first, final int last, final int k, final int axis) {
+        int lo = first;
+        int hi = last;
+        while (hi > lo) {
+
+            // median of three pivot
+            final int middle = (lo + hi) >>> 1;
+            if (coordinates[middle][axis] < coordinates[lo][axis]) {
+                swap(middle, lo);
+            }
+            if (coordinates[hi][axis] < coordinates[lo][axis]) {
+                swap(hi, lo);
+            }
+            if (coordinates[hi][axis] < coordinates[middle][axis]) {
+                swap(hi, middle);
+            }
+            final double pivot = coordinates[middle][axis];
+
+            // Hoare partitioning
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (coordinates[i][axis] < pivot) {
+                    ++i;
+                }
+                while (coordinates[j][axis] > pivot) {
+                    --j;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+
+        }
+    }
+
+    /**
+     * Swaps two points in tree order.
+     *
+     * @param i index of the first point
+     * @param j index of the second point
+     */
+    private void swap(final int i, final int j) {
+        final int tmpIndex = order[i];
+        order[i] = order[j];
+        order[j] = tmpIndex;
+        final double[] tmpCoordinates = coordinates[i];
+        coordinates[i] = coordinates[j];
+        coordinates[j] = tmpCoordinates;
+    }
+
+    /**
+     * Recursively searches the subtree holding a range of points.
+     *
+     * @param lo index of the first point of the range
+     * @param hi index after the last point of the range
+     * @param point the query point
+     * @param q coordinates of the query point
+     * @param radius maximal distance to the query point
+     * @param collector collector for the original indices of the neighbors
+     */
+    private void search(final int lo, final int hi,
+                        final T point, final double[] q, final double radius,
+                        final IndexCollector collector) {
+
+        if (hi - lo <= LEAF_SIZE) {
+            for (int i = lo; i < hi; ++i) {
+                check(i, point, q, radius, collector);
+            }
+            return;
+        }
+
+        final int mid = (lo + hi) >>> 1;
+        final int axis = axes[mid];
+        final double split = coordinates[mid][axis];
+        check(mid, point, q, radius, collector);
+        if (mayReach(q[axis] - split, radius)) {
+            search(lo, mid, point, q, radius, collector);
+        }
+        if (mayReach(split - q[axis], radius)) {
+            search(mid + 1, hi, point, q, radius, collector);
+        }
+
+    }
+
+    /**
+     * Checks if the points beyond a splitting hyperplane may be within radius.
+     * <p>
+     * The comparison is slightly conservative, so that rounding errors in the
+     * distance computation never exclude a point the distance measure itself
+     * would consider a neighbor.
+     * </p>
+     *
+     * @param gap signed distance from the query point to the hyperplane
+     * (positive when the points are on the other side of the hyperplane)
+     * @param radius maximal distance to the query point
+     * @return true if the subtree must be searched
+     */
+    private static boolean mayReach(final double gap, final double radius) {
+        return gap <= radius + RELATIVE_SLACK * FastMath.max(gap, radius) + ABSOLUTE_SLACK;
+    }
+
+    /**
+     * Checks if one point is a neighbor of the query point.
+     *
+     * @param i index of the point in tree order
+     * @param point the query point
+     * @param q coordinates of the query point
+     * @param radius maximal distance to the query point
+     * @param collector collector for the original indices of the neighbors
+     */
+    private void check(final int i, final T point, final double[] q, final double radius,
+                       final IndexCollector collector) {
+        if (points.get(order[i]) != point && measure.compute(coordinates[i], q) <= radius) {
+            collector.add(order[i]);
+        }
+    }
+
+    /** Growable array of points indices. */
+    private static class IndexCollector {
+
+        /** Collected indices. */
+        private int[] indices = new int[16];
+
+        /** Number of collected indices. */
+        private int size;
+
+        /** Adds an index.
+         * @param index index to add
+         */
+        void add(final int index) {
+            if (size == indices.length) {
+                final int[] grown = new int[2 * size];
+                System.arraycopy(indices, 0, grown, 0, size);
+                indices = grown;
+            }
+            indices[size++] = index;
+        }
+
+        /** Returns the collected indices, sorted in increasing order.
+         * @return sorted indices
+         */
+        int[] toSortedArray() {
+            final int[] sorted = new int[size];
+            System.arraycopy(indices, 0, sorted, 0, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+    }
+
+}
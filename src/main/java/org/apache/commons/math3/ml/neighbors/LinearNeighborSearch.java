@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.neighbors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.ml.clustering.Clusterable;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Brute force neighbor search.
+ * <p>
+ * Each query computes the distance to all the points, so its cost is
+ * linear in the number of points. This is the only search structure that
+ * works with arbitrary {@link DistanceMeasure distance measures}.
+ * </p>
+ *
+ * @param <T> type of the indexed points
+ * @version $Id$
+ * @since 3.3
+ */
+public class LinearNeighborSearch<T extends Clusterable> implements NeighborSearch<T> {
+
+    /** Indexed points. */
+    private final List<T> points;
+
+    /** Distance measure. */
+    private final DistanceMeasure measure;
+
+    /**
+     * Simple constructor.
+     *
+     * @param points the points to index
+     * @param measure the distance measure used by the queries
+     * @throws NullArgumentException if {@code points} or {@code measure} is null
+     */
+    public LinearNeighborSearch(final Collection<T> points, final DistanceMeasure measure)
+        throws NullArgumentException {
+        MathUtils.checkNotNull(points);
+        MathUtils.checkNotNull(measure);
+        this.points  = new ArrayList<T>(points);
+        this.measure = measure;
+    }
+
+    /** {@inheritDoc} */
+    public List<T> getNeighbors(final T point, final double radius) {
+        final double[] coordinates = point.getPoint();
+        final List<T> neighbors = new ArrayList<T>();
+        for (final T neighbor : points) {
+            if (point != neighbor && measure.compute(neighbor.getPoint(), coordinates) <= radius) {
+                neighbors.add(neighbor);
+            }
+        }
+        return neighbors;
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.neighbors;
+
+import java.util.List;
+
+import org.apache.commons.math3.ml.clustering.Clusterable;
+
+/**
+ * Interface for range queries on a fixed set of points.
+ *
+ * @param <T> type of the indexed points
+ * @see NeighborSearchFactory
+ * @version $Id$
+ * @since 3.3
+ */
+public interface NeighborSearch<T extends Clusterable> {
+
+    /**
+     * Returns the indexed points within a given distance of a point.
+     * <p>
+     * The query point itself (compared by reference) is never part of the
+     * result, even if it is indexed. The neighbors are returned in the
+     * iteration order of the collection the search structure was built from.
+     * </p>
+     *
+     * @param point the query point
+     * @param radius maximal distance (inclusive) between the query point and its neighbors
+     * @return the neighbors of the query point
+     */
+    List<T> getNeighbors(T point, double radius);
+
+}
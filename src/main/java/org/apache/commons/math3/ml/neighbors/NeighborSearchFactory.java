@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.neighbors;
+
+import java.util.Collection;
+
+import org.apache.commons.math3.ml.clustering.Clusterable;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+
+/**
+ * Factory for {@link NeighborSearch} structures.
+ *
+ * @see DefaultNeighborSearchFactory
+ * @version $Id$
+ * @since 3.3
+ */
+public interface NeighborSearchFactory {
+
+    /**
+     * Builds a search structure for a set of points.
+     *
+     * @param <T> type of the points
+     * @param points the points to index
+     * @param measure the distance measure used by the queries
+     * @return a search structure for the points
+     */
+    <T extends Clusterable> NeighborSearch<T> create(Collection<T> points, DistanceMeasure measure);
+
+}
@@ -31,8 +31,12 @@ public abstract class BitsStreamGenerator
                Serializable {
     /** Serializable version identifier */
     private static final long serialVersionUID = 20130104L;
+    /** Maximal number of 32 bits words generated at once by the bulk methods. */
+    private static final int BLOCK_SIZE = 1024;
     /** Next gaussian. */
     private double nextGaussian;
+    /** Scratch buffer for the bulk generation methods (lazily allocated). */
+    private transient int[] words;
 
     /**
      * Creates a new random number generator.
@@ -61,6 +65,25 @@ public abstract class BitsStreamGenerator
      */
     protected abstract int next(int bits);
 
+    /** Generate a block of 32 bits pseudorandom words.
+     * <p>The words generated are the same as the ones {@code length}
+     * successive calls to {@code next(32)} would return. This default
+     * implementation does exactly that, subclasses that compute their
+     * internal state by blocks should override it to generate whole
+     * blocks at once. This method is used by the bulk generation methods
+     * {@link #nextInts(int[])}, {@link #nextLongs(long[])} and {@link
+     * #nextDoubles(double[])}.</p>
+     * @param words array where to put the generated words
+     * @param from index of the first element to set
+     * @param length number of elements to set
+     * @since 3.3
+     */
+    protected void nextWords(final int[] words, final int from, final int length) {
+        for (int i = from; i < from + length; ++i) {
+            words[i] = next(32);
+        }
+    }
+
     /** {@inheritDoc} */
     public boolean nextBoolean() {
         return next(1) != 0;
@@ -92,6 +115,40 @@ public abstract class BitsStreamGenerator
         return (high | low) * 0x1.0p-52d;
     }
 
+    /** Fill an array with pseudorandom double values.
+     * <p>The values generated are the same as the ones {@code values.length}
+     * successive calls to {@link #nextDouble()} would return. This default
+     * implementation does exactly that. The generators provided by the library
+     * produce the same values from blocks of 32 bits words, using the 26 most
+     * significant bits of each word.</p>
+     * @param values array to fill
+     * @since 3.3
+     */
+    public void nextDoubles(final double[] values) {
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = nextDouble();
+        }
+    }
+
+    /** Fill an array with pseudorandom double values built from blocks of words.
+     * <p>This method produces the same values as {@link #nextDoubles(double[])}
+     * for generators whose {@code next(bits)} method returns the {@code bits}
+     * most significant bits of the word {@code next(32)} would return.</p>
+     * @param values array to fill
+     */
+    void nextDoublesFromWords(final double[] values) {
+        final int[] words = getWords();
+        for (int start = 0; start < values.length; start += BLOCK_SIZE / 2) {
+            final int size = FastMath.min(BLOCK_SIZE / 2, values.length - start);
+            nextWords(words, 0, 2 * size);
+            for (int i = 0; i < size; ++i) {
+                final long high = ((long) (words[2 * i] >>> 6)) << 26;
+                final int  low  = words[2 * i + 1] >>> 6;
+                values[start + i] = (high | low) * 0x1.0p-52d;
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     public float nextFloat() {
         return next(23) * 0x1.0p-23f;
@@ -124,6 +181,17 @@ public abstract class BitsStreamGenerator
         return next(32);
     }
 
+    /** Fill an array with pseudorandom int values.
+     * <p>The values generated are the same as the ones {@code values.length}
+     * successive calls to {@link #nextInt()} would return, but they are
+     * generated by blocks using {@link #nextWords(int[], int, int)}.</p>
+     * @param values array to fill
+     * @since 3.3
+     */
+    public void nextInts(final int[] values) {
+        nextWords(values, 0, values.length);
+    }
+
     /**
      * {@inheritDoc}
      * <p>This default implementation is copied from Apache Harmony
@@ -162,6 +230,26 @@ public abstract class BitsStreamGenerator
         return high | low;
     }
 
+    /** Fill an array with pseudorandom long values.
+     * <p>The values generated are the same as the ones {@code values.length}
+     * successive calls to {@link #nextLong()} would return, but they are
+     * generated by blocks using {@link #nextWords(int[], int, int)}.</p>
+     * @param values array to fill
+     * @since 3.3
+     */
+    public void nextLongs(final long[] values) {
+        final int[] words = getWords();
+        for (int start = 0; start < values.length; start += BLOCK_SIZE / 2) {
+            final int size = FastMath.min(BLOCK_SIZE / 2, values.length - start);
+            nextWords(words, 0, 2 * size);
+            for (int i = 0; i < size; ++i) {
+                final long high = ((long) words[2 * i]) << 32;
+                final long low  = ((long) words[2 * i + 1]) & 0xffffffffL;
+                values[start + i] = high | low;
+            }
+        }
+    }
+
     /**
      * Returns a pseudorandom, uniformly distributed <tt>long</tt> value
      * between 0 (inclusive) and the specified value (exclusive), drawn from
@@ -187,6 +275,16 @@ public abstract class BitsStreamGenerator
         throw new NotStrictlyPositiveException(n);
     }
 
+    /** Get the scratch buffer for the bulk generation methods.
+     * @return scratch buffer, with {@code BLOCK_SIZE} elements
+     */
+    private int[] getWords() {
+        if (words == null) {
+            words = new int[BLOCK_SIZE];
+        }
+        return words;
+    }
+
     /**
      * Clears the cache used by the default implementation of
      * {@link #nextGaussian}.
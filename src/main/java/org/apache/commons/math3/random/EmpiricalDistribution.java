@@ -24,21 +24,29 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.math3.distribution.AbstractRealDistribution;
 import org.apache.commons.math3.distribution.NormalDistribution;
 import org.apache.commons.math3.distribution.RealDistribution;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
 import org.apache.commons.math3.exception.MathIllegalStateException;
 import org.apache.commons.math3.exception.MathInternalError;
 import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.exception.ZeroException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
 import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.apache.commons.math3.util.ConcurrencyUtils;
 import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.util.MathUtils;
 
@@ -94,7 +102,11 @@ import org.apache.commons.math3.util.MathUtils;
  *    is to set the bin count to approximately the length of the input file divided
  *    by 10. </li>
  *<li>The input file <i>must</i> be a plain text file containing one valid numeric
- *    entry per line.</li>
+ *    entry per line, unless it is loaded with one of the {@code loadBinary} methods,
+ *    which read a memory-mapped file of raw little-endian IEEE 754 doubles without
+ *    any parsing. When the range of the data is known beforehand, these methods
+ *    bin the data in a single pass over the file, and they can share the work
+ *    between the threads of an {@link ExecutorService}.</li>
  * </ul></p>
  *
  * @version $Id$
@@ -110,6 +122,12 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
     /** Serializable version identifier */
     private static final long serialVersionUID = 5729073523949762654L;
 
+    /** Number of bytes of a binary record (a little-endian double). */
+    private static final int RECORD_SIZE = 8;
+
+    /** Maximal number of bytes mapped at once when reading binary files. */
+    private static final int MAX_MAPPED_BYTES = 1 << 30;
+
     /** RandomDataGenerator instance to use in repeated calls to getNext() */
     protected final RandomDataGenerator randomData;
 
@@ -307,6 +325,461 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
         }
     }
 
+    /**
+     * Computes the empirical distribution from a binary file.
+     *
+     * <p>The input file <i>must</i> contain only IEEE 754 double values,
+     * each one stored in 8 bytes in little-endian order, none of them
+     * being NaN. The file is
+     * memory-mapped, so no parsing is involved. It is read twice: once
+     * to compute the range of the data and once to fill the bins.</p>
+     *
+     * <p>If an exception is thrown, the distribution is left unchanged
+     * (and in particular still holds any previously loaded data).</p>
+     *
+     * @param file the input file
+     * @throws IOException if an IO error occurs
+     * @throws NullArgumentException if file is null
+     * @throws ZeroException if the file contains no data
+     * @throws MathIllegalArgumentException if the file size is not a
+     * multiple of 8 bytes or if the file contains NaN
+     * @since 3.3
+     */
+    public void loadBinary(File file)
+        throws IOException, NullArgumentException, ZeroException, MathIllegalArgumentException {
+        loadBinary(file, false, Double.NaN, Double.NaN, null, MAX_MAPPED_BYTES, 1);
+    }
+
+    /**
+     * Computes the empirical distribution from a binary file whose
+     * values are known to lie within some bounds.
+     *
+     * <p>The bins are spread evenly between the specified bounds, which
+     * become the bounds of the support of the distribution, so the file
+     * is read only once. See {@link #loadBinary(File)} for the file
+     * format.</p>
+     *
+     * @param file the input file
+     * @param lower lower bound of the data
+     * @param upper upper bound of the data
+     * @throws IOException if an IO error occurs
+     * @throws NullArgumentException if file is null
+     * @throws ZeroException if the file contains no data
+     * @throws MathIllegalArgumentException if the file size is not a
+     * multiple of 8 bytes or if the file contains NaN
+     * @throws NumberIsTooLargeException if {@code lower >= upper}
+     * @throws OutOfRangeException if a value of the file is not within
+     * the bounds
+     * @since 3.3
+     */
+    public void loadBinary(File file, double lower, double upper)
+        throws IOException, NullArgumentException, ZeroException,
+               MathIllegalArgumentException, NumberIsTooLargeException, OutOfRangeException {
+        loadBinary(file, true, lower, upper, null, MAX_MAPPED_BYTES, 1);
+    }
+
+    /**
+     * Computes the empirical distribution from a binary file, using
+     * several threads.
+     *
+     * <p>The file is read as in {@link #loadBinary(File)}, but it is split
+     * into one contiguous region per available processor, and each task
+     * reads its own region and fills its own sample and bins statistics.
+     * These statistics are merged once the whole file has been read, using
+     * {@link SummaryStatistics#merge(SummaryStatistics)}, so the result is the
+     * same as the one of the sequential method up to rounding errors.</p>
+     *
+     * @param file the input file
+     * @param executor executor service running the computations
+     * @throws IOException if an IO error occurs
+     * @throws NullArgumentException if file or executor is null
+     * @throws ZeroException if the file contains no data
+     * @throws MathIllegalArgumentException if the file size is not a
+     * multiple of 8 bytes or if the file contains NaN
+     * @since 3.3
+     */
+    public void loadBinary(File file, ExecutorService executor)
+        throws IOException, NullArgumentException, ZeroException, MathIllegalArgumentException {
+        MathUtils.checkNotNull(executor);
+        loadBinary(file, false, Double.NaN, Double.NaN, executor, MAX_MAPPED_BYTES,
+                   Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Computes the empirical distribution from a binary file whose
+     * values are known to lie within some bounds, using several threads.
+     *
+     * <p>This method combines the single pass of
+     * {@link #loadBinary(File, double, double)} with the parallel
+     * computation of {@link #loadBinary(File, ExecutorService)}.</p>
+     *
+     * @param file the input file
+     * @param lower lower bound of the data
+     * @param upper upper bound of the data
+     * @param executor executor service running the computations
+     * @throws IOException if an IO error occurs
+     * @throws NullArgumentException if file or executor is null
+     * @throws ZeroException if the file contains no data
+     * @throws MathIllegalArgumentException if the file size is not a
+     * multiple of 8 bytes or if the file contains NaN
+     * @throws NumberIsTooLargeException if {@code lower >= upper}
+     * @throws OutOfRangeException if a value of the file is not within
+     * the bounds
+     * @since 3.3
+     */
+    public void loadBinary(File file, double lower, double upper, ExecutorService executor)
+        throws IOException, NullArgumentException, ZeroException,
+               MathIllegalArgumentException, NumberIsTooLargeException, OutOfRangeException {
+        MathUtils.checkNotNull(executor);
+        loadBinary(file, true, lower, upper, executor, MAX_MAPPED_BYTES,
+                   Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Computes the empirical distribution from a binary file.
+     * <p>
+     * This method is package private only for unit tests, which
+     * need small mapped regions to cover files spanning several ones,
+     * and several file regions even on single processor hosts.
+     * </p>
+     *
+     * @param file the input file
+     * @param boundsKnown if true, {@code lower} and {@code upper} are the
+     * bounds of the data, otherwise they are computed by a first pass
+     * @param lower lower bound of the data (ignored if {@code boundsKnown} is false)
+     * @param upper upper bound of the data (ignored if {@code boundsKnown} is false)
+     * @param executor executor service running the computations, null
+     * for sequential computation
+     * @param mappedBytes maximal number of bytes mapped at once
+     * (must be a multiple of 8)
+     * @param maxRegions maximal number of file regions processed by
+     * independent tasks (ignored if {@code executor} is null)
+     * @throws IOException if an IO error occurs
+     * @throws NullArgumentException if file is null
+     * @throws ZeroException if the file contains no data
+     * @throws MathIllegalArgumentException if the file size is not a
+     * multiple of 8 bytes or if the file contains NaN
+     * @throws NumberIsTooLargeException if {@code lower >= upper}
+     * @throws OutOfRangeException if a value of the file is not within
+     * the bounds
+     */
+    void loadBinary(final File file, final boolean boundsKnown,
+                    final double lower, final double upper,
+                    final ExecutorService executor, final int mappedBytes,
+                    final int maxRegions)
+        throws IOException, NullArgumentException, ZeroException,
+               MathIllegalArgumentException, NumberIsTooLargeException, OutOfRangeException {
+
+        MathUtils.checkNotNull(file);
+        if (boundsKnown && lower >= upper) {
+            throw new NumberIsTooLargeException(LocalizedFormats.LOWER_BOUND_NOT_BELOW_UPPER_BOUND,
+                                                lower, upper, false);
+        }
+
+        final FileInputStream is = new FileInputStream(file);
+        try {
+            final FileChannel channel = is.getChannel();
+            final long size = channel.size();
+            if (size % RECORD_SIZE != 0) {
+                throw new MathIllegalArgumentException(LocalizedFormats.BINARY_DATA_SIZE_NOT_MULTIPLE,
+                                                       size, RECORD_SIZE);
+            }
+            if (size == 0) {
+                throw new ZeroException(LocalizedFormats.NO_DATA);
+            }
+
+            // everything is computed in local variables, so that a failure
+            // leaves the distribution unchanged
+
+            // split the file into regions of similar sizes, one task each
+            final long records = size / RECORD_SIZE;
+            final int nbRegions = (executor == null) ? 1 : (int) FastMath.min(maxRegions, records);
+            final List<BinaryRegion> regions = new ArrayList<BinaryRegion>(nbRegions);
+            for (int r = 0; r < nbRegions; ++r) {
+                regions.add(new BinaryRegion(channel, mappedBytes,
+                                             RECORD_SIZE * ((records * r) / nbRegions),
+                                             RECORD_SIZE * ((records * (r + 1)) / nbRegions)));
+            }
+
+            // first pass, only when needed: range of the data
+            double lo = lower;
+            double hi = upper;
+            if (!boundsKnown) {
+                runRegions(regions, executor, new RegionTask() {
+                    /** {@inheritDoc} */
+                    public void run(final BinaryRegion region) throws IOException {
+                        region.computeRange();
+                    }
+                });
+                lo = Double.POSITIVE_INFINITY;
+                hi = Double.NEGATIVE_INFINITY;
+                for (final BinaryRegion region : regions) {
+                    lo = FastMath.min(lo, region.lo);
+                    hi = FastMath.max(hi, region.hi);
+                }
+            }
+            final double regionsLower = lo;
+            final double regionsUpper = hi;
+            final double d = (hi - lo) / binCount;
+
+            // second pass: sample and bins statistics of each region
+            runRegions(regions, executor, new RegionTask() {
+                /** {@inheritDoc} */
+                public void run(final BinaryRegion region) throws IOException {
+                    region.computeStatistics(boundsKnown, regionsLower, regionsUpper, d);
+                }
+            });
+
+            // merge the statistics of all regions
+            final List<SummaryStatistics> regionsStats = new ArrayList<SummaryStatistics>(nbRegions);
+            for (final BinaryRegion region : regions) {
+                regionsStats.add(region.sample);
+            }
+            final SummaryStatistics mergedSample = merge(regionsStats);
+            final List<SummaryStatistics> mergedBins = new ArrayList<SummaryStatistics>(binCount);
+            for (int i = 0; i < binCount; ++i) {
+                regionsStats.clear();
+                for (final BinaryRegion region : regions) {
+                    regionsStats.add(region.bins[i]);
+                }
+                mergedBins.add(merge(regionsStats));
+            }
+
+            // the file has been fully read, update the distribution
+            min   = lo;
+            max   = hi;
+            delta = d;
+            binStats.clear();
+            binStats.addAll(mergedBins);
+            sampleStats = mergedSample;
+
+        } finally {
+            try {
+                is.close();
+            } catch (IOException ex) { //NOPMD
+                // ignore
+            }
+        }
+
+        fillUpperBounds();
+        loaded = true;
+
+    }
+
+    /**
+     * Runs a task on all regions of a binary file.
+     *
+     * @param regions regions of the file
+     * @param executor executor service running the tasks, null
+     * for sequential computation
+     * @param task task to run
+     * @throws IOException if an IO error occurs
+     */
+    private static void runRegions(final List<BinaryRegion> regions,
+                                   final ExecutorService executor,
+                                   final RegionTask task)
+        throws IOException {
+
+        if (executor == null) {
+            for (final BinaryRegion region : regions) {
+                task.run(region);
+            }
+            return;
+        }
+
+        final List<Callable<Void>> callables = new ArrayList<Callable<Void>>(regions.size());
+        for (final BinaryRegion region : regions) {
+            callables.add(new Callable<Void>() {
+                /** {@inheritDoc} */
+                public Void call() throws IOException {
+                    task.run(region);
+                    return null;
+                }
+            });
+        }
+        try {
+            ConcurrencyUtils.invokeAll(executor, callables);
+        } catch (MathIllegalStateException mise) {
+            if (mise.getCause() instanceof IOException) {
+                throw (IOException) mise.getCause();
+            }
+            throw mise;
+        }
+
+    }
+
+    /**
+     * Merges the statistics of the regions of a binary file.
+     *
+     * @param regionsStats statistics of the regions (null for regions without values)
+     * @return merged statistics
+     */
+    private static SummaryStatistics merge(final List<SummaryStatistics> regionsStats) {
+        final SummaryStatistics merged = new SummaryStatistics();
+        for (final SummaryStatistics stats : regionsStats) {
+            if (stats != null) {
+                merged.merge(stats);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Maps a region of a binary file.
+     *
+     * @param channel channel of the file
+     * @param start position of the region
+     * @param length number of bytes of the region
+     * @return a view of the region as little-endian doubles
+     * @throws IOException if an IO error occurs
+     */
+    private static DoubleBuffer map(final FileChannel channel, final long start, final long length)
+        throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, length).
+               order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+    }
+
+    /** Task processing one region of a binary file. */
+    private interface RegionTask {
+
+        /**
+         * Processes one region.
+         *
+         * @param region region to process
+         * @throws IOException if an IO error occurs
+         */
+        void run(BinaryRegion region) throws IOException;
+
+    }
+
+    /**
+     * Contiguous region of a binary file, with its own statistics.
+     * <p>
+     * Each region is read by a single task, which fills statistics that
+     * no other task sees, so the tasks never synchronize. The statistics
+     * of all regions are merged once the whole file has been read.
+     * </p>
+     */
+    private class BinaryRegion {
+
+        /** Channel of the file. */
+        private final FileChannel channel;
+
+        /** Maximal number of bytes mapped at once. */
+        private final int mappedBytes;
+
+        /** Position of the first byte of the region. */
+        private final long start;
+
+        /** Position after the last byte of the region. */
+        private final long end;
+
+        /** Smallest value of the region. */
+        private double lo;
+
+        /** Largest value of the region. */
+        private double hi;
+
+        /** Statistics of the values of the region. */
+        private SummaryStatistics sample;
+
+        /** Statistics of the bins, allocated on first use (null for empty bins). */
+        private SummaryStatistics[] bins;
+
+        /**
+         * Simple constructor.
+         *
+         * @param channel channel of the file
+         * @param mappedBytes maximal number of bytes mapped at once
+         * @param start position of the first byte of the region
+         * @param end position after the last byte of the region
+         */
+        BinaryRegion(final FileChannel channel, final int mappedBytes,
+                     final long start, final long end) {
+            this.channel     = channel;
+            this.mappedBytes = mappedBytes;
+            this.start       = start;
+            this.end         = end;
+            this.lo          = Double.POSITIVE_INFINITY;
+            this.hi          = Double.NEGATIVE_INFINITY;
+        }
+
+        /**
+         * Computes the range of the values of the region.
+         *
+         * @throws IOException if an IO error occurs
+         * @throws MathIllegalArgumentException if a value is NaN
+         */
+        void computeRange() throws IOException, MathIllegalArgumentException {
+            for (long position = start; position < end; position += mappedBytes) {
+                final DoubleBuffer buffer = map(channel, position, FastMath.min(mappedBytes, end - position));
+                while (buffer.hasRemaining()) {
+                    final double value = nextValue(position, buffer);
+                    if (value < lo) {
+                        lo = value;
+                    }
+                    if (value > hi) {
+                        hi = value;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Reads the next value of a mapped part of the region.
+         *
+         * @param position position of the mapped part in the file
+         * @param buffer view of the mapped part
+         * @return next value of the buffer
+         * @throws MathIllegalArgumentException if the value is NaN
+         */
+        private double nextValue(final long position, final DoubleBuffer buffer)
+            throws MathIllegalArgumentException {
+            final double value = buffer.get();
+            if (Double.isNaN(value)) {
+                throw new MathIllegalArgumentException(LocalizedFormats.NAN_ELEMENT_AT_INDEX,
+                                                       position / RECORD_SIZE + buffer.position() - 1);
+            }
+            return value;
+        }
+
+        /**
+         * Computes the sample and bins statistics of the region.
+         *
+         * @param boundsKnown if true, values outside of the range are rejected
+         * @param rangeLower lower bound of the data
+         * @param rangeUpper upper bound of the data
+         * @param binWidth width of the bins
+         * @throws IOException if an IO error occurs
+         * @throws MathIllegalArgumentException if a value is NaN
+         * @throws OutOfRangeException if {@code boundsKnown} is true and
+         * a value is not within the bounds
+         */
+        void computeStatistics(final boolean boundsKnown,
+                               final double rangeLower, final double rangeUpper,
+                               final double binWidth)
+            throws IOException, MathIllegalArgumentException, OutOfRangeException {
+            sample = new SummaryStatistics();
+            bins   = new SummaryStatistics[binCount];
+            for (long position = start; position < end; position += mappedBytes) {
+                final DoubleBuffer buffer = map(channel, position, FastMath.min(mappedBytes, end - position));
+                while (buffer.hasRemaining()) {
+                    final double value = nextValue(position, buffer);
+                    if (boundsKnown && (value < rangeLower || value > rangeUpper)) {
+                        throw new OutOfRangeException(value, rangeLower, rangeUpper);
+                    }
+                    sample.addValue(value);
+                    final int bin = findBin(value, rangeLower, binWidth);
+                    if (bins[bin] == null) {
+                        bins[bin] = new SummaryStatistics();
+                    }
+                    bins[bin].addValue(value);
+                }
+            }
+        }
+
+    }
+
     /**
      * Provides methods for computing <code>sampleStats</code> and
      * <code>beanStats</code> abstracting the source of data.
@@ -431,6 +904,19 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
         delta = (max - min)/(Double.valueOf(binCount)).doubleValue();
 
         // Initialize binStats ArrayList
+        initBinStats();
+
+        // Filling data in binStats Array
+        da.computeBinStats();
+
+        // Assign upperBounds based on bin counts
+        fillUpperBounds();
+    }
+
+    /**
+     * Initializes binStats array with empty statistics.
+     */
+    private void initBinStats() {
         if (!binStats.isEmpty()) {
             binStats.clear();
         }
@@ -438,11 +924,12 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
             SummaryStatistics stats = new SummaryStatistics();
             binStats.add(i,stats);
         }
+    }
 
-        // Filling data in binStats Array
-        da.computeBinStats();
-
-        // Assign upperBounds based on bin counts
+    /**
+     * Assigns upperBounds based on bin counts.
+     */
+    private void fillUpperBounds() {
         upperBounds = new double[binCount];
         upperBounds[0] =
         ((double) binStats.get(0).getN()) / (double) sampleStats.getN();
@@ -460,8 +947,21 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
      * @return the index of the bin containing the value
      */
     private int findBin(double value) {
+        return findBin(value, min, delta);
+    }
+
+    /**
+     * Returns the index of the bin to which the given value belongs,
+     * for a given grid.
+     *
+     * @param value  the value whose bin we are trying to find
+     * @param lo lower bound of the grid
+     * @param d width of the bins
+     * @return the index of the bin containing the value
+     */
+    private int findBin(double value, double lo, double d) {
         return FastMath.min(
-                FastMath.max((int) FastMath.ceil((value - min) / delta) - 1, 0),
+                FastMath.max((int) FastMath.ceil((value - lo) / d) - 1, 0),
                 binCount - 1);
     }
 
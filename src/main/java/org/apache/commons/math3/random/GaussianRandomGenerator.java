@@ -21,6 +21,7 @@ package org.apache.commons.math3.random;
  * This class is a gaussian normalized random generator for scalars.
  * <p>This class is a simple wrapper around the {@link
  * RandomGenerator#nextGaussian} method.</p>
+ * @see ZigguratGaussianRandomGenerator
  * @version $Id$
  * @since 1.2
  */
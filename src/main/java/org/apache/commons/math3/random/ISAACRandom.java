@@ -144,6 +144,35 @@ public class ISAACRandom extends BitsStreamGenerator implements Serializable {
         return rsl[count--] >>> 32 - bits;
     }
 
+    /** {@inheritDoc}
+     * <p>This implementation copies the words directly from the
+     * results buffer, which is regenerated {@code SIZE} words at a time.</p>
+     * @since 3.3
+     */
+    @Override
+    protected void nextWords(final int[] words, final int from, final int length) {
+        int i = from;
+        final int end = from + length;
+        while (i < end) {
+            if (count < 0) {
+                isaac();
+                count = SIZE - 1;
+            }
+            final int blockEnd = Math.min(end, i + count + 1);
+            while (i < blockEnd) {
+                words[i++] = rsl[count--];
+            }
+        }
+    }
+
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public void nextDoubles(final double[] values) {
+        nextDoublesFromWords(values);
+    }
+
     /** Generate 256 results */
     private void isaac() {
         isaacI = 0;
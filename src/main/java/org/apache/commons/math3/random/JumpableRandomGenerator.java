@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.random;
+
+/**
+ * Interface for random generators whose sequence can be advanced by a
+ * large fixed number of steps in constant time.
+ * <p>
+ * Jumping is the standard way to build independent streams for parallel
+ * computations from a single seed: each call to {@link #jump()} returns a
+ * generator positioned at the current point of the sequence and moves
+ * this generator far ahead, so the streams handed to the workers never
+ * overlap as long as each of them draws fewer numbers than the jump size.
+ * The whole set of streams is reproducible from the seed of the first
+ * generator, regardless of the scheduling of the workers.
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+public interface JumpableRandomGenerator extends RandomGenerator {
+
+    /**
+     * Creates a copy of this generator and advances this generator.
+     * <p>
+     * The returned generator has the same state as this generator had
+     * before the call, so it produces the numbers this generator would have
+     * produced. This generator then jumps ahead by a number of steps which
+     * is specified by the implementing class.
+     * </p>
+     *
+     * @return a copy of this generator, as it was before the jump
+     */
+    JumpableRandomGenerator jump();
+
+}
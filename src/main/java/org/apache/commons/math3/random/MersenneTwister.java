@@ -228,29 +228,11 @@ public class MersenneTwister extends BitsStreamGenerator implements Serializable
     @Override
     protected int next(int bits) {
 
-        int y;
-
         if (mti >= N) { // generate N words at one time
-            int mtNext = mt[0];
-            for (int k = 0; k < N - M; ++k) {
-                int mtCurr = mtNext;
-                mtNext = mt[k + 1];
-                y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
-                mt[k] = mt[k + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
-            }
-            for (int k = N - M; k < N - 1; ++k) {
-                int mtCurr = mtNext;
-                mtNext = mt[k + 1];
-                y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
-                mt[k] = mt[k + (M - N)] ^ (y >>> 1) ^ MAG01[y & 0x1];
-            }
-            y = (mtNext & 0x80000000) | (mt[0] & 0x7fffffff);
-            mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ MAG01[y & 0x1];
-
-            mti = 0;
+            twist();
         }
 
-        y = mt[mti++];
+        int y = mt[mti++];
 
         // tempering
         y ^=  y >>> 11;
@@ -262,4 +244,62 @@ public class MersenneTwister extends BitsStreamGenerator implements Serializable
 
     }
 
+    /** {@inheritDoc}
+     * <p>This implementation tempers the words directly from the
+     * internal state, which is regenerated {@code N} words at a time.</p>
+     * @since 3.3
+     */
+    @Override
+    protected void nextWords(final int[] words, final int from, final int length) {
+        int i = from;
+        final int end = from + length;
+        while (i < end) {
+            if (mti >= N) {
+                twist();
+            }
+            final int blockEnd = FastMath.min(end, i + N - mti);
+            while (i < blockEnd) {
+                int y = mt[mti++];
+
+                // tempering
+                y ^=  y >>> 11;
+                y ^= (y <<   7) & 0x9d2c5680;
+                y ^= (y <<  15) & 0xefc60000;
+                y ^=  y >>> 18;
+
+                words[i++] = y;
+            }
+        }
+    }
+
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public void nextDoubles(final double[] values) {
+        nextDoublesFromWords(values);
+    }
+
+    /** Generate the next N words of the internal state at one time. */
+    private void twist() {
+        int y;
+        int mtNext = mt[0];
+        for (int k = 0; k < N - M; ++k) {
+            int mtCurr = mtNext;
+            mtNext = mt[k + 1];
+            y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
+            mt[k] = mt[k + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
+        }
+        for (int k = N - M; k < N - 1; ++k) {
+            int mtCurr = mtNext;
+            mtNext = mt[k + 1];
+            y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
+            mt[k] = mt[k + (M - N)] ^ (y >>> 1) ^ MAG01[y & 0x1];
+        }
+        y = (mtNext & 0x80000000) | (mt[0] & 0x7fffffff);
+        mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ MAG01[y & 0x1];
+
+        mti = 0;
+    }
+
 }
@@ -438,7 +438,15 @@ public class RandomDataGenerator implements RandomData, Serializable {
                 PoissonDistribution.DEFAULT_MAX_ITERATIONS).sample();
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * <strong>Algorithm Description</strong>: Uses the {@code nextGaussian()}
+     * method of the generator, which samples with the ziggurat method if the
+     * generator is a {@link ZigguratRandomGenerator}.
+     * </p>
+     */
     public double nextGaussian(double mu, double sigma) throws NotStrictlyPositiveException {
         if (sigma <= 0) {
             throw new NotStrictlyPositiveException(LocalizedFormats.STANDARD_DEVIATION, sigma);
@@ -455,6 +463,8 @@ public class RandomDataGenerator implements RandomData, Serializable {
      * [1]: Ahrens, J. H. and Dieter, U. (1972). Computer methods for
      * sampling from the exponential and normal distributions.
      * Communications of the ACM, 15, 873-882.
+     * If the generator is a {@link ZigguratRandomGenerator}, the ziggurat
+     * method is used instead.
      * </p>
      */
     public double nextExponential(double mean) throws NotStrictlyPositiveException {
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.random;
+
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+
+/**
+ * This class implements the xoroshiro128++ pseudo-random number generator
+ * developed by David Blackman and Sebastiano Vigna in 2019.
+ *
+ * <p>This generator has a 128 bits state, a period of 2<sup>128</sup>-1 and
+ * produces 64 bits at each step. It is one of the fastest generators passing
+ * all the tests of the BigCrush suite. It is described in the paper by David
+ * Blackman and Sebastiano Vigna: <a href="http://vigna.di.unimi.it/ftp/papers/ScrambledLinear.pdf">
+ * Scrambled Linear Pseudorandom Number Generators</a>. The home page for this
+ * generator is located at <a href="http://prng.di.unimi.it/">http://prng.di.unimi.it/</a>.</p>
+ *
+ * <p>The main purpose of this generator is to provide independent streams
+ * for parallel computations: {@link #jump()} advances the sequence by
+ * 2<sup>64</sup> steps and {@link #longJump()} by 2<sup>96</sup> steps in
+ * constant time, using the jump polynomials published by the authors. A
+ * simulation can therefore seed a single generator and hand one jumped copy
+ * to each worker, getting up to 2<sup>64</sup> non-overlapping streams of
+ * 2<sup>64</sup> numbers each, reproducible from the single seed.</p>
+ *
+ * <p>Seeds are expanded into the 128 bits state using the SplitMix64
+ * generator, as recommended by the authors, so that similar seeds give
+ * uncorrelated states.</p>
+ *
+ * <p>Instances of this class are not thread safe: each thread should use
+ * its own instance, typically obtained by {@link #jump()}.</p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+public class Xoroshiro128PlusPlus extends BitsStreamGenerator implements JumpableRandomGenerator {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20131015L;
+
+    /** Increment of the SplitMix64 generator used for seeding. */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /** Jump polynomial, for 2<sup>64</sup> steps. */
+    private static final long[] JUMP = {
+        0x2bd7a6a6e99c2ddcL, 0x0992ccaf6a6fca05L
+    };
+
+    /** Long jump polynomial, for 2<sup>96</sup> steps. */
+    private static final long[] LONG_JUMP = {
+        0x360fd5f2cf8d5d99L, 0x9c6e6877736c46e3L
+    };
+
+    /** First half of the state. */
+    private long state0;
+
+    /** Second half of the state. */
+    private long state1;
+
+    /** Creates a new random number generator.
+     * <p>The instance is initialized using the current time plus the
+     * system identity hash code of this instance as the seed.</p>
+     */
+    public Xoroshiro128PlusPlus() {
+        setSeed(System.currentTimeMillis() + System.identityHashCode(this));
+    }
+
+    /** Creates a new random number generator using a single int seed.
+     * @param seed the initial seed (32 bits integer)
+     */
+    public Xoroshiro128PlusPlus(int seed) {
+        setSeed(seed);
+    }
+
+    /** Creates a new random number generator using an int array seed.
+     * @param seed the initial seed (32 bits integers array), if null
+     * the seed of the generator will be related to the current time
+     */
+    public Xoroshiro128PlusPlus(int[] seed) {
+        setSeed(seed);
+    }
+
+    /** Creates a new random number generator using a single long seed.
+     * @param seed the initial seed (64 bits integer)
+     */
+    public Xoroshiro128PlusPlus(long seed) {
+        setSeed(seed);
+    }
+
+    /** Copy constructor.
+     * @param source generator to copy
+     */
+    private Xoroshiro128PlusPlus(final Xoroshiro128PlusPlus source) {
+        state0 = source.state0;
+        state1 = source.state1;
+    }
+
+    /** Reinitialize the generator as if just built with the given int seed.
+     * <p>The state of the generator is exactly the same as a new
+     * generator built with the same seed.</p>
+     * @param seed the initial seed (32 bits integer)
+     */
+    @Override
+    public void setSeed(int seed) {
+        setSeed((long) seed);
+    }
+
+    /** Reinitialize the generator as if just built with the given int array seed.
+     * <p>The state of the generator is exactly the same as a new
+     * generator built with the same seed.</p>
+     * @param seed the initial seed (32 bits integers array), if null
+     * the seed of the generator will be the current system time plus the
+     * system identity hash code of this instance
+     */
+    @Override
+    public void setSeed(int[] seed) {
+        if (seed == null) {
+            setSeed(System.currentTimeMillis() + System.identityHashCode(this));
+            return;
+        }
+        long mixed = 0;
+        for (final int s : seed) {
+            mixed = mix(mixed + GOLDEN_GAMMA + (s & 0xffffffffL));
+        }
+        setSeed(mixed);
+    }
+
+    /** Reinitialize the generator as if just built with the given long seed.
+     * <p>The state of the generator is exactly the same as a new
+     * generator built with the same seed.</p>
+     * @param seed the initial seed (64 bits integer)
+     */
+    @Override
+    public void setSeed(long seed) {
+        state0 = mix(seed + GOLDEN_GAMMA);
+        state1 = mix(seed + 2 * GOLDEN_GAMMA);
+        if ((state0 | state1) == 0) {
+            // the all zeros state is the only forbidden one
+            state0 = GOLDEN_GAMMA;
+        }
+        clear(); // Clear normal deviate cache
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    /** {@inheritDoc}
+     * <p>This generator produces 64 bits at each step, which are all
+     * returned by this method.</p>
+     */
+    @Override
+    public long nextLong() {
+        final long s0 = state0;
+        long s1 = state1;
+        final long result = Long.rotateLeft(s0 + s1, 17) + s0;
+        s1 ^= s0;
+        state0 = Long.rotateLeft(s0, 49) ^ s1 ^ (s1 << 21);
+        state1 = Long.rotateLeft(s1, 28);
+        return result;
+    }
+
+    /** {@inheritDoc}
+     * <p>This generator uses the 53 most significant bits of a single
+     * step to build each double.</p>
+     */
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void nextLongs(final long[] values) {
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = nextLong();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void nextDoubles(final double[] values) {
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = nextDouble();
+        }
+    }
+
+    /** Creates a copy of this generator and advances this generator by 2<sup>64</sup> steps.
+     * <p>The returned generator produces the numbers this generator would have
+     * produced without the jump. As this generator produces one number per
+     * step, the two generators do not overlap for 2<sup>64</sup> calls to
+     * {@link #nextLong()} or {@link #nextDouble()}. The cache used by
+     * {@link #nextGaussian()} is not copied, it is cleared in both generators.</p>
+     * @return a copy of this generator, as it was before the jump
+     */
+    public Xoroshiro128PlusPlus jump() {
+        clear();
+        final Xoroshiro128PlusPlus copy = new Xoroshiro128PlusPlus(this);
+        jump(JUMP);
+        return copy;
+    }
+
+    /** Creates a copy of this generator and advances this generator by 2<sup>96</sup> steps.
+     * <p>This allows to build a two levels hierarchy of streams: each long jump
+     * provides a starting point from which 2<sup>32</sup> streams can be built
+     * using {@link #jump()}.</p>
+     * @return a copy of this generator, as it was before the jump
+     */
+    public Xoroshiro128PlusPlus longJump() {
+        clear();
+        final Xoroshiro128PlusPlus copy = new Xoroshiro128PlusPlus(this);
+        jump(LONG_JUMP);
+        return copy;
+    }
+
+    /** Splits this generator into independent streams.
+     * <p>The generators are obtained by successive calls to {@link #jump()},
+     * hence they produce non-overlapping sequences of 2<sup>64</sup> numbers.
+     * This generator is advanced past the last stream.</p>
+     * @param n number of streams
+     * @return generators for the {@code n} streams
+     * @exception NotStrictlyPositiveException if {@code n} is not positive
+     */
+    public Xoroshiro128PlusPlus[] split(final int n) throws NotStrictlyPositiveException {
+        if (n <= 0) {
+            throw new NotStrictlyPositiveException(n);
+        }
+        final Xoroshiro128PlusPlus[] streams = new Xoroshiro128PlusPlus[n];
+        for (int i = 0; i < n; ++i) {
+            streams[i] = jump();
+        }
+        return streams;
+    }
+
+    /** Advance the state according to a jump polynomial.
+     * @param polynomial jump polynomial coefficients
+     */
+    private void jump(final long[] polynomial) {
+        long s0 = 0;
+        long s1 = 0;
+        for (final long coefficients : polynomial) {
+            for (int b = 0; b < 64; ++b) {
+                if ((coefficients & (1L << b)) != 0) {
+                    s0 ^= state0;
+                    s1 ^= state1;
+                }
+                nextLong();
+            }
+        }
+        state0 = s0;
+        state1 = s1;
+    }
+
+    /** Mix a value using the SplitMix64 output function.
+     * @param z value to mix
+     * @return mixed value
+     */
+    private static long mix(final long z) {
+        long x = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        x = (x ^ (x >>> 27)) * 0x94d049bb133111ebL;
+        return x ^ (x >>> 31);
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.random;
+
+import java.io.Serializable;
+
+/**
+ * Any {@link RandomGenerator} implementation can sample gaussian and
+ * exponential deviates with the ziggurat method if it is used through
+ * an instance of this class.
+ * <p>
+ * All uniform methods are delegated unchanged to the wrapped generator,
+ * while {@link #nextGaussian()} uses {@link
+ * ZigguratSampler#nextGaussian(RandomGenerator)} and {@link #nextExponential()}
+ * uses {@link ZigguratSampler#nextExponential(RandomGenerator)}. This is the
+ * way to opt in to the ziggurat method for code that only takes a generator:
+ * {@link org.apache.commons.math3.distribution.NormalDistribution
+ * NormalDistribution} and {@link RandomDataGenerator#nextGaussian(double, double)}
+ * sample through {@link #nextGaussian()}, and {@link
+ * org.apache.commons.math3.distribution.ExponentialDistribution
+ * ExponentialDistribution} and {@link RandomDataGenerator#nextExponential(double)}
+ * sample through {@link #nextExponential()} when their generator is an
+ * instance of this class.
+ * </p>
+ * <p>
+ * The sequences of gaussian and exponential values are different from the
+ * ones obtained with the wrapped generator alone.
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+public class ZigguratRandomGenerator implements RandomGenerator, Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20131018L;
+
+    /** Object to which all uniform calls will be delegated. */
+    private final RandomGenerator wrapped;
+
+    /**
+     * Creates a ziggurat sampling wrapper for the given {@code RandomGenerator}
+     * instance.
+     *
+     * @param rng Generator providing the random bits.
+     */
+    public ZigguratRandomGenerator(RandomGenerator rng) {
+        wrapped = rng;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setSeed(int seed) {
+        wrapped.setSeed(seed);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setSeed(int[] seed) {
+        wrapped.setSeed(seed);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setSeed(long seed) {
+        wrapped.setSeed(seed);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void nextBytes(byte[] bytes) {
+        wrapped.nextBytes(bytes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int nextInt() {
+        return wrapped.nextInt();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int nextInt(int n) {
+        return wrapped.nextInt(n);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long nextLong() {
+        return wrapped.nextLong();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean nextBoolean() {
+        return wrapped.nextBoolean();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public float nextFloat() {
+        return wrapped.nextFloat();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double nextDouble() {
+        return wrapped.nextDouble();
+    }
+
+    /**
+     * Returns the next pseudorandom, Gaussian ("normally") distributed
+     * {@code double} value with mean {@code 0.0} and standard deviation
+     * {@code 1.0}, sampled with the ziggurat method.
+     *
+     * @return the next pseudorandom, Gaussian ("normally") distributed value
+     * @see ZigguratSampler#nextGaussian(RandomGenerator)
+     */
+    public double nextGaussian() {
+        return ZigguratSampler.nextGaussian(wrapped);
+    }
+
+    /**
+     * Returns the next pseudorandom, exponentially distributed
+     * {@code double} value with mean {@code 1.0}, sampled with
+     * the ziggurat method.
+     *
+     * @return the next pseudorandom, exponentially distributed value
+     * @see ZigguratSampler#nextExponential(RandomGenerator)
+     */
+    public double nextExponential() {
+        return ZigguratSampler.nextExponential(wrapped);
+    }
+
+}
@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.random;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Ziggurat sampling of the standard normal and exponential distributions.
+ * <p>
+ * This class implements the ziggurat method from George Marsaglia and Wai Wan
+ * Tsang: <a href="http://www.jstatsoft.org/v05/i08/paper">The Ziggurat Method
+ * for Generating Random Variables</a>, Journal of Statistical Software, Vol. 5,
+ * Issue 8, 2000. The density is covered by layers of equal area (128 for the
+ * normal distribution, 256 for the exponential distribution). A single random
+ * {@code long} selects a layer and a point within it, and in about 99% of the
+ * cases this point is accepted after a single comparison and a multiplication,
+ * without computing any logarithm, square root or trigonometric function. This
+ * is significantly faster than the polar method used by {@link
+ * BitsStreamGenerator#nextGaussian()}, which needs a logarithm and a square
+ * root for each pair of deviates.
+ * </p>
+ * <p>
+ * Unlike the original 32 bits version, the layer index and the point abscissa
+ * are taken from disjoint bits of the random {@code long}, which avoids the
+ * correlation between them pointed out by Jurgen Doornik in <a
+ * href="http://www.doornik.com/research/ziggurat.pdf">An Improved Ziggurat
+ * Method to Generate Normal Random Samples</a>, 2005. The abscissa has 56 bits
+ * of precision.
+ * </p>
+ * <p>
+ * The tables are computed once, when the class is initialized. The method
+ * consumes a variable number of random numbers, so the sequence of values
+ * is different from the one produced by {@link RandomGenerator#nextGaussian()}
+ * from the same generator.
+ * </p>
+ * <p>
+ * The ziggurat method is opt-in: {@link
+ * org.apache.commons.math3.distribution.NormalDistribution NormalDistribution},
+ * {@link org.apache.commons.math3.distribution.ExponentialDistribution
+ * ExponentialDistribution} and {@link RandomDataGenerator} keep their own
+ * algorithms by default, so that the sequences they draw from a given seed do
+ * not change. Callers wanting the faster method use this class or {@link
+ * ZigguratGaussianRandomGenerator} explicitly, or wrap the generator given to
+ * these classes in a {@link ZigguratRandomGenerator}.
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+public class ZigguratSampler {
+
+    /** Abscissa of the rightmost layer of the normal ziggurat. */
+    private static final double NORMAL_R = 3.442619855899;
+
+    /** Area of each layer of the normal ziggurat. */
+    private static final double NORMAL_V = 9.91256303526217e-3;
+
+    /** Scale of the random abscissa for the normal ziggurat (the abscissa is signed). */
+    private static final double NORMAL_SCALE = 0x1.0p55;
+
+    /** Mask for the layer index of the normal ziggurat. */
+    private static final int NORMAL_MASK = 0x7f;
+
+    /** Abscissa of the rightmost layer of the exponential ziggurat. */
+    private static final double EXPONENTIAL_R = 7.697117470131487;
+
+    /** Area of each layer of the exponential ziggurat. */
+    private static final double EXPONENTIAL_V = 3.949659822581572e-3;
+
+    /** Scale of the random abscissa for the exponential ziggurat (the abscissa is unsigned). */
+    private static final double EXPONENTIAL_SCALE = 0x1.0p56;
+
+    /** Mask for the layer index of the exponential ziggurat. */
+    private static final int EXPONENTIAL_MASK = 0xff;
+
+    /** Thresholds for the fast path of the normal ziggurat. */
+    private static final long[] NORMAL_K;
+
+    /** Abscissa scaling factors of the normal ziggurat layers. */
+    private static final double[] NORMAL_W;
+
+    /** Density at the top of the normal ziggurat layers. */
+    private static final double[] NORMAL_F;
+
+    /** Thresholds for the fast path of the exponential ziggurat. */
+    private static final long[] EXPONENTIAL_K;
+
+    /** Abscissa scaling factors of the exponential ziggurat layers. */
+    private static final double[] EXPONENTIAL_W;
+
+    /** Density at the top of the exponential ziggurat layers. */
+    private static final double[] EXPONENTIAL_F;
+
+    static {
+
+        // normal ziggurat
+        NORMAL_K = new long[NORMAL_MASK + 1];
+        NORMAL_W = new double[NORMAL_MASK + 1];
+        NORMAL_F = new double[NORMAL_MASK + 1];
+        double dn = NORMAL_R;
+        double tn = dn;
+        final double qn = NORMAL_V / FastMath.exp(-0.5 * dn * dn);
+        NORMAL_K[0]           = (long) ((dn / qn) * NORMAL_SCALE);
+        NORMAL_K[1]           = 0;
+        NORMAL_W[0]           = qn / NORMAL_SCALE;
+        NORMAL_W[NORMAL_MASK] = dn / NORMAL_SCALE;
+        NORMAL_F[0]           = 1.0;
+        NORMAL_F[NORMAL_MASK] = FastMath.exp(-0.5 * dn * dn);
+        for (int i = NORMAL_MASK - 1; i >= 1; --i) {
+            dn = FastMath.sqrt(-2 * FastMath.log(NORMAL_V / dn + FastMath.exp(-0.5 * dn * dn)));
+            NORMAL_K[i + 1] = (long) ((dn / tn) * NORMAL_SCALE);
+            tn = dn;
+            NORMAL_F[i] = FastMath.exp(-0.5 * dn * dn);
+            NORMAL_W[i] = dn / NORMAL_SCALE;
+        }
+
+        // exponential ziggurat
+        EXPONENTIAL_K = new long[EXPONENTIAL_MASK + 1];
+        EXPONENTIAL_W = new double[EXPONENTIAL_MASK + 1];
+        EXPONENTIAL_F = new double[EXPONENTIAL_MASK + 1];
+        double de = EXPONENTIAL_R;
+        double te = de;
+        final double qe = EXPONENTIAL_V / FastMath.exp(-de);
+        EXPONENTIAL_K[0]                = (long) ((de / qe) * EXPONENTIAL_SCALE);
+        EXPONENTIAL_K[1]                = 0;
+        EXPONENTIAL_W[0]                = qe / EXPONENTIAL_SCALE;
+        EXPONENTIAL_W[EXPONENTIAL_MASK] = de / EXPONENTIAL_SCALE;
+        EXPONENTIAL_F[0]                = 1.0;
+        EXPONENTIAL_F[EXPONENTIAL_MASK] = FastMath.exp(-de);
+        for (int i = EXPONENTIAL_MASK - 1; i >= 1; --i) {
+            de = -FastMath.log(EXPONENTIAL_V / de + FastMath.exp(-de));
+            EXPONENTIAL_K[i + 1] = (long) ((de / te) * EXPONENTIAL_SCALE);
+            te = de;
+            EXPONENTIAL_F[i] = FastMath.exp(-de);
+            EXPONENTIAL_W[i] = de / EXPONENTIAL_SCALE;
+        }
+
+    }
+
+    /**
+     * Private constructor, to prevent instantiation.
+     */
+    private ZigguratSampler() {
+    }
+
+    /**
+     * Generate a random value from the standard normal distribution.
+     *
+     * @param generator underlying random generator to use
+     * @return a random value with null mean and unit standard deviation
+     */
+    public static double nextGaussian(final RandomGenerator generator) {
+        final long bits  = nextBits(generator);
+        final int  layer = (int) (bits & NORMAL_MASK);
+        final long x     = bits >> 8;
+        if (FastMath.abs(x) < NORMAL_K[layer]) {
+            // fast path: the point is inside the inner rectangle of the layer
+            return x * NORMAL_W[layer];
+        }
+        return fixGaussian(generator, layer, x);
+    }
+
+    /**
+     * Generate a random value from the standard normal distribution,
+     * when the fast path fails.
+     *
+     * @param generator underlying random generator to use
+     * @param firstLayer index of the layer initially selected
+     * @param firstX scaled abscissa initially selected
+     * @return a random value with null mean and unit standard deviation
+     */
+    private static double fixGaussian(final RandomGenerator generator,
+                                      final int firstLayer, final long firstX) {
+        int  layer = firstLayer;
+        long x     = firstX;
+        while (true) {
+
+            if (layer == 0) {
+                // sample from the tail, using Marsaglia's method
+                double t;
+                double y;
+                do {
+                    t = -FastMath.log(nextPositiveUniform(generator)) / NORMAL_R;
+                    y = -FastMath.log(nextPositiveUniform(generator));
+                } while (y + y < t * t);
+                return (x >= 0) ? NORMAL_R + t : -NORMAL_R - t;
+            }
+
+            // check the point against the density within the wedge
+            final double u = x * NORMAL_W[layer];
+            final double f = NORMAL_F[layer] +
+                             generator.nextDouble() * (NORMAL_F[layer - 1] - NORMAL_F[layer]);
+            if (f < FastMath.exp(-0.5 * u * u)) {
+                return u;
+            }
+
+            // rejected, start again with a new point
+            final long bits = nextBits(generator);
+            layer = (int) (bits & NORMAL_MASK);
+            x     = bits >> 8;
+            if (FastMath.abs(x) < NORMAL_K[layer]) {
+                return x * NORMAL_W[layer];
+            }
+
+        }
+    }
+
+    /**
+     * Generate a random value from the exponential distribution with unit mean.
+     *
+     * @param generator underlying random generator to use
+     * @return a random value with unit mean
+     */
+    public static double nextExponential(final RandomGenerator generator) {
+        final long bits  = nextBits(generator);
+        final int  layer = (int) (bits & EXPONENTIAL_MASK);
+        final long x     = bits >>> 8;
+        if (x < EXPONENTIAL_K[layer]) {
+            // fast path: the point is inside the inner rectangle of the layer
+            return x * EXPONENTIAL_W[layer];
+        }
+        return fixExponential(generator, layer, x);
+    }
+
+    /**
+     * Generate a random value from the exponential distribution with unit mean,
+     * when the fast path fails.
+     *
+     * @param generator underlying random generator to use
+     * @param firstLayer index of the layer initially selected
+     * @param firstX scaled abscissa initially selected
+     * @return a random value with unit mean
+     */
+    private static double fixExponential(final RandomGenerator generator,
+                                         final int firstLayer, final long firstX) {
+        int  layer = firstLayer;
+        long x     = firstX;
+        while (true) {
+
+            if (layer == 0) {
+                // the exponential distribution is memoryless, the tail is a shifted copy
+                return EXPONENTIAL_R - FastMath.log(nextPositiveUniform(generator));
+            }
+
+            // check the point against the density within the wedge
+            final double u = x * EXPONENTIAL_W[layer];
+            final double f = EXPONENTIAL_F[layer] +
+                             generator.nextDouble() * (EXPONENTIAL_F[layer - 1] - EXPONENTIAL_F[layer]);
+            if (f < FastMath.exp(-u)) {
+                return u;
+            }
+
+            // rejected, start again with a new point
+            final long bits = nextBits(generator);
+            layer = (int) (bits & EXPONENTIAL_MASK);
+            x     = bits >>> 8;
+            if (x < EXPONENTIAL_K[layer]) {
+                return x * EXPONENTIAL_W[layer];
+            }
+
+        }
+    }
+
+    /**
+     * Generate 64 random bits.
+     * <p>
+     * The ziggurat uses all the bits. They are taken from a single call to
+     * {@link RandomGenerator#nextLong()} only for {@link BitsStreamGenerator}
+     * instances, as other generators like {@link AbstractRandomGenerator} may
+     * build long values with poor low order bits.
+     * </p>
+     *
+     * @param generator underlying random generator to use
+     * @return 64 random bits
+     */
+    private static long nextBits(final RandomGenerator generator) {
+        if (generator instanceof BitsStreamGenerator) {
+            return generator.nextLong();
+        }
+        return (((long) generator.nextInt()) << 32) | (generator.nextInt() & 0xffffffffL);
+    }
+
+    /**
+     * Generate a uniform value in the interval (0, 1].
+     *
+     * @param generator underlying random generator to use
+     * @return a uniform value that can safely be used as the argument of a logarithm
+     */
+    private static double nextPositiveUniform(final RandomGenerator generator) {
+        return 1.0 - generator.nextDouble();
+    }
+
+}
@@ -33,6 +33,7 @@
  *              <li>{@link org.apache.commons.math3.random.Well19937c Well19937c}</li>
  *              <li>{@link org.apache.commons.math3.random.Well44497a Well44497a}</li>
  *              <li>{@link org.apache.commons.math3.random.Well44497b Well44497b}</li>
+ *              <li>{@link org.apache.commons.math3.random.Xoroshiro128PlusPlus Xoroshiro128PlusPlus}</li>
  *            </ul>
  *          </li>
  *        </ul>
@@ -121,6 +122,16 @@
  *      </p>
  *
  *      <p>
+ *      For parallel simulations, each thread needs its own generator and the streams of all
+ *      the generators must not overlap. Seeding generators with consecutive seeds does not
+ *      guarantee this. The {@link org.apache.commons.math3.random.Xoroshiro128PlusPlus
+ *      Xoroshiro128PlusPlus} generator implements {@link
+ *      org.apache.commons.math3.random.JumpableRandomGenerator JumpableRandomGenerator}: it can
+ *      jump 2<sup>64</sup> steps ahead in constant time, so a single seeded instance can provide
+ *      independent and reproducible streams for all the threads.
+ *      </p>
+ *
+ *      <p>
  *      Note that <em>none</em> of these generators are suitable for cryptography. They are devoted
  *      to simulation, and to generate very long series with strong properties on the series as a whole
  *      (equidistribution, no correlation ...). They do not attempt to create small series but with
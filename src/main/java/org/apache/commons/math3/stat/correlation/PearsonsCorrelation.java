@@ -16,15 +16,24 @@
  */
 package org.apache.commons.math3.stat.correlation;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.math3.distribution.TDistribution;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.BlockRealMatrix;
+import org.apache.commons.math3.stat.descriptive.moment.Mean;
 import org.apache.commons.math3.stat.regression.SimpleRegression;
+import org.apache.commons.math3.util.ConcurrencyUtils;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
 
 /**
  * Computes Pearson's product-moment correlation coefficients for pairs of arrays
@@ -200,6 +209,115 @@ public class PearsonsCorrelation {
         return outMatrix;
     }
 
+    /**
+     * Computes the correlation matrix for the columns of the
+     * input matrix, using several threads.
+     * <p>
+     * Each column is first centered and scaled to unit norm, so that the
+     * correlation of two columns is their dot product. The pairs of the lower
+     * triangle are then split across tasks submitted to the {@code executor},
+     * each task handling a band of rows with about the same number of pairs.
+     * The result is the same as {@link #computeCorrelationMatrix(RealMatrix)}
+     * up to rounding errors.
+     * </p>
+     * <p>
+     * The columns are copied before being scaled, so this method needs
+     * memory for a second copy of the data. The {@code executor} is not
+     * shut down by this method.
+     * </p>
+     *
+     * @param matrix matrix with columns representing variables to correlate
+     * @param executor executor service running the tasks
+     * @return correlation matrix
+     * @throws NullArgumentException if {@code executor} is null
+     * @throws MathIllegalArgumentException if there are several columns
+     * but less than two rows
+     * @throws MathIllegalStateException if the computation is interrupted
+     * @since 3.3
+     */
+    public RealMatrix computeCorrelationMatrix(final RealMatrix matrix, final ExecutorService executor)
+        throws NullArgumentException, MathIllegalArgumentException, MathIllegalStateException {
+        MathUtils.checkNotNull(executor);
+        final double[][] columns = new double[matrix.getColumnDimension()][];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = matrix.getColumn(i);
+        }
+        return computeCorrelationMatrix(columns, executor);
+    }
+
+    /**
+     * Computes the correlation matrix for columns, using several threads.
+     *
+     * @param columns columns of the data matrix, <em>overwritten</em> by
+     * their centered and scaled values
+     * @param executor executor service running the tasks
+     * @return correlation matrix
+     * @throws MathIllegalArgumentException if there are several columns
+     * but less than two observations
+     * @throws MathIllegalStateException if the computation is interrupted
+     */
+    RealMatrix computeCorrelationMatrix(final double[][] columns, final ExecutorService executor)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        final int nVars = columns.length;
+
+        // same check as the sequential computation, which correlates pairs of columns
+        if (nVars > 1 && columns[0].length < 2) {
+            throw new MathIllegalArgumentException(LocalizedFormats.INSUFFICIENT_DIMENSION,
+                                                   columns[0].length, 2);
+        }
+        final int nSlices = ConcurrencyUtils.slices(nVars, 1);
+
+        // compute the moments of each column only once
+        final int[] columnBounds = ConcurrencyUtils.partition(nVars, nSlices);
+        final List<Callable<Void>> standardizations = new ArrayList<Callable<Void>>(nSlices);
+        for (int t = 0; t < columnBounds.length - 1; t++) {
+            final int from = columnBounds[t];
+            final int to   = columnBounds[t + 1];
+            standardizations.add(new Callable<Void>() {
+                /** {@inheritDoc} */
+                public Void call() {
+                    for (int i = from; i < to; i++) {
+                        standardize(columns[i]);
+                    }
+                    return null;
+                }
+            });
+        }
+        ConcurrencyUtils.invokeAll(executor, standardizations);
+
+        // row i holds i pairs, so band t ends at row nVars sqrt((t + 1) / nSlices)
+        final double[][] out = new double[nVars][nVars];
+        final List<Callable<Void>> products = new ArrayList<Callable<Void>>(nSlices);
+        int from = 0;
+        for (int t = 0; t < nSlices; t++) {
+            final int to = (t == nSlices - 1) ?
+                           nVars : (int) FastMath.round(nVars * FastMath.sqrt((t + 1.0) / nSlices));
+            if (to > from) {
+                final int bandStart = from;
+                products.add(new Callable<Void>() {
+                    /** {@inheritDoc} */
+                    public Void call() {
+                        for (int i = bandStart; i < to; i++) {
+                            for (int j = 0; j < i; j++) {
+                                final double corr = dotProduct(columns[i], columns[j]);
+                                out[i][j] = corr;
+                                out[j][i] = corr;
+                            }
+                            out[i][i] = 1d;
+                        }
+                        return null;
+                    }
+                });
+                from = to;
+            }
+        }
+        ConcurrencyUtils.invokeAll(executor, products);
+
+        return new BlockRealMatrix(out);
+
+    }
+
     /**
      * Computes the correlation matrix for the columns of the
      * input rectangular array.  The colums of the array represent values
@@ -266,6 +384,41 @@ public class PearsonsCorrelation {
         return outMatrix;
     }
 
+    /**
+     * Centers a column and scales it to unit norm, in place.
+     *
+     * @param column column to standardize
+     */
+    private static void standardize(final double[] column) {
+        final double mean = new Mean().evaluate(column);
+        double sumSq = 0;
+        for (int k = 0; k < column.length; k++) {
+            final double dev = column[k] - mean;
+            column[k] = dev;
+            sumSq += dev * dev;
+        }
+        final double scale = 1.0 / FastMath.sqrt(sumSq);
+        for (int k = 0; k < column.length; k++) {
+            column[k] *= scale;
+        }
+    }
+
+    /**
+     * Computes the correlation of two standardized columns.
+     *
+     * @param x first standardized column
+     * @param y second standardized column
+     * @return dot product of the columns, clipped to [-1, 1]
+     */
+    private static double dotProduct(final double[] x, final double[] y) {
+        double sum = 0;
+        for (int k = 0; k < x.length; k++) {
+            sum += x[k] * y[k];
+        }
+        // clip rounding errors, which would spoil the standard errors and p-values
+        return FastMath.max(-1d, FastMath.min(1d, sum));
+    }
+
     /**
      * Throws IllegalArgumentException of the matrix does not have at least
      * two columns and two rows
@@ -21,15 +21,22 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.linear.BlockRealMatrix;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.stat.ranking.NaNStrategy;
 import org.apache.commons.math3.stat.ranking.NaturalRanking;
 import org.apache.commons.math3.stat.ranking.RankingAlgorithm;
+import org.apache.commons.math3.stat.ranking.TiesStrategy;
+import org.apache.commons.math3.util.ConcurrencyUtils;
+import org.apache.commons.math3.util.MathUtils;
 
 /**
  * Spearman's rank correlation. This implementation performs a rank
@@ -140,6 +147,83 @@ public class SpearmansCorrelation {
         return new PearsonsCorrelation().computeCorrelationMatrix(matrixCopy);
     }
 
+    /**
+     * Computes the Spearman's rank correlation matrix for the columns of the
+     * input matrix, using several threads.
+     * <p>
+     * Each column is ranked once, without building an intermediate ranked
+     * matrix, and the Pearson's correlations of the ranks are computed by
+     * {@link PearsonsCorrelation#computeCorrelationMatrix(RealMatrix, ExecutorService)}.
+     * The columns are ranked in parallel when the ranking algorithm is known to
+     * be thread-safe, i.e. a {@link NaturalRanking} which does not break ties
+     * randomly; other ranking algorithms are applied sequentially. The result
+     * is the same as {@link #computeCorrelationMatrix(RealMatrix)} up to
+     * rounding errors.
+     * </p>
+     * <p>
+     * The {@code executor} is not shut down by this method.
+     * </p>
+     *
+     * @param matrix matrix with columns representing variables to correlate
+     * @param executor executor service running the tasks
+     * @return correlation matrix
+     * @throws NullArgumentException if {@code executor} is null
+     * @throws MathIllegalArgumentException if there are several columns
+     * but less than two rows
+     * @throws MathIllegalStateException if the computation is interrupted
+     * @since 3.3
+     */
+    public RealMatrix computeCorrelationMatrix(final RealMatrix matrix, final ExecutorService executor)
+        throws NullArgumentException, MathIllegalArgumentException, MathIllegalStateException {
+        MathUtils.checkNotNull(executor);
+
+        final double[][] columns = new double[matrix.getColumnDimension()][];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = matrix.getColumn(i);
+        }
+
+        // remove the observations with NaN values, as rankTransform does
+        if (rankingAlgorithm instanceof NaturalRanking &&
+            ((NaturalRanking) rankingAlgorithm).getNanStrategy() == NaNStrategy.REMOVED) {
+            final Set<Integer> nanPositions = new HashSet<Integer>();
+            for (int i = 0; i < columns.length; i++) {
+                nanPositions.addAll(getNaNPositions(columns[i]));
+            }
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = removeValues(columns[i], nanPositions);
+            }
+        }
+
+        // rank each column once
+        if (rankingAlgorithm instanceof NaturalRanking &&
+            ((NaturalRanking) rankingAlgorithm).getTiesStrategy() != TiesStrategy.RANDOM) {
+            final int[] bounds =
+                    ConcurrencyUtils.partition(columns.length, ConcurrencyUtils.slices(columns.length, 1));
+            final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(bounds.length - 1);
+            for (int t = 0; t < bounds.length - 1; t++) {
+                final int from = bounds[t];
+                final int to   = bounds[t + 1];
+                tasks.add(new Callable<Void>() {
+                    /** {@inheritDoc} */
+                    public Void call() {
+                        for (int i = from; i < to; i++) {
+                            columns[i] = rankingAlgorithm.rank(columns[i]);
+                        }
+                        return null;
+                    }
+                });
+            }
+            ConcurrencyUtils.invokeAll(executor, tasks);
+        } else {
+            // the ranking algorithm may not be thread-safe
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = rankingAlgorithm.rank(columns[i]);
+            }
+        }
+
+        return new PearsonsCorrelation().computeCorrelationMatrix(columns, executor);
+    }
+
     /**
      * Computes the Spearman's rank correlation matrix for the columns of the
      * input rectangular array.  The columns of the array represent values
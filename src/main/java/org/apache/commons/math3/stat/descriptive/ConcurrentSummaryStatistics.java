@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.descriptive;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Implementation of {@link StatisticalSummary} that accumulates values
+ * from many threads with very little contention.
+ * <p>
+ * Each thread adding values gets its own shard, a {@link SummaryStatistics}
+ * that only this thread updates. The shards are combined when statistics
+ * are read, using the same aggregation as {@link
+ * AggregateSummaryStatistics#aggregate(java.util.Collection)}, so reads
+ * cost O(number of threads) while {@link #addValue(double)} scales with the
+ * number of cores. In contrast, {@link SynchronizedSummaryStatistics} funnels
+ * all the threads through a single monitor. This class is therefore suited to
+ * write-heavy workloads such as recording latencies from request threads,
+ * with occasional reads.
+ * </p>
+ * <p>
+ * Each shard is guarded by its own monitor, only contended when a reader
+ * takes a snapshot, so the statistics returned are always consistent with
+ * some interleaving of the values added. Values added by a thread remain
+ * accounted for after the thread terminates, and its shard is then handed
+ * over to the next thread adding its first value, so the number of shards
+ * is bounded by the largest number of threads alive at the same time, even
+ * when short-lived threads come and go.
+ * </p>
+ * <p>
+ * Only the statistics of the {@link StatisticalSummary} interface are
+ * available, as they are the ones that can be aggregated across shards.
+ * Unlike {@link SynchronizedSummaryStatistics}, this class does not provide
+ * the sum of squares, the sum of logs, the second moment, the geometric mean
+ * or the percentile, even if the prototype configures them. It does not
+ * provide a {@code copy()} method either, and does not override {@code
+ * equals} and {@code hashCode}: instances are compared by identity. Use
+ * {@link #getSummary()} to get a value that can be copied and compared.
+ * </p>
+ *
+ * @see AggregateSummaryStatistics
+ * @see SynchronizedSummaryStatistics
+ * @version $Id$
+ * @since 3.3
+ */
+public class ConcurrentSummaryStatistics implements StatisticalSummary {
+
+    /** Prototype for the shards. */
+    private final SummaryStatistics prototype;
+
+    /** All the shards created so far. */
+    private final List<Shard> shards;
+
+    /** Shard of the current thread. */
+    private final ThreadLocal<SummaryStatistics> localShard;
+
+    /**
+     * Construct a ConcurrentSummaryStatistics instance with default
+     * statistics implementations.
+     */
+    public ConcurrentSummaryStatistics() {
+        // No try-catch or throws NAE because arg is guaranteed non-null
+        this(new SummaryStatistics());
+    }
+
+    /**
+     * Construct a ConcurrentSummaryStatistics instance with shards
+     * initialized by copying a prototype.
+     * <p>
+     * The prototype allows customized statistics implementations to be used
+     * by the shards. It should not contain any value, as its values would be
+     * accounted for once per thread.
+     * </p>
+     *
+     * @param prototype a {@code SummaryStatistics} serving as a prototype for
+     * the per-thread shards
+     * @throws NullArgumentException if prototype is null
+     */
+    public ConcurrentSummaryStatistics(final SummaryStatistics prototype)
+        throws NullArgumentException {
+        MathUtils.checkNotNull(prototype);
+        this.prototype  = prototype.copy();
+        this.shards     = new ArrayList<Shard>();
+        this.localShard = new ThreadLocal<SummaryStatistics>() {
+            /** {@inheritDoc} */
+            @Override
+            protected SummaryStatistics initialValue() {
+                return acquireShard();
+            }
+        };
+    }
+
+    /**
+     * Add a value to the data
+     * @param value the value to add
+     */
+    public void addValue(final double value) {
+        final SummaryStatistics shard = localShard.get();
+        synchronized (shard) {
+            shard.addValue(value);
+        }
+    }
+
+    /**
+     * Resets all statistics.
+     * <p>
+     * Values added concurrently with this call may or may not be cleared.
+     * </p>
+     */
+    public void clear() {
+        for (final SummaryStatistics shard : getShards()) {
+            synchronized (shard) {
+                shard.clear();
+            }
+        }
+    }
+
+    /**
+     * Return a {@link StatisticalSummaryValues} instance reporting current
+     * statistics.
+     * <p>
+     * All the statistics of the returned instance are computed from the
+     * same snapshot of the shards, so they are consistent with each other;
+     * this is more efficient and more consistent than calling the individual
+     * getters when several statistics are needed.
+     * </p>
+     * @return Current values of statistics
+     */
+    public StatisticalSummaryValues getSummary() {
+        final List<SummaryStatistics> snapshot = new ArrayList<SummaryStatistics>();
+        for (final SummaryStatistics shard : getShards()) {
+            synchronized (shard) {
+                // empty shards have an undefined second moment, they would spoil the variance
+                if (shard.getN() > 0) {
+                    snapshot.add(shard.copy());
+                }
+            }
+        }
+        if (snapshot.isEmpty()) {
+            // no value has been added yet, or all have been cleared
+            snapshot.add(createShard());
+        }
+        return AggregateSummaryStatistics.aggregate(snapshot);
+    }
+
+    /**
+     * Returns the number of available values
+     * @return The number of available values
+     */
+    public long getN() {
+        return getSummary().getN();
+    }
+
+    /**
+     * Returns the sum of the values that have been added
+     * @return The sum or <code>Double.NaN</code> if no values have been added
+     */
+    public double getSum() {
+        return getSummary().getSum();
+    }
+
+    /**
+     * Returns the mean of the values that have been added.
+     * <p>
+     * Double.NaN is returned if no values have been added.
+     * </p>
+     * @return the mean
+     */
+    public double getMean() {
+        return getSummary().getMean();
+    }
+
+    /**
+     * Returns the (sample) variance of the available values.
+     * <p>
+     * Double.NaN is returned if no values have been added.
+     * </p>
+     * @return the variance
+     */
+    public double getVariance() {
+        return getSummary().getVariance();
+    }
+
+    /**
+     * Returns the standard deviation of the values that have been added.
+     * <p>
+     * Double.NaN is returned if no values have been added.
+     * </p>
+     * @return the standard deviation
+     */
+    public double getStandardDeviation() {
+        final StatisticalSummaryValues summary = getSummary();
+        if (summary.getN() == 0) {
+            return Double.NaN;
+        }
+        return (summary.getN() > 1) ? FastMath.sqrt(summary.getVariance()) : 0.0;
+    }
+
+    /**
+     * Returns the maximum of the values that have been added.
+     * <p>
+     * Double.NaN is returned if no values have been added.
+     * </p>
+     * @return the maximum
+     */
+    public double getMax() {
+        return getSummary().getMax();
+    }
+
+    /**
+     * Returns the minimum of the values that have been added.
+     * <p>
+     * Double.NaN is returned if no values have been added.
+     * </p>
+     * @return the minimum
+     */
+    public double getMin() {
+        return getSummary().getMin();
+    }
+
+    /**
+     * Generates a text report displaying summary statistics from values that
+     * have been added.
+     * @return String with line feeds displaying statistics
+     */
+    @Override
+    public String toString() {
+        final StatisticalSummaryValues summary = getSummary();
+        StringBuilder outBuffer = new StringBuilder();
+        String endl = "\n";
+        outBuffer.append("ConcurrentSummaryStatistics:").append(endl);
+        outBuffer.append("n: ").append(summary.getN()).append(endl);
+        outBuffer.append("min: ").append(summary.getMin()).append(endl);
+        outBuffer.append("max: ").append(summary.getMax()).append(endl);
+        outBuffer.append("mean: ").append(summary.getMean()).append(endl);
+        outBuffer.append("variance: ").append(summary.getVariance()).append(endl);
+        return outBuffer.toString();
+    }
+
+    /**
+     * Creates a new empty shard.
+     * @return a new shard, copied from the prototype
+     */
+    private SummaryStatistics createShard() {
+        synchronized (prototype) {
+            return prototype.copy();
+        }
+    }
+
+    /**
+     * Assigns a shard to the current thread.
+     * <p>
+     * The shard of a terminated thread is reused if there is one, keeping
+     * the values it already holds, otherwise a new shard is created.
+     * </p>
+     * @return shard of the current thread
+     */
+    private SummaryStatistics acquireShard() {
+        final Thread current = Thread.currentThread();
+        synchronized (shards) {
+            for (final Shard shard : shards) {
+                if (!shard.isOwnerAlive()) {
+                    shard.owner = new WeakReference<Thread>(current);
+                    return shard.statistics;
+                }
+            }
+            final Shard shard = new Shard(createShard(), current);
+            shards.add(shard);
+            return shard.statistics;
+        }
+    }
+
+    /**
+     * Returns a copy of the list of shards.
+     * @return shards created so far
+     */
+    private List<SummaryStatistics> getShards() {
+        synchronized (shards) {
+            final List<SummaryStatistics> copy = new ArrayList<SummaryStatistics>(shards.size());
+            for (final Shard shard : shards) {
+                copy.add(shard.statistics);
+            }
+            return copy;
+        }
+    }
+
+    /**
+     * Returns the number of shards created so far.
+     * @return number of shards
+     */
+    int getShardCount() {
+        synchronized (shards) {
+            return shards.size();
+        }
+    }
+
+    /** Statistics of a shard, together with the thread currently updating them. */
+    private static class Shard {
+
+        /** Statistics accumulated in this shard. */
+        private final SummaryStatistics statistics;
+
+        /** Thread currently updating the statistics, guarded by the list of shards. */
+        private WeakReference<Thread> owner;
+
+        /**
+         * Simple constructor.
+         * @param statistics statistics accumulated in this shard
+         * @param owner thread updating the statistics
+         */
+        Shard(final SummaryStatistics statistics, final Thread owner) {
+            this.statistics = statistics;
+            this.owner      = new WeakReference<Thread>(owner);
+        }
+
+        /**
+         * Checks whether the owner of this shard may still update it.
+         * @return true if the owner thread has not terminated
+         */
+        boolean isOwnerAlive() {
+            final Thread thread = owner.get();
+            return thread != null && thread.isAlive();
+        }
+
+    }
+
+}
@@ -19,6 +19,7 @@ package org.apache.commons.math3.stat.descriptive;
 import java.io.Serializable;
 
 import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.MathUnsupportedOperationException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.stat.descriptive.moment.GeometricMean;
@@ -117,6 +118,9 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
     /** Variance statistic implementation - can be reset by setter. */
     private StorelessUnivariateStatistic varianceImpl = variance;
 
+    /** Percentile statistic implementation - not computed unless set by setter. */
+    private StorelessUnivariateStatistic percentileImpl = null;
+
     /**
      * Construct a SummaryStatistics instance
      */
@@ -165,6 +169,9 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
         if (geoMeanImpl != geoMean) {
             geoMeanImpl.increment(value);
         }
+        if (percentileImpl != null) {
+            percentileImpl.increment(value);
+        }
         n++;
     }
 
@@ -299,6 +306,21 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
         return sumLogImpl.getResult();
     }
 
+    /**
+     * Returns the estimated percentile of the values that have been added,
+     * as computed by the {@link #setPercentileImpl(StorelessUnivariateStatistic)
+     * configured percentile implementation}.
+     * <p>
+     * Double.NaN is returned if no values have been added or if no
+     * percentile implementation has been configured.
+     * </p>
+     * @return the estimated percentile
+     * @since 3.3
+     */
+    public double getPercentile() {
+        return (percentileImpl == null) ? Double.NaN : percentileImpl.getResult();
+    }
+
     /**
      * Returns a statistic related to the Second Central Moment.  Specifically,
      * what is returned is the sum of squared deviations from the sample mean
@@ -357,6 +379,43 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
         if (varianceImpl != variance) {
             varianceImpl.clear();
         }
+        if (percentileImpl != null) {
+            percentileImpl.clear();
+        }
+    }
+
+    /**
+     * Adds the values accumulated by another instance to this one.
+     * <p>
+     * After the merge, this instance holds the same state as if all the
+     * values added to {@code other} had also been added to it, up to
+     * rounding errors in the second moment, and it can be copied, compared
+     * and updated as usual. The other instance is not modified.
+     * </p>
+     * <p>
+     * Only the default statistics implementations can be merged, so both
+     * instances must use them and must not have a percentile configured.
+     * </p>
+     *
+     * @param other the instance to merge into this one
+     * @throws NullArgumentException if other is null
+     * @throws MathUnsupportedOperationException if either instance uses
+     * non-default statistics implementations
+     * @since 3.3
+     */
+    public void merge(SummaryStatistics other)
+        throws NullArgumentException, MathUnsupportedOperationException {
+        MathUtils.checkNotNull(other);
+        if (!usesDefaultImplementations() || !other.usesDefaultImplementations()) {
+            throw new MathUnsupportedOperationException();
+        }
+        sum.merge(other.sum);
+        sumsq.merge(other.sumsq);
+        min.merge(other.min);
+        max.merge(other.max);
+        sumLog.merge(other.sumLog);
+        secondMoment.merge(other.secondMoment);
+        n += other.n;
     }
 
     /**
@@ -380,6 +439,7 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
                Precision.equalsIncludingNaN(stat.getMean(),          getMean())          &&
                Precision.equalsIncludingNaN(stat.getMin(),           getMin())           &&
                Precision.equalsIncludingNaN(stat.getN(),             getN())             &&
+               Precision.equalsIncludingNaN(stat.getPercentile(),    getPercentile())    &&
                Precision.equalsIncludingNaN(stat.getSum(),           getSum())           &&
                Precision.equalsIncludingNaN(stat.getSumsq(),         getSumsq())         &&
                Precision.equalsIncludingNaN(stat.getVariance(),      getVariance());
@@ -397,6 +457,7 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
         result = result * 31 + MathUtils.hash(getMean());
         result = result * 31 + MathUtils.hash(getMin());
         result = result * 31 + MathUtils.hash(getN());
+        result = result * 31 + MathUtils.hash(getPercentile());
         result = result * 31 + MathUtils.hash(getSum());
         result = result * 31 + MathUtils.hash(getSumsq());
         result = result * 31 + MathUtils.hash(getVariance());
@@ -637,6 +698,52 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
         this.varianceImpl = varianceImpl;
     }
 
+    /**
+     * Returns the currently configured percentile implementation
+     * @return the StorelessUnivariateStatistic implementing the percentile,
+     * or null if percentiles are not computed
+     * @since 3.3
+     */
+    public StorelessUnivariateStatistic getPercentileImpl() {
+        return percentileImpl;
+    }
+
+    /**
+     * <p>
+     * Sets the implementation for the percentile.
+     * </p>
+     * <p>
+     * No percentile is computed by default, as exact percentiles cannot be
+     * computed without storing the values. A storeless estimator such as
+     * {@link org.apache.commons.math3.stat.descriptive.rank.TDigestPercentile}
+     * can be set here to get approximate percentiles in bounded memory.
+     * </p>
+     * <p>
+     * This method must be activated before any data has been added - i.e.,
+     * before {@link #addValue(double) addValue} has been used to add data;
+     * otherwise an IllegalStateException will be thrown.
+     * </p>
+     * @param percentileImpl the StorelessUnivariateStatistic instance to use for
+     *        computing the percentile, or null to stop computing percentiles
+     * @throws MathIllegalStateException if data has already been added (i.e if n > 0)
+     * @since 3.3
+     */
+    public void setPercentileImpl(StorelessUnivariateStatistic percentileImpl)
+    throws MathIllegalStateException {
+        checkEmpty();
+        this.percentileImpl = percentileImpl;
+    }
+
+    /**
+     * Checks whether all statistics use their default implementations.
+     * @return true if no implementation has been overridden
+     */
+    private boolean usesDefaultImplementations() {
+        return sumImpl == sum && sumsqImpl == sumsq && minImpl == min &&
+               maxImpl == max && sumLogImpl == sumLog && geoMeanImpl == geoMean &&
+               meanImpl == mean && varianceImpl == variance && percentileImpl == null;
+    }
+
     /**
      * Throws IllegalStateException if n > 0.
      * @throws MathIllegalStateException if data has been added
@@ -678,6 +785,7 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
         dest.sumLogImpl = source.sumLogImpl.copy();
         dest.sumsqImpl = source.sumsqImpl.copy();
         dest.secondMoment = source.secondMoment.copy();
+        dest.percentileImpl = (source.percentileImpl == null) ? null : source.percentileImpl.copy();
         dest.n = source.n;
 
         // Keep commons-math supplied statistics with embedded moments in synch
@@ -17,6 +17,7 @@
 package org.apache.commons.math3.stat.descriptive;
 
 import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.MathUnsupportedOperationException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.util.MathUtils;
 
@@ -152,6 +153,14 @@ public class SynchronizedSummaryStatistics extends SummaryStatistics {
         return super.getGeometricMean();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized double getPercentile() {
+        return super.getPercentile();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -168,6 +177,22 @@ public class SynchronizedSummaryStatistics extends SummaryStatistics {
         super.clear();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Acquires synchronization lock on other, then this before merging.</p>
+     * @since 3.3
+     */
+    @Override
+    public void merge(SummaryStatistics other)
+        throws NullArgumentException, MathUnsupportedOperationException {
+        MathUtils.checkNotNull(other);
+        synchronized (other) {
+            synchronized (this) {
+                super.merge(other);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -320,6 +345,23 @@ public class SynchronizedSummaryStatistics extends SummaryStatistics {
         super.setVarianceImpl(varianceImpl);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized StorelessUnivariateStatistic getPercentileImpl() {
+        return super.getPercentileImpl();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void setPercentileImpl(StorelessUnivariateStatistic percentileImpl)
+    throws MathIllegalStateException {
+        super.setPercentileImpl(percentileImpl);
+    }
+
     /**
      * Returns a copy of this SynchronizedSummaryStatistics instance with the
      * same internal state.
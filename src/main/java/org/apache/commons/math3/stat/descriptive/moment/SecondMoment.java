@@ -95,6 +95,39 @@ public class SecondMoment extends FirstMoment implements Serializable {
         m2 = Double.NaN;
     }
 
+    /**
+     * Updates this instance as if the values accumulated by another
+     * instance had been added to it.
+     * <p>
+     * The means and second moments are combined with the pairwise update
+     * formula of Chan, Golub and LeVeque, which is as accurate as adding the
+     * values one at a time.
+     * </p>
+     *
+     * @param other the instance to merge into this one
+     * @throws NullArgumentException if other is null
+     * @since 3.3
+     */
+    public void merge(final SecondMoment other) throws NullArgumentException {
+        MathUtils.checkNotNull(other);
+        if (other.n == 0) {
+            return;
+        }
+        if (n == 0) {
+            copy(other, this);
+            return;
+        }
+        final double n1    = n;
+        final double n2    = other.n;
+        final double delta = other.m1 - m1;
+        final double dn    = delta / (n1 + n2);
+        m1  += dn * n2;
+        m2  += other.m2 + delta * dn * n1 * n2;
+        n   += other.n;
+        dev  = Double.NaN;
+        nDev = Double.NaN;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -90,6 +90,22 @@ public class Max extends AbstractStorelessUnivariateStatistic implements Seriali
         n = 0;
     }
 
+    /**
+     * Updates this instance as if the values accumulated by another
+     * instance had been added to it.
+     *
+     * @param other the instance to merge into this one
+     * @throws NullArgumentException if other is null
+     * @since 3.3
+     */
+    public void merge(final Max other) throws NullArgumentException {
+        MathUtils.checkNotNull(other);
+        if (other.n > 0 && (other.value > value || Double.isNaN(value))) {
+            value = other.value;
+        }
+        n += other.n;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,529 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.descriptive.rank;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.stat.descriptive.AbstractStorelessUnivariateStatistic;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Estimates percentiles of a stream of values in bounded memory, using a
+ * merging t-digest.
+ * <p>
+ * The values are summarized by a sorted list of centroids (a mean and a
+ * weight). Centroids near the tails hold few values and centroids near the
+ * median hold many: the size of a centroid is limited both by the arcsine
+ * scale function k<sub>1</sub>(q) = &delta; / (2&pi;) asin(2q - 1) and
+ * by the logarithmic scale function k<sub>2</sub>(q) = &delta; / Z(n) log(q / (1 - q)),
+ * where &delta; is the <em>compression</em> and Z(n) = 4 log(n / &delta;) + 24
+ * a normalizer. The estimation error is therefore very small for extreme
+ * percentiles and roughly proportional to 1 / &delta; in the center of the
+ * distribution. Memory consumption is about 10 &delta; doubles, regardless
+ * of the number of values; the default compression of 100 gives percentiles
+ * typically accurate to better than 0.2% in rank, and much better in the tails.
+ * </p>
+ * <p>
+ * Incoming values are appended to a buffer, which is sorted and merged
+ * into the centroids when it is full, so {@link #increment(double)} runs in
+ * amortized O(log &delta;) time. The getters do not modify the estimator:
+ * when values are still buffered, they are merged into a temporary copy.
+ * </p>
+ * <p>
+ * Instances computed on separate parts of a data set (for example by
+ * separate threads or nodes) can be combined with {@link
+ * #merge(TDigestPercentile)}. This class can be used as the {@link
+ * org.apache.commons.math3.stat.descriptive.SummaryStatistics#setPercentileImpl(
+ * org.apache.commons.math3.stat.descriptive.StorelessUnivariateStatistic)
+ * percentile implementation} of {@code SummaryStatistics}.
+ * </p>
+ * <p>
+ * NaN values are ignored. The minimum and maximum are tracked exactly.
+ * </p>
+ * <p>
+ * <strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the <code>increment()</code>, <code>clear()</code>
+ * or <code>merge()</code> method, it must be synchronized externally.</p>
+ *
+ * @see <a href="https://arxiv.org/abs/1902.04023">T. Dunning, O. Ertl,
+ * Computing Extremely Accurate Quantiles Using t-Digests</a>
+ * @see Percentile
+ * @version $Id$
+ * @since 3.3
+ */
+public class TDigestPercentile extends AbstractStorelessUnivariateStatistic implements Serializable {
+
+    /** Default compression. */
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    /** Minimal compression. */
+    public static final double MIN_COMPRESSION = 10;
+
+    /** Serializable version identifier */
+    private static final long serialVersionUID = 20131018L;
+
+    /** Ratio between the buffer size and the compression. */
+    private static final int BUFFER_RATIO = 5;
+
+    /** Compression. */
+    private double compression;
+
+    /** Percentile returned by {@link #getResult()}. */
+    private double quantile;
+
+    /** Number of values that have been added. */
+    private long n;
+
+    /** Smallest value added. */
+    private double min;
+
+    /** Largest value added. */
+    private double max;
+
+    /** Means of the centroids, in increasing order. */
+    private double[] means;
+
+    /** Weights of the centroids. */
+    private double[] weights;
+
+    /** Number of centroids. */
+    private int size;
+
+    /** Values not yet merged into the centroids. */
+    private double[] buffer;
+
+    /** Number of values in the buffer. */
+    private int buffered;
+
+    /** Unit weights of the buffered values, allocated on first flush. */
+    private transient double[] unitWeights;
+
+    /**
+     * Constructs an estimator of the median with the default compression.
+     */
+    public TDigestPercentile() {
+        this(50.0);
+    }
+
+    /**
+     * Constructs an estimator with the default compression.
+     *
+     * @param p the percentile returned by {@link #getResult()}, in (0, 100]
+     * @throws MathIllegalArgumentException if p is not in the range (0, 100]
+     */
+    public TDigestPercentile(final double p) throws MathIllegalArgumentException {
+        this(p, DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Constructs an estimator.
+     *
+     * @param p the percentile returned by {@link #getResult()}, in (0, 100]
+     * @param compression the compression, larger values give more accurate
+     * estimates at the expense of memory (must be at least {@link #MIN_COMPRESSION})
+     * @throws MathIllegalArgumentException if p is not in the range (0, 100]
+     * or if the compression is too small
+     */
+    public TDigestPercentile(final double p, final double compression)
+        throws MathIllegalArgumentException {
+        if (compression < MIN_COMPRESSION) {
+            throw new NumberIsTooSmallException(compression, MIN_COMPRESSION, true);
+        }
+        setQuantile(p);
+        this.compression = compression;
+        this.means       = new double[0];
+        this.weights     = new double[0];
+        this.buffer      = new double[BUFFER_RATIO * (int) FastMath.ceil(compression)];
+        clear();
+    }
+
+    /**
+     * Copy constructor, creates a new {@code TDigestPercentile} identical
+     * to the {@code original}
+     *
+     * @param original the {@code TDigestPercentile} instance to copy
+     * @throws NullArgumentException if original is null
+     */
+    public TDigestPercentile(final TDigestPercentile original) throws NullArgumentException {
+        copy(original, this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void increment(final double d) {
+        if (Double.isNaN(d)) {
+            return;
+        }
+        if (buffered == buffer.length) {
+            flush();
+        }
+        buffer[buffered++] = d;
+        if (n == 0 || d < min) {
+            min = d;
+        }
+        if (n == 0 || d > max) {
+            max = d;
+        }
+        ++n;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        n        = 0;
+        min      = Double.NaN;
+        max      = Double.NaN;
+        size     = 0;
+        buffered = 0;
+    }
+
+    /**
+     * Returns an estimate of the {@link #getQuantile() configured percentile}.
+     *
+     * @return the estimated percentile, or {@code Double.NaN} if no values have been added
+     */
+    @Override
+    public double getResult() {
+        return getResult(quantile);
+    }
+
+    /**
+     * Returns an estimate of an arbitrary percentile of the values added so far.
+     *
+     * @param p the percentile to estimate, in (0, 100]
+     * @return the estimated percentile, or {@code Double.NaN} if no values have been added
+     * @throws MathIllegalArgumentException if p is not in the range (0, 100]
+     */
+    public double getResult(final double p) throws MathIllegalArgumentException {
+
+        checkQuantile(p);
+        if (n == 0) {
+            return Double.NaN;
+        }
+
+        final TDigestPercentile digest = flushed();
+        final double[] centroidMeans   = digest.means;
+        final double[] centroidWeights = digest.weights;
+        final int centroids            = digest.size;
+        final double index             = p / 100.0 * n;
+
+        // left tail, between the minimum and the first centroid
+        if (index <= 0.5 * centroidWeights[0]) {
+            return interpolate(min, centroidMeans[0], index, 0.5 * centroidWeights[0]);
+        }
+
+        // bulk, between the centers of successive centroids
+        double cumulated = 0.5 * centroidWeights[0];
+        for (int i = 0; i < centroids - 1; ++i) {
+            final double delta = 0.5 * (centroidWeights[i] + centroidWeights[i + 1]);
+            if (index <= cumulated + delta) {
+                return interpolate(centroidMeans[i], centroidMeans[i + 1], index - cumulated, delta);
+            }
+            cumulated += delta;
+        }
+
+        // right tail, between the last centroid and the maximum
+        return interpolate(centroidMeans[centroids - 1], max,
+                           index - cumulated, 0.5 * centroidWeights[centroids - 1]);
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getN() {
+        return n;
+    }
+
+    /**
+     * Returns the percentile returned by {@link #getResult()}.
+     *
+     * @return the percentile, in (0, 100]
+     */
+    public double getQuantile() {
+        return quantile;
+    }
+
+    /**
+     * Sets the percentile returned by {@link #getResult()}.
+     * <p>
+     * The percentile can be changed at any time, without losing the
+     * values added so far.
+     * </p>
+     *
+     * @param p the percentile, in (0, 100]
+     * @throws MathIllegalArgumentException if p is not in the range (0, 100]
+     */
+    public void setQuantile(final double p) throws MathIllegalArgumentException {
+        checkQuantile(p);
+        quantile = p;
+    }
+
+    /**
+     * Returns the compression.
+     *
+     * @return the compression
+     */
+    public double getCompression() {
+        return compression;
+    }
+
+    /**
+     * Returns the number of centroids currently summarizing the values.
+     *
+     * @return the number of centroids
+     */
+    public int getCentroidCount() {
+        return flushed().size;
+    }
+
+    /**
+     * Adds all the values summarized by another estimator to this one.
+     * <p>
+     * After the merge, this instance estimates the percentiles of the union
+     * of both sets of values, with the same accuracy guarantees as if all
+     * the values had been added to it. The other estimator is not modified,
+     * and its compression and configured percentile are ignored.
+     * </p>
+     *
+     * @param other the estimator to merge into this one
+     * @throws NullArgumentException if other is null
+     */
+    public void merge(final TDigestPercentile other) throws NullArgumentException {
+        MathUtils.checkNotNull(other);
+        if (other.n == 0) {
+            return;
+        }
+
+        // work on a flushed copy, so the other estimator is left untouched
+        final TDigestPercentile flushed = other.flushed();
+        flush();
+
+        min = (n == 0) ? flushed.min : FastMath.min(min, flushed.min);
+        max = (n == 0) ? flushed.max : FastMath.max(max, flushed.max);
+        n  += flushed.n;
+        compress(means, weights, size, flushed.means, flushed.weights, flushed.size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TDigestPercentile copy() {
+        // No try-catch or advertised exception because args are non-null
+        return new TDigestPercentile(this);
+    }
+
+    /**
+     * Copies source to dest.
+     * <p>Neither source nor dest can be null.</p>
+     *
+     * @param source TDigestPercentile to copy
+     * @param dest TDigestPercentile to copy to
+     * @throws NullArgumentException if either source or dest is null
+     */
+    public static void copy(final TDigestPercentile source, final TDigestPercentile dest)
+        throws NullArgumentException {
+        MathUtils.checkNotNull(source);
+        MathUtils.checkNotNull(dest);
+        dest.setData(source.getDataRef());
+        dest.compression = source.compression;
+        dest.quantile = source.quantile;
+        dest.n        = source.n;
+        dest.min      = source.min;
+        dest.max      = source.max;
+        dest.means    = source.means.clone();
+        dest.weights  = source.weights.clone();
+        dest.size     = source.size;
+        dest.buffer   = source.buffer.clone();
+        dest.buffered = source.buffered;
+        // the unit weights are never modified, they can be shared
+        dest.unitWeights = source.unitWeights;
+    }
+
+    /**
+     * Checks a percentile value.
+     *
+     * @param p the percentile to check
+     * @throws OutOfRangeException if p is not in the range (0, 100]
+     */
+    private static void checkQuantile(final double p) throws OutOfRangeException {
+        if (p <= 0 || p > 100) {
+            throw new OutOfRangeException(LocalizedFormats.OUT_OF_BOUNDS_QUANTILE_VALUE, p, 0, 100);
+        }
+    }
+
+    /**
+     * Linear interpolation.
+     *
+     * @param x0 value at the start of the interval
+     * @param x1 value at the end of the interval
+     * @param offset offset of the interpolation point from the start of the interval
+     * @param length length of the interval
+     * @return interpolated value
+     */
+    private static double interpolate(final double x0, final double x1,
+                                      final double offset, final double length) {
+        final double t = offset / length;
+        if (x0 == x1 || t <= 0) {
+            return x0;
+        } else if (t >= 1) {
+            return x1;
+        }
+        return x0 + t * (x1 - x0);
+    }
+
+    /**
+     * Returns an instance without buffered values summarizing the same values.
+     *
+     * @return this instance if no values are buffered, a flushed copy otherwise
+     */
+    private TDigestPercentile flushed() {
+        if (buffered == 0) {
+            return this;
+        }
+        final TDigestPercentile copy = new TDigestPercentile(this);
+        copy.flush();
+        return copy;
+    }
+
+    /**
+     * Merges the buffered values into the centroids.
+     */
+    private void flush() {
+        if (buffered == 0) {
+            return;
+        }
+        if (unitWeights == null || unitWeights.length != buffer.length) {
+            unitWeights = new double[buffer.length];
+            Arrays.fill(unitWeights, 1.0);
+        }
+        Arrays.sort(buffer, 0, buffered);
+        compress(means, weights, size, buffer, unitWeights, buffered);
+        buffered = 0;
+    }
+
+    /**
+     * Merges two sorted lists of centroids and compresses the result into
+     * the centroids of this instance.
+     *
+     * @param means1 means of the first list
+     * @param weights1 weights of the first list
+     * @param size1 size of the first list
+     * @param means2 means of the second list
+     * @param weights2 weights of the second list
+     * @param size2 size of the second list
+     */
+    private void compress(final double[] means1, final double[] weights1, final int size1,
+                          final double[] means2, final double[] weights2, final int size2) {
+
+        double total = 0;
+        for (int i = 0; i < size1; ++i) {
+            total += weights1[i];
+        }
+        for (int i = 0; i < size2; ++i) {
+            total += weights2[i];
+        }
+
+        final double[] newMeans   = new double[size1 + size2];
+        final double[] newWeights = new double[size1 + size2];
+        int newSize = 0;
+
+        double cumulated = 0;    // weight of the completed centroids
+        double limit     = 0;    // maximal cumulated weight at the end of the current centroid
+        int i1 = 0;
+        int i2 = 0;
+        while (i1 < size1 || i2 < size2) {
+
+            // pick the smallest head of the two lists
+            final double m;
+            final double w;
+            if (i2 >= size2 || (i1 < size1 && means1[i1] <= means2[i2])) {
+                m = means1[i1];
+                w = weights1[i1++];
+            } else {
+                m = means2[i2];
+                w = weights2[i2++];
+            }
+
+            if (newSize > 0 && cumulated + newWeights[newSize - 1] + w <= limit) {
+                // absorb the item into the current centroid
+                final int last = newSize - 1;
+                newWeights[last] += w;
+                newMeans[last]   += w * (m - newMeans[last]) / newWeights[last];
+            } else {
+                // start a new centroid
+                if (newSize > 0) {
+                    cumulated += newWeights[newSize - 1];
+                }
+                newMeans[newSize]   = m;
+                newWeights[newSize] = w;
+                ++newSize;
+                limit = total * quantileLimit(cumulated / total, total);
+            }
+
+        }
+
+        means   = newMeans;
+        weights = newWeights;
+        size    = newSize;
+
+    }
+
+    /**
+     * Computes the largest quantile a centroid starting at a given quantile may reach.
+     * <p>
+     * A centroid may span at most one unit of both the arcsine scale function
+     * k<sub>1</sub>(q) = &delta; / (2&pi;) asin(2q - 1), which bounds the
+     * size of the centroids in the bulk of the distribution, and the
+     * logarithmic scale function k<sub>2</sub>(q) = &delta; / Z(n) log(q / (1 - q)),
+     * which bounds it in the tails.
+     * </p>
+     *
+     * @param q quantile at the start of the centroid, in [0, 1]
+     * @param total total weight
+     * @return largest quantile at the end of the centroid
+     */
+    private double quantileLimit(final double q, final double total) {
+
+        // arcsine scale function
+        final double k1 = compression / (2 * FastMath.PI) * FastMath.asin(2 * FastMath.min(1.0, q) - 1) + 1;
+        final double q1 = (k1 >= 0.25 * compression) ?
+                          1.0 : 0.5 * (FastMath.sin(k1 * 2 * FastMath.PI / compression) + 1);
+
+        // logarithmic scale function
+        final double z  = (4 * FastMath.log(FastMath.max(1.0, total / compression)) + 24) / compression;
+        final double k2 = FastMath.log(q / (1 - q)) / z + 1;
+        final double q2 = 1 / (1 + FastMath.exp(-k2 * z));
+
+        return FastMath.min(q1, q2);
+
+    }
+
+}
@@ -103,6 +103,19 @@ public class Sum extends AbstractStorelessUnivariateStatistic implements Seriali
         n = 0;
     }
 
+    /**
+     * Adds the sum of the values accumulated by another instance to this one.
+     *
+     * @param other the instance to merge into this one
+     * @throws NullArgumentException if other is null
+     * @since 3.3
+     */
+    public void merge(final Sum other) throws NullArgumentException {
+        MathUtils.checkNotNull(other);
+        value += other.value;
+        n     += other.n;
+    }
+
     /**
      * The sum of the entries in the specified portion of
      * the input array, or 0 if the designated subarray
@@ -102,6 +102,19 @@ public class SumOfSquares extends AbstractStorelessUnivariateStatistic implement
         n = 0;
     }
 
+    /**
+     * Adds the sum of the squares of the values accumulated by another instance to this one.
+     *
+     * @param other the instance to merge into this one
+     * @throws NullArgumentException if other is null
+     * @since 3.3
+     */
+    public void merge(final SumOfSquares other) throws NullArgumentException {
+        MathUtils.checkNotNull(other);
+        value += other.value;
+        n     += other.n;
+    }
+
     /**
      * Returns the sum of the squares of the entries in the specified portion of
      * the input array, or <code>Double.NaN</code> if the designated subarray
@@ -0,0 +1,680 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.inference;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.distribution.KolmogorovSmirnovDistribution;
+import org.apache.commons.math3.distribution.RealDistribution;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.exception.TooManyIterationsException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.fraction.FractionConversionException;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+
+/**
+ * Implementation of the <a href="http://en.wikipedia.org/wiki/Kolmogorov-Smirnov_test">
+ * Kolmogorov-Smirnov (K-S) test</a> for equality of continuous distributions.
+ * <p>
+ * The K-S test uses a statistic based on the maximum deviation of the empirical distribution of
+ * sample data points from the distribution expected under the null hypothesis. For one-sample tests
+ * evaluating the null hypothesis that a set of sample data points follow a given distribution, the
+ * test statistic is <i>D<sub>n</sub> = sup<sub>x</sub> |F<sub>n</sub>(x)-F(x)|</i>, where <i>F</i>
+ * is the expected distribution and <i>F<sub>n</sub></i> is the empirical distribution of the
+ * <i>n</i> sample data points. The two-sample statistic is <i>D<sub>n,m</sub> = sup<sub>x</sub>
+ * |F<sub>n</sub>(x)-F<sub>m</sub>(x)|</i>, where <i>F<sub>n</sub></i> and <i>F<sub>m</sub></i> are
+ * the empirical distributions of the two samples.
+ * </p>
+ * <p>
+ * The distribution of <i>D<sub>n</sub></i> is evaluated with a method depending on the sample size,
+ * following the choices of [2]:
+ * <ul>
+ * <li>for small samples, or for large samples and small statistics, the method of [1], with the
+ * matrix power computed in double precision (see {@link
+ * KolmogorovSmirnovDistribution#cdf(double)}),
+ * </li>
+ * <li>otherwise, the Pelz-Good asymptotic expansion [3], whose absolute error decreases as
+ * <i>1/n<sup>2</sup></i>, from a few <i>10<sup>-6</sup></i> for <i>n = 140</i> to about
+ * <i>10<sup>-10</sup></i> for <i>n = 20000</i>.
+ * </li>
+ * </ul>
+ * The exact evaluation using {@link org.apache.commons.math3.fraction.BigFraction} can be
+ * requested, but it is very slow for large samples.
+ * </p>
+ * <p>
+ * The two-sample p-values are computed exactly, by counting the lattice paths of the merged
+ * samples, when the product of the sample sizes is less than {@link #LARGE_SAMPLE_PRODUCT}.
+ * Otherwise, they are computed from the asymptotic Kolmogorov distribution of
+ * <i>sqrt(mn/(m+n))D<sub>n,m</sub></i>.
+ * </p>
+ * <p>
+ * References:
+ * <ul>
+ * <li>[1] <a href="http://www.jstatsoft.org/v08/i18/"> Evaluating Kolmogorov's Distribution</a> by
+ * George Marsaglia, Wai Wan Tsang, and Jingbo Wang</li>
+ * <li>[2] <a href="http://www.jstatsoft.org/v39/i11/"> Computing the Two-Sided Kolmogorov-Smirnov
+ * Distribution</a> by Richard Simard and Pierre L'Ecuyer</li>
+ * <li>[3] Pelz W. and Good I. J., <i>Approximating the Lower Tail-areas of the Kolmogorov-Smirnov
+ * One-sample Statistic</i>, Journal of the Royal Statistical Society B 38 (1976), 152-156</li>
+ * </ul>
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+public class KolmogorovSmirnovTest {
+
+    /**
+     * Bound on the number of partial sums in {@link #ksSum(double, double, int)}.
+     */
+    protected static final int MAXIMUM_PARTIAL_SUM_COUNT = 100000;
+
+    /** Convergence criterion for {@link #ksSum(double, double, int)}. */
+    protected static final double KS_SUM_CAUCHY_CRITERION = 1E-20;
+
+    /** Convergence criterion for the sums in {@link #pelzGood(double, int)}. */
+    protected static final double PG_SUM_RELATIVE_ERROR = 1.0e-10;
+
+    /**
+     * When product of sample sizes is less than this value, 2-sample K-S test is exact.
+     */
+    protected static final int LARGE_SAMPLE_PRODUCT = 10000;
+
+    /** Largest sample size for which the method of [1] is always used. */
+    private static final int SMALL_SAMPLE = 140;
+
+    /** Largest sample size for which the method of [1] may be used. */
+    private static final int MEDIUM_SAMPLE = 100000;
+
+    /** Square of pi. */
+    private static final double PI_SQUARED = FastMath.PI * FastMath.PI;
+
+    /**
+     * Computes the one-sample Kolmogorov-Smirnov test statistic, <i>D<sub>n</sub> = sup<sub>x</sub>
+     * |F<sub>n</sub>(x)-F(x)|</i> where <i>F</i> is the distribution (cdf) function associated with
+     * {@code distribution}, <i>n</i> is the length of {@code data} and <i>F<sub>n</sub></i> is the
+     * empirical distribution that puts mass <i>1/n</i> at each of the values in {@code data}.
+     *
+     * @param distribution reference distribution
+     * @param data sample being evaluated
+     * @return Kolmogorov-Smirnov statistic <i>D<sub>n</sub></i>
+     * @throws NumberIsTooSmallException if {@code data} does not have length at least 2
+     * @throws NullArgumentException if {@code data} is null
+     */
+    public double kolmogorovSmirnovStatistic(RealDistribution distribution, double[] data)
+        throws NumberIsTooSmallException, NullArgumentException {
+        checkArray(data);
+        final int n = data.length;
+        final double nd = n;
+        final double[] dataCopy = MathArrays.copyOf(data, n);
+        Arrays.sort(dataCopy);
+        double d = 0d;
+        for (int i = 1; i <= n; i++) {
+            final double yi = distribution.cumulativeProbability(dataCopy[i - 1]);
+            final double currD = FastMath.max(yi - (i - 1) / nd, i / nd - yi);
+            if (currD > d) {
+                d = currD;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Computes the <i>p-value</i>, or <i>observed significance level</i>, of a one-sample <a
+     * href="http://en.wikipedia.org/wiki/Kolmogorov-Smirnov_test"> Kolmogorov-Smirnov test</a>
+     * evaluating the null hypothesis that {@code data} conforms to {@code distribution}.
+     *
+     * @param distribution reference distribution
+     * @param data sample being being evaluated
+     * @return the p-value associated with the null hypothesis that {@code data} is a sample from
+     *         {@code distribution}
+     * @throws NumberIsTooSmallException if {@code data} does not have length at least 2
+     * @throws NullArgumentException if {@code data} is null
+     */
+    public double kolmogorovSmirnovTest(RealDistribution distribution, double[] data)
+        throws NumberIsTooSmallException, NullArgumentException {
+        return kolmogorovSmirnovTest(distribution, data, false);
+    }
+
+    /**
+     * Computes the <i>p-value</i>, or <i>observed significance level</i>, of a one-sample <a
+     * href="http://en.wikipedia.org/wiki/Kolmogorov-Smirnov_test"> Kolmogorov-Smirnov test</a>
+     * evaluating the null hypothesis that {@code data} conforms to {@code distribution}. If {@code
+     * exact} is true, the distribution used to compute the p-value is computed using extended
+     * precision. See {@link #cdfExact(double, int)}.
+     *
+     * @param distribution reference distribution
+     * @param data sample being being evaluated
+     * @param exact whether or not to force exact computation of the p-value
+     * @return the p-value associated with the null hypothesis that {@code data} is a sample from
+     *         {@code distribution}
+     * @throws NumberIsTooSmallException if {@code data} does not have length at least 2
+     * @throws NullArgumentException if {@code data} is null
+     */
+    public double kolmogorovSmirnovTest(RealDistribution distribution, double[] data, boolean exact)
+        throws NumberIsTooSmallException, NullArgumentException {
+        return 1d - cdf(kolmogorovSmirnovStatistic(distribution, data), data.length, exact);
+    }
+
+    /**
+     * Performs a <a href="http://en.wikipedia.org/wiki/Kolmogorov-Smirnov_test"> Kolmogorov-Smirnov
+     * test</a> evaluating the null hypothesis that {@code data} conforms to {@code distribution}.
+     *
+     * @param distribution reference distribution
+     * @param data sample being being evaluated
+     * @param alpha significance level of the test
+     * @return true iff the null hypothesis that {@code data} is a sample from {@code distribution}
+     *         can be rejected with confidence 1 - {@code alpha}
+     * @throws NumberIsTooSmallException if {@code data} does not have length at least 2
+     * @throws NullArgumentException if {@code data} is null
+     * @throws OutOfRangeException if {@code alpha} is not in the range (0, 0.5]
+     */
+    public boolean kolmogorovSmirnovTest(RealDistribution distribution, double[] data, double alpha)
+        throws NumberIsTooSmallException, NullArgumentException, OutOfRangeException {
+        checkAlpha(alpha);
+        return kolmogorovSmirnovTest(distribution, data) < alpha;
+    }
+
+    /**
+     * Computes the two-sample Kolmogorov-Smirnov test statistic, <i>D<sub>n,m</sub> =
+     * sup<sub>x</sub> |F<sub>n</sub>(x)-F<sub>m</sub>(x)|</i> where <i>n</i> is the length of
+     * {@code x}, <i>m</i> is the length of {@code y}, <i>F<sub>n</sub></i> is the empirical
+     * distribution that puts mass <i>1/n</i> at each of the values in {@code x} and
+     * <i>F<sub>m</sub></i> is the empirical distribution of the {@code y} values.
+     *
+     * @param x first sample
+     * @param y second sample
+     * @return test statistic <i>D<sub>n,m</sub></i> used to evaluate the null hypothesis that
+     *         {@code x} and {@code y} represent samples from the same underlying distribution
+     * @throws NumberIsTooSmallException if either {@code x} or {@code y} does not have length at
+     *         least 2
+     * @throws NullArgumentException if either {@code x} or {@code y} is null
+     */
+    public double kolmogorovSmirnovStatistic(double[] x, double[] y)
+        throws NumberIsTooSmallException, NullArgumentException {
+        checkArray(x);
+        checkArray(y);
+        final double[] sx = MathArrays.copyOf(x, x.length);
+        final double[] sy = MathArrays.copyOf(y, y.length);
+        Arrays.sort(sx);
+        Arrays.sort(sy);
+        final double n = sx.length;
+        final double m = sy.length;
+
+        // walk through the merged samples, comparing the empirical
+        // distributions only after all the ties have been consumed
+        int i = 0;
+        int j = 0;
+        double d = 0;
+        while (i < sx.length && j < sy.length) {
+            final double z = FastMath.min(sx[i], sy[j]);
+            while (i < sx.length && sx[i] == z) {
+                ++i;
+            }
+            while (j < sy.length && sy[j] == z) {
+                ++j;
+            }
+            final double curD = FastMath.abs(i / n - j / m);
+            if (curD > d) {
+                d = curD;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Computes the <i>p-value</i>, or <i>observed significance level</i>, of a two-sample <a
+     * href="http://en.wikipedia.org/wiki/Kolmogorov-Smirnov_test"> Kolmogorov-Smirnov test</a>
+     * evaluating the null hypothesis that {@code x} and {@code y} are samples drawn from the same
+     * probability distribution. Assumes the non-strict form of the inequality used to compute the
+     * p-value, i.e. the probability that a random partition gives a statistic at least as large
+     * as the observed one. See {@link #kolmogorovSmirnovTest(double[], double[], boolean)}.
+     *
+     * @param x first sample dataset
+     * @param y second sample dataset
+     * @return p-value associated with the null hypothesis that {@code x} and {@code y} represent
+     *         samples from the same distribution
+     * @throws NumberIsTooSmallException if either {@code x} or {@code y} does not have length at
+     *         least 2
+     * @throws NullArgumentException if either {@code x} or {@code y} is null
+     */
+    public double kolmogorovSmirnovTest(double[] x, double[] y)
+        throws NumberIsTooSmallException, NullArgumentException {
+        return kolmogorovSmirnovTest(x, y, false);
+    }
+
+    /**
+     * Computes the <i>p-value</i>, or <i>observed significance level</i>, of a two-sample <a
+     * href="http://en.wikipedia.org/wiki/Kolmogorov-Smirnov_test"> Kolmogorov-Smirnov test</a>
+     * evaluating the null hypothesis that {@code x} and {@code y} are samples drawn from the same
+     * probability distribution. Specifically, what is returned is an estimate of the probability
+     * that the {@link #kolmogorovSmirnovStatistic(double[], double[])} associated with a randomly
+     * selected partition of the combined sample into subsamples of sizes {@code x.length} and
+     * {@code y.length} will strictly exceed (if {@code strict} is {@code true}) or be at least as
+     * large as {@code strict = false}) as {@code kolmogorovSmirnovStatistic(x, y)}.
+     * <ul>
+     * <li>For small samples (where the product of the sample sizes is less than {@link
+     * #LARGE_SAMPLE_PRODUCT}), the exact p-value is computed using the method presented in [4],
+     * implemented in {@link #exactP(double, int, int, boolean)}.</li>
+     * <li>When the product of the sample sizes exceeds {@link #LARGE_SAMPLE_PRODUCT}, the
+     * asymptotic distribution of <i>D<sub>n,m</sub></i> is used. See {@link #approximateP(double,
+     * int, int)} for details on the approximation.</li>
+     * </ul>
+     * </p>
+     * <p>
+     * [4] Hodges, J. L., <i>The significance probability of the Smirnov two-sample test</i>, Arkiv
+     * f&ouml;r Matematik 3 (1958), 469-486.
+     * </p>
+     *
+     * @param x first sample dataset
+     * @param y second sample dataset
+     * @param strict whether or not the probability to compute is expressed as a strict inequality
+     *         (ignored for large samples)
+     * @return p-value associated with the null hypothesis that {@code x} and {@code y} represent
+     *         samples from the same distribution
+     * @throws NumberIsTooSmallException if either {@code x} or {@code y} does not have length at
+     *         least 2
+     * @throws NullArgumentException if either {@code x} or {@code y} is null
+     */
+    public double kolmogorovSmirnovTest(double[] x, double[] y, boolean strict)
+        throws NumberIsTooSmallException, NullArgumentException {
+        final double d = kolmogorovSmirnovStatistic(x, y);
+        if ((long) x.length * (long) y.length < LARGE_SAMPLE_PRODUCT) {
+            return exactP(d, x.length, y.length, strict);
+        }
+        return approximateP(d, x.length, y.length);
+    }
+
+    /**
+     * Performs a two-sample <a href="http://en.wikipedia.org/wiki/Kolmogorov-Smirnov_test">
+     * Kolmogorov-Smirnov test</a> evaluating the null hypothesis that {@code x} and {@code y} are
+     * samples drawn from the same probability distribution.
+     *
+     * @param x first sample dataset
+     * @param y second sample dataset
+     * @param alpha significance level of the test
+     * @return true iff the null hypothesis that {@code x} and {@code y} are samples from the same
+     *         distribution can be rejected with confidence 1 - {@code alpha}
+     * @throws NumberIsTooSmallException if either {@code x} or {@code y} does not have length at
+     *         least 2
+     * @throws NullArgumentException if either {@code x} or {@code y} is null
+     * @throws OutOfRangeException if {@code alpha} is not in the range (0, 0.5]
+     */
+    public boolean kolmogorovSmirnovTest(double[] x, double[] y, double alpha)
+        throws NumberIsTooSmallException, NullArgumentException, OutOfRangeException {
+        checkAlpha(alpha);
+        return kolmogorovSmirnovTest(x, y) < alpha;
+    }
+
+    /**
+     * Calculates <i>P(D<sub>n</sub> &lt; d)</i> using the method described in [1] for small samples
+     * or small statistics, and the Pelz-Good expansion [3] otherwise, as recommended in [2].
+     *
+     * @param d statistic
+     * @param n sample size
+     * @return <i>P(D<sub>n</sub> &lt; d)</i>
+     * @throws NotStrictlyPositiveException if {@code n <= 0}
+     * @throws NumberIsTooLargeException if fractional part of {@code n d} is greater than 1
+     * @throws TooManyIterationsException if the Pelz-Good series does not converge
+     */
+    public double cdf(double d, int n)
+        throws NotStrictlyPositiveException, NumberIsTooLargeException, TooManyIterationsException {
+        return cdf(d, n, false);
+    }
+
+    /**
+     * Calculates {@code P(D_n < d)}. The result is exact in the sense that BigFraction/BigReal is
+     * used everywhere at the expense of very slow execution time. Almost never choose this in real
+     * applications unless you are very sure; this is almost solely for verification purposes.
+     * Normally, you would choose {@link #cdf(double, int)}. See the class javadoc for definitions
+     * and algorithm description.
+     *
+     * @param d statistic
+     * @param n sample size
+     * @return <i>P(D<sub>n</sub> &lt; d)</i>
+     * @throws NotStrictlyPositiveException if {@code n <= 0}
+     * @throws NumberIsTooLargeException if fractional part of {@code n d} is greater than 1
+     * @throws FractionConversionException if the algorithm fails to convert {@code h} to a {@link
+     *         org.apache.commons.math3.fraction.BigFraction} in expressing {@code d} as <i>(k - h)
+     *         / m</i> for integer {@code k, m} and <i>0 &le; h &lt; 1</i>
+     */
+    public double cdfExact(double d, int n)
+        throws NotStrictlyPositiveException, NumberIsTooLargeException, FractionConversionException {
+        return cdf(d, n, true);
+    }
+
+    /**
+     * Calculates {@code P(D_n < d)}.
+     *
+     * @param d statistic
+     * @param n sample size
+     * @param exact whether the probability should be calculated exact using {@link
+     *         org.apache.commons.math3.fraction.BigFraction} everywhere at the expense of very slow
+     *         execution time, or if {@code double} should be used convenient places to gain speed
+     * @return <i>P(D<sub>n</sub> &lt; d)</i>
+     * @throws NotStrictlyPositiveException if {@code n <= 0}
+     * @throws NumberIsTooLargeException if fractional part of {@code n d} is greater than 1
+     * @throws FractionConversionException if {@code exact} is {@code true} and the algorithm fails
+     *         to convert {@code h} to a {@link org.apache.commons.math3.fraction.BigFraction} in
+     *         expressing {@code d} as <i>(k - h) / m</i> for integer {@code k, m} and
+     *         <i>0 &le; h &lt; 1</i>
+     * @throws TooManyIterationsException if {@code exact} is {@code false} and the Pelz-Good
+     *         series does not converge
+     */
+    public double cdf(double d, int n, boolean exact)
+        throws NotStrictlyPositiveException, NumberIsTooLargeException,
+               FractionConversionException, TooManyIterationsException {
+
+        final KolmogorovSmirnovDistribution distribution = new KolmogorovSmirnovDistribution(n);
+        if (exact) {
+            return distribution.cdfExact(d);
+        }
+
+        final double ninv = 1 / ((double) n);
+        if (d <= ninv || d >= 1 - ninv) {
+            // the closed forms of the distribution are used
+            return distribution.cdf(d, false);
+        }
+
+        if (n * d * d >= 18) {
+            // the complement is below 1e-16
+            return 1;
+        }
+
+        if (n <= SMALL_SAMPLE || (n <= MEDIUM_SAMPLE && n * d * FastMath.sqrt(d) < 1.4)) {
+            return distribution.cdf(d, false);
+        }
+        return pelzGood(d, n);
+
+    }
+
+    /**
+     * Computes the Pelz-Good approximation for <i>P(D<sub>n</sub> &lt; d)</i> as described in [2]
+     * in the class javadoc.
+     *
+     * @param d value of d-statistic (x in [2])
+     * @param n sample size
+     * @return <i>P(D<sub>n</sub> &lt; d)</i>
+     * @throws TooManyIterationsException if one of the series does not converge
+     */
+    public double pelzGood(double d, int n) throws TooManyIterationsException {
+
+        // change the variable since approximation is for the distribution evaluated at d / sqrt(n)
+        final double sqrtN = FastMath.sqrt(n);
+        final double z = d * sqrtN;
+        final double z2 = d * d * n;
+        final double z4 = z2 * z2;
+        final double z6 = z4 * z2;
+        final double z8 = z4 * z4;
+
+        // eventual return value
+        double ret = 0;
+
+        // compute K_0(z)
+        double sum = 0;
+        double increment = 0;
+        double kTerm = 0;
+        double z2Term = PI_SQUARED / (8 * z2);
+        int k = 1;
+        for (; k < MAXIMUM_PARTIAL_SUM_COUNT; k++) {
+            kTerm = 2 * k - 1;
+            increment = FastMath.exp(-z2Term * kTerm * kTerm);
+            sum += increment;
+            if (increment <= PG_SUM_RELATIVE_ERROR * sum) {
+                break;
+            }
+        }
+        if (k == MAXIMUM_PARTIAL_SUM_COUNT) {
+            throw new TooManyIterationsException(MAXIMUM_PARTIAL_SUM_COUNT);
+        }
+        ret = sum * FastMath.sqrt(2 * FastMath.PI) / z;
+
+        // K_1(z)
+        // Sum is -inf to inf, but k term is always (k + 1/2) ^ 2, so really have
+        // twice the sum from k = 0 to inf (k = -1 is same as 0, -2 same as 1, ...)
+        final double twoZ2 = 2 * z2;
+        sum = 0;
+        kTerm = 0;
+        double kTerm2 = 0;
+        for (k = 0; k < MAXIMUM_PARTIAL_SUM_COUNT; k++) {
+            kTerm = k + 0.5;
+            kTerm2 = kTerm * kTerm;
+            increment = (PI_SQUARED * kTerm2 - z2) * FastMath.exp(-PI_SQUARED * kTerm2 / twoZ2);
+            sum += increment;
+            if (FastMath.abs(increment) < PG_SUM_RELATIVE_ERROR * FastMath.abs(sum)) {
+                break;
+            }
+        }
+        if (k == MAXIMUM_PARTIAL_SUM_COUNT) {
+            throw new TooManyIterationsException(MAXIMUM_PARTIAL_SUM_COUNT);
+        }
+        final double sqrtHalfPi = FastMath.sqrt(FastMath.PI / 2);
+        // Instead of doubling sum, divide by 3 instead of 6
+        ret += sum * sqrtHalfPi / (3 * z4 * sqrtN);
+
+        // K_2(z)
+        // Same drill as K_1, but with two doubly infinite sums, all k terms are even powers.
+        final double z4Term = 2 * z4;
+        final double z6Term = 6 * z6;
+        z2Term = 5 * z2;
+        final double pi4 = PI_SQUARED * PI_SQUARED;
+        sum = 0;
+        kTerm = 0;
+        kTerm2 = 0;
+        for (k = 0; k < MAXIMUM_PARTIAL_SUM_COUNT; k++) {
+            kTerm = k + 0.5;
+            kTerm2 = kTerm * kTerm;
+            increment =  (z6Term + z4Term + PI_SQUARED * (z4Term - z2Term) * kTerm2 +
+                    pi4 * (1 - twoZ2) * kTerm2 * kTerm2) * FastMath.exp(-PI_SQUARED * kTerm2 / twoZ2);
+            sum += increment;
+            if (FastMath.abs(increment) < PG_SUM_RELATIVE_ERROR * FastMath.abs(sum)) {
+                break;
+            }
+        }
+        if (k == MAXIMUM_PARTIAL_SUM_COUNT) {
+            throw new TooManyIterationsException(MAXIMUM_PARTIAL_SUM_COUNT);
+        }
+        double sum2 = 0;
+        kTerm2 = 0;
+        for (k = 1; k < MAXIMUM_PARTIAL_SUM_COUNT; k++) {
+            kTerm2 = k * k;
+            increment = PI_SQUARED * kTerm2 * FastMath.exp(-PI_SQUARED * kTerm2 / twoZ2);
+            sum2 += increment;
+            if (FastMath.abs(increment) < PG_SUM_RELATIVE_ERROR * FastMath.abs(sum2)) {
+                break;
+            }
+        }
+        if (k == MAXIMUM_PARTIAL_SUM_COUNT) {
+            throw new TooManyIterationsException(MAXIMUM_PARTIAL_SUM_COUNT);
+        }
+        // Again, adjust coefficients instead of doubling sum, sum2
+        ret += (sqrtHalfPi / n) * (sum / (36 * z2 * z2 * z2 * z) - sum2 / (18 * z2 * z));
+
+        // K_3(z) One more time with feeling - two doubly infinite sums, all k powers even.
+        // Multiply coefficient denominators by 2, so omit doubling sums.
+        final double pi6 = pi4 * PI_SQUARED;
+        sum = 0;
+        double kTerm4 = 0;
+        double kTerm6 = 0;
+        for (k = 0; k < MAXIMUM_PARTIAL_SUM_COUNT; k++) {
+            kTerm = k + 0.5;
+            kTerm2 = kTerm * kTerm;
+            kTerm4 = kTerm2 * kTerm2;
+            kTerm6 = kTerm4 * kTerm2;
+            increment = (pi6 * kTerm6 * (5 - 30 * z2) + pi4 * kTerm4 * (-60 * z2 + 212 * z4) +
+                    PI_SQUARED * kTerm2 * (135 * z4 - 96 * z6) - 30 * z6 - 90 * z8) *
+                    FastMath.exp(-PI_SQUARED * kTerm2 / twoZ2);
+            sum += increment;
+            if (FastMath.abs(increment) < PG_SUM_RELATIVE_ERROR * FastMath.abs(sum)) {
+                break;
+            }
+        }
+        if (k == MAXIMUM_PARTIAL_SUM_COUNT) {
+            throw new TooManyIterationsException(MAXIMUM_PARTIAL_SUM_COUNT);
+        }
+        sum2 = 0;
+        for (k = 1; k < MAXIMUM_PARTIAL_SUM_COUNT; k++) {
+            kTerm2 = k * k;
+            kTerm4 = kTerm2 * kTerm2;
+            increment = (-pi4 * kTerm4 + 3 * PI_SQUARED * kTerm2 * z2) *
+                    FastMath.exp(-PI_SQUARED * kTerm2 / twoZ2);
+            sum2 += increment;
+            if (FastMath.abs(increment) < PG_SUM_RELATIVE_ERROR * FastMath.abs(sum2)) {
+                break;
+            }
+        }
+        if (k == MAXIMUM_PARTIAL_SUM_COUNT) {
+            throw new TooManyIterationsException(MAXIMUM_PARTIAL_SUM_COUNT);
+        }
+        return ret + (sqrtHalfPi / (sqrtN * n)) * (sum / (3240 * z6 * z4) +
+                sum2 / (108 * z6));
+
+    }
+
+    /**
+     * Computes <i>1 + 2 &sum;<sub>i=1..&infin;</sub> (-1)<sup>i</sup> e<sup>-2 i<sup>2</sup>
+     * t<sup>2</sup></sup></i> stopping when successive partial sums are within {@code tolerance} of
+     * one another, or when {@code maxIterations} partial sums have been computed. If the sum does
+     * not converge before {@code maxIterations} iterations a {@link TooManyIterationsException} is
+     * thrown.
+     *
+     * @param t argument
+     * @param tolerance Cauchy criterion for partial sums
+     * @param maxIterations maximum number of partial sums to compute
+     * @return Kolmogorov sum evaluated at t
+     * @throws TooManyIterationsException if the series does not converge
+     */
+    public double ksSum(double t, double tolerance, int maxIterations)
+        throws TooManyIterationsException {
+        final double x = -2 * t * t;
+        int sign = -1;
+        long i = 1;
+        double partialSum = 0.5d;
+        double delta = 1;
+        while (delta > tolerance && i < maxIterations) {
+            delta = FastMath.exp(x * i * i);
+            partialSum += sign * delta;
+            sign *= -1;
+            i++;
+        }
+        if (i == maxIterations) {
+            throw new TooManyIterationsException(maxIterations);
+        }
+        return partialSum * 2;
+    }
+
+    /**
+     * Computes <i>P(D<sub>n,m</sub> &gt; d)</i> if {@code strict} is {@code true}; otherwise
+     * <i>P(D<sub>n,m</sub> &ge; d)</i>, where <i>D<sub>n,m</sub></i> is the 2-sample
+     * Kolmogorov-Smirnov statistic. See {@link #kolmogorovSmirnovStatistic(double[], double[])} for
+     * the definition of <i>D<sub>n,m</sub></i>.
+     * <p>
+     * The returned probability is exact, computed by counting the monotone lattice paths from
+     * <i>(0,0)</i> to <i>(n,m)</i> that stay within the band <i>|i/n - j/m| &lt; d</i>, the counts
+     * being normalized by the total number of paths along the way so that no overflow can occur.
+     * </p>
+     *
+     * @param d D-statistic value
+     * @param n first sample size
+     * @param m second sample size
+     * @param strict whether or not the probability to compute is expressed as a strict inequality
+     * @return probability that a randomly selected m-n partition of m + n generates
+     *         <i>D<sub>n,m</sub></i> greater than (resp. greater than or equal to) {@code d}
+     */
+    public double exactP(double d, int n, int m, boolean strict) {
+        // the statistic only takes values c / (n m) for integer c, round it to the
+        // mid-point of the right interval so that the comparisons below are safe
+        final double nm = (double) n * (double) m;
+        final double c  = FastMath.floor(d * nm + (strict ? 1.0e-7 : -1.0e-7));
+        final double q  = (c + 0.5) / nm;
+
+        // u[j] is the normalized number of paths reaching (i, j)
+        final double[] u = new double[m + 1];
+        for (int j = 0; j <= m; ++j) {
+            u[j] = ((double) j / m > q) ? 0 : 1;
+        }
+        for (int i = 1; i <= n; ++i) {
+            final double w = (double) i / (i + m);
+            final double xi = (double) i / n;
+            u[0] = (xi > q) ? 0 : w * u[0];
+            for (int j = 1; j <= m; ++j) {
+                u[j] = (FastMath.abs(xi - (double) j / m) > q) ? 0 : w * u[j] + u[j - 1];
+            }
+        }
+        return FastMath.max(0, FastMath.min(1, 1 - u[m]));
+    }
+
+    /**
+     * Uses the Kolmogorov-Smirnov distribution to approximate <i>P(D<sub>n,m</sub> &gt; d)</i>
+     * where <i>D<sub>n,m</sub></i> is the 2-sample Kolmogorov-Smirnov statistic. See {@link
+     * #kolmogorovSmirnovStatistic(double[], double[])} for the definition of
+     * <i>D<sub>n,m</sub></i>.
+     * <p>
+     * Specifically, what is returned is <i>1 - k(d sqrt(mn / (m + n)))</i> where <i>k(t) = 1 + 2
+     * &sum;<sub>i=1..&infin;</sub> (-1)<sup>i</sup> e<sup>-2 i<sup>2</sup> t<sup>2</sup></sup></i>.
+     * See {@link #ksSum(double, double, int)} for details on how convergence of the sum is
+     * determined.
+     * </p>
+     *
+     * @param d D-statistic value
+     * @param n first sample size
+     * @param m second sample size
+     * @return approximate probability that a randomly selected m-n partition of m + n generates
+     *         <i>D<sub>n,m</sub></i> greater than {@code d}
+     */
+    public double approximateP(double d, int n, int m) {
+        final double dm = m;
+        final double dn = n;
+        return 1 - ksSum(d * FastMath.sqrt((dm * dn) / (dm + dn)),
+                         KS_SUM_CAUCHY_CRITERION, MAXIMUM_PARTIAL_SUM_COUNT);
+    }
+
+    /**
+     * Checks a significance level.
+     *
+     * @param alpha significance level
+     * @throws OutOfRangeException if {@code alpha} is not in the range (0, 0.5]
+     */
+    private void checkAlpha(final double alpha) throws OutOfRangeException {
+        if (alpha <= 0 || alpha > 0.5) {
+            throw new OutOfRangeException(LocalizedFormats.SIGNIFICANCE_LEVEL, alpha, 0, 0.5);
+        }
+    }
+
+    /**
+     * Verifies that {@code array} has length at least 2.
+     *
+     * @param array array to test
+     * @throws NullArgumentException if array is null
+     * @throws NumberIsTooSmallException if array is too short
+     */
+    private void checkArray(double[] array) {
+        if (array == null) {
+            throw new NullArgumentException(LocalizedFormats.NULL_NOT_ALLOWED);
+        }
+        if (array.length < 2) {
+            throw new NumberIsTooSmallException(LocalizedFormats.INSUFFICIENT_OBSERVED_POINTS_IN_SAMPLE,
+                                                array.length, 2, true);
+        }
+    }
+
+}
@@ -0,0 +1,522 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.inference;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math3.exception.NoDataException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.random.JumpableRandomGenerator;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Xoroshiro128PlusPlus;
+import org.apache.commons.math3.stat.descriptive.UnivariateStatistic;
+import org.apache.commons.math3.stat.descriptive.rank.Percentile;
+import org.apache.commons.math3.util.ConcurrencyUtils;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Bootstrap and permutation resampling of arbitrary statistics.
+ * <p>
+ * The replicates are computed by blocks of {@link #BLOCK_SIZE}. Each block
+ * uses its own random stream, obtained by {@link JumpableRandomGenerator#jump()
+ * jumping} the generator of the resampler, and its own copy of the statistic
+ * and of the resampling buffer, reused for all the replicates of the block.
+ * The blocks can therefore be computed in parallel by the threads of an
+ * {@link ExecutorService}, without any synchronization and without allocation
+ * per replicate. As the streams are assigned to the blocks and not to the
+ * threads, the replicates only depend on the seed of the generator, and the
+ * sequential and parallel methods give exactly the same results.
+ * </p>
+ * <p>
+ * Each call advances the generator of the resampler, so successive calls
+ * use different streams. Instances of this class are not thread-safe; the
+ * executor service is provided by the caller, who remains in charge of its
+ * life cycle.
+ * </p>
+ *
+ * @see <a href="http://en.wikipedia.org/wiki/Bootstrapping_(statistics)">Bootstrapping (Wikipedia)</a>
+ * @see <a href="http://en.wikipedia.org/wiki/Resampling_(statistics)#Permutation_tests">Permutation tests (Wikipedia)</a>
+ * @version $Id$
+ * @since 3.3
+ */
+public class Resampler {
+
+    /** Number of replicates computed with the same random stream. */
+    public static final int BLOCK_SIZE = 256;
+
+    /** Generator from which the streams of the blocks are jumped. */
+    private final JumpableRandomGenerator generator;
+
+    /**
+     * Creates a resampler using a {@link Xoroshiro128PlusPlus} generator
+     * seeded with the given value.
+     *
+     * @param seed Seed of the generator.
+     */
+    public Resampler(final long seed) {
+        this(new Xoroshiro128PlusPlus(seed));
+    }
+
+    /**
+     * Creates a resampler using the given generator.
+     *
+     * @param generator Generator from which the streams of the blocks are jumped.
+     * @throws NullArgumentException if {@code generator} is {@code null}.
+     */
+    public Resampler(final JumpableRandomGenerator generator)
+        throws NullArgumentException {
+        MathUtils.checkNotNull(generator);
+        this.generator = generator;
+    }
+
+    /**
+     * Computes bootstrap replicates of a statistic.
+     * <p>
+     * Each replicate is the value of the statistic on a sample of the same
+     * size as {@code sample}, drawn from it with replacement.
+     * </p>
+     *
+     * @param sample Original sample.
+     * @param statistic Statistic to replicate.
+     * @param replicates Number of replicates.
+     * @return the replicates of the statistic.
+     * @throws NullArgumentException if {@code sample} or {@code statistic} is {@code null}.
+     * @throws NoDataException if {@code sample} is empty.
+     * @throws NotStrictlyPositiveException if {@code replicates <= 0}.
+     */
+    public double[] bootstrap(final double[] sample, final UnivariateStatistic statistic,
+                              final int replicates)
+        throws NullArgumentException, NoDataException, NotStrictlyPositiveException {
+        return replicate(new Bootstrap(sample, statistic), replicates, null);
+    }
+
+    /**
+     * Computes bootstrap replicates of a statistic in parallel.
+     *
+     * @param sample Original sample.
+     * @param statistic Statistic to replicate.
+     * @param replicates Number of replicates.
+     * @param executor Executor service running the blocks of replicates.
+     * @return the replicates of the statistic, the same as the ones returned by
+     * {@link #bootstrap(double[], UnivariateStatistic, int)} for the same generator state.
+     * @throws NullArgumentException if {@code sample}, {@code statistic} or
+     * {@code executor} is {@code null}.
+     * @throws NoDataException if {@code sample} is empty.
+     * @throws NotStrictlyPositiveException if {@code replicates <= 0}.
+     */
+    public double[] bootstrap(final double[] sample, final UnivariateStatistic statistic,
+                              final int replicates, final ExecutorService executor)
+        throws NullArgumentException, NoDataException, NotStrictlyPositiveException {
+        MathUtils.checkNotNull(executor);
+        return replicate(new Bootstrap(sample, statistic), replicates, executor);
+    }
+
+    /**
+     * Computes a bootstrap percentile confidence interval for a statistic.
+     *
+     * @param sample Original sample.
+     * @param statistic Statistic to estimate.
+     * @param replicates Number of replicates.
+     * @param confidenceLevel Confidence level of the interval.
+     * @return the lower and upper bounds of the interval.
+     * @throws NullArgumentException if {@code sample} or {@code statistic} is {@code null}.
+     * @throws NoDataException if {@code sample} is empty.
+     * @throws NotStrictlyPositiveException if {@code replicates <= 0}.
+     * @throws OutOfRangeException if {@code confidenceLevel} is not in (0, 1).
+     */
+    public double[] bootstrapConfidenceInterval(final double[] sample,
+                                                final UnivariateStatistic statistic,
+                                                final int replicates,
+                                                final double confidenceLevel)
+        throws NullArgumentException, NoDataException,
+               NotStrictlyPositiveException, OutOfRangeException {
+        checkConfidenceLevel(confidenceLevel);
+        return percentileInterval(bootstrap(sample, statistic, replicates), confidenceLevel);
+    }
+
+    /**
+     * Computes a bootstrap percentile confidence interval for a statistic in parallel.
+     *
+     * @param sample Original sample.
+     * @param statistic Statistic to estimate.
+     * @param replicates Number of replicates.
+     * @param confidenceLevel Confidence level of the interval.
+     * @param executor Executor service running the blocks of replicates.
+     * @return the lower and upper bounds of the interval.
+     * @throws NullArgumentException if {@code sample}, {@code statistic} or
+     * {@code executor} is {@code null}.
+     * @throws NoDataException if {@code sample} is empty.
+     * @throws NotStrictlyPositiveException if {@code replicates <= 0}.
+     * @throws OutOfRangeException if {@code confidenceLevel} is not in (0, 1).
+     */
+    public double[] bootstrapConfidenceInterval(final double[] sample,
+                                                final UnivariateStatistic statistic,
+                                                final int replicates,
+                                                final double confidenceLevel,
+                                                final ExecutorService executor)
+        throws NullArgumentException, NoDataException,
+               NotStrictlyPositiveException, OutOfRangeException {
+        checkConfidenceLevel(confidenceLevel);
+        return percentileInterval(bootstrap(sample, statistic, replicates, executor),
+                                  confidenceLevel);
+    }
+
+    /**
+     * Computes permutation replicates of the difference of a statistic
+     * between two samples.
+     * <p>
+     * Each replicate is {@code statistic(x*) - statistic(y*)}, where
+     * {@code x*} and {@code y*} are a random split of the pooled samples
+     * into groups of the sizes of {@code x} and {@code y}.
+     * </p>
+     *
+     * @param x First sample.
+     * @param y Second sample.
+     * @param statistic Statistic to compare.
+     * @param replicates Number of replicates.
+     * @return the replicates of the difference.
+     * @throws NullArgumentException if {@code x}, {@code y} or {@code statistic} is {@code null}.
+     * @throws NoDataException if {@code x} or {@code y} is empty.
+     * @throws NotStrictlyPositiveException if {@code replicates <= 0}.
+     */
+    public double[] permutation(final double[] x, final double[] y,
+                                final UnivariateStatistic statistic, final int replicates)
+        throws NullArgumentException, NoDataException, NotStrictlyPositiveException {
+        return replicate(new Permutation(x, y, statistic), replicates, null);
+    }
+
+    /**
+     * Computes permutation replicates of the difference of a statistic
+     * between two samples in parallel.
+     *
+     * @param x First sample.
+     * @param y Second sample.
+     * @param statistic Statistic to compare.
+     * @param replicates Number of replicates.
+     * @param executor Executor service running the blocks of replicates.
+     * @return the replicates of the difference, the same as the ones returned by
+     * {@link #permutation(double[], double[], UnivariateStatistic, int)} for the
+     * same generator state.
+     * @throws NullArgumentException if {@code x}, {@code y}, {@code statistic} or
+     * {@code executor} is {@code null}.
+     * @throws NoDataException if {@code x} or {@code y} is empty.
+     * @throws NotStrictlyPositiveException if {@code replicates <= 0}.
+     */
+    public double[] permutation(final double[] x, final double[] y,
+                                final UnivariateStatistic statistic, final int replicates,
+                                final ExecutorService executor)
+        throws NullArgumentException, NoDataException, NotStrictlyPositiveException {
+        MathUtils.checkNotNull(executor);
+        return replicate(new Permutation(x, y, statistic), replicates, executor);
+    }
+
+    /**
+     * Computes the two-sided p-value of a permutation test of the
+     * difference of a statistic between two samples.
+     * <p>
+     * The p-value is {@code (1 + k) / (1 + replicates)}, where {@code k} is
+     * the number of permutation replicates whose absolute value is at least
+     * the absolute value of the observed difference. Counting the observed
+     * split among the permutations makes the test exact for any number of
+     * replicates.
+     * </p>
+     *
+     * @param x First sample.
+     * @param y Second sample.
+     * @param statistic Statistic to compare.
+     * @param replicates Number of replicates.
+     * @return the p-value.
+     * @throws NullArgumentException if {@code x}, {@code y} or {@code statistic} is {@code null}.
+     * @throws NoDataException if {@code x} or {@code y} is empty.
+     * @throws NotStrictlyPositiveException if {@code replicates <= 0}.
+     */
+    public double permutationTest(final double[] x, final double[] y,
+                                  final UnivariateStatistic statistic, final int replicates)
+        throws NullArgumentException, NoDataException, NotStrictlyPositiveException {
+        final double[] differences = permutation(x, y, statistic, replicates);
+        return pValue(statistic.evaluate(x) - statistic.evaluate(y), differences);
+    }
+
+    /**
+     * Computes the two-sided p-value of a permutation test of the
+     * difference of a statistic between two samples in parallel.
+     *
+     * @param x First sample.
+     * @param y Second sample.
+     * @param statistic Statistic to compare.
+     * @param replicates Number of replicates.
+     * @param executor Executor service running the blocks of replicates.
+     * @return the p-value.
+     * @throws NullArgumentException if {@code x}, {@code y}, {@code statistic} or
+     * {@code executor} is {@code null}.
+     * @throws NoDataException if {@code x} or {@code y} is empty.
+     * @throws NotStrictlyPositiveException if {@code replicates <= 0}.
+     * @see #permutationTest(double[], double[], UnivariateStatistic, int)
+     */
+    public double permutationTest(final double[] x, final double[] y,
+                                  final UnivariateStatistic statistic, final int replicates,
+                                  final ExecutorService executor)
+        throws NullArgumentException, NoDataException, NotStrictlyPositiveException {
+        final double[] differences = permutation(x, y, statistic, replicates, executor);
+        return pValue(statistic.evaluate(x) - statistic.evaluate(y), differences);
+    }
+
+    /**
+     * Computes replicates by blocks.
+     *
+     * @param resampling Resampling scheme.
+     * @param replicates Number of replicates.
+     * @param executor Executor service running the blocks, null for
+     * sequential computation.
+     * @return the replicates.
+     * @throws NotStrictlyPositiveException if {@code replicates <= 0}.
+     */
+    private double[] replicate(final Resampling resampling, final int replicates,
+                               final ExecutorService executor)
+        throws NotStrictlyPositiveException {
+
+        if (replicates <= 0) {
+            throw new NotStrictlyPositiveException(LocalizedFormats.NUMBER_OF_SAMPLES, replicates);
+        }
+
+        // the streams are jumped on the calling thread, in block order
+        final double[] results = new double[replicates];
+        final List<Callable<Void>> blocks = new ArrayList<Callable<Void>>();
+        for (int start = 0; start < replicates; start += BLOCK_SIZE) {
+            final int from = start;
+            final int to   = FastMath.min(replicates, start + BLOCK_SIZE);
+            final RandomGenerator stream = generator.jump();
+            if (executor == null) {
+                resampling.replicate(stream, results, from, to);
+            } else {
+                blocks.add(new Callable<Void>() {
+                    /** {@inheritDoc} */
+                    public Void call() {
+                        resampling.replicate(stream, results, from, to);
+                        return null;
+                    }
+                });
+            }
+        }
+        if (executor != null) {
+            ConcurrencyUtils.invokeAll(executor, blocks);
+        }
+
+        return results;
+
+    }
+
+    /**
+     * Checks a confidence level.
+     *
+     * @param confidenceLevel Confidence level to check.
+     * @throws OutOfRangeException if {@code confidenceLevel} is not in (0, 1).
+     */
+    private static void checkConfidenceLevel(final double confidenceLevel)
+        throws OutOfRangeException {
+        if (!(confidenceLevel > 0 && confidenceLevel < 1)) {
+            throw new OutOfRangeException(confidenceLevel, 0, 1);
+        }
+    }
+
+    /**
+     * Computes a percentile interval.
+     *
+     * @param replicates Replicates of the statistic.
+     * @param confidenceLevel Confidence level of the interval.
+     * @return the lower and upper bounds of the interval.
+     */
+    private static double[] percentileInterval(final double[] replicates,
+                                               final double confidenceLevel) {
+        final double alpha = 1 - confidenceLevel;
+        final Percentile percentile = new Percentile();
+        percentile.setData(replicates);
+        return new double[] {
+            percentile.evaluate(50 * alpha),
+            percentile.evaluate(100 - 50 * alpha)
+        };
+    }
+
+    /**
+     * Computes a two-sided permutation p-value.
+     *
+     * @param observed Observed value of the difference.
+     * @param differences Permutation replicates of the difference.
+     * @return the p-value.
+     */
+    private static double pValue(final double observed, final double[] differences) {
+        final double threshold = FastMath.abs(observed);
+        int count = 0;
+        for (final double d : differences) {
+            if (FastMath.abs(d) >= threshold) {
+                ++count;
+            }
+        }
+        return (count + 1.0) / (differences.length + 1.0);
+    }
+
+    /** Resampling scheme. */
+    private abstract static class Resampling {
+
+        /** Statistic to replicate. */
+        private final UnivariateStatistic statistic;
+
+        /**
+         * Simple constructor.
+         *
+         * @param statistic Statistic to replicate.
+         * @throws NullArgumentException if {@code statistic} is {@code null}.
+         */
+        Resampling(final UnivariateStatistic statistic) throws NullArgumentException {
+            MathUtils.checkNotNull(statistic);
+            this.statistic = statistic;
+        }
+
+        /**
+         * Get a private copy of the statistic, for one block.
+         *
+         * @return a copy of the statistic.
+         */
+        protected UnivariateStatistic copyStatistic() {
+            return statistic.copy();
+        }
+
+        /**
+         * Checks a sample.
+         *
+         * @param sample Sample to check.
+         * @throws NullArgumentException if {@code sample} is {@code null}.
+         * @throws NoDataException if {@code sample} is empty.
+         */
+        protected static void checkSample(final double[] sample)
+            throws NullArgumentException, NoDataException {
+            MathUtils.checkNotNull(sample);
+            if (sample.length == 0) {
+                throw new NoDataException();
+            }
+        }
+
+        /**
+         * Computes a block of replicates.
+         *
+         * @param stream Random stream of the block.
+         * @param results Array where to store the replicates.
+         * @param from Index of the first replicate of the block.
+         * @param to Index after the last replicate of the block.
+         */
+        public abstract void replicate(RandomGenerator stream, double[] results, int from, int to);
+
+    }
+
+    /** Bootstrap resampling. */
+    private static class Bootstrap extends Resampling {
+
+        /** Original sample. */
+        private final double[] sample;
+
+        /**
+         * Simple constructor.
+         *
+         * @param sample Original sample.
+         * @param statistic Statistic to replicate.
+         * @throws NullArgumentException if {@code sample} or {@code statistic} is {@code null}.
+         * @throws NoDataException if {@code sample} is empty.
+         */
+        Bootstrap(final double[] sample, final UnivariateStatistic statistic)
+            throws NullArgumentException, NoDataException {
+            super(statistic);
+            checkSample(sample);
+            this.sample = sample;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void replicate(final RandomGenerator stream, final double[] results,
+                              final int from, final int to) {
+            final UnivariateStatistic statistic = copyStatistic();
+            final int n = sample.length;
+            final double[] resample = new double[n];
+            for (int r = from; r < to; ++r) {
+                for (int i = 0; i < n; ++i) {
+                    resample[i] = sample[stream.nextInt(n)];
+                }
+                results[r] = statistic.evaluate(resample, 0, n);
+            }
+        }
+
+    }
+
+    /** Two-samples permutation resampling. */
+    private static class Permutation extends Resampling {
+
+        /** Pooled samples. */
+        private final double[] pooled;
+
+        /** Size of the first sample. */
+        private final int size1;
+
+        /**
+         * Simple constructor.
+         *
+         * @param x First sample.
+         * @param y Second sample.
+         * @param statistic Statistic to compare.
+         * @throws NullArgumentException if {@code x}, {@code y} or {@code statistic} is {@code null}.
+         * @throws NoDataException if {@code x} or {@code y} is empty.
+         */
+        Permutation(final double[] x, final double[] y, final UnivariateStatistic statistic)
+            throws NullArgumentException, NoDataException {
+            super(statistic);
+            checkSample(x);
+            checkSample(y);
+            pooled = new double[x.length + y.length];
+            System.arraycopy(x, 0, pooled, 0, x.length);
+            System.arraycopy(y, 0, pooled, x.length, y.length);
+            size1 = x.length;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void replicate(final RandomGenerator stream, final double[] results,
+                              final int from, final int to) {
+            final UnivariateStatistic statistic = copyStatistic();
+            final int n = pooled.length;
+            final double[] shuffled = pooled.clone();
+            for (int r = from; r < to; ++r) {
+                // partial Fisher-Yates shuffle: a uniform random subset in front,
+                // starting from the previous permutation is as good as from the original one
+                for (int i = 0; i < size1; ++i) {
+                    final int j = i + stream.nextInt(n - i);
+                    final double tmp = shuffled[i];
+                    shuffled[i] = shuffled[j];
+                    shuffled[j] = tmp;
+                }
+                results[r] = statistic.evaluate(shuffled, 0, size1) -
+                             statistic.evaluate(shuffled, size1, n - size1);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,401 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.transform;
+
+import java.io.Serializable;
+
+import org.apache.commons.math3.analysis.FunctionUtils;
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.util.ArithmeticUtils;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+
+/**
+ * Implements the Fast Fourier Transform of one-dimensional real data sets,
+ * with the spectrum stored in packed form in a real array.
+ * <p>
+ * The discrete Fourier transform X<sub>0</sub>, &hellip;, X<sub>N-1</sub> of
+ * real data x<sub>0</sub>, &hellip;, x<sub>N-1</sub> is Hermitian
+ * (X<sub>N-k</sub> is the conjugate of X<sub>k</sub>), so it is completely
+ * defined by its first half. This half spectrum is stored in an array of
+ * length N, laid out as follows
+ * <ul>
+ *   <li>{@code spectrum[0]} is the real part of X<sub>0</sub> (its imaginary part is zero),</li>
+ *   <li>{@code spectrum[1]} is the real part of X<sub>N/2</sub> (its imaginary part is zero),</li>
+ *   <li>{@code spectrum[2 * k]} is the real part of X<sub>k</sub>, for 0 &lt; k &lt; N/2,</li>
+ *   <li>{@code spectrum[2 * k + 1]} is the imaginary part of X<sub>k</sub>, for 0 &lt; k &lt; N/2.</li>
+ * </ul>
+ * The inverse transform takes a spectrum in this packed form and returns the
+ * real data set. The transforms are the same as the ones computed by {@link
+ * FastFourierTransformer} with the same {@link DftNormalization normalization},
+ * up to rounding errors.
+ * </p>
+ * <p>
+ * The real data is transformed as a complex data set of half its length, whose
+ * transform is then split into the transforms of the even and odd samples. This
+ * is about twice as fast as transforming the real data as a complex data set,
+ * and {@link #transformInPlace(double[], TransformType)} performs it on the
+ * caller's array, without allocating any memory. The trigonometric tables
+ * (twiddle factors) are computed the first time a data set length is used and
+ * reused as long as the same length is transformed, so a transformer is best
+ * used for a stream of data sets of the same length. Instances are thread-safe.
+ * </p>
+ * <p>
+ * As for {@link FastFourierTransformer}, the length of the data set must be a
+ * power of 2.
+ * </p>
+ *
+ * @see FastFourierTransformer
+ * @version $Id$
+ * @since 3.3
+ */
+public class RealFastFourierTransformer implements RealTransformer, Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20131018L;
+
+    /** The type of DFT to be performed. */
+    private final DftNormalization normalization;
+
+    /** Trigonometric tables for the last transformed length. */
+    private transient volatile Twiddles twiddles;
+
+    /**
+     * Creates a new instance of this class, with various normalization
+     * conventions.
+     *
+     * @param normalization the type of normalization to be applied to the
+     * transformed data
+     */
+    public RealFastFourierTransformer(final DftNormalization normalization) {
+        this.normalization = normalization;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The forward transform returns the packed half spectrum of the data,
+     * the inverse transform expects a packed half spectrum.
+     * </p>
+     *
+     * @throws MathIllegalArgumentException if the length of the data array is
+     * not a power of two
+     */
+    public double[] transform(final double[] f, final TransformType type)
+        throws MathIllegalArgumentException {
+        final double[] data = MathArrays.copyOf(f, f.length);
+        transformInPlace(data, type);
+        return data;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws org.apache.commons.math3.exception.NonMonotonicSequenceException
+     * if the lower bound is greater than, or equal to the upper bound
+     * @throws org.apache.commons.math3.exception.NotStrictlyPositiveException
+     * if the number of sample points is negative
+     * @throws MathIllegalArgumentException if the number of sample points is
+     * not a power of two
+     */
+    public double[] transform(final UnivariateFunction f,
+                              final double min, final double max, final int n,
+                              final TransformType type)
+        throws MathIllegalArgumentException {
+        final double[] data = FunctionUtils.sample(f, min, max, n);
+        transformInPlace(data, type);
+        return data;
+    }
+
+    /**
+     * Computes the (forward, inverse) transform of the specified data set
+     * in place.
+     * <p>
+     * The forward transform replaces real data by its packed half spectrum,
+     * the inverse transform replaces a packed half spectrum by the real data.
+     * No memory is allocated, except for the trigonometric tables when the
+     * length of the data set differs from the previous call.
+     * </p>
+     *
+     * @param data the data to be transformed, overwritten by the result
+     * @param type the type of transform (forward, inverse) to be performed
+     * @throws MathIllegalArgumentException if the length of the data array is
+     * not a power of two
+     */
+    public void transformInPlace(final double[] data, final TransformType type)
+        throws MathIllegalArgumentException {
+
+        final int n = data.length;
+        if (!ArithmeticUtils.isPowerOfTwo(n)) {
+            throw new MathIllegalArgumentException(
+                LocalizedFormats.NOT_POWER_OF_TWO_CONSIDER_PADDING,
+                Integer.valueOf(n));
+        }
+        if (n == 1) {
+            // the transform of a single point is the point itself, whatever the normalization
+            return;
+        }
+
+        final Twiddles tables = getTwiddles(n);
+        if (type == TransformType.FORWARD) {
+            complexTransform(data, tables, -1.0);
+            splitSpectrum(data, tables);
+        } else {
+            mergeSpectrum(data, tables);
+            complexTransform(data, tables, 1.0);
+        }
+        normalize(data, type);
+
+    }
+
+    /**
+     * Gets the trigonometric tables for a data set length.
+     *
+     * @param n length of the data set (a power of two larger than 1)
+     * @return the tables
+     */
+    private Twiddles getTwiddles(final int n) {
+        Twiddles tables = twiddles;
+        if (tables == null || tables.cos.length != n / 2) {
+            // the tables are immutable, concurrent threads may at worst compute them twice
+            tables = new Twiddles(n);
+            twiddles = tables;
+        }
+        return tables;
+    }
+
+    /**
+     * Computes the unnormalized transform of a complex data set in place.
+     * <p>
+     * The real and imaginary parts of complex element {@code k} are stored
+     * in {@code data[2 * k]} and {@code data[2 * k + 1]}.
+     * </p>
+     *
+     * @param data interleaved complex data set of length {@code data.length / 2}
+     * @param tables trigonometric tables for {@code data.length}
+     * @param sign sign of the exponent (-1 for forward transform, +1 for inverse)
+     */
+    private static void complexTransform(final double[] data, final Twiddles tables,
+                                         final double sign) {
+
+        final int m = data.length >> 1;
+        final double[] cos = tables.cos;
+        final double[] sin = tables.sin;
+
+        // bit reversal shuffle of the complex elements
+        final int halfOfM = m >> 1;
+        int j = 0;
+        for (int i = 0; i < m; i++) {
+            if (i < j) {
+                final int i2 = i << 1;
+                final int j2 = j << 1;
+                double temp = data[i2];
+                data[i2] = data[j2];
+                data[j2] = temp;
+                temp = data[i2 + 1];
+                data[i2 + 1] = data[j2 + 1];
+                data[j2 + 1] = temp;
+            }
+            int k = halfOfM;
+            while (k <= j && k > 0) {
+                j -= k;
+                k >>= 1;
+            }
+            j += k;
+        }
+
+        // combine transforms of size half into transforms of size 2 * half
+        for (int half = 1; half < m; half <<= 1) {
+            // exp(sign * 2 pi i r / (2 * half)) is at index r * step of the tables
+            final int step = m / half;
+            for (int start = 0; start < m; start += half << 1) {
+                for (int r = 0; r < half; r++) {
+                    final double wR = cos[r * step];
+                    final double wI = sign * sin[r * step];
+                    final int even = (start + r) << 1;
+                    final int odd  = even + (half << 1);
+                    final double hR = wR * data[odd]     - wI * data[odd + 1];
+                    final double hI = wR * data[odd + 1] + wI * data[odd];
+                    data[odd]      = data[even]     - hR;
+                    data[odd + 1]  = data[even + 1] - hI;
+                    data[even]     += hR;
+                    data[even + 1] += hI;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Turns the transform Z of the complex data set z<sub>k</sub> =
+     * x<sub>2k</sub> + i x<sub>2k+1</sub> into the packed half spectrum
+     * of the real data set x.
+     *
+     * @param data transform of the complex data set, overwritten by the packed spectrum
+     * @param tables trigonometric tables for {@code data.length}
+     */
+    private static void splitSpectrum(final double[] data, final Twiddles tables) {
+
+        final int m = data.length >> 1;
+        final double[] cos = tables.cos;
+        final double[] sin = tables.sin;
+
+        // X_0 and X_{N/2} are the sum and difference of the even and odd transforms
+        final double z0R = data[0];
+        final double z0I = data[1];
+        data[0] = z0R + z0I;
+        data[1] = z0R - z0I;
+
+        for (int k = 1; k <= m >> 1; k++) {
+            final int p = k << 1;
+            final int q = (m - k) << 1;
+            final double zR = data[p];
+            final double zI = data[p + 1];
+            final double wR = data[q];
+            final double wI = data[q + 1];
+
+            // transforms of the even samples (e) and odd samples (o)
+            final double eR = 0.5 * (zR + wR);
+            final double eI = 0.5 * (zI - wI);
+            final double oR = 0.5 * (zI + wI);
+            final double oI = 0.5 * (wR - zR);
+
+            // X_k = E_k + exp(-2 pi i k / N) O_k and X_{N/2-k} = conj(E_k - exp(-2 pi i k / N) O_k)
+            final double c = cos[k];
+            final double s = sin[k];
+            final double tR = c * oR + s * oI;
+            final double tI = c * oI - s * oR;
+            data[p]     = eR + tR;
+            data[p + 1] = eI + tI;
+            data[q]     = eR - tR;
+            data[q + 1] = tI - eI;
+        }
+
+    }
+
+    /**
+     * Turns a packed half spectrum X into twice the transform Z of the
+     * complex data set z<sub>k</sub> = x<sub>2k</sub> + i x<sub>2k+1</sub>,
+     * reverting {@link #splitSpectrum(double[], Twiddles)}.
+     *
+     * @param data packed spectrum, overwritten by the transform of the complex data set
+     * @param tables trigonometric tables for {@code data.length}
+     */
+    private static void mergeSpectrum(final double[] data, final Twiddles tables) {
+
+        final int m = data.length >> 1;
+        final double[] cos = tables.cos;
+        final double[] sin = tables.sin;
+
+        final double x0 = data[0];
+        final double xM = data[1];
+        data[0] = x0 + xM;
+        data[1] = x0 - xM;
+
+        for (int k = 1; k <= m >> 1; k++) {
+            final int p = k << 1;
+            final int q = (m - k) << 1;
+            final double xR = data[p];
+            final double xI = data[p + 1];
+            final double yR = data[q];
+            final double yI = data[q + 1];
+
+            // twice the transforms of the even samples (e) and odd samples (o)
+            final double eR = xR + yR;
+            final double eI = xI - yI;
+            final double dR = xR - yR;
+            final double dI = xI + yI;
+            final double c = cos[k];
+            final double s = sin[k];
+            final double oR = c * dR - s * dI;
+            final double oI = c * dI + s * dR;
+
+            // Z_k = E_k + i O_k and Z_{N/2-k} = conj(E_k - i O_k)
+            data[p]     = eR - oI;
+            data[p + 1] = eI + oR;
+            data[q]     = eR + oI;
+            data[q + 1] = oR - eI;
+        }
+
+    }
+
+    /**
+     * Applies the proper normalization to the specified transformed data.
+     *
+     * @param data the unscaled transformed data
+     * @param type the type of transform (forward, inverse) which resulted in the specified data
+     */
+    private void normalize(final double[] data, final TransformType type) {
+        final int n = data.length;
+        switch (normalization) {
+            case STANDARD:
+                if (type == TransformType.INVERSE) {
+                    final double scaleFactor = 1.0 / n;
+                    for (int i = 0; i < n; i++) {
+                        data[i] *= scaleFactor;
+                    }
+                }
+                break;
+            case UNITARY:
+                final double scaleFactor = 1.0 / FastMath.sqrt(n);
+                for (int i = 0; i < n; i++) {
+                    data[i] *= scaleFactor;
+                }
+                break;
+            default:
+                /*
+                 * This should never occur in normal conditions. However this
+                 * clause has been added as a safeguard if other types of
+                 * normalizations are ever implemented, and the corresponding
+                 * test is forgotten in the present switch.
+                 */
+                throw new MathIllegalStateException();
+        }
+    }
+
+    /** Trigonometric tables for one data set length. */
+    private static class Twiddles {
+
+        /** cos(2 pi k / N), for 0 &le; k &lt; N/2. */
+        private final double[] cos;
+
+        /** sin(2 pi k / N), for 0 &le; k &lt; N/2. */
+        private final double[] sin;
+
+        /**
+         * Simple constructor.
+         *
+         * @param n length of the data set
+         */
+        Twiddles(final int n) {
+            final int m = n >> 1;
+            cos = new double[m];
+            sin = new double[m];
+            for (int k = 0; k < m; k++) {
+                // computed directly rather than by recurrence, to avoid error accumulation
+                final double angle = 2 * FastMath.PI * k / n;
+                cos[k] = FastMath.cos(angle);
+                sin[k] = FastMath.sin(angle);
+            }
+        }
+
+    }
+
+}
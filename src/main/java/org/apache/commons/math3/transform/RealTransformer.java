@@ -29,7 +29,8 @@ import org.apache.commons.math3.exception.NotStrictlyPositiveException;
  * FastHadamardTransformer Hadamard transform}. {@link FastFourierTransformer
  * Fourier transform} is of a different kind and does not implement this
  * interface since it produces {@link org.apache.commons.math3.complex.Complex}
- * results instead of real ones.
+ * results instead of real ones, but {@link RealFastFourierTransformer} does
+ * implement it by storing the spectrum of real data sets in packed form.
  *
  * @version $Id$
  * @since 2.0
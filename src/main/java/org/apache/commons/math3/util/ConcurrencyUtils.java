@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+
+/**
+ * Utilities for running independent tasks on a user-supplied
+ * {@link ExecutorService}.
+ * <p>
+ * The library never creates threads by itself: all the parallel
+ * algorithms take an executor provided by the caller, who remains in
+ * charge of its life cycle (sizing, shutdown, thread factory...).
+ * </p>
+ *
+ * @since 3.3
+ * @version $Id$
+ */
+public class ConcurrencyUtils {
+
+    /**
+     * Private constructor.
+     */
+    private ConcurrencyUtils() {}
+
+    /**
+     * Runs all the tasks on the executor and waits for their completion.
+     * <p>
+     * If one of the tasks fails with an unchecked exception or an error,
+     * it is rethrown as is in the calling thread, so the parallel algorithms
+     * report the same exceptions as their sequential counterparts.
+     * </p>
+     *
+     * @param <T> Type of the results.
+     * @param executor Executor service that will run the tasks.
+     * @param tasks Tasks to run.
+     * @return the results of the tasks, in the iteration order of {@code tasks}.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the calling thread is interrupted
+     * while waiting, or if a task throws a checked exception.
+     */
+    public static <T> List<T> invokeAll(final ExecutorService executor,
+                                        final Collection<Callable<T>> tasks)
+        throws NullArgumentException, MathIllegalStateException {
+        if (executor == null) {
+            throw new NullArgumentException();
+        }
+
+        final List<T> results = new ArrayList<T>(tasks.size());
+        try {
+            final List<Future<T>> futures = executor.invokeAll(tasks);
+            for (final Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new MathIllegalStateException(ie, LocalizedFormats.INTERRUPTED_COMPUTATION,
+                                                tasks.size());
+        } catch (ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MathIllegalStateException(cause, LocalizedFormats.SIMPLE_MESSAGE,
+                                                cause.getMessage());
+        }
+
+        return results;
+    }
+
+    /**
+     * Computes the boundaries of a partition of a range into slices.
+     * <p>
+     * The range {@code [0, n)} is split into at most {@code maxSlices}
+     * contiguous slices whose sizes differ by at most one. Slice {@code i}
+     * spans indices {@code [bounds[i], bounds[i + 1])}.
+     * </p>
+     *
+     * @param n Size of the range to split.
+     * @param maxSlices Maximal number of slices.
+     * @return the slices boundaries (its length is the number of slices plus one).
+     */
+    public static int[] partition(final int n, final int maxSlices) {
+        final int slices = FastMath.max(1, FastMath.min(n, maxSlices));
+        final int[] bounds = new int[slices + 1];
+        final int size = n / slices;
+        final int remainder = n % slices;
+        for (int i = 0; i < slices; ++i) {
+            bounds[i + 1] = bounds[i] + size + ((i < remainder) ? 1 : 0);
+        }
+        return bounds;
+    }
+
+    /**
+     * Computes a number of slices suitable for splitting some work
+     * across the available processors.
+     * <p>
+     * The result is between 1 and four times the number of available
+     * processors, and each slice holds at least {@code minSliceSize}
+     * elements. Using a few slices per processor balances the load
+     * when some slices take longer than others.
+     * </p>
+     *
+     * @param n Number of elements to process.
+     * @param minSliceSize Minimal number of elements per slice.
+     * @return the number of slices.
+     */
+    public static int slices(final int n, final int minSliceSize) {
+        final int maxSlices = 4 * Runtime.getRuntime().availableProcessors();
+        return FastMath.max(1, FastMath.min(maxSlices, n / FastMath.max(1, minSliceSize)));
+    }
+
+}
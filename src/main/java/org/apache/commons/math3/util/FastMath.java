@@ -18,6 +18,11 @@ package org.apache.commons.math3.util;
 
 import java.io.PrintStream;
 
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+
 /**
  * Faster, more accurate, portable alternative to {@link Math} and
  * {@link StrictMath} for large scale computation.
@@ -74,6 +79,15 @@ import java.io.PrintStream;
  * <li>{@link #scalb(float, int)}</li>
  * </ul>
  * </p>
+ * <p>
+ * The {@link #exp(double[], double[], int, int) exponential}, {@link
+ * #log(double[], double[], int, int) logarithm}, {@link
+ * #pow(double[], double, double[], int, int) power}, {@link
+ * #sin(double[], double[], int, int) sine} and {@link
+ * #cos(double[], double[], int, int) cosine} functions also have bulk versions
+ * processing a range of an array, which return exactly the same results as the
+ * scalar versions without allocating memory for each element.
+ * </p>
  * @version $Id$
  * @since 2.2
  */
@@ -1442,7 +1456,17 @@ public class FastMath {
      * @return double
      */
     public static double pow(double x, double y) {
-        final double lns[] = new double[2];
+        return pow(x, y, new double[2]);
+    }
+
+    /**
+     * Internal helper method for power function.
+     * @param x base
+     * @param y exponent
+     * @param lns scratch array of length 2, holding the high precision logarithm of x
+     * @return x<sup>y</sup>
+     */
+    private static double pow(double x, double y, final double[] lns) {
 
         if (y == 0.0) {
             return 1.0;
@@ -1542,12 +1566,12 @@ public class FastMath {
         if (x < 0) {
             // y is an even integer in this case
             if (y >= TWO_POWER_53 || y <= -TWO_POWER_53) {
-                return pow(-x, y);
+                return pow(-x, y, lns);
             }
 
             if (y == (long) y) {
                 // If y is an integer
-                return ((long)y & 1) == 0 ? pow(-x, y) : -pow(-x, y);
+                return ((long)y & 1) == 0 ? pow(-x, y, lns) : -pow(-x, y, lns);
             } else {
                 return Double.NaN;
             }
@@ -2225,6 +2249,17 @@ public class FastMath {
      * @return sin(x)
      */
     public static double sin(double x) {
+        return sin(x, null);
+    }
+
+    /**
+     * Internal helper method for sine function.
+     * @param x Argument.
+     * @param reduceResults scratch array of length 3 for the reduction of huge
+     * arguments, allocated on demand if null
+     * @return sin(x)
+     */
+    private static double sin(double x, double[] reduceResults) {
         boolean negative = false;
         int quadrant = 0;
         double xa;
@@ -2255,7 +2290,9 @@ public class FastMath {
             // PI * (2**20)
             // Argument too big for CodyWaite reduction.  Must use
             // PayneHanek.
-            double reduceResults[] = new double[3];
+            if (reduceResults == null) {
+                reduceResults = new double[3];
+            }
             reducePayneHanek(xa, reduceResults);
             quadrant = ((int) reduceResults[0]) & 3;
             xa = reduceResults[1];
@@ -2292,6 +2329,17 @@ public class FastMath {
      * @return cos(x)
      */
     public static double cos(double x) {
+        return cos(x, null);
+    }
+
+    /**
+     * Internal helper method for cosine function.
+     * @param x Argument.
+     * @param reduceResults scratch array of length 3 for the reduction of huge
+     * arguments, allocated on demand if null
+     * @return cos(x)
+     */
+    private static double cos(double x, double[] reduceResults) {
         int quadrant = 0;
 
         /* Take absolute value of the input */
@@ -2310,7 +2358,9 @@ public class FastMath {
             // PI * (2**20)
             // Argument too big for CodyWaite reduction.  Must use
             // PayneHanek.
-            double reduceResults[] = new double[3];
+            if (reduceResults == null) {
+                reduceResults = new double[3];
+            }
             reducePayneHanek(xa, reduceResults);
             quadrant = ((int) reduceResults[0]) & 3;
             xa = reduceResults[1];
@@ -3699,6 +3749,219 @@ public class FastMath {
         return ((Float.floatToRawIntBits(f) >>> 23) & 0xff) - 127;
     }
 
+    /**
+     * Exponential function applied to a range of an array.
+     * <p>
+     * {@code result[i]} is set to {@code exp(x[i])} for {@code from <= i < from + length}.
+     * The results are exactly the ones of {@link #exp(double)}, so they have
+     * the same accuracy, but the loop does not allocate any memory and keeps
+     * the tables hot in cache. The {@code x} and {@code result} arrays may be
+     * the same array, for in-place computation.
+     * </p>
+     *
+     * @param x arguments
+     * @param result array where to store the results
+     * @param from index of the first element to compute
+     * @param length number of elements to compute
+     * @throws OutOfRangeException if {@code from} is negative or after the end
+     * of the shortest array
+     * @throws NotPositiveException if {@code length} is negative
+     * @throws NumberIsTooLargeException if the range does not fit in both
+     * arrays (no element is computed in any of these cases)
+     * @since 3.3
+     */
+    public static void exp(final double[] x, final double[] result,
+                           final int from, final int length) {
+        final int to = checkRange(x, result, from, length);
+        for (int i = from; i < to; i++) {
+            result[i] = exp(x[i], 0.0, null);
+        }
+    }
+
+    /**
+     * Natural logarithm applied to a range of an array.
+     * <p>
+     * {@code result[i]} is set to {@code log(x[i])} for {@code from <= i < from + length}.
+     * The results are exactly the ones of {@link #log(double)}, so they have
+     * the same accuracy. The {@code x} and {@code result} arrays may be the
+     * same array, for in-place computation.
+     * </p>
+     *
+     * @param x arguments
+     * @param result array where to store the results
+     * @param from index of the first element to compute
+     * @param length number of elements to compute
+     * @throws OutOfRangeException if {@code from} is negative or after the end
+     * of the shortest array
+     * @throws NotPositiveException if {@code length} is negative
+     * @throws NumberIsTooLargeException if the range does not fit in both
+     * arrays (no element is computed in any of these cases)
+     * @since 3.3
+     */
+    public static void log(final double[] x, final double[] result,
+                           final int from, final int length) {
+        final int to = checkRange(x, result, from, length);
+        for (int i = from; i < to; i++) {
+            result[i] = log(x[i], null);
+        }
+    }
+
+    /**
+     * Power function applied to a range of an array, with a common exponent.
+     * <p>
+     * {@code result[i]} is set to {@code pow(x[i], y)} for {@code from <= i < from + length}.
+     * The results are exactly the ones of {@link #pow(double, double)}, so they
+     * have the same accuracy, but the high precision logarithm scratch array
+     * is allocated only once for the whole range. The {@code x} and {@code result}
+     * arrays may be the same array, for in-place computation.
+     * </p>
+     *
+     * @param x bases
+     * @param y exponent
+     * @param result array where to store the results
+     * @param from index of the first element to compute
+     * @param length number of elements to compute
+     * @throws OutOfRangeException if {@code from} is negative or after the end
+     * of the shortest array
+     * @throws NotPositiveException if {@code length} is negative
+     * @throws NumberIsTooLargeException if the range does not fit in both
+     * arrays (no element is computed in any of these cases)
+     * @since 3.3
+     */
+    public static void pow(final double[] x, final double y, final double[] result,
+                           final int from, final int length) {
+        final int to = checkRange(x, result, from, length);
+        final double[] lns = new double[2];
+        for (int i = from; i < to; i++) {
+            result[i] = pow(x[i], y, lns);
+        }
+    }
+
+    /**
+     * Power function applied element-wise to ranges of two arrays.
+     * <p>
+     * {@code result[i]} is set to {@code pow(x[i], y[i])} for {@code from <= i < from + length}.
+     * The results are exactly the ones of {@link #pow(double, double)}, so they
+     * have the same accuracy, but the high precision logarithm scratch array
+     * is allocated only once for the whole range. The {@code result} array may
+     * be one of the arguments arrays, for in-place computation.
+     * </p>
+     *
+     * @param x bases
+     * @param y exponents
+     * @param result array where to store the results
+     * @param from index of the first element to compute
+     * @param length number of elements to compute
+     * @throws OutOfRangeException if {@code from} is negative or after the end
+     * of the shortest array
+     * @throws NotPositiveException if {@code length} is negative
+     * @throws NumberIsTooLargeException if the range does not fit in all
+     * arrays (no element is computed in any of these cases)
+     * @since 3.3
+     */
+    public static void pow(final double[] x, final double[] y, final double[] result,
+                           final int from, final int length) {
+        final int to = checkRange(x, result, from, length);
+        checkRange(y, result, from, length);
+        final double[] lns = new double[2];
+        for (int i = from; i < to; i++) {
+            result[i] = pow(x[i], y[i], lns);
+        }
+    }
+
+    /**
+     * Sine function applied to a range of an array.
+     * <p>
+     * {@code result[i]} is set to {@code sin(x[i])} for {@code from <= i < from + length}.
+     * The results are exactly the ones of {@link #sin(double)}, so they have
+     * the same accuracy, but the scratch array needed for huge arguments is
+     * allocated at most once for the whole range. The {@code x} and {@code result}
+     * arrays may be the same array, for in-place computation.
+     * </p>
+     *
+     * @param x arguments
+     * @param result array where to store the results
+     * @param from index of the first element to compute
+     * @param length number of elements to compute
+     * @throws OutOfRangeException if {@code from} is negative or after the end
+     * of the shortest array
+     * @throws NotPositiveException if {@code length} is negative
+     * @throws NumberIsTooLargeException if the range does not fit in both
+     * arrays (no element is computed in any of these cases)
+     * @since 3.3
+     */
+    public static void sin(final double[] x, final double[] result,
+                           final int from, final int length) {
+        final int to = checkRange(x, result, from, length);
+        final double[] reduceResults = new double[3];
+        for (int i = from; i < to; i++) {
+            result[i] = sin(x[i], reduceResults);
+        }
+    }
+
+    /**
+     * Cosine function applied to a range of an array.
+     * <p>
+     * {@code result[i]} is set to {@code cos(x[i])} for {@code from <= i < from + length}.
+     * The results are exactly the ones of {@link #cos(double)}, so they have
+     * the same accuracy, but the scratch array needed for huge arguments is
+     * allocated at most once for the whole range. The {@code x} and {@code result}
+     * arrays may be the same array, for in-place computation.
+     * </p>
+     *
+     * @param x arguments
+     * @param result array where to store the results
+     * @param from index of the first element to compute
+     * @param length number of elements to compute
+     * @throws OutOfRangeException if {@code from} is negative or after the end
+     * of the shortest array
+     * @throws NotPositiveException if {@code length} is negative
+     * @throws NumberIsTooLargeException if the range does not fit in both
+     * arrays (no element is computed in any of these cases)
+     * @since 3.3
+     */
+    public static void cos(final double[] x, final double[] result,
+                           final int from, final int length) {
+        final int to = checkRange(x, result, from, length);
+        final double[] reduceResults = new double[3];
+        for (int i = from; i < to; i++) {
+            result[i] = cos(x[i], reduceResults);
+        }
+    }
+
+    /**
+     * Checks that a range fits in both an arguments and a results array.
+     * <p>
+     * Like {@link System#arraycopy(Object, int, Object, int, int)}, the check
+     * is done before any element is written.
+     * </p>
+     * @param x arguments
+     * @param result array where to store the results
+     * @param from index of the first element of the range
+     * @param length number of elements of the range
+     * @return index after the last element of the range
+     * @throws OutOfRangeException if {@code from} is negative or after the end
+     * of the shortest array
+     * @throws NotPositiveException if {@code length} is negative
+     * @throws NumberIsTooLargeException if the range does not fit in both arrays
+     */
+    private static int checkRange(final double[] x, final double[] result,
+                                  final int from, final int length)
+        throws OutOfRangeException, NotPositiveException, NumberIsTooLargeException {
+        final int n = min(x.length, result.length);
+        if (from < 0 || from > n) {
+            throw new OutOfRangeException(LocalizedFormats.START_POSITION, from, 0, n);
+        }
+        if (length < 0) {
+            throw new NotPositiveException(LocalizedFormats.LENGTH, length);
+        }
+        if (length > n - from) {
+            throw new NumberIsTooLargeException(LocalizedFormats.SUBARRAY_ENDS_AFTER_ARRAY_END,
+                                                (long) from + length, n, true);
+        }
+        return from + length;
+    }
+
     /**
      * Print out contents of arrays, and check the length.
      * <p>used to generate the preset arrays originally.</p>
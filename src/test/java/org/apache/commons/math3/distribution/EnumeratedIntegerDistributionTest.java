@@ -16,11 +16,18 @@
  */
 package org.apache.commons.math3.distribution;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math3.TestUtils;
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.MathArithmeticException;
 import org.apache.commons.math3.exception.NotANumberException;
 import org.apache.commons.math3.exception.NotFiniteNumberException;
 import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.stat.inference.ChiSquareTest;
 import org.apache.commons.math3.util.FastMath;
 import org.junit.Assert;
 import org.junit.Test;
@@ -169,4 +176,81 @@ public class EnumeratedIntegerDistributionTest {
         Assert.assertEquals(testDistribution.getNumericalVariance(),
                 sumOfSquares / n - FastMath.pow(sum / n, 2), 1e-2);
     }
+
+    /**
+     * Tests sampling and cumulative probabilities with many values.
+     */
+    @Test
+    public void testLargeSupport() {
+        final RandomGenerator random = new Well19937c(0x2b7e61f0c94d835al);
+        final int n = 1000;
+        final int[] singletons       = new int[n];
+        final double[] probabilities = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            // unsorted values with duplicates, some of them with zero probability
+            singletons[i]    = random.nextInt(n / 2);
+            probabilities[i] = (i % 7 == 0) ? 0 : random.nextDouble();
+            total           += probabilities[i];
+        }
+        final EnumeratedIntegerDistribution distribution =
+                new EnumeratedIntegerDistribution(random, singletons, probabilities);
+
+        // expected probability of each value, merging duplicates
+        final double[] valueProbabilities = new double[n / 2];
+        for (int i = 0; i < n; i++) {
+            valueProbabilities[singletons[i]] += probabilities[i] / total;
+        }
+
+        double expectedCumulative = 0;
+        Assert.assertEquals(0.0, distribution.cumulativeProbability(-1), 0.0);
+        for (int x = 0; x < n / 2; x++) {
+            expectedCumulative += valueProbabilities[x];
+            Assert.assertEquals(expectedCumulative, distribution.cumulativeProbability(x), 1e-12);
+        }
+        Assert.assertEquals(1.0, distribution.cumulativeProbability(n), 1e-12);
+        Assert.assertEquals(1.0, distribution.cumulativeProbability(Integer.MAX_VALUE), 1e-12);
+
+        // frequencies of the sampled values
+        final int sampleSize = 1000000;
+        final long[] observed = new long[n / 2];
+        for (int k = 0; k < sampleSize; k++) {
+            ++observed[distribution.sample()];
+        }
+        final List<Double> expected = new ArrayList<Double>();
+        final List<Long> counts = new ArrayList<Long>();
+        for (int x = 0; x < n / 2; x++) {
+            if (valueProbabilities[x] == 0) {
+                Assert.assertEquals(0, observed[x]);
+            } else {
+                expected.add(sampleSize * valueProbabilities[x]);
+                counts.add(observed[x]);
+            }
+        }
+        final double[] e = new double[expected.size()];
+        final long[] o = new long[counts.size()];
+        for (int i = 0; i < e.length; i++) {
+            e[i] = expected.get(i);
+            o[i] = counts.get(i);
+        }
+        Assert.assertTrue(new ChiSquareTest().chiSquareTest(e, o) > 0.001);
+    }
+
+    /**
+     * Tests the lazily built tables are rebuilt after serialization.
+     */
+    @Test
+    public void testSerialization() {
+        testDistribution.reseedRandomGenerator(20131016l);
+        Assert.assertEquals(0.7, testDistribution.cumulativeProbability(3), 1e-10);
+        testDistribution.sample();
+        final EnumeratedIntegerDistribution recovered =
+                (EnumeratedIntegerDistribution) TestUtils.serializeAndRecover(testDistribution);
+        Assert.assertEquals(0.7, recovered.cumulativeProbability(3), 1e-10);
+        recovered.reseedRandomGenerator(20131016l);
+        testDistribution.reseedRandomGenerator(20131016l);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(testDistribution.sample(), recovered.sample());
+        }
+    }
 }
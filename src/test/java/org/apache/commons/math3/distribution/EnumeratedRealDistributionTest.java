@@ -19,11 +19,15 @@ package org.apache.commons.math3.distribution;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.commons.math3.TestUtils;
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.MathArithmeticException;
 import org.apache.commons.math3.exception.NotANumberException;
 import org.apache.commons.math3.exception.NotFiniteNumberException;
 import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.stat.inference.ChiSquareTest;
 import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.util.Pair;
 import org.junit.Assert;
@@ -205,6 +209,86 @@ public class EnumeratedRealDistributionTest {
                 sumOfSquares / n - FastMath.pow(sum / n, 2), 1e-2);
     }
 
+    /**
+     * Tests sampling and cumulative probabilities with many values.
+     */
+    @Test
+    public void testLargeSupport() {
+        final RandomGenerator random = new Well19937c(0x5a8d2c81e3f94b07l);
+        final int n = 1000;
+        final double[] singletons    = new double[n];
+        final double[] probabilities = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            // unsorted values with duplicates, some of them with zero probability
+            singletons[i]    = random.nextInt(n / 2);
+            probabilities[i] = (i % 7 == 0) ? 0 : random.nextDouble();
+            total           += probabilities[i];
+        }
+        final EnumeratedRealDistribution distribution =
+                new EnumeratedRealDistribution(random, singletons, probabilities);
+
+        for (double x = -1; x <= n / 2; x += 0.5) {
+            double expected = 0;
+            for (int i = 0; i < n; i++) {
+                if (singletons[i] <= x) {
+                    expected += probabilities[i] / total;
+                }
+            }
+            Assert.assertEquals(expected, distribution.cumulativeProbability(x), 1e-12);
+        }
+        Assert.assertEquals(0.0, distribution.cumulativeProbability(Double.NaN), 0.0);
+
+        // frequencies of the sampled indices, through the inner distribution
+        final List<Pair<Double, Double>> pmf = distribution.innerDistribution.getPmf();
+        final List<Pair<Integer, Double>> indices = new ArrayList<Pair<Integer, Double>>(n);
+        for (int i = 0; i < n; i++) {
+            indices.add(new Pair<Integer, Double>(i, pmf.get(i).getValue()));
+        }
+        final EnumeratedDistribution<Integer> indexDistribution =
+                new EnumeratedDistribution<Integer>(random, indices);
+        final int sampleSize = 1000000;
+        final long[] observed = new long[n];
+        for (int k = 0; k < sampleSize; k++) {
+            ++observed[indexDistribution.sample()];
+        }
+        final List<Double> expected = new ArrayList<Double>();
+        final List<Long> counts = new ArrayList<Long>();
+        for (int i = 0; i < n; i++) {
+            if (probabilities[i] == 0) {
+                Assert.assertEquals(0, observed[i]);
+            } else {
+                expected.add(sampleSize * probabilities[i] / total);
+                counts.add(observed[i]);
+            }
+        }
+        final double[] e = new double[expected.size()];
+        final long[] o = new long[counts.size()];
+        for (int i = 0; i < e.length; i++) {
+            e[i] = expected.get(i);
+            o[i] = counts.get(i);
+        }
+        Assert.assertTrue(new ChiSquareTest().chiSquareTest(e, o) > 0.001);
+    }
+
+    /**
+     * Tests the lazily built tables are rebuilt after serialization.
+     */
+    @Test
+    public void testSerialization() {
+        testDistribution.reseedRandomGenerator(20131016l);
+        Assert.assertEquals(0.7, testDistribution.cumulativeProbability(3.0), 1e-10);
+        testDistribution.sample();
+        final EnumeratedRealDistribution recovered =
+                (EnumeratedRealDistribution) TestUtils.serializeAndRecover(testDistribution);
+        Assert.assertEquals(0.7, recovered.cumulativeProbability(3.0), 1e-10);
+        recovered.reseedRandomGenerator(20131016l);
+        testDistribution.reseedRandomGenerator(20131016l);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(testDistribution.sample(), recovered.sample(), 0.0);
+        }
+    }
+
     @Test
     public void testIssue942() {
         List<Pair<Object,Double>> list = new ArrayList<Pair<Object, Double>>();
@@ -263,6 +263,23 @@ public abstract class IntegerDistributionAbstractTest {
         TestUtils.assertChiSquareAccept(densityPoints, expectedCounts, observedCounts, .001);
     }
 
+    /**
+     * Test sampling into a caller-supplied buffer
+     */
+    @Test
+    public void testSamplingIntoBuffer() {
+        AbstractIntegerDistribution distribution = (AbstractIntegerDistribution) makeDistribution();
+        final int[] expected = new int[1001];
+        distribution.reseedRandomGenerator(1000);
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = distribution.sample();
+        }
+        final int[] sample = new int[expected.length];
+        distribution.reseedRandomGenerator(1000);
+        distribution.sample(sample);
+        Assert.assertArrayEquals(expected, sample);
+    }
+
     //------------------ Getters / Setters for test instance data -----------
     /**
      * @return Returns the cumulativeTestPoints.
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.distribution;
+
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for QuantileTableDistribution.
+ * Extends RealDistributionAbstractTest, using the test data of
+ * WeibullDistributionTest for a wrapped Weibull distribution.
+ *
+ * @version $Id$
+ */
+public class QuantileTableDistributionTest extends RealDistributionAbstractTest {
+
+    //-------------- Implementations for abstract methods -----------------------
+
+    /** Creates the default continuous distribution instance to use in tests. */
+    @Override
+    public QuantileTableDistribution makeDistribution() {
+        return new QuantileTableDistribution(new WeibullDistribution(1.2, 2.1));
+    }
+
+    /** Creates the default cumulative probability distribution test input values */
+    @Override
+    public double[] makeCumulativeTestPoints() {
+        // quantiles computed using R version 2.9.2
+        return new double[] {0.00664355180993, 0.0454328283309, 0.0981162737374, 0.176713524579, 0.321946865392,
+                10.5115496887, 7.4976304671, 6.23205600701, 5.23968436955, 4.2079028257};
+    }
+
+    /** Creates the default cumulative probability density test expected values */
+    @Override
+    public double[] makeCumulativeTestValues() {
+        return new double[] {0.001, 0.01, 0.025, 0.05, 0.1, 0.999, 0.990, 0.975, 0.950, 0.900};
+    }
+
+    /** Creates the default probability density test expected values */
+    @Override
+    public double[] makeDensityTestValues() {
+        return new double[] {0.180535929306, 0.262801138133, 0.301905425199, 0.330899152971,
+          0.353441418887, 0.000788590320203, 0.00737060094841, 0.0177576041516, 0.0343043442574, 0.065664589369};
+    }
+
+    //---------------------------- Additional test cases -------------------------
+
+    @Test
+    public void testInverseCumulativeProbabilityExtremes() {
+        setInverseCumulativeTestPoints(new double[] {0.0, 1.0});
+        setInverseCumulativeTestValues(
+                new double[] {0.0, Double.POSITIVE_INFINITY});
+        verifyInverseCumulativeProbabilities();
+    }
+
+    @Test
+    public void testAccuracy() {
+        final RealDistribution[] distributions = {
+            new NormalDistribution(1.0, 3.0),
+            new GammaDistribution(0.5, 1.0),
+            new GammaDistribution(9.0, 0.5),
+            new BetaDistribution(2.0, 5.0),
+            new BetaDistribution(0.5, 0.5),
+            new TDistribution(3.0),
+            new ExponentialDistribution(2.0)
+        };
+        for (final RealDistribution distribution : distributions) {
+            for (final double accuracy : new double[] { 1.0e-6, 1.0e-10 }) {
+                final QuantileTableDistribution table =
+                        new QuantileTableDistribution(distribution, accuracy);
+                Assert.assertTrue(table.getNumberOfIntervals() > 0);
+                final int n = 10000;
+                for (int i = 0; i < n; ++i) {
+                    final double p = (i + 0.25) / n;
+                    final double x = table.inverseCumulativeProbability(p);
+                    // the error bound is only enforced at test points within the intervals
+                    Assert.assertEquals(p, distribution.cumulativeProbability(x), 2 * accuracy);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTails() {
+        final GammaDistribution gamma = new GammaDistribution(2.0, 1.0);
+        final QuantileTableDistribution table = new QuantileTableDistribution(gamma, 1.0e-8);
+        for (final double p : new double[] { 1.0e-12, 1.0e-9, 1 - 1.0e-9, 1 - 1.0e-12 }) {
+            Assert.assertEquals(gamma.inverseCumulativeProbability(p),
+                                table.inverseCumulativeProbability(p), 0);
+        }
+    }
+
+    @Test
+    public void testDelegation() {
+        final TDistribution t = new TDistribution(5.0);
+        final QuantileTableDistribution table = new QuantileTableDistribution(t);
+        Assert.assertSame(t, table.getDistribution());
+        Assert.assertEquals(QuantileTableDistribution.DEFAULT_ACCURACY, table.getAccuracy(), 0);
+        Assert.assertEquals(t.getNumericalMean(), table.getNumericalMean(), 0);
+        Assert.assertEquals(t.getNumericalVariance(), table.getNumericalVariance(), 0);
+        Assert.assertTrue(Double.isInfinite(table.getSupportLowerBound()));
+        Assert.assertTrue(Double.isInfinite(table.getSupportUpperBound()));
+        for (double x = -5; x <= 5; x += 0.25) {
+            Assert.assertEquals(t.density(x), table.density(x), 0);
+            Assert.assertEquals(t.cumulativeProbability(x), table.cumulativeProbability(x), 0);
+        }
+        Assert.assertEquals(0.0, table.inverseCumulativeProbability(0.5), 1.0e-9);
+        Assert.assertEquals(-table.inverseCumulativeProbability(0.3),
+                            table.inverseCumulativeProbability(0.7), 1.0e-9);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullDistribution() {
+        new QuantileTableDistribution(null);
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testZeroAccuracy() {
+        new QuantileTableDistribution(new NormalDistribution(), 0.0);
+    }
+
+    @Test(expected=NumberIsTooLargeException.class)
+    public void testTooLargeAccuracy() {
+        new QuantileTableDistribution(new NormalDistribution(), 0.5);
+    }
+
+}
@@ -305,6 +305,26 @@ public abstract class RealDistributionAbstractTest {
         TestUtils.assertChiSquareAccept(expected, counts, 0.001);
     }
     
+    /**
+     * Test sampling into a caller-supplied buffer
+     */
+    @Test
+    public void testSamplingIntoBuffer() {
+        if (!(distribution instanceof AbstractRealDistribution)) {
+            return;
+        }
+        final AbstractRealDistribution d = (AbstractRealDistribution) distribution;
+        final double[] expected = new double[1001];
+        d.reseedRandomGenerator(1000);
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = d.sample();
+        }
+        final double[] sample = new double[expected.length];
+        d.reseedRandomGenerator(1000);
+        d.sample(sample);
+        Assert.assertArrayEquals(expected, sample, 0.0);
+    }
+
     /**
      * Verify that density integrals match the distribution.
      * The (filtered, sorted) cumulativeTestPoints array is used to source
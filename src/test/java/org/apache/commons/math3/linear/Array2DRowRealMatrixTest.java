@@ -16,6 +16,11 @@
  */
 package org.apache.commons.math3.linear;
 
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.junit.Test;
 import org.junit.Assert;
 
@@ -223,6 +228,33 @@ public final class Array2DRowRealMatrixTest {
        TestUtils.assertEquals("m3*m4=m5", m3.multiply(m4), m5, entryTolerance);
    }
 
+    @Test
+    public void testMultiplyTiled() {
+        // dimensions chosen to exercise partial tiles and several packed panels
+        final Random random = new Random(0x4a7f2e6c9b1d3085l);
+        final Array2DRowRealMatrix m1 = createRandomMatrix(random, 37, 301);
+        final Array2DRowRealMatrix m2 = createRandomMatrix(random, 301, 530);
+        final Array2DRowRealMatrix classical = m1.multiply(m2);
+        final Array2DRowRealMatrix tiled = m1.multiplyWithKernel(m2, MultiplicationKernel.TILED);
+        Assert.assertEquals(classical.getRowDimension(), tiled.getRowDimension());
+        Assert.assertEquals(classical.getColumnDimension(), tiled.getColumnDimension());
+        TestUtils.assertEquals("tiled multiply", classical, tiled, 1.0e-10);
+        Assert.assertEquals(classical,
+                            m1.multiplyWithKernel(m2, MultiplicationKernel.CLASSICAL));
+
+        Array2DRowRealMatrix m = new Array2DRowRealMatrix(testData);
+        Array2DRowRealMatrix mInv = new Array2DRowRealMatrix(testDataInv);
+        TestUtils.assertEquals("inverse multiply",
+                               m.multiplyWithKernel(mInv, MultiplicationKernel.TILED),
+                               new Array2DRowRealMatrix(id), entryTolerance);
+        try {
+            m.multiplyWithKernel(new Array2DRowRealMatrix(bigSingular), MultiplicationKernel.TILED);
+            Assert.fail("Expecting MathIllegalArgumentException");
+        } catch (MathIllegalArgumentException ex) {
+            // expected
+        }
+    }
+
     @Test
     public void testPower() {
         Array2DRowRealMatrix m = new Array2DRowRealMatrix(testData);
@@ -316,6 +348,37 @@ public final class Array2DRowRealMatrixTest {
         }
     }
 
+    @Test
+    public void testParallelOperate() {
+        Random random = new Random(0x5e91c2a7d34b08f6l);
+        Array2DRowRealMatrix m = new Array2DRowRealMatrix(301, 203);
+        for (int i = 0; i < m.getRowDimension(); ++i) {
+            for (int j = 0; j < m.getColumnDimension(); ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        double[] v = new double[m.getColumnDimension()];
+        for (int j = 0; j < v.length; ++j) {
+            v[j] = random.nextDouble();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // parallel computation must give exactly the same results
+            Assert.assertTrue(Arrays.equals(m.operate(v), m.operate(v, executor)));
+            try {
+                m.operate(new double[m.getRowDimension()], executor);
+                Assert.fail("Expecting DimensionMismatchException");
+            } catch (DimensionMismatchException ex) {
+                // expected
+            }
+        } finally {
+            executor.shutdown();
+        }
+        RealVector y = new ArrayRealVector(m.getRowDimension(), 1.0);
+        m.operate(new ArrayRealVector(v), y);
+        Assert.assertTrue(Arrays.equals(m.operate(v), y.toArray()));
+    }
+
     /** test issue MATH-209 */
     @Test
     public void testMath209() {
@@ -1159,6 +1222,16 @@ public final class Array2DRowRealMatrixTest {
         return new Array2DRowRealMatrix(out);
     }
 
+    private Array2DRowRealMatrix createRandomMatrix(Random r, int rows, int columns) {
+        Array2DRowRealMatrix m = new Array2DRowRealMatrix(rows, columns);
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                m.setEntry(i, j, 2 * r.nextDouble() - 1);
+            }
+        }
+        return m;
+    }
+
 //    /** Useful for debugging */
 //    private void dumpMatrix(RealMatrix m) {
 //          for (int i = 0; i < m.getRowDimension(); i++) {
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import org.apache.commons.math3.exception.MaxCountExceededException;
+import org.apache.commons.math3.util.IterationEvent;
+import org.apache.commons.math3.util.IterationListener;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BiCGSTABTest {
+
+    @Test
+    public void testNonSymmetricSolution() {
+        final CompressedRowRealMatrix a = GMRESTest.createConvectionDiffusion(10, 0.5);
+        final RealVector b = GMRESTest.createRightHandSide(a.getRowDimension());
+        final BiCGSTAB solver = new BiCGSTAB(1000, 1.0e-12);
+        final RealVector x = solver.solve(a, b);
+        final RealVector expected =
+            new LUDecomposition(new Array2DRowRealMatrix(a.getData())).getSolver().solve(b);
+        Assert.assertEquals(0, x.subtract(expected).getNorm() / expected.getNorm(), 1.0e-10);
+    }
+
+    @Test
+    public void testPreconditionedSolution() {
+        final CompressedRowRealMatrix a = GMRESTest.createConvectionDiffusion(40, 0.5);
+        final RealVector b = GMRESTest.createRightHandSide(a.getRowDimension());
+        final BiCGSTAB bicgstab  = new BiCGSTAB(10000, 1.0e-10);
+        final BiCGSTAB pbicgstab = new BiCGSTAB(10000, 1.0e-10);
+        final RealVector x  = bicgstab.solve(a, b);
+        final RealVector px = pbicgstab.solve(a, new SSORPreconditioner(a), b);
+        final int n  = bicgstab.getIterationManager().getIterations();
+        final int pn = pbicgstab.getIterationManager().getIterations();
+        Assert.assertTrue(pn + " vs " + n, 2 * pn < n);
+        Assert.assertEquals(0, a.operate(x).subtract(b).getNorm(), 1.0e-9 * b.getNorm());
+        Assert.assertEquals(0, a.operate(px).subtract(b).getNorm(), 1.0e-9 * b.getNorm());
+    }
+
+    @Test
+    public void testSymmetricMatchesConjugateGradient() {
+        final CompressedRowRealMatrix a = LaplacianMatrix.create(20);
+        final RealVector b = GMRESTest.createRightHandSide(a.getRowDimension());
+        final RealVector x  = new BiCGSTAB(1000, 1.0e-12).solve(a, b);
+        final RealVector cg = new ConjugateGradient(1000, 1.0e-12, false).solve(a, b);
+        Assert.assertEquals(0, x.subtract(cg).getNorm() / cg.getNorm(), 1.0e-10);
+    }
+
+    @Test
+    public void testExactInitialGuess() {
+        final CompressedRowRealMatrix a = GMRESTest.createConvectionDiffusion(5, 0.5);
+        final RealVector x0 = GMRESTest.createRightHandSide(a.getRowDimension());
+        final RealVector b  = a.operate(x0);
+        final BiCGSTAB solver = new BiCGSTAB(10, 1.0e-10);
+        final RealVector x = solver.solveInPlace(a, b, x0.copy());
+        Assert.assertEquals(1, solver.getIterationManager().getIterations());
+        Assert.assertEquals(0, x.subtract(x0).getNorm(), 0.0);
+    }
+
+    @Test
+    public void testEventManagement() {
+        final CompressedRowRealMatrix a = GMRESTest.createConvectionDiffusion(10, 0.5);
+        final RealVector b = GMRESTest.createRightHandSide(a.getRowDimension());
+        final BiCGSTAB solver = new BiCGSTAB(1000, 1.0e-10);
+        final int[] count = new int[4];
+        solver.getIterationManager().addIterationListener(new IterationListener() {
+            public void initializationPerformed(final IterationEvent e) {
+                ++count[0];
+            }
+
+            public void iterationStarted(final IterationEvent e) {
+                ++count[1];
+                Assert.assertEquals(count[1], e.getIterations() - 1);
+            }
+
+            public void iterationPerformed(final IterationEvent e) {
+                ++count[2];
+                Assert.assertEquals(count[2], e.getIterations() - 1);
+                // the updated residual must match the true residual
+                final IterativeLinearSolverEvent evt = (IterativeLinearSolverEvent) e;
+                final RealVector r = evt.getRightHandSideVector().subtract(a.operate(evt.getSolution()));
+                Assert.assertEquals(r.getNorm(), evt.getNormOfResidual(), 1.0e-10 * b.getNorm());
+            }
+
+            public void terminationPerformed(final IterationEvent e) {
+                ++count[3];
+            }
+        });
+        solver.solve(a, b);
+        Assert.assertEquals(1, count[0]);
+        Assert.assertEquals(count[1], count[2]);
+        Assert.assertEquals(solver.getIterationManager().getIterations() - 1, count[2]);
+        Assert.assertEquals(1, count[3]);
+    }
+
+    @Test(expected=MaxCountExceededException.class)
+    public void testMaxIterations() {
+        final CompressedRowRealMatrix a = GMRESTest.createConvectionDiffusion(10, 0.5);
+        new BiCGSTAB(3, 1.0e-10).solve(a, GMRESTest.createRightHandSide(a.getRowDimension()));
+    }
+
+    @Test(expected=NonSquareOperatorException.class)
+    public void testNonSquareOperator() {
+        new BiCGSTAB(10, 1.0e-10).solve(new Array2DRowRealMatrix(2, 3), new ArrayRealVector(2));
+    }
+
+}
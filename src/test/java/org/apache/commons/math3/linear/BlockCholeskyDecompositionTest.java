@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well1024a;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BlockCholeskyDecompositionTest {
+
+    /** sizes around the block size */
+    private final int[] sizes = { 1, 7, 51, 52, 53, 130 };
+
+    /** test A = LLT */
+    @Test
+    public void testAEqualLLT() {
+        for (int n : sizes) {
+            RealMatrix a = createSymmetricPositiveDefinite(n, 0x51f0b7a9c3d2e684l + n);
+            BlockCholeskyDecomposition llt = new BlockCholeskyDecomposition(a);
+            RealMatrix l  = llt.getL();
+            RealMatrix lt = llt.getLT();
+            for (int i = 0; i < n; ++i) {
+                for (int j = i + 1; j < n; ++j) {
+                    Assert.assertEquals(0.0, l.getEntry(i, j), 0.0);
+                    Assert.assertEquals(l.getEntry(j, i), lt.getEntry(i, j), 0.0);
+                }
+            }
+            TestUtils.assertEquals("LLT", a, l.multiply(lt), 1.0e-11 * n);
+        }
+    }
+
+    /** test consistency with the unblocked decomposition */
+    @Test
+    public void testConsistency() {
+        for (int n : sizes) {
+            RealMatrix a = createSymmetricPositiveDefinite(n, 0xc82d5e13a7f40b96l + n);
+            BlockCholeskyDecomposition blocked = new BlockCholeskyDecomposition(a);
+            CholeskyDecomposition reference    = new CholeskyDecomposition(a);
+            TestUtils.assertEquals("L", reference.getL(), blocked.getL(), 1.0e-12 * n);
+            Assert.assertEquals(reference.getDeterminant(), blocked.getDeterminant(),
+                                1.0e-10 * FastMath.abs(reference.getDeterminant()));
+            RealVector b = a.getColumnVector(n - 1);
+            TestUtils.assertEquals(reference.getSolver().solve(b).toArray(),
+                                   blocked.getSolver().solve(b).toArray(), 1.0e-12);
+            RealMatrix inverse = blocked.getSolver().getInverse();
+            TestUtils.assertEquals("inverse", MatrixUtils.createRealIdentityMatrix(n),
+                                   a.multiply(inverse), 1.0e-12 * n);
+        }
+    }
+
+    /** test that the parallel decomposition is identical to the sequential one */
+    @Test
+    public void testParallel() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int n : sizes) {
+                RealMatrix a = createSymmetricPositiveDefinite(n, 0x0e7b93d4f15a6c28l + n);
+                BlockCholeskyDecomposition sequential = new BlockCholeskyDecomposition(a);
+                BlockCholeskyDecomposition parallel   = new BlockCholeskyDecomposition(a, executor);
+                assertIdentical(sequential.getL(), parallel.getL());
+                assertIdentical(sequential.getSolver().getInverse(),
+                                parallel.getSolver().getInverse());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /** test non-square matrix */
+    @Test(expected = NonSquareMatrixException.class)
+    public void testNonSquare() {
+        new BlockCholeskyDecomposition(MatrixUtils.createRealMatrix(new double[3][2]));
+    }
+
+    /** test non-symmetric matrix */
+    @Test(expected = NonSymmetricMatrixException.class)
+    public void testNotSymmetricMatrixException() {
+        RealMatrix a = createSymmetricPositiveDefinite(60, 0x8f3c1a6e25b7d049l);
+        a.addToEntry(2, 55, 1.0e-5);
+        new BlockCholeskyDecomposition(a);
+    }
+
+    /** test non positive definite matrix */
+    @Test(expected = NonPositiveDefiniteMatrixException.class)
+    public void testNotPositiveDefinite() {
+        RealMatrix a = createSymmetricPositiveDefinite(60, 0x24d6a0f8b93e57c1l);
+        a.setEntry(57, 57, -1.0);
+        new BlockCholeskyDecomposition(a);
+    }
+
+    /** test null executor */
+    @Test(expected = NullArgumentException.class)
+    public void testNullExecutor() {
+        new BlockCholeskyDecomposition(MatrixUtils.createRealIdentityMatrix(3), (ExecutorService) null);
+    }
+
+    private static void assertIdentical(RealMatrix expected, RealMatrix actual) {
+        Assert.assertEquals(expected.getRowDimension(), actual.getRowDimension());
+        for (int i = 0; i < expected.getRowDimension(); ++i) {
+            Assert.assertArrayEquals(expected.getRow(i), actual.getRow(i), 0.0);
+        }
+    }
+
+    private static RealMatrix createSymmetricPositiveDefinite(int n, long seed) {
+        RandomGenerator random = new Well1024a(seed);
+        RealMatrix b = new BlockRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                b.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        RealMatrix a = b.multiply(b.transpose());
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < i; ++j) {
+                // enforce exact symmetry
+                a.setEntry(i, j, a.getEntry(j, i));
+            }
+            a.addToEntry(i, i, n);
+        }
+        return a;
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.linear;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well1024a;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BlockLUDecompositionTest {
+
+    /** sizes around the block size */
+    private final int[] sizes = { 1, 7, 51, 52, 53, 130 };
+
+    /** test PA = LU */
+    @Test
+    public void testPAEqualLU() {
+        for (int n : sizes) {
+            RealMatrix a = createRandomMatrix(n, 0x4e3a8dc25b6f9017l + n);
+            BlockLUDecomposition lu = new BlockLUDecomposition(a);
+            RealMatrix l = lu.getL();
+            RealMatrix u = lu.getU();
+            RealMatrix p = lu.getP();
+            for (int i = 0; i < n; ++i) {
+                Assert.assertEquals(1.0, l.getEntry(i, i), 0.0);
+                for (int j = i + 1; j < n; ++j) {
+                    Assert.assertEquals(0.0, l.getEntry(i, j), 0.0);
+                    Assert.assertEquals(0.0, u.getEntry(j, i), 0.0);
+                }
+            }
+            TestUtils.assertEquals("PA", p.multiply(a), l.multiply(u), 1.0e-12 * n);
+        }
+    }
+
+    /** test consistency with the unblocked decomposition */
+    @Test
+    public void testConsistency() {
+        for (int n : sizes) {
+            RealMatrix a = createRandomMatrix(n, 0x9b2f61ce40d7a853l + n);
+            BlockLUDecomposition blocked = new BlockLUDecomposition(a);
+            LUDecomposition reference    = new LUDecomposition(a);
+            Assert.assertEquals(reference.getDeterminant(), blocked.getDeterminant(),
+                                1.0e-10 * FastMath.abs(reference.getDeterminant()));
+            RealMatrix b = createRandomMatrix(n, 0x17c5e0ab39f2d648l + n).getSubMatrix(0, n - 1, 0, 0);
+            TestUtils.assertEquals("solve", reference.getSolver().solve(b),
+                                   blocked.getSolver().solve(b), 1.0e-9);
+            RealMatrix inverse = blocked.getSolver().getInverse();
+            TestUtils.assertEquals("inverse", MatrixUtils.createRealIdentityMatrix(n),
+                                   a.multiply(inverse), 1.0e-10);
+            RealVector x = blocked.getSolver().solve(a.getColumnVector(0));
+            Assert.assertEquals(1.0, x.getEntry(0), 1.0e-10);
+            for (int i = 1; i < n; ++i) {
+                Assert.assertEquals(0.0, x.getEntry(i), 1.0e-10);
+            }
+        }
+    }
+
+    /** test that the parallel decomposition is identical to the sequential one */
+    @Test
+    public void testParallel() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int n : sizes) {
+                RealMatrix a = createRandomMatrix(n, 0x2d8f4b17e6a3c905l + n);
+                BlockLUDecomposition sequential = new BlockLUDecomposition(a);
+                BlockLUDecomposition parallel   = new BlockLUDecomposition(a, executor);
+                Assert.assertArrayEquals(sequential.getPivot(), parallel.getPivot());
+                assertIdentical(sequential.getL(), parallel.getL());
+                assertIdentical(sequential.getU(), parallel.getU());
+                assertIdentical(sequential.getSolver().getInverse(),
+                                parallel.getSolver().getInverse());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /** test singular matrix */
+    @Test
+    public void testSingular() {
+        RealMatrix a = createRandomMatrix(60, 0x6a0c3e59d17b84f2l);
+        a.setRow(57, a.getRow(3));
+        BlockLUDecomposition lu = new BlockLUDecomposition(a);
+        Assert.assertFalse(lu.getSolver().isNonSingular());
+        Assert.assertNull(lu.getL());
+        Assert.assertNull(lu.getU());
+        Assert.assertNull(lu.getP());
+        Assert.assertEquals(0.0, lu.getDeterminant(), 0.0);
+        try {
+            lu.getSolver().solve(new ArrayRealVector(60));
+            Assert.fail("an exception should have been thrown");
+        } catch (SingularMatrixException sme) {
+            // expected behavior
+        }
+    }
+
+    /** test non-square matrix */
+    @Test(expected = NonSquareMatrixException.class)
+    public void testNonSquare() {
+        new BlockLUDecomposition(MatrixUtils.createRealMatrix(new double[3][2]));
+    }
+
+    /** test null executor */
+    @Test(expected = NullArgumentException.class)
+    public void testNullExecutor() {
+        new BlockLUDecomposition(createRandomMatrix(3, 0x3l), (ExecutorService) null);
+    }
+
+
+    private static void assertIdentical(RealMatrix expected, RealMatrix actual) {
+        Assert.assertEquals(expected.getRowDimension(), actual.getRowDimension());
+        for (int i = 0; i < expected.getRowDimension(); ++i) {
+            Assert.assertArrayEquals(expected.getRow(i), actual.getRow(i), 0.0);
+        }
+    }
+
+    private static RealMatrix createRandomMatrix(int n, long seed) {
+        RandomGenerator random = new Well1024a(seed);
+        RealMatrix m = new BlockRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        return m;
+    }
+
+}
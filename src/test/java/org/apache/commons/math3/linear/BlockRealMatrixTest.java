@@ -18,12 +18,15 @@ package org.apache.commons.math3.linear;
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Test;
 import org.junit.Assert;
 
 import org.apache.commons.math3.TestUtils;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.exception.NoDataException;
@@ -366,6 +369,123 @@ public final class BlockRealMatrixTest {
         }
     }
 
+    @Test
+    public void testMultiplyTiled() {
+        int p = (7 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        int q = (5 * BlockRealMatrix.BLOCK_SIZE) / 2 + 3;
+        int r =  3 * BlockRealMatrix.BLOCK_SIZE - 1;
+        Random random = new Random(0x2f1c8e4a6b0d7395l);
+        BlockRealMatrix m1 = createRandomMatrix(random, p, q);
+        BlockRealMatrix m2 = createRandomMatrix(random, q, r);
+        BlockRealMatrix classical = m1.multiply(m2);
+        BlockRealMatrix tiled = m1.multiplyWithKernel(m2, MultiplicationKernel.TILED);
+        Assert.assertEquals(classical.getRowDimension(), tiled.getRowDimension());
+        Assert.assertEquals(classical.getColumnDimension(), tiled.getColumnDimension());
+        for (int i = 0; i < p; ++i) {
+            assertClose(classical.getRow(i), tiled.getRow(i), 1.0e-8);
+        }
+        Assert.assertEquals(classical, m1.multiplyWithKernel(m2, MultiplicationKernel.CLASSICAL));
+        try {
+            m2.multiplyWithKernel(m2, MultiplicationKernel.TILED);
+            Assert.fail("Expecting MathIllegalArgumentException");
+        } catch (MathIllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testParallelMultiply() {
+        int p = (7 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        int q = (5 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        int r =  3 * BlockRealMatrix.BLOCK_SIZE;
+        Random random = new Random(111007463902334l);
+        BlockRealMatrix m1 = createRandomMatrix(random, p, q);
+        BlockRealMatrix m2 = createRandomMatrix(random, q, r);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // parallel computation must give exactly the same results
+            Assert.assertEquals(m1.multiply(m2), m1.multiply(m2, executor));
+            RealMatrix a2 = new Array2DRowRealMatrix(m2.getData());
+            Assert.assertEquals(m1.multiply(a2), m1.multiply(a2, executor));
+            Assert.assertEquals(m1.multiply(m2),
+                                m1.multiply((RealMatrix) m2, executor));
+            try {
+                m2.multiply(m2, executor);
+                Assert.fail("Expecting MathIllegalArgumentException");
+            } catch (MathIllegalArgumentException ex) {
+                // expected
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelOperatePremultiply() {
+        int p = (7 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        int q = (5 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        Random random = new Random(111007463902334l);
+        BlockRealMatrix m = createRandomMatrix(random, p, q);
+        double[] u = new double[p];
+        double[] v = new double[q];
+        for (int i = 0; i < p; ++i) {
+            u[i] = random.nextDouble();
+        }
+        for (int j = 0; j < q; ++j) {
+            v[j] = random.nextDouble();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Assert.assertTrue(Arrays.equals(m.operate(v), m.operate(v, executor)));
+            Assert.assertTrue(Arrays.equals(m.preMultiply(u), m.preMultiply(u, executor)));
+            try {
+                m.operate(u, executor);
+                Assert.fail("Expecting MathIllegalArgumentException");
+            } catch (MathIllegalArgumentException ex) {
+                // expected
+            }
+            try {
+                m.preMultiply(v, executor);
+                Assert.fail("Expecting MathIllegalArgumentException");
+            } catch (MathIllegalArgumentException ex) {
+                // expected
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testOperateInPlace() {
+        int p = (7 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        int q = (5 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        Random random = new Random(0x3b2e7f91c05d84a6l);
+        BlockRealMatrix m = createRandomMatrix(random, p, q);
+        double[] v = new double[q];
+        for (int j = 0; j < q; ++j) {
+            v[j] = random.nextDouble();
+        }
+        // the buffer content must be overwritten, not accumulated
+        RealVector y = new ArrayRealVector(p, 1.0);
+        m.operate(new ArrayRealVector(v), y);
+        Assert.assertTrue(Arrays.equals(m.operate(v), y.toArray()));
+        RealVector z = new OpenMapRealVector(p);
+        m.operate(new ArrayRealVector(v), z);
+        Assert.assertTrue(Arrays.equals(m.operate(v), z.toArray()));
+        try {
+            m.operate(new ArrayRealVector(v), new ArrayRealVector(q));
+            Assert.fail("Expecting DimensionMismatchException");
+        } catch (DimensionMismatchException ex) {
+            // expected
+        }
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testParallelNullExecutor() {
+        BlockRealMatrix m = new BlockRealMatrix(testData);
+        m.multiply(m, null);
+    }
+
     /** test issue MATH-209 */
     @Test
     public void testMath209() {
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.exception.MathUnsupportedOperationException;
+import org.apache.commons.math3.exception.NonMonotonicSequenceException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well1024a;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link CompressedColumnRealMatrix} class.
+ *
+ * @version $Id$
+ */
+public class CompressedColumnRealMatrixTest {
+
+    @Test
+    public void testArraysConstructor() {
+        // [ 1 0 2 ]
+        // [ 0 0 0 ]
+        // [ 0 3 4 ]
+        final CompressedColumnRealMatrix m =
+                new CompressedColumnRealMatrix(3, 3, new int[] { 0, 1, 2, 4 },
+                                               new int[] { 0, 2, 0, 2 }, new double[] { 1, 3, 2, 4 });
+        Assert.assertEquals(4, m.getNonZeroCount());
+        final RealMatrix expected = MatrixUtils.createRealMatrix(new double[][] {
+            { 1, 0, 2 }, { 0, 0, 0 }, { 0, 3, 4 }
+        });
+        TestUtils.assertEquals("", expected, m, 1.0e-15);
+        Assert.assertArrayEquals(new int[] { 0, 1, 2, 4 }, m.getColumnPointers());
+        Assert.assertArrayEquals(new int[] { 0, 2, 0, 2 }, m.getRowIndices());
+        Assert.assertEquals(new CompressedRowRealMatrix(expected), m);
+    }
+
+    @Test(expected=NonMonotonicSequenceException.class)
+    public void testDecreasingPointers() {
+        new CompressedColumnRealMatrix(2, 3, new int[] { 0, 2, 1, 2 }, new int[] { 0, 1 }, new double[] { 1, 2 });
+    }
+
+    @Test
+    public void testOperate() {
+        final RandomGenerator random = new Well1024a(0x6e2c4a8f1d3b5790l);
+        final RealMatrix dense = new Array2DRowRealMatrix(35, 45);
+        final CompressedMatrixBuilder builder = new CompressedMatrixBuilder(35, 45);
+        CompressedRowRealMatrixTest.fill(random, dense, builder, 180);
+        final CompressedColumnRealMatrix m = builder.buildColumnMatrix();
+
+        final double[] x = new double[45];
+        for (int i = 0; i < x.length; ++i) {
+            x[i] = random.nextDouble();
+        }
+        TestUtils.assertEquals(dense.operate(x), m.operate(x), 1.0e-14);
+        TestUtils.assertEquals(dense.operate(x), m.operate(new ArrayRealVector(x)).toArray(), 1.0e-14);
+
+        final double[] y = new double[35];
+        for (int i = 0; i < y.length; ++i) {
+            y[i] = random.nextDouble();
+        }
+        TestUtils.assertEquals(dense.preMultiply(y), m.preMultiply(y), 1.0e-14);
+        TestUtils.assertEquals(dense.preMultiply(y), m.transpose().operate(y), 1.0e-14);
+    }
+
+    @Test
+    public void testMultiplyDense() {
+        final RandomGenerator random = new Well1024a(0x0d4b8f2a6c1e3975l);
+        final RealMatrix dense = new Array2DRowRealMatrix(20, 15);
+        final CompressedMatrixBuilder builder = new CompressedMatrixBuilder(20, 15);
+        CompressedRowRealMatrixTest.fill(random, dense, builder, 50);
+        final RealMatrix other = MatrixUtils.createRealMatrix(15, 4);
+        for (int i = 0; i < 15; ++i) {
+            for (int j = 0; j < 4; ++j) {
+                other.setEntry(i, j, random.nextDouble());
+            }
+        }
+        TestUtils.assertEquals("", dense.multiply(other), builder.buildColumnMatrix().multiply(other), 1.0e-14);
+    }
+
+    @Test(expected=MathUnsupportedOperationException.class)
+    public void testImmutable() {
+        new CompressedMatrixBuilder(3, 4).buildColumnMatrix().addToEntry(0, 0, 1.0);
+    }
+
+}
@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathUnsupportedOperationException;
+import org.apache.commons.math3.exception.NonMonotonicSequenceException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well1024a;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link CompressedRowRealMatrix} class.
+ *
+ * @version $Id$
+ */
+public class CompressedRowRealMatrixTest {
+
+    @Test
+    public void testArraysConstructor() {
+        // [ 1 0 2 ]
+        // [ 0 0 0 ]
+        // [ 0 3 4 ]
+        final CompressedRowRealMatrix m =
+                new CompressedRowRealMatrix(3, 3, new int[] { 0, 2, 2, 4 },
+                                            new int[] { 0, 2, 1, 2 }, new double[] { 1, 2, 3, 4 });
+        Assert.assertEquals(4, m.getNonZeroCount());
+        final RealMatrix expected = MatrixUtils.createRealMatrix(new double[][] {
+            { 1, 0, 2 }, { 0, 0, 0 }, { 0, 3, 4 }
+        });
+        TestUtils.assertEquals("", expected, m, 1.0e-15);
+        Assert.assertArrayEquals(new int[] { 0, 2, 2, 4 }, m.getRowPointers());
+        Assert.assertArrayEquals(new int[] { 0, 2, 1, 2 }, m.getColumnIndices());
+    }
+
+    @Test(expected=NonMonotonicSequenceException.class)
+    public void testUnsortedColumns() {
+        new CompressedRowRealMatrix(2, 3, new int[] { 0, 2, 2 }, new int[] { 2, 0 }, new double[] { 1, 2 });
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testColumnOutOfRange() {
+        new CompressedRowRealMatrix(2, 3, new int[] { 0, 1, 2 }, new int[] { 0, 3 }, new double[] { 1, 2 });
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testWrongPointersLength() {
+        new CompressedRowRealMatrix(3, 3, new int[] { 0, 1, 2 }, new int[] { 0, 1 }, new double[] { 1, 2 });
+    }
+
+    @Test
+    public void testBuilderDuplicates() {
+        final CompressedMatrixBuilder builder = new CompressedMatrixBuilder(3, 4, 2);
+        builder.addEntry(2, 3, 1.0);
+        builder.addEntry(0, 1, 2.0);
+        builder.addEntry(2, 0, 3.0);
+        builder.addEntry(2, 3, 4.0);
+        builder.addEntry(0, 1, -2.0);
+        Assert.assertEquals(5, builder.getTripletCount());
+        final CompressedRowRealMatrix m = builder.buildRowMatrix();
+        // explicitly added entries are kept, even when they cancel out
+        Assert.assertEquals(3, m.getNonZeroCount());
+        Assert.assertEquals(0.0, m.getEntry(0, 1), 0.0);
+        Assert.assertEquals(3.0, m.getEntry(2, 0), 0.0);
+        Assert.assertEquals(5.0, m.getEntry(2, 3), 0.0);
+        Assert.assertEquals(0.0, m.getEntry(1, 1), 0.0);
+        Assert.assertArrayEquals(new int[] { 0, 1, 1, 3 }, m.getRowPointers());
+        Assert.assertArrayEquals(new int[] { 1, 0, 3 }, m.getColumnIndices());
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testBuilderOutOfRange() {
+        new CompressedMatrixBuilder(3, 4).addEntry(3, 0, 1.0);
+    }
+
+    @Test
+    public void testConversions() {
+        final RandomGenerator random = new Well1024a(0x3d5f1a7e9b2c4086l);
+        final RealMatrix dense = new Array2DRowRealMatrix(17, 23);
+        final CompressedMatrixBuilder builder = new CompressedMatrixBuilder(17, 23);
+        fill(random, dense, builder, 60);
+        final CompressedRowRealMatrix m = builder.buildRowMatrix();
+        TestUtils.assertEquals("", dense, m, 1.0e-15);
+        TestUtils.assertEquals("", dense, new CompressedRowRealMatrix(dense), 1.0e-15);
+        TestUtils.assertEquals("", dense, m.toCompressedColumn(), 1.0e-15);
+        TestUtils.assertEquals("", dense, builder.buildColumnMatrix(), 1.0e-15);
+        TestUtils.assertEquals("", dense.transpose(), m.transpose(), 1.0e-15);
+        TestUtils.assertEquals("", dense, new CompressedRowRealMatrix(m.toCompressedColumn()), 1.0e-15);
+    }
+
+    @Test
+    public void testOperate() {
+        final RandomGenerator random = new Well1024a(0x7a1c3e5b9d2f4068l);
+        final RealMatrix dense = new Array2DRowRealMatrix(40, 30);
+        final CompressedMatrixBuilder builder = new CompressedMatrixBuilder(40, 30);
+        fill(random, dense, builder, 200);
+        final CompressedRowRealMatrix m = builder.buildRowMatrix();
+
+        final double[] x = new double[30];
+        for (int i = 0; i < x.length; ++i) {
+            x[i] = random.nextDouble();
+        }
+        TestUtils.assertEquals(dense.operate(x), m.operate(x), 1.0e-14);
+        TestUtils.assertEquals(dense.operate(x), m.operate(new OpenMapRealVector(x)).toArray(), 1.0e-14);
+
+        final double[] y = new double[40];
+        for (int i = 0; i < y.length; ++i) {
+            y[i] = random.nextDouble();
+        }
+        TestUtils.assertEquals(dense.preMultiply(y), m.preMultiply(y), 1.0e-14);
+        TestUtils.assertEquals(dense.preMultiply(y), m.preMultiply(new ArrayRealVector(y)).toArray(), 1.0e-14);
+    }
+
+    @Test
+    public void testParallelOperate() {
+        final RandomGenerator random = new Well1024a(0x62d09b4f1ea7c385l);
+        final RealMatrix dense = new Array2DRowRealMatrix(500, 400);
+        final CompressedMatrixBuilder builder = new CompressedMatrixBuilder(500, 400);
+        fill(random, dense, builder, 60000);
+        final CompressedRowRealMatrix m = builder.buildRowMatrix();
+
+        final double[] x = new double[400];
+        for (int i = 0; i < x.length; ++i) {
+            x[i] = random.nextDouble();
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // parallel computation must give exactly the same results
+            Assert.assertTrue(Arrays.equals(m.operate(x), m.operate(x, executor)));
+        } finally {
+            executor.shutdown();
+        }
+
+        final RealVector y = new ArrayRealVector(500, 1.0);
+        m.operate(new ArrayRealVector(x), y);
+        Assert.assertTrue(Arrays.equals(m.operate(x), y.toArray()));
+        final RealVector z = new ArrayRealVector(400, 1.0);
+        m.transpose().operate(y, z);
+        Assert.assertTrue(Arrays.equals(m.preMultiply(y.toArray()), z.toArray()));
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testOperateDimension() {
+        new CompressedMatrixBuilder(3, 4).buildRowMatrix().operate(new double[3]);
+    }
+
+    @Test
+    public void testMultiply() {
+        final RandomGenerator random = new Well1024a(0x19e4a7c2d5b83f60l);
+        final RealMatrix denseA = new Array2DRowRealMatrix(25, 31);
+        final CompressedMatrixBuilder builderA = new CompressedMatrixBuilder(25, 31);
+        fill(random, denseA, builderA, 90);
+        final RealMatrix denseB = new Array2DRowRealMatrix(31, 19);
+        final CompressedMatrixBuilder builderB = new CompressedMatrixBuilder(31, 19);
+        fill(random, denseB, builderB, 80);
+
+        final CompressedRowRealMatrix a = builderA.buildRowMatrix();
+        final RealMatrix expected = denseA.multiply(denseB);
+        final RealMatrix product = a.multiply(builderB.buildRowMatrix());
+        Assert.assertTrue(product instanceof CompressedRowRealMatrix);
+        TestUtils.assertEquals("", expected, product, 1.0e-14);
+        TestUtils.assertEquals("", expected, a.multiply((RealMatrix) builderB.buildColumnMatrix()), 1.0e-14);
+        TestUtils.assertEquals("", expected, a.multiply(denseB), 1.0e-14);
+        TestUtils.assertEquals("", expected, builderA.buildColumnMatrix().multiply(builderB.buildColumnMatrix()),
+                               1.0e-14);
+    }
+
+    @Test
+    public void testAddSubtractScale() {
+        final RandomGenerator random = new Well1024a(0x5c8e2a4f6d1b9370l);
+        final RealMatrix denseA = new Array2DRowRealMatrix(12, 9);
+        final CompressedMatrixBuilder builderA = new CompressedMatrixBuilder(12, 9);
+        fill(random, denseA, builderA, 30);
+        final RealMatrix denseB = new Array2DRowRealMatrix(12, 9);
+        final CompressedMatrixBuilder builderB = new CompressedMatrixBuilder(12, 9);
+        fill(random, denseB, builderB, 30);
+
+        final CompressedRowRealMatrix a = builderA.buildRowMatrix();
+        final CompressedRowRealMatrix b = builderB.buildRowMatrix();
+        TestUtils.assertEquals("", denseA.add(denseB), a.add(b), 1.0e-15);
+        TestUtils.assertEquals("", denseA.subtract(denseB), a.subtract(b), 1.0e-15);
+        TestUtils.assertEquals("", denseA.add(denseB), a.add(denseB), 1.0e-15);
+        TestUtils.assertEquals("", denseA.scalarMultiply(-2.5), a.scalarMultiply(-2.5), 1.0e-15);
+        final CompressedColumnRealMatrix ca = builderA.buildColumnMatrix();
+        TestUtils.assertEquals("", denseA.subtract(denseB), ca.subtract(builderB.buildColumnMatrix()), 1.0e-15);
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        final RandomGenerator random = new Well1024a(0x2b7d9f1e3a5c8046l);
+        final RealMatrix dense = new Array2DRowRealMatrix(15, 11);
+        final CompressedMatrixBuilder builder = new CompressedMatrixBuilder(15, 11);
+        fill(random, dense, builder, 40);
+        // an explicitly stored zero must not change equality nor hash code
+        builder.addEntry(14, 10, 0.0);
+        final RealMatrix exact = new Array2DRowRealMatrix(15, 11);
+        final CompressedRowRealMatrix m = builder.buildRowMatrix();
+        for (int i = 0; i < 15; ++i) {
+            for (int j = 0; j < 11; ++j) {
+                exact.setEntry(i, j, m.getEntry(i, j));
+            }
+        }
+
+        final CompressedColumnRealMatrix c = builder.buildColumnMatrix();
+        Assert.assertEquals(exact, m);
+        Assert.assertEquals(m, exact);
+        Assert.assertEquals(m, c);
+        Assert.assertEquals(c, m);
+        Assert.assertEquals(m, new CompressedRowRealMatrix(exact));
+        Assert.assertEquals(exact.hashCode(), m.hashCode());
+        Assert.assertEquals(exact.hashCode(), c.hashCode());
+        Assert.assertFalse(m.equals(m.scalarMultiply(2)));
+        Assert.assertFalse(m.equals(m.transpose()));
+    }
+
+    @Test(expected=MathUnsupportedOperationException.class)
+    public void testImmutable() {
+        new CompressedMatrixBuilder(3, 4).buildRowMatrix().setEntry(0, 0, 1.0);
+    }
+
+    @Test
+    public void testSerial() {
+        final RandomGenerator random = new Well1024a(0x4f1a6c8e2d3b5970l);
+        final RealMatrix dense = new Array2DRowRealMatrix(10, 10);
+        final CompressedMatrixBuilder builder = new CompressedMatrixBuilder(10, 10);
+        fill(random, dense, builder, 25);
+        final CompressedRowRealMatrix m = builder.buildRowMatrix();
+        Assert.assertEquals(m, TestUtils.serializeAndRecover(m));
+    }
+
+    /**
+     * Fill a dense matrix and a builder with the same random entries,
+     * adding some entries several times in random order.
+     */
+    static void fill(final RandomGenerator random, final RealMatrix dense,
+                     final CompressedMatrixBuilder builder, final int n) {
+        for (int k = 0; k < n; ++k) {
+            final int i = random.nextInt(dense.getRowDimension());
+            final int j = random.nextInt(dense.getColumnDimension());
+            final double value = 2 * random.nextDouble() - 1;
+            dense.addToEntry(i, j, value);
+            builder.addEntry(i, j, value);
+        }
+    }
+
+}
@@ -98,6 +98,51 @@ public class ConjugateGradientTest {
         }
     }
 
+    @Test
+    public void testUnpreconditionedSolutionCachedProduct() {
+        final int n = 5;
+        final int maxIterations = 100;
+        final RealLinearOperator h = new HilbertMatrix(n);
+        // this operator returns a read-only view of its own cached product,
+        // which must not be used as a work vector by the solver
+        final RealLinearOperator a = new RealLinearOperator() {
+
+            private final RealVector cache = new ArrayRealVector(n);
+
+            @Override
+            public RealVector operate(final RealVector x) {
+                cache.setSubVector(0, h.operate(x));
+                return RealVector.unmodifiableRealVector(cache);
+            }
+
+            @Override
+            public int getRowDimension() {
+                return n;
+            }
+
+            @Override
+            public int getColumnDimension() {
+                return n;
+            }
+        };
+        final InverseHilbertMatrix ainv = new InverseHilbertMatrix(n);
+        final IterativeLinearSolver solver;
+        solver = new ConjugateGradient(maxIterations, 1E-10, true);
+        final RealVector b = new ArrayRealVector(n);
+        for (int j = 0; j < n; j++) {
+            b.set(0.);
+            b.setEntry(j, 1.);
+            final RealVector x = solver.solve(a, b);
+            for (int i = 0; i < n; i++) {
+                final double actual = x.getEntry(i);
+                final double expected = ainv.getEntry(i, j);
+                final double delta = 1E-10 * Math.abs(expected);
+                final String msg = String.format("entry[%d][%d]", i, j);
+                Assert.assertEquals(msg, expected, actual, delta);
+            }
+        }
+    }
+
     @Test
     public void testUnpreconditionedInPlaceSolutionWithInitialGuess() {
         final int n = 5;
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import org.apache.commons.math3.exception.MaxCountExceededException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.IterationEvent;
+import org.apache.commons.math3.util.IterationListener;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GMRESTest {
+
+    @Test
+    public void testNonSymmetricSolution() {
+        final CompressedRowRealMatrix a = createConvectionDiffusion(10, 0.5);
+        final RealVector b = createRightHandSide(a.getRowDimension());
+        final GMRES solver = new GMRES(1000, 20, 1.0e-12);
+        Assert.assertEquals(20, solver.getRestart());
+        final RealVector x = solver.solve(a, b);
+        final RealVector expected =
+            new LUDecomposition(new Array2DRowRealMatrix(a.getData())).getSolver().solve(b);
+        Assert.assertEquals(0, x.subtract(expected).getNorm() / expected.getNorm(), 1.0e-10);
+    }
+
+    @Test
+    public void testNoRestartConvergesInDimensionSteps() {
+        // without restart, GMRES is a direct method
+        final CompressedRowRealMatrix a = createConvectionDiffusion(4, 0.9);
+        final int n = a.getRowDimension();
+        final RealVector b = createRightHandSide(n);
+        final GMRES solver = new GMRES(n + 1, n + 10, 1.0e-10);
+        final RealVector x = solver.solve(a, b);
+        Assert.assertTrue(solver.getIterationManager().getIterations() <= n + 1);
+        Assert.assertEquals(0, a.operate(x).subtract(b).getNorm(), 1.0e-10 * b.getNorm());
+    }
+
+    @Test
+    public void testPreconditionedSolution() {
+        final CompressedRowRealMatrix a = createConvectionDiffusion(40, 0.5);
+        final RealVector b = createRightHandSide(a.getRowDimension());
+        final GMRES gmres  = new GMRES(10000, 30, 1.0e-10);
+        final GMRES pgmres = new GMRES(10000, 30, 1.0e-10);
+        final RealVector x  = gmres.solve(a, b);
+        final RealVector px = pgmres.solve(a, new SSORPreconditioner(a), b);
+        final int n  = gmres.getIterationManager().getIterations();
+        final int pn = pgmres.getIterationManager().getIterations();
+        Assert.assertTrue(pn + " vs " + n, 2 * pn < n);
+        Assert.assertEquals(0, a.operate(x).subtract(b).getNorm(), 1.0e-10 * b.getNorm());
+        Assert.assertEquals(0, a.operate(px).subtract(b).getNorm(), 1.0e-10 * b.getNorm());
+    }
+
+    @Test
+    public void testExactInitialGuess() {
+        final CompressedRowRealMatrix a = createConvectionDiffusion(5, 0.5);
+        final RealVector x0 = createRightHandSide(a.getRowDimension());
+        final RealVector b  = a.operate(x0);
+        final GMRES solver = new GMRES(10, 5, 1.0e-10);
+        final RealVector x = solver.solveInPlace(a, b, x0.copy());
+        Assert.assertEquals(1, solver.getIterationManager().getIterations());
+        Assert.assertEquals(0, x.subtract(x0).getNorm(), 0.0);
+    }
+
+    @Test
+    public void testEventManagement() {
+        final CompressedRowRealMatrix a = createConvectionDiffusion(10, 0.5);
+        final RealVector b = createRightHandSide(a.getRowDimension());
+        final GMRES solver = new GMRES(1000, 7, 1.0e-10);
+        final int[] count = new int[4];
+        solver.getIterationManager().addIterationListener(new IterationListener() {
+            public void initializationPerformed(final IterationEvent e) {
+                ++count[0];
+                Assert.assertTrue(((IterativeLinearSolverEvent) e).providesResidual());
+            }
+
+            public void iterationStarted(final IterationEvent e) {
+                ++count[1];
+                Assert.assertEquals(count[1], e.getIterations() - 1);
+            }
+
+            public void iterationPerformed(final IterationEvent e) {
+                ++count[2];
+                Assert.assertEquals(count[2], e.getIterations() - 1);
+            }
+
+            public void terminationPerformed(final IterationEvent e) {
+                ++count[3];
+                final IterativeLinearSolverEvent evt = (IterativeLinearSolverEvent) e;
+                Assert.assertTrue(evt.providesResidual());
+                Assert.assertEquals(evt.getNormOfResidual(), evt.getResidual().getNorm(), 0.0);
+            }
+        });
+        solver.solve(a, b);
+        Assert.assertEquals(1, count[0]);
+        Assert.assertEquals(count[1], count[2]);
+        Assert.assertEquals(solver.getIterationManager().getIterations() - 1, count[2]);
+        Assert.assertEquals(1, count[3]);
+    }
+
+    @Test(expected=MaxCountExceededException.class)
+    public void testMaxIterations() {
+        final CompressedRowRealMatrix a = createConvectionDiffusion(10, 0.5);
+        new GMRES(5, 3, 1.0e-10).solve(a, createRightHandSide(a.getRowDimension()));
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testWrongRestart() {
+        new GMRES(10, 0, 1.0e-10);
+    }
+
+    @Test(expected=NonSquareOperatorException.class)
+    public void testNonSquareOperator() {
+        new GMRES(10, 5, 1.0e-10).solve(new Array2DRowRealMatrix(2, 3), new ArrayRealVector(2));
+    }
+
+    /**
+     * Create the centered five points discretization of a convection-diffusion
+     * operator on a n &times; n grid. The matrix is not symmetric as soon as
+     * {@code c} is non-zero.
+     */
+    static CompressedRowRealMatrix createConvectionDiffusion(final int n, final double c) {
+        final CompressedMatrixBuilder builder = new CompressedMatrixBuilder(n * n, n * n, 5 * n * n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                final int k = i * n + j;
+                builder.addEntry(k, k, 4);
+                if (i > 0) {
+                    builder.addEntry(k, k - n, -1 - c);
+                }
+                if (i < n - 1) {
+                    builder.addEntry(k, k + n, -1 + c);
+                }
+                if (j > 0) {
+                    builder.addEntry(k, k - 1, -1 - c);
+                }
+                if (j < n - 1) {
+                    builder.addEntry(k, k + 1, -1 + c);
+                }
+            }
+        }
+        return builder.buildRowMatrix();
+    }
+
+    /**
+     * Create a smooth right-hand side vector.
+     */
+    static RealVector createRightHandSide(final int n) {
+        final RealVector b = new ArrayRealVector(n);
+        for (int i = 0; i < n; ++i) {
+            b.setEntry(i, 1 + FastMath.sin(0.1 * i));
+        }
+        return b;
+    }
+
+}
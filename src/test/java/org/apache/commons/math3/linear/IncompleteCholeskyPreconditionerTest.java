@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IncompleteCholeskyPreconditionerTest {
+
+    @Test
+    public void testTridiagonalIsExact() {
+        // there is no fill-in for tridiagonal matrices,
+        // so the incomplete factorization is the complete one
+        final int n = 50;
+        final CompressedMatrixBuilder builder = new CompressedMatrixBuilder(n, n);
+        for (int i = 0; i < n; ++i) {
+            builder.addEntry(i, i, 2 + 0.01 * i);
+            if (i > 0) {
+                builder.addEntry(i, i - 1, -1);
+                builder.addEntry(i - 1, i, -1);
+            }
+        }
+        final CompressedRowRealMatrix a = builder.buildRowMatrix();
+        final IncompleteCholeskyPreconditioner m = new IncompleteCholeskyPreconditioner(a);
+        final double[] x = new double[n];
+        for (int i = 0; i < n; ++i) {
+            x[i] = FastMath.cos(i);
+        }
+        final RealVector ax = new ArrayRealVector(a.operate(x));
+        TestUtils.assertEquals(x, m.operate(ax).toArray(), 1.0e-12);
+        final RealVector y = new OpenMapRealVector(n);
+        m.operate(ax, y);
+        TestUtils.assertEquals(x, y.toArray(), 1.0e-12);
+    }
+
+    @Test
+    public void testMatchesDefinition() {
+        // L.L^T must match A on the sparsity pattern of A
+        final CompressedRowRealMatrix a = LaplacianMatrix.create(6);
+        final int n = a.getRowDimension();
+        final IncompleteCholeskyPreconditioner m = new IncompleteCholeskyPreconditioner(a);
+        final RealMatrix llt = new LUDecomposition(operatorToMatrix(m)).getSolver().getInverse();
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                if (a.getEntry(i, j) != 0 || i == j) {
+                    Assert.assertEquals(a.getEntry(i, j), llt.getEntry(i, j), 1.0e-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFewerIterations() {
+        final CompressedRowRealMatrix a = LaplacianMatrix.create(100);
+        final RealVector b = new ArrayRealVector(a.getRowDimension(), 1.0);
+        final ConjugateGradient cg  = new ConjugateGradient(10000, 1.0e-10, false);
+        final ConjugateGradient pcg = new ConjugateGradient(10000, 1.0e-10, false);
+        final RealVector x  = cg.solve(a, b);
+        final RealVector px = pcg.solve(a, new IncompleteCholeskyPreconditioner(a), b);
+        final int ncg  = cg.getIterationManager().getIterations();
+        final int npcg = pcg.getIterationManager().getIterations();
+        Assert.assertTrue(npcg + " vs " + ncg, 2 * npcg < ncg);
+        Assert.assertEquals(0, a.operate(px).subtract(b).getNorm() / b.getNorm(), 1.0e-9);
+        Assert.assertEquals(0, x.subtract(px).getNorm() / x.getNorm(), 1.0e-8);
+    }
+
+    @Test(expected=NonPositiveDefiniteMatrixException.class)
+    public void testMissingDiagonal() {
+        final CompressedMatrixBuilder builder = new CompressedMatrixBuilder(2, 2);
+        builder.addEntry(0, 0, 1);
+        builder.addEntry(1, 0, 1);
+        builder.addEntry(0, 1, 1);
+        new IncompleteCholeskyPreconditioner(builder.buildRowMatrix());
+    }
+
+    @Test(expected=NonPositiveDefiniteMatrixException.class)
+    public void testNonPositivePivot() {
+        new IncompleteCholeskyPreconditioner(new CompressedRowRealMatrix(new Array2DRowRealMatrix(new double[][] {
+            { 1, 2 }, { 2, 1 }
+        })));
+    }
+
+    @Test(expected=NonSquareMatrixException.class)
+    public void testNonSquare() {
+        new IncompleteCholeskyPreconditioner(new CompressedMatrixBuilder(2, 3).buildRowMatrix());
+    }
+
+    /**
+     * Extract the matrix of a linear operator by products with the basis vectors.
+     */
+    static RealMatrix operatorToMatrix(final RealLinearOperator m) {
+        final int n = m.getColumnDimension();
+        final RealMatrix matrix = new Array2DRowRealMatrix(m.getRowDimension(), n);
+        for (int j = 0; j < n; ++j) {
+            final RealVector e = new ArrayRealVector(n);
+            e.setEntry(j, 1.0);
+            matrix.setColumnVector(j, m.operate(e));
+        }
+        return matrix;
+    }
+
+}
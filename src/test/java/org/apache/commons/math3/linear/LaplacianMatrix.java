@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+/** This class builds 5-points laplacians as {@link CompressedRowRealMatrix}. */
+public class LaplacianMatrix {
+
+    /** Private constructor for utility class. */
+    private LaplacianMatrix() {
+    }
+
+    /**
+     * Create the 5-points laplacian of a n &times; n grid.
+     *
+     * @param n Number of points on each side of the grid.
+     * @return the (n * n) &times; (n * n) laplacian
+     */
+    public static CompressedRowRealMatrix create(final int n) {
+        final CompressedMatrixBuilder builder = new CompressedMatrixBuilder(n * n, n * n, 5 * n * n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                final int k = i * n + j;
+                builder.addEntry(k, k, 4);
+                if (i > 0) {
+                    builder.addEntry(k, k - n, -1);
+                }
+                if (i < n - 1) {
+                    builder.addEntry(k, k + n, -1);
+                }
+                if (j > 0) {
+                    builder.addEntry(k, k - 1, -1);
+                }
+                if (j < n - 1) {
+                    builder.addEntry(k, k + 1, -1);
+                }
+            }
+        }
+        return builder.buildRowMatrix();
+    }
+
+}
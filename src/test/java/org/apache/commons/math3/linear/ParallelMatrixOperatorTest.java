@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelMatrixOperatorTest {
+
+    @Test
+    public void testOperate() {
+        final CompressedRowRealMatrix laplacian = createLaplacian(120);
+        final RealMatrix[] matrices = {
+            laplacian,
+            new Array2DRowRealMatrix(laplacian.getSubMatrix(0, 299, 0, 199).getData()),
+            new BlockRealMatrix(laplacian.getSubMatrix(0, 299, 0, 199).getData()),
+            laplacian.transpose()
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (final RealMatrix m : matrices) {
+                final ParallelMatrixOperator a = new ParallelMatrixOperator(m, executor);
+                Assert.assertEquals(m.getRowDimension(), a.getRowDimension());
+                Assert.assertEquals(m.getColumnDimension(), a.getColumnDimension());
+                final double[] x = new double[m.getColumnDimension()];
+                for (int i = 0; i < x.length; ++i) {
+                    x[i] = FastMath.sin(0.1 * i);
+                }
+                final double[] expected = m.operate(x);
+                Assert.assertTrue(Arrays.equals(expected, a.operate(new ArrayRealVector(x)).toArray()));
+                final RealVector y = new OpenMapRealVector(m.getRowDimension());
+                a.operate(new ArrayRealVector(x), y);
+                Assert.assertTrue(Arrays.equals(expected, y.toArray()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSolversGiveSameResults() {
+        final CompressedRowRealMatrix laplacian = createLaplacian(100);
+        final RealVector b = new ArrayRealVector(laplacian.getRowDimension(), 1.0);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final RealLinearOperator a = new ParallelMatrixOperator(laplacian, executor);
+            final ConjugateGradient cg = new ConjugateGradient(1000, 1.0e-10, false);
+            Assert.assertEquals(cg.solve(laplacian, b), cg.solve(a, b));
+            final SymmLQ symmlq = new SymmLQ(1000, 1.0e-10, false);
+            Assert.assertEquals(symmlq.solve(laplacian, b), symmlq.solve(a, b));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testDimensionMismatch() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            new ParallelMatrixOperator(createLaplacian(3), executor).operate(new ArrayRealVector(9),
+                                                                             new ArrayRealVector(8));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullExecutor() {
+        new ParallelMatrixOperator(createLaplacian(3), null);
+    }
+
+
+    /** Create the 5-points laplacian of a n &times; n grid. */
+    private static CompressedRowRealMatrix createLaplacian(final int n) {
+        final CompressedMatrixBuilder builder = new CompressedMatrixBuilder(n * n, n * n, 5 * n * n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                final int k = i * n + j;
+                builder.addEntry(k, k, 4);
+                if (i > 0) {
+                    builder.addEntry(k, k - n, -1);
+                }
+                if (i < n - 1) {
+                    builder.addEntry(k, k + n, -1);
+                }
+                if (j > 0) {
+                    builder.addEntry(k, k - 1, -1);
+                }
+                if (j < n - 1) {
+                    builder.addEntry(k, k + 1, -1);
+                }
+            }
+        }
+        return builder.buildRowMatrix();
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SSORPreconditionerTest {
+
+    @Test
+    public void testMatchesDefinition() {
+        final CompressedRowRealMatrix a = LaplacianMatrix.create(5);
+        final int n = a.getRowDimension();
+        for (final double omega : new double[] { 0.5, 1.0, 1.7 }) {
+            final SSORPreconditioner m = new SSORPreconditioner(a, omega);
+            Assert.assertEquals(omega, m.getOmega(), 0.0);
+
+            // M^-1 = (D + omega L) D^-1 (D + omega U) / (omega (2 - omega))
+            final RealMatrix lower    = new Array2DRowRealMatrix(n, n);
+            final RealMatrix invDiag  = new Array2DRowRealMatrix(n, n);
+            final RealMatrix upper    = new Array2DRowRealMatrix(n, n);
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    final double aij = a.getEntry(i, j);
+                    if (i == j) {
+                        lower.setEntry(i, j, aij);
+                        invDiag.setEntry(i, j, 1 / aij);
+                        upper.setEntry(i, j, aij);
+                    } else if (j < i) {
+                        lower.setEntry(i, j, omega * aij);
+                    } else {
+                        upper.setEntry(i, j, omega * aij);
+                    }
+                }
+            }
+            final RealMatrix inverse =
+                lower.multiply(invDiag).multiply(upper).scalarMultiply(1 / (omega * (2 - omega)));
+
+            final double[] x = new double[n];
+            for (int i = 0; i < n; ++i) {
+                x[i] = FastMath.sin(i);
+            }
+            final RealVector y = new OpenMapRealVector(n);
+            m.operate(new ArrayRealVector(x), y);
+            TestUtils.assertEquals(x, inverse.operate(y.toArray()), 1.0e-12);
+            TestUtils.assertEquals(y.toArray(), m.operate(new ArrayRealVector(x)).toArray(), 1.0e-15);
+        }
+    }
+
+    @Test
+    public void testFewerIterations() {
+        final CompressedRowRealMatrix a = LaplacianMatrix.create(100);
+        final RealVector b = new ArrayRealVector(a.getRowDimension(), 1.0);
+        final ConjugateGradient cg  = new ConjugateGradient(10000, 1.0e-10, false);
+        final ConjugateGradient pcg = new ConjugateGradient(10000, 1.0e-10, false);
+        final RealVector x  = cg.solve(a, b);
+        final RealVector px = pcg.solve(a, new SSORPreconditioner(a, 1.9), b);
+        final int ncg  = cg.getIterationManager().getIterations();
+        final int npcg = pcg.getIterationManager().getIterations();
+        Assert.assertTrue(npcg + " vs " + ncg, 3 * npcg < ncg);
+        Assert.assertEquals(0, a.operate(px).subtract(b).getNorm() / b.getNorm(), 1.0e-9);
+        Assert.assertEquals(0, x.subtract(px).getNorm() / x.getNorm(), 1.0e-8);
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testOmegaTooLarge() {
+        new SSORPreconditioner(LaplacianMatrix.create(2), 2.0);
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testOmegaTooSmall() {
+        new SSORPreconditioner(LaplacianMatrix.create(2), 0.0);
+    }
+
+    @Test(expected=NonPositiveDefiniteMatrixException.class)
+    public void testNegativeDiagonal() {
+        new SSORPreconditioner(new CompressedRowRealMatrix(new Array2DRowRealMatrix(new double[][] {
+            { 1, 0 }, { 0, -1 }
+        })));
+    }
+
+    @Test(expected=NonSquareMatrixException.class)
+    public void testNonSquare() {
+        new SSORPreconditioner(new CompressedMatrixBuilder(2, 3).buildRowMatrix());
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well1024a;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TiledMultiplicationTest {
+
+    @Test
+    public void testSingleEntry() {
+        checkRows(1, 1, 1);
+        checkPacked(1, 1, 1);
+    }
+
+    @Test
+    public void testOddSizes() {
+        checkRows(7, 5, 3);
+        checkRows(3, 11, 13);
+        checkRows(13, 9, 1);
+        checkPacked(7, 5, 3);
+        checkPacked(3, 11, 13);
+        checkPacked(13, 9, 1);
+    }
+
+    @Test
+    public void testDeepCommonDimension() {
+        checkRows(5, 6, TiledMultiplication.KC + 1);
+        checkRows(9, 3, 2 * TiledMultiplication.KC + 7);
+    }
+
+    @Test
+    public void testWideRightOperand() {
+        checkRows(3, TiledMultiplication.NC + 3, 2);
+        checkRows(6, 2 * TiledMultiplication.NC + 1, TiledMultiplication.KC + 5);
+    }
+
+    @Test
+    public void testFullPanel() {
+        checkPacked(6, TiledMultiplication.NC, TiledMultiplication.KC);
+        checkPacked(TiledMultiplication.MR + 1, TiledMultiplication.NR + 1, TiledMultiplication.KC - 1);
+    }
+
+    @Test
+    public void testPackedPanelReuse() {
+        final RandomGenerator random = new Well1024a(0x2d4ab7f82c3e19e5l);
+        final int n = 7;
+        final int k = 5;
+        final double[] b = createFlat(random, k, n);
+        final TiledMultiplication kernel = new TiledMultiplication();
+        kernel.pack(b, n, k);
+
+        // the same packed panel multiplies several left operands
+        for (final int m : new int[] { 1, 4, 9 }) {
+            final double[] a = createFlat(random, m, k);
+            final double[] c = createFlat(random, m, n);
+            final double[] expected = c.clone();
+            naiveMultiply(a, b, expected, m, n, k);
+            kernel.multiplyPacked(a, c, m, n, k);
+            checkEquals(expected, c, k);
+        }
+    }
+
+    private void checkRows(final int m, final int n, final int k) {
+        final RandomGenerator random = new Well1024a(0x7bd6e2ac3f3f3d5bl);
+        final double[] a = createFlat(random, m, k);
+        final double[] b = createFlat(random, k, n);
+        final double[] c = createFlat(random, m, n);
+        final double[] expected = c.clone();
+        naiveMultiply(a, b, expected, m, n, k);
+
+        final double[][] cRows = toRows(c, m, n);
+        new TiledMultiplication().multiply(toRows(a, m, k), toRows(b, k, n), cRows, m, n, k);
+        for (int i = 0; i < m; ++i) {
+            System.arraycopy(cRows[i], 0, c, i * n, n);
+        }
+        checkEquals(expected, c, k);
+    }
+
+    private void checkPacked(final int m, final int n, final int k) {
+        final RandomGenerator random = new Well1024a(0x4c4e8a4e1b6d3c21l);
+        final double[] a = createFlat(random, m, k);
+        final double[] b = createFlat(random, k, n);
+        final double[] c = createFlat(random, m, n);
+        final double[] expected = c.clone();
+        naiveMultiply(a, b, expected, m, n, k);
+
+        final TiledMultiplication kernel = new TiledMultiplication();
+        kernel.pack(b, n, k);
+        kernel.multiplyPacked(a, c, m, n, k);
+        checkEquals(expected, c, k);
+    }
+
+    private void naiveMultiply(final double[] a, final double[] b, final double[] c,
+                               final int m, final int n, final int k) {
+        for (int i = 0; i < m; ++i) {
+            for (int j = 0; j < n; ++j) {
+                double sum = 0;
+                for (int l = 0; l < k; ++l) {
+                    sum += a[i * k + l] * b[l * n + j];
+                }
+                c[i * n + j] += sum;
+            }
+        }
+    }
+
+    private double[] createFlat(final RandomGenerator random, final int rows, final int columns) {
+        final double[] data = new double[rows * columns];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = 2 * random.nextDouble() - 1;
+        }
+        return data;
+    }
+
+    private double[][] toRows(final double[] flat, final int rows, final int columns) {
+        final double[][] data = new double[rows][columns];
+        for (int i = 0; i < rows; ++i) {
+            System.arraycopy(flat, i * columns, data[i], 0, columns);
+        }
+        return data;
+    }
+
+    private void checkEquals(final double[] expected, final double[] actual, final int k) {
+        Assert.assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; ++i) {
+            Assert.assertEquals(expected[i], actual[i], 1.0e-15 * (k + 1));
+        }
+    }
+
+}
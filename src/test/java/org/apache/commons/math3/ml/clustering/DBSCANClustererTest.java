@@ -16,11 +16,23 @@
  */
 package org.apache.commons.math3.ml.clustering;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
 import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.ml.distance.ChebyshevDistance;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.ml.distance.ManhattanDistance;
+import org.apache.commons.math3.ml.neighbors.DefaultNeighborSearchFactory;
+import org.apache.commons.math3.ml.neighbors.LinearNeighborSearch;
+import org.apache.commons.math3.ml.neighbors.NeighborSearch;
+import org.apache.commons.math3.ml.neighbors.NeighborSearchFactory;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -159,6 +171,53 @@ public class DBSCANClustererTest {
         Assert.assertTrue(clusters.get(0).getPoints().containsAll(clusterOne));
     }
     
+    @Test
+    public void testNeighborSearchFactories() {
+        // random blobs with noise, clustered with tree-based and brute force searches
+        final RandomGenerator random = new Well19937c(0x3c81f5a2e97b604dl);
+        final List<DoublePoint> points = new ArrayList<DoublePoint>();
+        for (int i = 0; i < 3000; ++i) {
+            final int blob = i % 4;
+            if (i % 10 == 0) {
+                points.add(new DoublePoint(new double[] {
+                    100 * random.nextDouble(), 100 * random.nextDouble()
+                }));
+            } else {
+                points.add(new DoublePoint(new double[] {
+                    25 * blob + 3 * random.nextGaussian(), 80 - 20 * blob + 3 * random.nextGaussian()
+                }));
+            }
+        }
+
+        final NeighborSearchFactory linear = new NeighborSearchFactory() {
+            public <T extends Clusterable> NeighborSearch<T> create(Collection<T> data,
+                                                                    DistanceMeasure measure) {
+                return new LinearNeighborSearch<T>(data, measure);
+            }
+        };
+
+        for (final DistanceMeasure measure : new DistanceMeasure[] {
+            new EuclideanDistance(), new ManhattanDistance(), new ChebyshevDistance()
+        }) {
+            final DBSCANClusterer<DoublePoint> defaultClusterer =
+                    new DBSCANClusterer<DoublePoint>(1.5, 6, measure);
+            Assert.assertTrue(defaultClusterer.getNeighborSearchFactory() instanceof DefaultNeighborSearchFactory);
+            final List<Cluster<DoublePoint>> expected =
+                    new DBSCANClusterer<DoublePoint>(1.5, 6, measure, linear).cluster(points);
+            final List<Cluster<DoublePoint>> actual = defaultClusterer.cluster(points);
+            Assert.assertTrue(expected.size() > 1);
+            Assert.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); ++i) {
+                Assert.assertEquals(expected.get(i).getPoints(), actual.get(i).getPoints());
+            }
+        }
+    }
+
+    @Test(expected = NullArgumentException.class)
+    public void testNullSearchFactory() {
+        new DBSCANClusterer<DoublePoint>(2.0, 5, new EuclideanDistance(), null);
+    }
+
     @Test
     public void testGetEps() {
         final DBSCANClusterer<DoublePoint> transformer = new DBSCANClusterer<DoublePoint>(2.0, 5);
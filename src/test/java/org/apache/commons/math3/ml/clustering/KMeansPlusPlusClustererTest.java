@@ -21,11 +21,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.NumberIsTooSmallException;
 import org.apache.commons.math3.ml.distance.EuclideanDistance;
 import org.apache.commons.math3.random.JDKRandomGenerator;
 import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -168,6 +172,96 @@ public class KMeansPlusPlusClustererTest {
         Assert.assertTrue(uniquePointIsCenter);
     }
     
+    @Test
+    public void testParallelCluster() {
+        // five blobs of 4000 points each
+        final RandomGenerator generator = new Well19937c(0x5e2b7c91d40a8f36l);
+        final List<DoublePoint> points = new ArrayList<DoublePoint>();
+        for (int i = 0; i < 20000; ++i) {
+            final int blob = i % 5;
+            points.add(new DoublePoint(new double[] {
+                10 * blob + generator.nextGaussian(),
+                -7 * blob + generator.nextGaussian(),
+                generator.nextGaussian()
+            }));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (KMeansPlusPlusClusterer.EmptyClusterStrategy strategy :
+                 KMeansPlusPlusClusterer.EmptyClusterStrategy.values()) {
+                random.setSeed(1746432956321l);
+                final List<CentroidCluster<DoublePoint>> sequential =
+                    new KMeansPlusPlusClusterer<DoublePoint>(8, 50, new EuclideanDistance(),
+                                                             random, strategy).cluster(points);
+                random.setSeed(1746432956321l);
+                final List<CentroidCluster<DoublePoint>> parallel =
+                    new KMeansPlusPlusClusterer<DoublePoint>(8, 50, new EuclideanDistance(),
+                                                             random, strategy).cluster(points, executor);
+
+                // same random choices, results differ only by rounding errors in centroids
+                Assert.assertEquals(sequential.size(), parallel.size());
+                for (int i = 0; i < sequential.size(); ++i) {
+                    Assert.assertEquals(sequential.get(i).getPoints(), parallel.get(i).getPoints());
+                    Assert.assertArrayEquals(sequential.get(i).getCenter().getPoint(),
+                                             parallel.get(i).getCenter().getPoint(),
+                                             1.0e-12);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelReproducible() {
+        final RandomGenerator generator = new Well19937c(0x3c81f9a2e6d0b457l);
+        final List<DoublePoint> points = new ArrayList<DoublePoint>();
+        for (int i = 0; i < 20000; ++i) {
+            final int blob = i % 3;
+            points.add(new DoublePoint(new double[] {
+                5 * blob + generator.nextGaussian(),
+                generator.nextGaussian()
+            }));
+        }
+
+        // the partial sums are merged in the same order, whatever the number of threads
+        List<CentroidCluster<DoublePoint>> reference = null;
+        for (int threads = 1; threads <= 4; ++threads) {
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                random.setSeed(1746432956321l);
+                final List<CentroidCluster<DoublePoint>> clusters =
+                    new KMeansPlusPlusClusterer<DoublePoint>(6, 50, new EuclideanDistance(),
+                                                             random).cluster(points, executor);
+                if (reference == null) {
+                    reference = clusters;
+                } else {
+                    Assert.assertEquals(reference.size(), clusters.size());
+                    for (int i = 0; i < reference.size(); ++i) {
+                        Assert.assertEquals(reference.get(i).getPoints(), clusters.get(i).getPoints());
+                        Assert.assertArrayEquals(reference.get(i).getCenter().getPoint(),
+                                                 clusters.get(i).getCenter().getPoint(),
+                                                 0.0);
+                    }
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testParallelNullExecutor() {
+        KMeansPlusPlusClusterer<DoublePoint> transformer =
+            new KMeansPlusPlusClusterer<DoublePoint>(1, 1, new EuclideanDistance(), random);
+        DoublePoint[] points = new DoublePoint[] {
+            new DoublePoint(new int[] { 1959, 325100 }),
+            new DoublePoint(new int[] { 1960, 373200 })
+        };
+        transformer.cluster(Arrays.asList(points), null);
+    }
+
     /**
      * 2 variables cannot be clustered into 3 clusters. See issue MATH-436.
      */
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.ml.clustering;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MiniBatchKMeansClustererTest {
+
+    /** Centers of the generated blobs. */
+    private static final double[][] CENTERS = {
+        { -10, -10 }, { -10, 10 }, { 10, -10 }, { 10, 10 }, { 0, 0 }
+    };
+
+    @Test
+    public void testCluster() {
+        final List<DoublePoint> points = createBlobs(20000, new Well19937c(0x4b2e8f17a3c05d69l));
+        final MiniBatchKMeansClusterer<DoublePoint> clusterer =
+                new MiniBatchKMeansClusterer<DoublePoint>(CENTERS.length, 200, 100,
+                                                          new EuclideanDistance(),
+                                                          new Well19937c(0x19c7e2b4d85a036fl));
+        final List<CentroidCluster<DoublePoint>> clusters = clusterer.cluster(points);
+        checkCenters(clusters, 0.2);
+
+        // all points are assigned, nearly all to their own blob
+        int total = 0;
+        for (final CentroidCluster<DoublePoint> cluster : clusters) {
+            total += cluster.getPoints().size();
+            Assert.assertEquals(points.size() / CENTERS.length, cluster.getPoints().size(),
+                                points.size() / 100);
+        }
+        Assert.assertEquals(points.size(), total);
+    }
+
+    @Test
+    public void testSameAsFullBatch() {
+        final List<DoublePoint> points = createBlobs(5000, new Well19937c(0x7d0f3a9c26e1b458l));
+        final List<CentroidCluster<DoublePoint>> full =
+                new KMeansPlusPlusClusterer<DoublePoint>(CENTERS.length, 100, new EuclideanDistance(),
+                                                         new Well19937c(0x2a6b5c1d9e4f7038l)).cluster(points);
+        final List<CentroidCluster<DoublePoint>> mini =
+                new MiniBatchKMeansClusterer<DoublePoint>(CENTERS.length, 300, 200, new EuclideanDistance(),
+                                                          new Well19937c(0x2a6b5c1d9e4f7038l)).cluster(points);
+        final EuclideanDistance distance = new EuclideanDistance();
+        for (final CentroidCluster<DoublePoint> cluster : full) {
+            double min = Double.POSITIVE_INFINITY;
+            for (final CentroidCluster<DoublePoint> other : mini) {
+                min = Math.min(min, distance.compute(cluster.getCenter().getPoint(),
+                                                     other.getCenter().getPoint()));
+            }
+            Assert.assertEquals(0.0, min, 0.2);
+        }
+    }
+
+    @Test
+    public void testStream() {
+        final RandomGenerator random = new Well19937c(0x58e1c30f6b9d24a7l);
+        final int size = 100000;
+
+        // the points are generated on the fly and never stored
+        final Iterator<DoublePoint> stream = new Iterator<DoublePoint>() {
+            private int count;
+            public boolean hasNext() {
+                return count < size;
+            }
+            public DoublePoint next() {
+                return createPoint(count++, random);
+            }
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        final MiniBatchKMeansClusterer<DoublePoint> clusterer =
+                new MiniBatchKMeansClusterer<DoublePoint>(CENTERS.length, -1, 500,
+                                                          new EuclideanDistance(),
+                                                          new Well19937c(0x6c4a0e8b2f7d1953l));
+        final List<CentroidCluster<DoublePoint>> clusters = clusterer.cluster(stream);
+        checkCenters(clusters, 0.1);
+        for (final CentroidCluster<DoublePoint> cluster : clusters) {
+            Assert.assertTrue(cluster.getPoints().isEmpty());
+        }
+        Assert.assertFalse(stream.hasNext());
+    }
+
+    @Test
+    public void testStreamMaxIterations() {
+        final List<DoublePoint> points = createBlobs(10000, new Well19937c(0x0f3e6d2c1b5a4987l));
+        final Iterator<DoublePoint> iterator = points.iterator();
+        new MiniBatchKMeansClusterer<DoublePoint>(CENTERS.length, 10, 100).cluster(iterator);
+        // the first batch is both used for seeding and for the first iteration
+        int remaining = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            ++remaining;
+        }
+        Assert.assertEquals(points.size() - 10 * 100, remaining);
+    }
+
+    @Test(expected = NumberIsTooSmallException.class)
+    public void testTooFewPoints() {
+        final List<DoublePoint> points = createBlobs(3, new Well19937c(0x1l));
+        new MiniBatchKMeansClusterer<DoublePoint>(5).cluster(points);
+    }
+
+    @Test(expected = NumberIsTooSmallException.class)
+    public void testTooFewPointsStream() {
+        final List<DoublePoint> points = createBlobs(3, new Well19937c(0x1l));
+        new MiniBatchKMeansClusterer<DoublePoint>(5).cluster(points.iterator());
+    }
+
+    @Test(expected = NumberIsTooSmallException.class)
+    public void testUnboundedIterationsInMemory() {
+        final List<DoublePoint> points = createBlobs(100, new Well19937c(0x1l));
+        new MiniBatchKMeansClusterer<DoublePoint>(2, -1, 10).cluster(points);
+    }
+
+    @Test
+    public void testNegativeMaxIterations() {
+        Assert.assertEquals(-1, new MiniBatchKMeansClusterer<DoublePoint>(2, -7, 10).getMaxIterations());
+        Assert.assertEquals(-1, new MiniBatchKMeansClusterer<DoublePoint>(2, -1, 10).getMaxIterations());
+        Assert.assertEquals(0, new MiniBatchKMeansClusterer<DoublePoint>(2, 0, 10).getMaxIterations());
+    }
+
+    @Test
+    public void testDistinctInitialCenters() {
+        // with as many points as clusters, each point must seed its own cluster
+        final List<DoublePoint> points = createBlobs(20, new Well19937c(0x7a1c43e0f5b26d98l));
+        final List<CentroidCluster<DoublePoint>> clusters =
+                new MiniBatchKMeansClusterer<DoublePoint>(points.size(), 0, 100, new EuclideanDistance(),
+                                                          new Well19937c(0x3f08b6d19ce2a475l)).cluster(points);
+        for (final CentroidCluster<DoublePoint> cluster : clusters) {
+            Assert.assertEquals(1, cluster.getPoints().size());
+        }
+    }
+
+    @Test(expected = NotStrictlyPositiveException.class)
+    public void testWrongK() {
+        new MiniBatchKMeansClusterer<DoublePoint>(0);
+    }
+
+    @Test(expected = NotStrictlyPositiveException.class)
+    public void testWrongBatchSize() {
+        new MiniBatchKMeansClusterer<DoublePoint>(2, 10, 0);
+    }
+
+    @Test(expected = NullArgumentException.class)
+    public void testNullDataset() {
+        new MiniBatchKMeansClusterer<DoublePoint>(2).cluster((List<DoublePoint>) null);
+    }
+
+    private static List<DoublePoint> createBlobs(final int size, final RandomGenerator random) {
+        final List<DoublePoint> points = new ArrayList<DoublePoint>(size);
+        for (int i = 0; i < size; ++i) {
+            points.add(createPoint(i, random));
+        }
+        return points;
+    }
+
+    private static DoublePoint createPoint(final int i, final RandomGenerator random) {
+        final double[] center = CENTERS[i % CENTERS.length];
+        return new DoublePoint(new double[] {
+            center[0] + random.nextGaussian(), center[1] + random.nextGaussian()
+        });
+    }
+
+    private static void checkCenters(final List<CentroidCluster<DoublePoint>> clusters, final double tolerance) {
+        Assert.assertEquals(CENTERS.length, clusters.size());
+        final EuclideanDistance distance = new EuclideanDistance();
+        for (final double[] center : CENTERS) {
+            double min = Double.POSITIVE_INFINITY;
+            for (final CentroidCluster<DoublePoint> cluster : clusters) {
+                min = Math.min(min, distance.compute(center, cluster.getCenter().getPoint()));
+            }
+            Assert.assertEquals(0.0, min, tolerance);
+        }
+    }
+
+}
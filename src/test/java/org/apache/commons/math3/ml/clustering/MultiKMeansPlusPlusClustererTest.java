@@ -18,8 +18,16 @@
 package org.apache.commons.math3.ml.clustering;
 
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.random.Xoroshiro128PlusPlus;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -95,4 +103,73 @@ public class MultiKMeansPlusPlusClustererTest {
 
     }
 
+    @Test
+    public void parallelJumpableGenerator() {
+        final Xoroshiro128PlusPlus random = new Xoroshiro128PlusPlus(0x6a1b2c3d4e5f6071l);
+        final List<CentroidCluster<DoublePoint>> clusters = clusterInParallel(random);
+        checkBlobs(clusters);
+
+        // each trial has jumped the generator once
+        final Xoroshiro128PlusPlus reference = new Xoroshiro128PlusPlus(0x6a1b2c3d4e5f6071l);
+        for (int i = 0; i < 5; ++i) {
+            reference.jump();
+        }
+        Assert.assertEquals(reference.nextLong(), random.nextLong());
+
+        // the result only depends on the initial state of the generator
+        checkSameCenters(clusters, clusterInParallel(new Xoroshiro128PlusPlus(0x6a1b2c3d4e5f6071l)));
+    }
+
+    @Test
+    public void parallelSeededGenerator() {
+        final Well19937c random = new Well19937c(0x3e5f7a1b2c4d6e80l);
+        final List<CentroidCluster<DoublePoint>> clusters = clusterInParallel(random);
+        checkBlobs(clusters);
+
+        // each trial has drawn one seed from the generator
+        final Well19937c reference = new Well19937c(0x3e5f7a1b2c4d6e80l);
+        for (int i = 0; i < 5; ++i) {
+            reference.nextLong();
+        }
+        Assert.assertEquals(reference.nextLong(), random.nextLong());
+
+        // the result only depends on the initial state of the generator
+        checkSameCenters(clusters, clusterInParallel(new Well19937c(0x3e5f7a1b2c4d6e80l)));
+    }
+
+    private List<CentroidCluster<DoublePoint>> clusterInParallel(final RandomGenerator random) {
+        final List<DoublePoint> points = new ArrayList<DoublePoint>();
+        for (int i = 0; i < 60; ++i) {
+            // three well separated blobs of 20 points each
+            final double x = 100 * (i % 3) + (i % 7) * 0.25;
+            final double y = 50 * (i % 3) + (i % 5) * 0.25;
+            points.add(new DoublePoint(new double[] { x, y }));
+        }
+        final MultiKMeansPlusPlusClusterer<DoublePoint> transformer =
+            new MultiKMeansPlusPlusClusterer<DoublePoint>(
+                    new KMeansPlusPlusClusterer<DoublePoint>(3, 10, new EuclideanDistance(), random), 5);
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            return transformer.cluster(points, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void checkBlobs(final List<CentroidCluster<DoublePoint>> clusters) {
+        Assert.assertEquals(3, clusters.size());
+        for (final CentroidCluster<DoublePoint> cluster : clusters) {
+            Assert.assertEquals(20, cluster.getPoints().size());
+        }
+    }
+
+    private void checkSameCenters(final List<CentroidCluster<DoublePoint>> expected,
+                                  final List<CentroidCluster<DoublePoint>> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            Assert.assertArrayEquals(expected.get(i).getCenter().getPoint(),
+                                     actual.get(i).getCenter().getPoint(), 0);
+        }
+    }
+
 }
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.neighbors;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.math3.ml.clustering.DoublePoint;
+import org.apache.commons.math3.ml.distance.CanberraDistance;
+import org.apache.commons.math3.ml.distance.ChebyshevDistance;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.ml.distance.ManhattanDistance;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DefaultNeighborSearchFactoryTest {
+
+    private final List<DoublePoint> points =
+            Arrays.asList(new DoublePoint(new double[] { 1, 2 }),
+                          new DoublePoint(new double[] { 3, 4 }));
+
+    @Test
+    public void testTreeMeasures() {
+        final NeighborSearchFactory factory = new DefaultNeighborSearchFactory();
+        Assert.assertTrue(factory.create(points, new EuclideanDistance()) instanceof KDTreeNeighborSearch);
+        Assert.assertTrue(factory.create(points, new ManhattanDistance()) instanceof KDTreeNeighborSearch);
+        Assert.assertTrue(factory.create(points, new ChebyshevDistance()) instanceof KDTreeNeighborSearch);
+    }
+
+    @Test
+    public void testLinearFallback() {
+        final NeighborSearchFactory factory = new DefaultNeighborSearchFactory();
+        Assert.assertTrue(factory.create(points, new CanberraDistance()) instanceof LinearNeighborSearch);
+        // subclasses may change the distance, they cannot be trusted
+        final EuclideanDistance scaled = new EuclideanDistance() {
+            private static final long serialVersionUID = 20131018L;
+            @Override
+            public double compute(double[] a, double[] b) {
+                return 0.5 * super.compute(a, b);
+            }
+        };
+        final NeighborSearch<DoublePoint> search = factory.create(points, scaled);
+        Assert.assertTrue(search instanceof LinearNeighborSearch);
+        Assert.assertEquals(1, search.getNeighbors(points.get(0), 1.5).size());
+    }
+
+}
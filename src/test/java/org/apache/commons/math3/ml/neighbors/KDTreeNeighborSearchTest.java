@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.neighbors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.ml.clustering.DoublePoint;
+import org.apache.commons.math3.ml.distance.ChebyshevDistance;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.ml.distance.ManhattanDistance;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KDTreeNeighborSearchTest {
+
+    @Test
+    public void testSameAsLinear() {
+        final RandomGenerator random = new Well19937c(0x7a05e3c94b1d28f6l);
+        for (final int dimension : new int[] { 1, 2, 3, 7 }) {
+            final List<DoublePoint> points = new ArrayList<DoublePoint>();
+            for (int i = 0; i < 1500; ++i) {
+                final double[] p = new double[dimension];
+                for (int j = 0; j < dimension; ++j) {
+                    // use a coarse grid to create many ties on coordinates
+                    p[j] = FastMath.floor(20 * random.nextDouble()) + 0.1 * random.nextInt(3);
+                }
+                points.add(new DoublePoint(p));
+            }
+            for (final DistanceMeasure measure : new DistanceMeasure[] {
+                new EuclideanDistance(), new ManhattanDistance(), new ChebyshevDistance()
+            }) {
+                final NeighborSearch<DoublePoint> linear = new LinearNeighborSearch<DoublePoint>(points, measure);
+                final NeighborSearch<DoublePoint> tree   = new KDTreeNeighborSearch<DoublePoint>(points, measure);
+                for (final double radius : new double[] { 0.0, 0.5, 2.0, 7.5, 100.0 }) {
+                    for (int i = 0; i < points.size(); i += 37) {
+                        final DoublePoint query = points.get(i);
+                        Assert.assertEquals(linear.getNeighbors(query, radius),
+                                            tree.getNeighbors(query, radius));
+                    }
+                    // query point not in the indexed set
+                    final double[] outside = new double[dimension];
+                    Arrays.fill(outside, 10.05);
+                    final DoublePoint query = new DoublePoint(outside);
+                    Assert.assertEquals(linear.getNeighbors(query, radius),
+                                        tree.getNeighbors(query, radius));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testQueryPointExcluded() {
+        final DoublePoint p = new DoublePoint(new double[] { 1, 1 });
+        final DoublePoint q = new DoublePoint(new double[] { 1, 1 });
+        final NeighborSearch<DoublePoint> tree =
+                new KDTreeNeighborSearch<DoublePoint>(Arrays.asList(p, q), new EuclideanDistance());
+        final List<DoublePoint> neighbors = tree.getNeighbors(p, 0.0);
+        Assert.assertEquals(1, neighbors.size());
+        Assert.assertSame(q, neighbors.get(0));
+    }
+
+    @Test
+    public void testEmpty() {
+        final NeighborSearch<DoublePoint> tree =
+                new KDTreeNeighborSearch<DoublePoint>(new ArrayList<DoublePoint>(), new EuclideanDistance());
+        Assert.assertTrue(tree.getNeighbors(new DoublePoint(new double[] { 0 }), 1.0).isEmpty());
+    }
+
+    @Test(expected = DimensionMismatchException.class)
+    public void testDimensionMismatch() {
+        new KDTreeNeighborSearch<DoublePoint>(Arrays.asList(new DoublePoint(new double[] { 1, 1 }),
+                                                            new DoublePoint(new double[] { 1 })),
+                                              new EuclideanDistance());
+    }
+
+    @Test(expected = NullArgumentException.class)
+    public void testNullPoints() {
+        new KDTreeNeighborSearch<DoublePoint>(null, new EuclideanDistance());
+    }
+
+}
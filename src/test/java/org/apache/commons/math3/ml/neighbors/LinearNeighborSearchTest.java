@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.neighbors;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.ml.clustering.DoublePoint;
+import org.apache.commons.math3.ml.distance.CanberraDistance;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LinearNeighborSearchTest {
+
+    @Test
+    public void testNeighbors() {
+        final DoublePoint p0 = new DoublePoint(new double[] { 0, 0 });
+        final DoublePoint p1 = new DoublePoint(new double[] { 3, 4 });
+        final DoublePoint p2 = new DoublePoint(new double[] { 1, 0 });
+        final DoublePoint p3 = new DoublePoint(new double[] { 0, 5 });
+        final NeighborSearch<DoublePoint> search =
+                new LinearNeighborSearch<DoublePoint>(Arrays.asList(p0, p1, p2, p3), new EuclideanDistance());
+
+        // original order is preserved and the boundary is inclusive
+        final List<DoublePoint> neighbors = search.getNeighbors(p0, 5.0);
+        Assert.assertEquals(3, neighbors.size());
+        Assert.assertSame(p1, neighbors.get(0));
+        Assert.assertSame(p2, neighbors.get(1));
+        Assert.assertSame(p3, neighbors.get(2));
+
+        Assert.assertEquals(Arrays.asList(p0), search.getNeighbors(p2, 1.0));
+        Assert.assertTrue(search.getNeighbors(p2, 0.5).isEmpty());
+    }
+
+    @Test
+    public void testArbitraryMeasure() {
+        final DoublePoint p0 = new DoublePoint(new double[] { 1, 1 });
+        final DoublePoint p1 = new DoublePoint(new double[] { 2, 1 });
+        final NeighborSearch<DoublePoint> search =
+                new LinearNeighborSearch<DoublePoint>(Arrays.asList(p0, p1), new CanberraDistance());
+        Assert.assertEquals(Arrays.asList(p1), search.getNeighbors(p0, 1.0 / 3.0));
+    }
+
+    @Test(expected = NullArgumentException.class)
+    public void testNullMeasure() {
+        new LinearNeighborSearch<DoublePoint>(Arrays.asList(new DoublePoint(new double[] { 1 })), null);
+    }
+
+}
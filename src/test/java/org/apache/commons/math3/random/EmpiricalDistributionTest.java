@@ -17,12 +17,16 @@
 package org.apache.commons.math3.random;
 
 import java.io.BufferedReader;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.math3.TestUtils;
 import org.apache.commons.math3.analysis.UnivariateFunction;
@@ -33,9 +37,13 @@ import org.apache.commons.math3.distribution.NormalDistribution;
 import org.apache.commons.math3.distribution.RealDistribution;
 import org.apache.commons.math3.distribution.RealDistributionAbstractTest;
 import org.apache.commons.math3.distribution.UniformRealDistribution;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.exception.ZeroException;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
 import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.apache.commons.math3.util.FastMath;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -209,6 +217,246 @@ public final class EmpiricalDistributionTest extends RealDistributionAbstractTes
         verifySame(empiricalDistribution2, dist2);
     }
 
+    @Test
+    public void testLoadBinary() throws Exception {
+        empiricalDistribution2.load(dataArray);
+        final File binary = writeBinary(dataArray, 0);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // sequential load gives exactly the same statistics
+            EmpiricalDistribution dist = new EmpiricalDistribution(100);
+            dist.loadBinary(binary);
+            verifySame(empiricalDistribution2, dist);
+
+            // parallel loads merge the statistics of the file regions
+            dist = new EmpiricalDistribution(100);
+            dist.loadBinary(binary, executor);
+            verifyMerged(empiricalDistribution2, dist);
+            dist = new EmpiricalDistribution(100);
+            dist.loadBinary(binary, false, Double.NaN, Double.NaN, executor, 1 << 30, 7);
+            verifyMerged(empiricalDistribution2, dist);
+
+            // file regions spanning several mapped regions
+            dist = new EmpiricalDistribution(100);
+            dist.loadBinary(binary, false, Double.NaN, Double.NaN, executor, 8 * 37, 3);
+            verifyMerged(empiricalDistribution2, dist);
+            dist = new EmpiricalDistribution(100);
+            dist.loadBinary(binary, false, Double.NaN, Double.NaN, null, 8 * 37, 1);
+            verifySame(empiricalDistribution2, dist);
+        } finally {
+            executor.shutdown();
+            binary.delete();
+        }
+    }
+
+    @Test
+    public void testLoadBinaryMergedStatistics() throws Exception {
+        final File binary = writeBinary(dataArray, 0);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final EmpiricalDistribution sequential = new EmpiricalDistribution(100);
+            sequential.loadBinary(binary);
+            final EmpiricalDistribution parallel = new EmpiricalDistribution(100);
+            parallel.loadBinary(binary, false, Double.NaN, Double.NaN, executor, 1 << 20, 4);
+
+            // merged statistics are plain statistics, they behave as the sequential ones
+            verifyCopies((SummaryStatistics) sequential.getSampleStats(),
+                         (SummaryStatistics) parallel.getSampleStats());
+            for (int i = 0; i < 100; i++) {
+                verifyCopies(sequential.getBinStats().get(i), parallel.getBinStats().get(i));
+            }
+        } finally {
+            executor.shutdown();
+            binary.delete();
+        }
+    }
+
+    private void verifyCopies(SummaryStatistics sequential, SummaryStatistics merged) {
+        final SummaryStatistics constructed = new SummaryStatistics(merged);
+        final SummaryStatistics copied = new SummaryStatistics();
+        SummaryStatistics.copy(merged, copied);
+        for (final SummaryStatistics copy : Arrays.asList(constructed, copied, merged.copy())) {
+            Assert.assertEquals(merged, copy);
+            Assert.assertEquals(merged.hashCode(), copy.hashCode());
+            verifyMerged(sequential, copy);
+        }
+
+        // the copies can still be updated
+        final SummaryStatistics sequentialCopy = sequential.copy();
+        sequentialCopy.addValue(3.5);
+        constructed.addValue(3.5);
+        verifyMerged(sequentialCopy, constructed);
+        Assert.assertEquals(sequentialCopy.getGeometricMean(), constructed.getGeometricMean(),
+                            1.0e-12 * sequentialCopy.getGeometricMean());
+        copied.clear();
+        Assert.assertEquals(new SummaryStatistics(), copied);
+    }
+
+    @Test
+    public void testLoadBinaryWithBounds() throws Exception {
+        final File binary = writeBinary(dataArray, 0);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            EmpiricalDistribution dist = new EmpiricalDistribution(100);
+            dist.loadBinary(binary, 0, 10);
+            Assert.assertEquals(0, dist.getSupportLowerBound(), 0);
+            Assert.assertEquals(10, dist.getSupportUpperBound(), 0);
+            empiricalDistribution2.load(dataArray);
+            Assert.assertEquals(empiricalDistribution2.getSampleStats(), dist.getSampleStats());
+            long count = 0;
+            for (int i = 0; i < 100; i++) {
+                final SummaryStatistics stats = dist.getBinStats().get(i);
+                count += stats.getN();
+                if (stats.getN() > 0) {
+                    Assert.assertTrue(stats.getMin() >= 0.1 * i);
+                    Assert.assertTrue(stats.getMax() <= 0.1 * (i + 1));
+                }
+            }
+            Assert.assertEquals(dataArray.length, count);
+
+            EmpiricalDistribution dist2 = new EmpiricalDistribution(100);
+            dist2.loadBinary(binary, 0, 10, executor);
+            verifyMerged(dist, dist2);
+            dist2 = new EmpiricalDistribution(100);
+            dist2.loadBinary(binary, true, 0, 10, executor, 8 * 37, 5);
+            verifyMerged(dist, dist2);
+        } finally {
+            executor.shutdown();
+            binary.delete();
+        }
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testLoadBinaryOutOfBounds() throws Exception {
+        final File binary = writeBinary(dataArray, 0);
+        try {
+            new EmpiricalDistribution(100).loadBinary(binary, 0, 6);
+        } finally {
+            binary.delete();
+        }
+    }
+
+    @Test
+    public void testLoadBinaryFailureKeepsState() throws Exception {
+        final double[] other = new double[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+        final EmpiricalDistribution reference = new EmpiricalDistribution(100);
+        reference.load(other);
+        final EmpiricalDistribution dist = new EmpiricalDistribution(100);
+        dist.load(other);
+        final File outOfBounds = writeBinary(dataArray, 0);
+        final File truncated   = writeBinary(dataArray, 3);
+        try {
+            try {
+                // fails in the middle of the second pass
+                dist.loadBinary(outOfBounds, 0, 6);
+                Assert.fail("an exception should have been thrown");
+            } catch (OutOfRangeException e) {
+                // expected
+            }
+            verifySame(reference, dist);
+            Assert.assertEquals(1, dist.getSupportLowerBound(), 0);
+            Assert.assertEquals(10, dist.getSupportUpperBound(), 0);
+
+            try {
+                dist.loadBinary(truncated);
+                Assert.fail("an exception should have been thrown");
+            } catch (MathIllegalArgumentException e) {
+                // expected
+            }
+            verifySame(reference, dist);
+
+            // a distribution that was never loaded stays so
+            final EmpiricalDistribution empty = new EmpiricalDistribution(100);
+            try {
+                empty.loadBinary(outOfBounds, 0, 6);
+                Assert.fail("an exception should have been thrown");
+            } catch (OutOfRangeException e) {
+                // expected
+            }
+            Assert.assertFalse(empty.isLoaded());
+            Assert.assertNull(empty.getSampleStats());
+            Assert.assertTrue(empty.getBinStats().isEmpty());
+        } finally {
+            outOfBounds.delete();
+            truncated.delete();
+        }
+    }
+
+    @Test
+    public void testLoadBinaryNaN() throws Exception {
+        final double[] withNaN = dataArray.clone();
+        withNaN[withNaN.length / 2] = Double.NaN;
+        final File binary = writeBinary(withNaN, 0);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final EmpiricalDistribution dist = new EmpiricalDistribution(100);
+            dist.load(dataArray);
+            final EmpiricalDistribution reference = new EmpiricalDistribution(100);
+            reference.load(dataArray);
+            for (int k = 0; k < 4; ++k) {
+                try {
+                    switch (k) {
+                        case 0 :
+                            dist.loadBinary(binary);
+                            break;
+                        case 1 :
+                            dist.loadBinary(binary, 0, 10);
+                            break;
+                        case 2 :
+                            dist.loadBinary(binary, false, Double.NaN, Double.NaN, executor, 8 * 37, 3);
+                            break;
+                        default :
+                            dist.loadBinary(binary, true, 0, 10, executor, 8 * 37, 3);
+                    }
+                    Assert.fail("an exception should have been thrown");
+                } catch (MathIllegalArgumentException e) {
+                    // expected
+                }
+                verifySame(reference, dist);
+            }
+        } finally {
+            executor.shutdown();
+            binary.delete();
+        }
+    }
+
+    @Test(expected=MathIllegalArgumentException.class)
+    public void testLoadBinaryTruncated() throws Exception {
+        final File binary = writeBinary(dataArray, 3);
+        try {
+            new EmpiricalDistribution(100).loadBinary(binary);
+        } finally {
+            binary.delete();
+        }
+    }
+
+    @Test(expected=ZeroException.class)
+    public void testLoadBinaryEmpty() throws Exception {
+        final File binary = writeBinary(new double[0], 0);
+        try {
+            new EmpiricalDistribution(100).loadBinary(binary);
+        } finally {
+            binary.delete();
+        }
+    }
+
+    private File writeBinary(final double[] data, final int extraBytes) throws IOException {
+        final File binary = File.createTempFile("empirical", ".bin");
+        final DataOutputStream out = new DataOutputStream(new FileOutputStream(binary));
+        try {
+            for (final double d : data) {
+                // DataOutputStream is big-endian
+                out.writeLong(Long.reverseBytes(Double.doubleToLongBits(d)));
+            }
+            for (int i = 0; i < extraBytes; ++i) {
+                out.writeByte(0);
+            }
+        } finally {
+            out.close();
+        }
+        return binary;
+    }
+
     @Test(expected=NullArgumentException.class)
     public void testLoadNullDoubleArray() {
        new EmpiricalDistribution().load((double[]) null);
@@ -282,6 +530,35 @@ public final class EmpiricalDistributionTest extends RealDistributionAbstractTes
         }
     }
 
+    private void verifyMerged(EmpiricalDistribution d1, EmpiricalDistribution d2) {
+        Assert.assertEquals(d1.getBinCount(), d2.getBinCount());
+        verifyMerged(d1.getSampleStats(), d2.getSampleStats());
+        for (int i = 0;  i < d1.getUpperBounds().length; i++) {
+            Assert.assertEquals(d1.getUpperBounds()[i], d2.getUpperBounds()[i], 1.0e-15);
+            final SummaryStatistics s1 = d1.getBinStats().get(i);
+            final SummaryStatistics s2 = d2.getBinStats().get(i);
+            verifyMerged(s1, s2);
+            if (s1.getN() > 0) {
+                Assert.assertEquals(s1.getSumsq(),         s2.getSumsq(),         1.0e-12 * s1.getSumsq());
+                Assert.assertEquals(s1.getGeometricMean(), s2.getGeometricMean(), 1.0e-12 * s1.getGeometricMean());
+                Assert.assertEquals(s1.getSecondMoment(),  s2.getSecondMoment(),  1.0e-10);
+            }
+        }
+        Assert.assertEquals(d1.getNumericalMean(), d2.getNumericalMean(), 1.0e-12);
+        Assert.assertEquals(d1.cumulativeProbability(5.0), d2.cumulativeProbability(5.0), 1.0e-12);
+    }
+
+    private void verifyMerged(StatisticalSummary s1, StatisticalSummary s2) {
+        Assert.assertEquals(s1.getN(),   s2.getN());
+        Assert.assertEquals(s1.getMin(), s2.getMin(), 0);
+        Assert.assertEquals(s1.getMax(), s2.getMax(), 0);
+        if (s1.getN() > 0) {
+            Assert.assertEquals(s1.getMean(),     s2.getMean(),     1.0e-12 * FastMath.abs(s1.getMean()));
+            Assert.assertEquals(s1.getSum(),      s2.getSum(),      1.0e-12 * FastMath.abs(s1.getSum()));
+            Assert.assertEquals(s1.getVariance(), s2.getVariance(), 1.0e-10 * s1.getVariance());
+        }
+    }
+
     private void tstGen(double tolerance)throws Exception {
         empiricalDistribution.load(url);
         empiricalDistribution.reSeed(1000);
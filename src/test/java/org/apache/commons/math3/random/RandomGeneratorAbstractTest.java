@@ -361,6 +361,44 @@ public abstract class RandomGeneratorAbstractTest extends RandomDataGeneratorTes
 
     }
 
+    @Test
+    public void testBulkGeneration() {
+        if (!(generator instanceof BitsStreamGenerator)) {
+            return;
+        }
+        // sizes around the internal block sizes of the various generators
+        for (final int size : new int[] { 0, 1, 7, 255, 256, 257, 623, 624, 1025, 3000 }) {
+            final BitsStreamGenerator bulk   = (BitsStreamGenerator) makeGenerator();
+            final BitsStreamGenerator scalar = (BitsStreamGenerator) makeGenerator();
+
+            // start in the middle of an internal block
+            for (int i = 0; i < 13; ++i) {
+                Assert.assertEquals(scalar.nextInt(), bulk.nextInt());
+            }
+
+            final int[] ints = new int[size];
+            bulk.nextInts(ints);
+            for (int i = 0; i < size; ++i) {
+                Assert.assertEquals(scalar.nextInt(), ints[i]);
+            }
+
+            final long[] longs = new long[size];
+            bulk.nextLongs(longs);
+            for (int i = 0; i < size; ++i) {
+                Assert.assertEquals(scalar.nextLong(), longs[i]);
+            }
+
+            final double[] doubles = new double[size];
+            bulk.nextDoubles(doubles);
+            for (int i = 0; i < size; ++i) {
+                Assert.assertEquals(scalar.nextDouble(), doubles[i], 0.0);
+            }
+
+            // check both generators are still synchronized
+            Assert.assertEquals(scalar.nextInt(), bulk.nextInt());
+        }
+    }
+
     @Test
     public void testSeeding() {
         // makeGenerator initializes with fixed seed
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.random;
+
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Xoroshiro128PlusPlusTest extends RandomGeneratorAbstractTest {
+
+    @Override
+    protected RandomGenerator makeGenerator() {
+        return new Xoroshiro128PlusPlus(1000);
+    }
+
+    // reference values computed by an independent implementation of the C
+    // reference code, with jumps computed as powers of the transition matrix
+    private static final long[] REFERENCE = {
+        0xee9a3f6108defce2L, 0xdfb24b057115ffa3L, 0x013d853e1cbf2d09L,
+        0xd6a243577441f1a5L, 0x2bf15577f1d29062L, 0xc517eb9c79ad7188L
+    };
+
+    private static final long[] REFERENCE_JUMP = {
+        0xcb4359b915b72560L, 0x0dd5740e9200a8bdL, 0x753d3e0c749ef91eL
+    };
+
+    private static final long[] REFERENCE_JUMP2 = {
+        0x9cb0c0625ed659d0L, 0xdba3aeeca35b5ef2L, 0x4d4484572cd40702L
+    };
+
+    private static final long[] REFERENCE_LONG_JUMP = {
+        0x283a92f030ded137L, 0x474670205a8a134dL, 0xfee11513648833dfL
+    };
+
+    @Test
+    public void testReference() {
+        Xoroshiro128PlusPlus generator = new Xoroshiro128PlusPlus(20131015L);
+        checkSequence(REFERENCE, generator);
+    }
+
+    @Test
+    public void testJump() {
+        Xoroshiro128PlusPlus generator = new Xoroshiro128PlusPlus(20131015L);
+        Xoroshiro128PlusPlus first  = generator.jump();
+        Xoroshiro128PlusPlus second = generator.jump();
+        checkSequence(REFERENCE, first);
+        checkSequence(REFERENCE_JUMP, second);
+        checkSequence(REFERENCE_JUMP2, generator);
+    }
+
+    @Test
+    public void testLongJump() {
+        Xoroshiro128PlusPlus generator = new Xoroshiro128PlusPlus(20131015L);
+        checkSequence(REFERENCE, generator.longJump());
+        checkSequence(REFERENCE_LONG_JUMP, generator);
+    }
+
+    @Test
+    public void testSplit() {
+        Xoroshiro128PlusPlus[] streams = new Xoroshiro128PlusPlus(20131015L).split(3);
+        Assert.assertEquals(3, streams.length);
+        checkSequence(REFERENCE, streams[0]);
+        checkSequence(REFERENCE_JUMP, streams[1]);
+        checkSequence(REFERENCE_JUMP2, streams[2]);
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testSplitNoStreams() {
+        new Xoroshiro128PlusPlus(20131015L).split(0);
+    }
+
+    @Test
+    public void testIntSeeds() {
+        // int seeds and int arrays seeds do not collapse to the same states
+        Assert.assertTrue(new Xoroshiro128PlusPlus(new int[] { 1 }).nextLong() !=
+                          new Xoroshiro128PlusPlus(new int[] { 1, 0 }).nextLong());
+        Assert.assertEquals(new Xoroshiro128PlusPlus(-3).nextLong(),
+                            new Xoroshiro128PlusPlus(-3L).nextLong());
+    }
+
+    private void checkSequence(long[] reference, Xoroshiro128PlusPlus generator) {
+        for (long expected : reference) {
+            Assert.assertEquals(expected, generator.nextLong());
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.random;
+
+import org.apache.commons.math3.distribution.ExponentialDistribution;
+import org.apache.commons.math3.distribution.NormalDistribution;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ZigguratRandomGeneratorTest {
+
+    @Test
+    public void testAdapter() {
+        final long seed = 12345l;
+        final RandomGenerator orig = new Well19937c(seed);
+        final RandomGenerator wrap = new ZigguratRandomGenerator(new Well19937c(seed));
+
+        final byte[] bOrig = new byte[67];
+        final byte[] bWrap = new byte[67];
+        for (int i = 0; i < 100; i++) {
+            orig.nextBytes(bOrig);
+            wrap.nextBytes(bWrap);
+            Assert.assertArrayEquals(bOrig, bWrap);
+            Assert.assertEquals(orig.nextInt(), wrap.nextInt());
+            Assert.assertEquals(orig.nextInt((i + 1) * 89), wrap.nextInt((i + 1) * 89));
+            Assert.assertEquals(orig.nextLong(), wrap.nextLong());
+            Assert.assertEquals(orig.nextBoolean(), wrap.nextBoolean());
+            Assert.assertEquals(orig.nextFloat(), wrap.nextFloat(), 0);
+            Assert.assertEquals(orig.nextDouble(), wrap.nextDouble(), 0);
+            Assert.assertEquals(ZigguratSampler.nextGaussian(orig), wrap.nextGaussian(), 0);
+        }
+    }
+
+    @Test
+    public void testNormalDistributionOptIn() {
+        final RandomGenerator reference = new Well19937c(1000l);
+        final NormalDistribution distribution =
+                new NormalDistribution(new ZigguratRandomGenerator(new Well19937c(1000l)), 1.5, 2.5,
+                                       NormalDistribution.DEFAULT_INVERSE_ABSOLUTE_ACCURACY);
+        for (int i = 0; i < 1000; ++i) {
+            Assert.assertEquals(2.5 * ZigguratSampler.nextGaussian(reference) + 1.5,
+                                distribution.sample(), 0);
+        }
+    }
+
+    @Test
+    public void testExponentialDistributionOptIn() {
+        final RandomGenerator reference = new Well19937c(1000l);
+        final ExponentialDistribution distribution =
+                new ExponentialDistribution(new ZigguratRandomGenerator(new Well19937c(1000l)), 2.5,
+                                            ExponentialDistribution.DEFAULT_INVERSE_ABSOLUTE_ACCURACY);
+        for (int i = 0; i < 1000; ++i) {
+            Assert.assertEquals(2.5 * ZigguratSampler.nextExponential(reference),
+                                distribution.sample(), 0);
+        }
+    }
+
+    @Test
+    public void testRandomDataGeneratorOptIn() {
+        final RandomGenerator reference = new Well19937c(1000l);
+        final RandomDataGenerator data =
+                new RandomDataGenerator(new ZigguratRandomGenerator(new Well19937c(1000l)));
+        for (int i = 0; i < 1000; ++i) {
+            Assert.assertEquals(2.5 * ZigguratSampler.nextGaussian(reference) + 1.5,
+                                data.nextGaussian(1.5, 2.5), 0);
+            Assert.assertEquals(2.5 * ZigguratSampler.nextExponential(reference),
+                                data.nextExponential(2.5), 0);
+        }
+    }
+
+    @Test
+    public void testDefaultStreamsUnchanged() {
+        // without the wrapper, the gaussian deviates come from the generator itself
+        final RandomGenerator reference = new Well19937c(1000l);
+        final NormalDistribution normal =
+                new NormalDistribution(new Well19937c(1000l), 1.5, 2.5,
+                                       NormalDistribution.DEFAULT_INVERSE_ABSOLUTE_ACCURACY);
+        final RandomDataGenerator data = new RandomDataGenerator(new Well19937c(1000l));
+        for (int i = 0; i < 1000; ++i) {
+            final double expected = 2.5 * reference.nextGaussian() + 1.5;
+            Assert.assertEquals(expected, normal.sample(), 0);
+            Assert.assertEquals(expected, data.nextGaussian(1.5, 2.5), 0);
+        }
+
+        // and the exponential deviates still use algorithm SA
+        final double[] expected = {
+            5.871897037844434, 2.0393606745656885, 1.9500389764903177,
+            0.6820465205822712, 3.46563173074929
+        };
+        final ExponentialDistribution exponential =
+                new ExponentialDistribution(new Well19937c(1000l), 2.5,
+                                            ExponentialDistribution.DEFAULT_INVERSE_ABSOLUTE_ACCURACY);
+        final RandomDataGenerator exponentialData = new RandomDataGenerator(new Well19937c(1000l));
+        for (int i = 0; i < expected.length; ++i) {
+            Assert.assertEquals(expected[i], exponential.sample(), 0);
+            Assert.assertEquals(expected[i], exponentialData.nextExponential(2.5), 0);
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.random;
+
+import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.distribution.ExponentialDistribution;
+import org.apache.commons.math3.distribution.NormalDistribution;
+import org.apache.commons.math3.distribution.RealDistribution;
+import org.apache.commons.math3.stat.StatUtils;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ZigguratSamplerTest {
+
+    @Test
+    public void testGaussian() {
+        // the tail starts at 3.44 and the wedges cover 1% of the samples,
+        // use enough points and bins to exercise all of them
+        for (RandomGenerator rg : new RandomGenerator[] { new Well19937c(2043l), new JDKRandomGenerator() }) {
+            rg.setSeed(2043l);
+            final double[] sample = new double[100000];
+            for (int i = 0; i < sample.length; ++i) {
+                sample[i] = ZigguratSampler.nextGaussian(rg);
+            }
+            checkDistribution(new NormalDistribution(0, 1), sample);
+            Assert.assertEquals(0.0, StatUtils.mean(sample), 0.01);
+            Assert.assertEquals(1.0, StatUtils.variance(sample), 0.01);
+        }
+    }
+
+    @Test
+    public void testExponential() {
+        for (RandomGenerator rg : new RandomGenerator[] { new Well19937c(2043l), new JDKRandomGenerator() }) {
+            rg.setSeed(2043l);
+            final double[] sample = new double[100000];
+            for (int i = 0; i < sample.length; ++i) {
+                sample[i] = ZigguratSampler.nextExponential(rg);
+            }
+            checkDistribution(new ExponentialDistribution(1), sample);
+            Assert.assertEquals(1.0, StatUtils.mean(sample), 0.01);
+            Assert.assertEquals(1.0, StatUtils.variance(sample), 0.02);
+        }
+    }
+
+    @Test
+    public void testTails() {
+        final RandomGenerator rg = new Well19937c(3001l);
+        final int n = 1000000;
+        int gaussianTail    = 0;
+        int exponentialTail = 0;
+        for (int i = 0; i < n; ++i) {
+            if (FastMath.abs(ZigguratSampler.nextGaussian(rg)) > 3.5) {
+                ++gaussianTail;
+            }
+            if (ZigguratSampler.nextExponential(rg) > 7.7) {
+                ++exponentialTail;
+            }
+        }
+        // expected counts are 465 and 453, the standard deviations are about 21
+        Assert.assertEquals(2 * n * new NormalDistribution(0, 1).cumulativeProbability(-3.5), gaussianTail, 100);
+        Assert.assertEquals(n * FastMath.exp(-7.7), exponentialTail, 100);
+    }
+
+    @Test
+    public void testGaussianRandomGenerator() {
+        final ZigguratGaussianRandomGenerator generator =
+                new ZigguratGaussianRandomGenerator(new Well19937c(17399225432l));
+        final double[] sample = new double[10000];
+        for (int i = 0; i < sample.length; ++i) {
+            sample[i] = generator.nextNormalizedDouble();
+        }
+        // three standard deviations of the estimators
+        Assert.assertEquals(0.0, StatUtils.mean(sample), 0.03);
+        Assert.assertEquals(1.0, StatUtils.variance(sample), 0.045);
+    }
+
+    private void checkDistribution(RealDistribution distribution, double[] sample) {
+        final int bins = 20;
+        final double[] limits = new double[bins - 1];
+        for (int i = 0; i < limits.length; ++i) {
+            limits[i] = distribution.inverseCumulativeProbability((i + 1) / (double) bins);
+        }
+        final double[] expected = new double[bins];
+        final long[] observed = new long[bins];
+        for (int i = 0; i < bins; ++i) {
+            expected[i] = sample.length / (double) bins;
+        }
+        for (final double x : sample) {
+            int i = 0;
+            while (i < limits.length && x > limits[i]) {
+                ++i;
+            }
+            ++observed[i];
+        }
+        TestUtils.assertChiSquareAccept(expected, observed, 0.001);
+    }
+
+}
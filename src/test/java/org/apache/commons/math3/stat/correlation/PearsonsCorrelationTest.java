@@ -16,11 +16,19 @@
  */
 package org.apache.commons.math3.stat.correlation;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.commons.math3.TestUtils;
 import org.apache.commons.math3.distribution.TDistribution;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.BlockRealMatrix;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.Precision;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -282,6 +290,112 @@ public class PearsonsCorrelationTest {
                 new PearsonsCorrelation().computeCorrelationMatrix(data), Double.MIN_VALUE);
     }
 
+    @Test
+    public void testParallelCorrelationMatrix() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // Longley data has some nearly collinear columns
+            RealMatrix longley = createRealMatrix(longleyData, 16, 7);
+            TestUtils.assertEquals("Longley", new PearsonsCorrelation().computeCorrelationMatrix(longley),
+                    new PearsonsCorrelation().computeCorrelationMatrix(longley, executor), 1E-12);
+
+            // enough columns to get several bands of rows
+            RealMatrix random = createRandomMatrix(200, 37, 0x4c1b7e3f9a0d2865l);
+            RealMatrix parallel = new PearsonsCorrelation().computeCorrelationMatrix(random, executor);
+            TestUtils.assertEquals("random", new PearsonsCorrelation().computeCorrelationMatrix(random),
+                    parallel, 1E-12);
+            Assert.assertEquals(parallel, parallel.transpose());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testParallelNullExecutor() {
+        new PearsonsCorrelation().computeCorrelationMatrix(createRealMatrix(longleyData, 16, 7), null);
+    }
+
+    @Test
+    public void testParallelDegenerate() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // single observation
+            assertParallelConsistent(createRandomMatrix(1, 3, 0x5d2e8a1f07c4b963l), executor);
+            // single variable
+            assertParallelConsistent(createRandomMatrix(5, 1, 0x18f6c3b0e2a7d459l), executor);
+            // constant column
+            RealMatrix constant = createRandomMatrix(10, 4, 0x9e07b4d2c3a1f568l);
+            constant.setColumn(2, new double[] { 3, 3, 3, 3, 3, 3, 3, 3, 3, 3 });
+            assertParallelConsistent(constant, executor);
+            // two observations
+            assertParallelConsistent(createRandomMatrix(2, 6, 0x6b3a05f1d8e9c274l), executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Computes a correlation matrix sequentially.
+     * @param matrix data matrix
+     * @return correlation matrix
+     */
+    protected RealMatrix sequentialCorrelationMatrix(RealMatrix matrix) {
+        return new PearsonsCorrelation().computeCorrelationMatrix(matrix);
+    }
+
+    /**
+     * Computes a correlation matrix using an executor.
+     * @param matrix data matrix
+     * @param executor executor running the tasks
+     * @return correlation matrix
+     */
+    protected RealMatrix parallelCorrelationMatrix(RealMatrix matrix, ExecutorService executor) {
+        return new PearsonsCorrelation().computeCorrelationMatrix(matrix, executor);
+    }
+
+    /**
+     * Checks that the parallel computation throws the same exception, or
+     * gives the same entries (including NaNs), as the sequential one.
+     */
+    private void assertParallelConsistent(RealMatrix matrix, ExecutorService executor) {
+        RealMatrix expected;
+        try {
+            expected = sequentialCorrelationMatrix(matrix);
+        } catch (MathIllegalArgumentException e) {
+            try {
+                parallelCorrelationMatrix(matrix, executor);
+                Assert.fail("an exception should have been thrown");
+            } catch (MathIllegalArgumentException pe) {
+                Assert.assertEquals(e.getClass(), pe.getClass());
+                Assert.assertEquals(e.getMessage(), pe.getMessage());
+            }
+            return;
+        }
+        RealMatrix actual = parallelCorrelationMatrix(matrix, executor);
+        Assert.assertEquals(expected.getRowDimension(), actual.getRowDimension());
+        Assert.assertEquals(expected.getColumnDimension(), actual.getColumnDimension());
+        for (int i = 0; i < expected.getRowDimension(); i++) {
+            for (int j = 0; j < expected.getColumnDimension(); j++) {
+                Assert.assertTrue("entry (" + i + ", " + j + "): " + expected.getEntry(i, j) +
+                                  " != " + actual.getEntry(i, j),
+                                  Precision.equalsIncludingNaN(expected.getEntry(i, j),
+                                                               actual.getEntry(i, j), 1E-12));
+            }
+        }
+    }
+
+    protected RealMatrix createRandomMatrix(int nRows, int nCols, long seed) {
+        RandomGenerator random = new Well19937c(seed);
+        double[][] matrixData = new double[nRows][nCols];
+        for (int i = 0; i < nRows; i++) {
+            for (int j = 0; j < nCols; j++) {
+                // correlated columns, with some ties
+                matrixData[i][j] = FastMath.floor(10 * random.nextGaussian()) + (j % 3) * i;
+            }
+        }
+        return new BlockRealMatrix(matrixData);
+    }
+
     protected RealMatrix createRealMatrix(double[] data, int nRows, int nCols) {
         double[][] matrixData = new double[nRows][nCols];
         int ptr = 0;
@@ -16,12 +16,17 @@
  */
 package org.apache.commons.math3.stat.correlation;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.linear.BlockRealMatrix;
 import org.apache.commons.math3.linear.MatrixUtils;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.stat.ranking.NaNStrategy;
 import org.apache.commons.math3.stat.ranking.NaturalRanking;
+import org.apache.commons.math3.stat.ranking.RankingAlgorithm;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -150,6 +155,52 @@ public class SpearmansRankCorrelationTest extends PearsonsCorrelationTest {
         Assert.assertEquals(0.5, spearman.getCorrelationMatrix().getEntry(0, 1), Double.MIN_VALUE);
     }
 
+    @Override
+    @Test
+    public void testParallelCorrelationMatrix() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            RealMatrix random = createRandomMatrix(200, 37, 0x71e0c5a93b2f4d86l);
+            TestUtils.assertEquals("average ties", new SpearmansCorrelation().computeCorrelationMatrix(random),
+                    new SpearmansCorrelation().computeCorrelationMatrix(random, executor), 1E-12);
+
+            // ranking algorithm applied sequentially
+            RankingAlgorithm identity = new RankingAlgorithm() {
+                public double[] rank(double[] data) {
+                    return data.clone();
+                }
+            };
+            TestUtils.assertEquals("custom ranking", new PearsonsCorrelation().computeCorrelationMatrix(random),
+                    new SpearmansCorrelation(identity).computeCorrelationMatrix(random, executor), 1E-12);
+
+            // NaN removal
+            RealMatrix withNaN = random.copy();
+            withNaN.setEntry(3, 5, Double.NaN);
+            withNaN.setEntry(17, 0, Double.NaN);
+            SpearmansCorrelation removing = new SpearmansCorrelation(new NaturalRanking(NaNStrategy.REMOVED));
+            TestUtils.assertEquals("NaN removed", removing.computeCorrelationMatrix(withNaN),
+                    removing.computeCorrelationMatrix(withNaN, executor), 1E-12);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    protected RealMatrix sequentialCorrelationMatrix(RealMatrix matrix) {
+        return new SpearmansCorrelation().computeCorrelationMatrix(matrix);
+    }
+
+    @Override
+    protected RealMatrix parallelCorrelationMatrix(RealMatrix matrix, ExecutorService executor) {
+        return new SpearmansCorrelation().computeCorrelationMatrix(matrix, executor);
+    }
+
+    @Override
+    @Test(expected=NullArgumentException.class)
+    public void testParallelNullExecutor() {
+        new SpearmansCorrelation().computeCorrelationMatrix(createRealMatrix(longleyData, 16, 7), null);
+    }
+
     // Not relevant here
     @Override
     @Test
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.descriptive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.stat.descriptive.moment.Variance;
+import org.apache.commons.math3.util.ConcurrencyUtils;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ConcurrentSummaryStatistics}
+ * @version $Id$
+ */
+public class ConcurrentSummaryStatisticsTest {
+
+    @Test
+    public void testEmpty() {
+        final ConcurrentSummaryStatistics stats = new ConcurrentSummaryStatistics();
+        Assert.assertEquals(0, stats.getN());
+        Assert.assertTrue(Double.isNaN(stats.getMean()));
+        Assert.assertTrue(Double.isNaN(stats.getVariance()));
+        Assert.assertTrue(Double.isNaN(stats.getStandardDeviation()));
+        Assert.assertTrue(Double.isNaN(stats.getMin()));
+        Assert.assertTrue(Double.isNaN(stats.getMax()));
+    }
+
+    @Test
+    public void testSingleThread() {
+        final ConcurrentSummaryStatistics stats = new ConcurrentSummaryStatistics();
+        final SummaryStatistics reference = new SummaryStatistics();
+        for (final double x : new double[] { 1, 3, 2.5, -4, 8 }) {
+            stats.addValue(x);
+            reference.addValue(x);
+        }
+        verify(reference, stats, 1.0e-14);
+        Assert.assertEquals(reference.getStandardDeviation(), stats.getStandardDeviation(), 1.0e-14);
+
+        stats.clear();
+        Assert.assertEquals(0, stats.getN());
+        stats.addValue(4);
+        Assert.assertEquals(1, stats.getN());
+        Assert.assertEquals(0.0, stats.getStandardDeviation(), 0);
+    }
+
+    @Test
+    public void testConcurrentAdds() {
+        final int threads = 8;
+        final int perThread = 20000;
+        final ConcurrentSummaryStatistics stats = new ConcurrentSummaryStatistics();
+
+        // each task adds a reproducible stream of values
+        final List<Callable<SummaryStatistics>> tasks = new ArrayList<Callable<SummaryStatistics>>();
+        for (int t = 0; t < threads; ++t) {
+            final long seed = 0x3e4f9c2a7b1d5086l + t;
+            tasks.add(new Callable<SummaryStatistics>() {
+                public SummaryStatistics call() {
+                    final RandomGenerator random = new Well19937c(seed);
+                    final SummaryStatistics local = new SummaryStatistics();
+                    for (int i = 0; i < perThread; ++i) {
+                        final double x = 10 * random.nextGaussian() + seed % 7;
+                        stats.addValue(x);
+                        local.addValue(x);
+                        if (i % 5000 == 0) {
+                            // concurrent reads are allowed
+                            Assert.assertTrue(stats.getN() > 0);
+                        }
+                    }
+                    return local;
+                }
+            });
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<SummaryStatistics> locals = ConcurrencyUtils.invokeAll(executor, tasks);
+            final StatisticalSummaryValues expected = AggregateSummaryStatistics.aggregate(locals);
+            Assert.assertEquals(threads * perThread, expected.getN());
+            verify(expected, stats, 1.0e-10);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testAddAfterClear() {
+        final ConcurrentSummaryStatistics stats = new ConcurrentSummaryStatistics();
+        for (final double x : new double[] { 1, 3, 2.5, -4, 8 }) {
+            stats.addValue(x);
+        }
+        stats.clear();
+        stats.addValue(3);
+        stats.addValue(5);
+        Assert.assertEquals(2, stats.getN());
+        Assert.assertEquals(4.0, stats.getMean(), 1.0e-14);
+        Assert.assertEquals(2.0, stats.getVariance(), 1.0e-14);
+        Assert.assertEquals(FastMath.sqrt(2.0), stats.getStandardDeviation(), 1.0e-14);
+    }
+
+    @Test
+    public void testEmptyShard() throws Exception {
+        final ConcurrentSummaryStatistics stats = new ConcurrentSummaryStatistics();
+
+        // another thread registers a shard, which is then emptied
+        final Thread other = new Thread() {
+            @Override
+            public void run() {
+                stats.addValue(100);
+            }
+        };
+        other.start();
+        other.join();
+        stats.clear();
+
+        stats.addValue(3);
+        stats.addValue(5);
+        Assert.assertEquals(2, stats.getN());
+        Assert.assertEquals(4.0, stats.getMean(), 1.0e-14);
+        Assert.assertEquals(2.0, stats.getVariance(), 1.0e-14);
+        Assert.assertEquals(FastMath.sqrt(2.0), stats.getStandardDeviation(), 1.0e-14);
+        Assert.assertEquals(3.0, stats.getMin(), 0);
+        Assert.assertEquals(5.0, stats.getMax(), 0);
+    }
+
+    @Test
+    public void testShortLivedThreads() throws Exception {
+        final ConcurrentSummaryStatistics stats = new ConcurrentSummaryStatistics();
+        final SummaryStatistics expected = new SummaryStatistics();
+        stats.addValue(1000);
+        expected.addValue(1000);
+
+        // each thread terminates before the next one starts, they all share the same shard
+        for (int i = 0; i < 100; ++i) {
+            final double value = i;
+            final Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    stats.addValue(value);
+                    stats.addValue(2 * value);
+                }
+            };
+            thread.start();
+            thread.join();
+            expected.addValue(value);
+            expected.addValue(2 * value);
+        }
+        Assert.assertEquals(2, stats.getShardCount());
+        verify(expected, stats, 1.0e-12);
+    }
+
+    @Test
+    public void testPrototype() {
+        final SummaryStatistics prototype = new SummaryStatistics();
+        prototype.setVarianceImpl(new Variance(false));
+        final ConcurrentSummaryStatistics stats = new ConcurrentSummaryStatistics(prototype);
+        stats.addValue(1);
+        stats.addValue(3);
+        // aggregation recomputes the variance from the second moments
+        Assert.assertEquals(2.0, stats.getVariance(), 1.0e-14);
+        Assert.assertEquals(0, prototype.getN());
+    }
+
+    @Test(expected = NullArgumentException.class)
+    public void testNullPrototype() {
+        new ConcurrentSummaryStatistics(null);
+    }
+
+    private void verify(final StatisticalSummary expected, final ConcurrentSummaryStatistics actual,
+                        final double tolerance) {
+        final StatisticalSummaryValues summary = actual.getSummary();
+        Assert.assertEquals(expected.getN(), summary.getN());
+        Assert.assertEquals(expected.getN(), actual.getN());
+        Assert.assertEquals(expected.getMin(), summary.getMin(), 0);
+        Assert.assertEquals(expected.getMax(), summary.getMax(), 0);
+        Assert.assertEquals(expected.getSum(), summary.getSum(), tolerance * Math.abs(expected.getSum()));
+        Assert.assertEquals(expected.getMean(), actual.getMean(), tolerance);
+        Assert.assertEquals(expected.getVariance(), actual.getVariance(), tolerance * expected.getVariance());
+    }
+
+}
@@ -18,10 +18,12 @@ package org.apache.commons.math3.stat.descriptive;
 
 
 import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.exception.MathUnsupportedOperationException;
 
 import org.apache.commons.math3.stat.descriptive.moment.GeometricMean;
 import org.apache.commons.math3.stat.descriptive.moment.Mean;
 import org.apache.commons.math3.stat.descriptive.moment.Variance;
+import org.apache.commons.math3.stat.descriptive.rank.TDigestPercentile;
 import org.apache.commons.math3.stat.descriptive.summary.Sum;
 import org.apache.commons.math3.util.FastMath;
 import org.junit.Assert;
@@ -259,6 +261,65 @@ public class SummaryStatisticsTest {
 
     }
 
+    @Test
+    public void testMerge() {
+        final double[] values = { 2.5, 1, 3, 14, 0.5, 7, 9, 11, 23, 1.5, 8 };
+        SummaryStatistics all = createSummaryStatistics();
+        SummaryStatistics merged = createSummaryStatistics();
+        SummaryStatistics part = createSummaryStatistics();
+        for (int i = 0; i < values.length; i++) {
+            all.addValue(values[i]);
+            if (i < 4) {
+                merged.addValue(values[i]);
+            } else {
+                part.addValue(values[i]);
+            }
+        }
+        merged.merge(part);
+        Assert.assertEquals(7, part.getN());
+        verifyMerged(all, merged);
+
+        // merged instances can be copied and updated
+        SummaryStatistics copy = new SummaryStatistics(merged);
+        Assert.assertEquals(merged, copy);
+        all.addValue(5);
+        copy.addValue(5);
+        verifyMerged(all, copy);
+    }
+
+    @Test
+    public void testMergeEmpty() {
+        SummaryStatistics u = createSummaryStatistics();
+        SummaryStatistics v = createSummaryStatistics();
+        u.merge(v);
+        Assert.assertEquals(createSummaryStatistics(), u);
+        v.addValue(1);
+        v.addValue(3);
+        u.merge(v);
+        Assert.assertEquals(v, u);
+        u.merge(createSummaryStatistics());
+        Assert.assertEquals(v, u);
+    }
+
+    @Test(expected=MathUnsupportedOperationException.class)
+    public void testMergeOverriddenImpl() {
+        SummaryStatistics u = createSummaryStatistics();
+        u.setVarianceImpl(new Variance(false));
+        createSummaryStatistics().merge(u);
+    }
+
+    private void verifyMerged(SummaryStatistics expected, SummaryStatistics actual) {
+        Assert.assertEquals(expected.getN(), actual.getN());
+        Assert.assertEquals(expected.getMin(), actual.getMin(), 0);
+        Assert.assertEquals(expected.getMax(), actual.getMax(), 0);
+        Assert.assertEquals(expected.getSum(), actual.getSum(), tolerance * expected.getSum());
+        Assert.assertEquals(expected.getSumsq(), actual.getSumsq(), tolerance * expected.getSumsq());
+        Assert.assertEquals(expected.getSumOfLogs(), actual.getSumOfLogs(), tolerance * expected.getSumOfLogs());
+        Assert.assertEquals(expected.getGeometricMean(), actual.getGeometricMean(), tolerance * expected.getGeometricMean());
+        Assert.assertEquals(expected.getMean(), actual.getMean(), tolerance * expected.getMean());
+        Assert.assertEquals(expected.getVariance(), actual.getVariance(), tolerance * expected.getVariance());
+    }
+
     private void verifySummary(SummaryStatistics u, StatisticalSummary s) {
         Assert.assertEquals("N",s.getN(),u.getN());
         TestUtils.assertEquals("sum",s.getSum(),u.getSum(),tolerance);
@@ -287,6 +348,47 @@ public class SummaryStatisticsTest {
         u.setMeanImpl(new Mean()); // OK after clear
     }
 
+    @Test
+    public void testPercentileImpl() {
+        SummaryStatistics u = createSummaryStatistics();
+        Assert.assertNull(u.getPercentileImpl());
+        u.addValue(1);
+        Assert.assertTrue(Double.isNaN(u.getPercentile()));
+        u.clear();
+        u.setPercentileImpl(new TDigestPercentile(75.0));
+        for (int i = 1; i <= 7; ++i) {
+            u.addValue(i);
+        }
+        Assert.assertEquals(5.75, u.getPercentile(), 1E-14);
+        SummaryStatistics v = u.copy();
+        Assert.assertNotSame(u.getPercentileImpl(), v.getPercentileImpl());
+        Assert.assertEquals(5.75, v.getPercentile(), 1E-14);
+        u.clear();
+        Assert.assertTrue(Double.isNaN(u.getPercentile()));
+        Assert.assertEquals(5.75, v.getPercentile(), 1E-14);
+    }
+
+    @Test
+    public void testPercentileImplEquals() {
+        SummaryStatistics u = createSummaryStatistics();
+        SummaryStatistics v = createSummaryStatistics();
+        SummaryStatistics w = createSummaryStatistics();
+        u.setPercentileImpl(new TDigestPercentile(25.0));
+        v.setPercentileImpl(new TDigestPercentile(75.0));
+        for (int i = 1; i <= 7; ++i) {
+            u.addValue(i);
+            v.addValue(i);
+            w.addValue(i);
+        }
+        Assert.assertFalse(u.equals(v));
+        Assert.assertFalse(v.equals(u));
+        Assert.assertFalse(u.equals(w));
+        Assert.assertFalse(u.hashCode() == v.hashCode());
+        SummaryStatistics t = v.copy();
+        Assert.assertTrue(t.equals(v));
+        Assert.assertEquals(v.hashCode(), t.hashCode());
+    }
+
     @Test
     public void testSetterIllegalState() {
         SummaryStatistics u = createSummaryStatistics();
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.descriptive.rank;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.stat.descriptive.StorelessUnivariateStatisticAbstractTest;
+import org.apache.commons.math3.stat.descriptive.UnivariateStatistic;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link TDigestPercentile} class.
+ * @version $Id$
+ */
+public class TDigestPercentileTest extends StorelessUnivariateStatisticAbstractTest {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UnivariateStatistic getUnivariateStatistic() {
+        return new TDigestPercentile();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double expectedValue() {
+        // the test sample is small enough to be held in singleton centroids
+        return this.median;
+    }
+
+    @Test
+    public void testAccuracy() {
+        final RandomGenerator random = new Well19937c(0x62a1f08d3c7e5b94l);
+        final int n = 200000;
+        final double[] values = new double[n];
+        final TDigestPercentile digest = new TDigestPercentile();
+        for (int i = 0; i < n; ++i) {
+            // skewed distribution
+            values[i] = FastMath.exp(random.nextGaussian());
+            digest.increment(values[i]);
+        }
+        Arrays.sort(values);
+        checkRankErrors(digest, values);
+
+        // the memory is bounded by the compression, not by the number of values
+        Assert.assertTrue(digest.getCentroidCount() < 2 * digest.getCompression());
+        Assert.assertEquals(n, digest.getN());
+        Assert.assertEquals(values[n - 1], digest.getResult(100), 0);
+    }
+
+    @Test
+    public void testMerge() {
+        final RandomGenerator random = new Well19937c(0x0c5e9a3f71d2b846l);
+        final int shards = 8;
+        final int n = 50000;
+        final double[] values = new double[shards * n];
+        final TDigestPercentile merged = new TDigestPercentile(95.0);
+        for (int s = 0; s < shards; ++s) {
+            // each shard sees a different part of the distribution
+            final TDigestPercentile shard = new TDigestPercentile();
+            for (int i = 0; i < n; ++i) {
+                final double x = s + random.nextDouble();
+                values[s * n + i] = x;
+                shard.increment(x);
+            }
+            final double before = shard.getResult();
+            merged.merge(shard);
+            Assert.assertEquals(n, shard.getN());
+            Assert.assertEquals(before, shard.getResult(), 0);
+        }
+        Arrays.sort(values);
+        Assert.assertEquals(values.length, merged.getN());
+        Assert.assertEquals(95.0, merged.getQuantile(), 0);
+        Assert.assertEquals(values[0], merged.getResult(1.0e-10), 1.0e-12);
+        checkRankErrors(merged, values);
+    }
+
+    @Test
+    public void testMergeEmpty() {
+        final TDigestPercentile digest = new TDigestPercentile();
+        final TDigestPercentile other  = new TDigestPercentile();
+        digest.merge(other);
+        Assert.assertTrue(Double.isNaN(digest.getResult()));
+        other.increment(3.0);
+        digest.merge(other);
+        Assert.assertEquals(3.0, digest.getResult(), 0);
+        Assert.assertEquals(1, digest.getN());
+    }
+
+    @Test
+    public void testCopyIndependence() {
+        final TDigestPercentile digest = new TDigestPercentile(25.0, 50.0);
+        digest.incrementAll(new double[] { 1, 2, 3, 4 });
+        final TDigestPercentile copy = digest.copy();
+        Assert.assertEquals(50.0, copy.getCompression(), 0);
+        Assert.assertEquals(25.0, copy.getQuantile(), 0);
+        copy.incrementAll(new double[] { 100, 200, 300, 400 });
+        Assert.assertEquals(4, digest.getN());
+        Assert.assertEquals(1.5, digest.getResult(), 1.0e-15);
+    }
+
+    @Test
+    public void testGettersDoNotFlush() {
+        final RandomGenerator random = new Well19937c(0x5b1d3e7f29a6c48dl);
+        final TDigestPercentile reader = new TDigestPercentile(90.0, 20.0);
+        final TDigestPercentile silent = new TDigestPercentile(90.0, 20.0);
+        for (int i = 0; i < 1000; ++i) {
+            final double x = random.nextGaussian();
+            reader.increment(x);
+            silent.increment(x);
+            if (i % 7 == 0) {
+                // reading must not change how buffered values are merged
+                reader.getResult(10.0);
+                reader.getCentroidCount();
+            }
+        }
+        Assert.assertEquals(silent.getCentroidCount(), reader.getCentroidCount());
+        Assert.assertEquals(silent.getResult(), reader.getResult(), 0);
+        Assert.assertEquals(silent.getResult(10.0), reader.getResult(10.0), 0);
+    }
+
+    @Test
+    public void testSpecialValues() {
+        final TDigestPercentile digest = new TDigestPercentile(100.0);
+        Assert.assertTrue(Double.isNaN(digest.getResult()));
+        digest.increment(Double.NaN);
+        Assert.assertEquals(0, digest.getN());
+        digest.increment(1.0);
+        digest.increment(Double.POSITIVE_INFINITY);
+        Assert.assertEquals(Double.POSITIVE_INFINITY, digest.getResult(), 0);
+        Assert.assertEquals(1.0, digest.getResult(1.0), 0);
+    }
+
+    @Test(expected = MathIllegalArgumentException.class)
+    public void testWrongQuantile() {
+        new TDigestPercentile(0.0);
+    }
+
+    @Test(expected = MathIllegalArgumentException.class)
+    public void testWrongResultQuantile() {
+        new TDigestPercentile().getResult(101.0);
+    }
+
+    @Test(expected = NumberIsTooSmallException.class)
+    public void testWrongCompression() {
+        new TDigestPercentile(50.0, 1.0);
+    }
+
+    /**
+     * Checks that the estimated percentiles are close in rank to the exact ones.
+     * @param digest estimator
+     * @param sorted sorted values
+     */
+    private void checkRankErrors(final TDigestPercentile digest, final double[] sorted) {
+        final int n = sorted.length;
+        for (final double p : new double[] { 0.1, 1, 5, 25, 50, 75, 95, 99, 99.9 }) {
+            final double estimate = digest.getResult(p);
+            int rank = Arrays.binarySearch(sorted, estimate);
+            if (rank < 0) {
+                rank = -rank - 1;
+            }
+            final double rankError = FastMath.abs(rank - p / 100.0 * n) / n;
+            // the error is smaller near the tails
+            final double tolerance = (p < 1 || p > 99) ? 2.0e-4 : 2.0e-3;
+            Assert.assertEquals("percentile " + p, 0.0, rankError, tolerance);
+        }
+    }
+
+}
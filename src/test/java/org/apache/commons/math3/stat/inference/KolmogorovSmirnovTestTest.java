@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.inference;
+
+import org.apache.commons.math3.distribution.KolmogorovSmirnovDistribution;
+import org.apache.commons.math3.distribution.NormalDistribution;
+import org.apache.commons.math3.distribution.UniformRealDistribution;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link KolmogorovSmirnovTest}.
+ *
+ * @version $Id$
+ */
+public class KolmogorovSmirnovTestTest {
+
+    private final KolmogorovSmirnovTest test = new KolmogorovSmirnovTest();
+
+    @Test
+    public void testOneSampleStatistic() {
+        final UniformRealDistribution uniform = new UniformRealDistribution(0, 1);
+        Assert.assertEquals(0.25, test.kolmogorovSmirnovStatistic(uniform, new double[] { 0.75, 0.25 }), 1.0e-15);
+        Assert.assertEquals(0.9, test.kolmogorovSmirnovStatistic(uniform, new double[] { 0.1, 0.1, 0.1 }), 1.0e-15);
+    }
+
+    @Test
+    public void testOneSampleUniform() {
+        final double[] sample = uniformSample(500, 0.0, 0x5b3a1f9c27e4d680l);
+        final double p = test.kolmogorovSmirnovTest(new UniformRealDistribution(0, 1), sample);
+        Assert.assertTrue(p > 0.05);
+        Assert.assertFalse(test.kolmogorovSmirnovTest(new UniformRealDistribution(0, 1), sample, 0.05));
+
+        // F(0) = 1/2 for the standard normal distribution, so D_n is at least 1/2 here
+        Assert.assertTrue(test.kolmogorovSmirnovTest(new NormalDistribution(0, 1), sample) < 1.0e-20);
+        Assert.assertTrue(test.kolmogorovSmirnovTest(new NormalDistribution(0, 1), sample, 0.01));
+    }
+
+    @Test
+    public void testOneSampleExact() {
+        final double[] sample = uniformSample(30, 0.0, 0x1e8d4c7a93f2b065l);
+        final UniformRealDistribution uniform = new UniformRealDistribution(0, 1);
+        Assert.assertEquals(test.kolmogorovSmirnovTest(uniform, sample, true),
+                            test.kolmogorovSmirnovTest(uniform, sample, false),
+                            1.0e-13);
+    }
+
+    @Test
+    public void testCdfSmallSamples() {
+        // up to 140 points, the double precision Durbin matrix method is used everywhere
+        for (final int n : new int[] { 2, 10, 50, 140 }) {
+            final KolmogorovSmirnovDistribution distribution = new KolmogorovSmirnovDistribution(n);
+            for (double d = 0.01; d < 1; d += 0.01) {
+                Assert.assertEquals(distribution.cdf(d, false), test.cdf(d, n), 1.0e-14);
+            }
+        }
+    }
+
+    @Test
+    public void testCdfExact() {
+        for (final double d : new double[] { 0.05, 0.1, 0.2, 0.3 }) {
+            Assert.assertEquals(test.cdfExact(d, 20), test.cdf(d, 20), 1.0e-13);
+        }
+    }
+
+    @Test
+    public void testPelzGood() {
+        for (final int n : new int[] { 200, 1000 }) {
+            final KolmogorovSmirnovDistribution distribution = new KolmogorovSmirnovDistribution(n);
+            for (final double t : new double[] { 0.5, 0.8, 1.0, 1.3, 1.8 }) {
+                final double d = t / FastMath.sqrt(n);
+                Assert.assertEquals(distribution.cdf(d, false), test.pelzGood(d, n), 1.0e-5);
+            }
+        }
+    }
+
+    @Test
+    public void testCdfLimits() {
+        Assert.assertEquals(0.0, test.cdf(0.0, 1000), 0.0);
+        Assert.assertEquals(1.0, test.cdf(0.5, 1000), 0.0);
+        Assert.assertEquals(1.0, test.cdf(1.0, 1000), 0.0);
+    }
+
+    @Test
+    public void testTwoSampleStatistic() {
+        final double[] x = { 1, 2, 2, 4 };
+        final double[] y = { 2, 3, 5 };
+        // the ties at 2 must be consumed together before comparing
+        Assert.assertEquals(5.0 / 12.0, test.kolmogorovSmirnovStatistic(x, y), 1.0e-15);
+        Assert.assertEquals(1.0, test.kolmogorovSmirnovStatistic(new double[] { 1, 2 }, new double[] { 3, 4 }), 0.0);
+    }
+
+    @Test
+    public void testExactP() {
+        // 6 equiprobable orderings of two samples of size 2, xxyy and yyxx give D = 1
+        Assert.assertEquals(1.0 / 3.0, test.exactP(1.0, 2, 2, false), 1.0e-15);
+        Assert.assertEquals(0.0, test.exactP(1.0, 2, 2, true), 1.0e-15);
+        // D = 1/2 is reached by xyxy and yxyx too, D = 0 is never reached
+        Assert.assertEquals(1.0, test.exactP(0.5, 2, 2, false), 1.0e-15);
+        Assert.assertEquals(1.0 / 3.0, test.exactP(0.5, 2, 2, true), 1.0e-15);
+        Assert.assertEquals(1.0 / 3.0, test.kolmogorovSmirnovTest(new double[] { 1, 2 }, new double[] { 3, 4 }, false),
+                            1.0e-15);
+    }
+
+    @Test
+    public void testTwoSampleSeparated() {
+        // completely separated samples reach the largest possible D, the default p-value must
+        // still count the observed partition: 2 of the C(6,3) = 20 orderings give D = 1
+        final double[] x = { 1, 2, 3 };
+        final double[] y = { 4, 5, 6 };
+        Assert.assertEquals(0.1, test.kolmogorovSmirnovTest(x, y), 1.0e-15);
+        Assert.assertEquals(0.1, test.kolmogorovSmirnovTest(y, x), 1.0e-15);
+        Assert.assertEquals(0.0, test.kolmogorovSmirnovTest(x, y, true), 1.0e-15);
+        Assert.assertFalse(test.kolmogorovSmirnovTest(x, y, 0.05));
+        Assert.assertTrue(test.kolmogorovSmirnovTest(x, y, 0.2));
+
+        final double[] u = { 1, 2 };
+        final double[] v = { 3, 4 };
+        Assert.assertEquals(1.0 / 3.0, test.kolmogorovSmirnovTest(u, v), 1.0e-15);
+        Assert.assertFalse(test.kolmogorovSmirnovTest(u, v, 0.3));
+        Assert.assertTrue(test.kolmogorovSmirnovTest(u, v, 0.5));
+    }
+
+    @Test
+    public void testTwoSampleSmall() {
+        final double[] x = uniformSample(40, 0.0, 0x7c4e9a2d1b5f3086l);
+        final double[] y = uniformSample(50, 0.0, 0x2f6b8d1e9c3a7054l);
+        final double[] z = uniformSample(50, 0.5, 0x2f6b8d1e9c3a7054l);
+        Assert.assertTrue(test.kolmogorovSmirnovTest(x, y) > 0.05);
+        Assert.assertTrue(test.kolmogorovSmirnovTest(x, z) < 1.0e-4);
+        Assert.assertTrue(test.kolmogorovSmirnovTest(x, z, 0.01));
+
+        // the asymptotic distribution is a conservative approximation at these sizes
+        final double d = test.kolmogorovSmirnovStatistic(x, y);
+        final double exact = test.exactP(d, 40, 50, false);
+        Assert.assertTrue(test.approximateP(d, 40, 50) > exact);
+        Assert.assertEquals(exact, test.approximateP(d, 40, 50), 0.1);
+    }
+
+    @Test
+    public void testTwoSampleLarge() {
+        final double[] x = uniformSample(400, 0.0, 0x7c4e9a2d1b5f3086l);
+        final double[] y = uniformSample(300, 0.0, 0x2f6b8d1e9c3a7054l);
+        final double[] z = uniformSample(300, 0.2, 0x2f6b8d1e9c3a7054l);
+        Assert.assertTrue(test.kolmogorovSmirnovTest(x, y) > 0.05);
+        Assert.assertFalse(test.kolmogorovSmirnovTest(x, y, 0.05));
+        Assert.assertTrue(test.kolmogorovSmirnovTest(x, z) < 1.0e-6);
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testBadAlpha() {
+        test.kolmogorovSmirnovTest(new double[] { 1, 2 }, new double[] { 3, 4 }, 0.6);
+    }
+
+    @Test(expected=NumberIsTooSmallException.class)
+    public void testTooSmallSample() {
+        test.kolmogorovSmirnovTest(new UniformRealDistribution(0, 1), new double[] { 0.5 });
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullSample() {
+        test.kolmogorovSmirnovStatistic(new double[] { 1, 2 }, null);
+    }
+
+    private static double[] uniformSample(final int n, final double shift, final long seed) {
+        final RandomGenerator random = new Well19937c(seed);
+        final double[] sample = new double[n];
+        for (int i = 0; i < n; ++i) {
+            sample[i] = shift + random.nextDouble();
+        }
+        return sample;
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.inference;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.exception.NoDataException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.stat.descriptive.moment.Mean;
+import org.apache.commons.math3.stat.descriptive.moment.StandardDeviation;
+import org.apache.commons.math3.stat.descriptive.rank.Median;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the Resampler class.
+ *
+ * @version $Id$
+ */
+public class ResamplerTest {
+
+    @Test
+    public void testBootstrapMean() {
+        final double[] sample = gaussianSample(400, 0.0, 0x3c2a7d14e8f1b095l);
+        final double[] replicates = new Resampler(0x6b1d9e2f4a7c3805l).bootstrap(sample, new Mean(), 5000);
+        Assert.assertEquals(5000, replicates.length);
+
+        // the replicates are centered on the sample mean, with spread s / sqrt(n)
+        final double mean = new Mean().evaluate(sample);
+        final double standardError = new StandardDeviation().evaluate(sample) / FastMath.sqrt(sample.length);
+        Assert.assertEquals(mean, new Mean().evaluate(replicates), 0.1 * standardError);
+        Assert.assertEquals(standardError, new StandardDeviation().evaluate(replicates), 0.05 * standardError);
+    }
+
+    @Test
+    public void testBootstrapConfidenceInterval() {
+        final double[] sample = gaussianSample(400, 2.0, 0x3c2a7d14e8f1b095l);
+        final double[] interval =
+                new Resampler(0x6b1d9e2f4a7c3805l).bootstrapConfidenceInterval(sample, new Mean(), 5000, 0.95);
+        final double mean = new Mean().evaluate(sample);
+        final double standardError = new StandardDeviation().evaluate(sample) / FastMath.sqrt(sample.length);
+        Assert.assertEquals(mean - 1.96 * standardError, interval[0], 0.1 * standardError);
+        Assert.assertEquals(mean + 1.96 * standardError, interval[1], 0.1 * standardError);
+    }
+
+    @Test
+    public void testPermutationTest() {
+        final double[] x = gaussianSample(60, 0.0, 0x1f2e3d4c5b6a7988l);
+        final double[] same = gaussianSample(80, 0.0, 0x77a4c1e09bd35f26l);
+        final double[] shifted = gaussianSample(80, 1.0, 0x77a4c1e09bd35f26l);
+        final Resampler resampler = new Resampler(0x2d4f6e8a0c1b3957l);
+        Assert.assertTrue(resampler.permutationTest(x, same, new Mean(), 2000) > 0.05);
+        Assert.assertTrue(resampler.permutationTest(x, shifted, new Median(), 2000) < 0.01);
+
+        // with the mean, the permutation test is close to the t-test
+        final double tTest = new TTest().tTest(x, same);
+        Assert.assertEquals(tTest, resampler.permutationTest(x, same, new Mean(), 20000), 0.03);
+
+        // only one of the 10 splits of 5 values into groups of 2 and 3 is as extreme
+        Assert.assertEquals(0.1,
+                            resampler.permutationTest(new double[] { -10, -11 }, new double[] { 10, 11, 12 },
+                                                      new Mean(), 2000),
+                            0.02);
+    }
+
+    @Test
+    public void testParallelSameAsSequential() {
+        final double[] x = gaussianSample(50, 0.0, 0x1f2e3d4c5b6a7988l);
+        final double[] y = gaussianSample(70, 0.5, 0x77a4c1e09bd35f26l);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // a number of replicates which is not a multiple of the block size
+            final int replicates = 3 * Resampler.BLOCK_SIZE + 17;
+            Assert.assertArrayEquals(new Resampler(42l).bootstrap(x, new Median(), replicates),
+                                     new Resampler(42l).bootstrap(x, new Median(), replicates, executor),
+                                     0.0);
+            Assert.assertArrayEquals(new Resampler(42l).permutation(x, y, new Mean(), replicates),
+                                     new Resampler(42l).permutation(x, y, new Mean(), replicates, executor),
+                                     0.0);
+            Assert.assertEquals(new Resampler(42l).permutationTest(x, y, new Mean(), replicates),
+                                new Resampler(42l).permutationTest(x, y, new Mean(), replicates, executor),
+                                0.0);
+            Assert.assertArrayEquals(new Resampler(42l).bootstrapConfidenceInterval(x, new Mean(), replicates, 0.9),
+                                     new Resampler(42l).bootstrapConfidenceInterval(x, new Mean(), replicates,
+                                                                                    0.9, executor),
+                                     0.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSuccessiveCallsDiffer() {
+        final double[] x = gaussianSample(50, 0.0, 0x1f2e3d4c5b6a7988l);
+        final Resampler resampler = new Resampler(42l);
+        final double[] first  = resampler.bootstrap(x, new Mean(), 10);
+        final double[] second = resampler.bootstrap(x, new Mean(), 10);
+        Assert.assertFalse(first[0] == second[0]);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullSample() {
+        new Resampler(42l).bootstrap(null, new Mean(), 10);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullStatistic() {
+        new Resampler(42l).bootstrap(new double[] { 1, 2 }, null, 10);
+    }
+
+    @Test(expected=NoDataException.class)
+    public void testEmptySample() {
+        new Resampler(42l).permutation(new double[] { 1, 2 }, new double[0], new Mean(), 10);
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testNoReplicates() {
+        new Resampler(42l).bootstrap(new double[] { 1, 2 }, new Mean(), 0);
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testConfidenceLevel() {
+        new Resampler(42l).bootstrapConfidenceInterval(new double[] { 1, 2 }, new Mean(), 10, 1.0);
+    }
+
+    private double[] gaussianSample(final int n, final double mean, final long seed) {
+        final RandomGenerator random = new Well19937c(seed);
+        final double[] sample = new double[n];
+        for (int i = 0; i < n; ++i) {
+            sample[i] = mean + random.nextGaussian();
+        }
+        return sample;
+    }
+
+}
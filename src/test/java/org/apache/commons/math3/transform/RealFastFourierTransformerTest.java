@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.transform;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.apache.commons.math3.analysis.function.Sinc;
+import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Test case for real fast Fourier transformer.
+ * <p>
+ * FFT algorithm is exact, the small tolerance number is used only
+ * to account for round-off errors.
+ *
+ * @version $Id$
+ */
+@RunWith(value = Parameterized.class)
+public final class RealFastFourierTransformerTest extends RealTransformerAbstractTest {
+
+    private final DftNormalization normalization;
+
+    private final int[] invalidDataSize;
+
+    private final double[] relativeTolerance;
+
+    private final int[] validDataSize;
+
+    public RealFastFourierTransformerTest(final DftNormalization normalization) {
+        this.normalization = normalization;
+        this.validDataSize = new int[] {
+            1, 2, 4, 8, 16, 32, 64, 128
+        };
+        this.invalidDataSize = new int[] {
+            3, 6, 127
+        };
+        this.relativeTolerance = new double[] {
+            1E-15, 1E-15, 1E-14, 1E-13, 1E-13, 1E-12, 1E-11, 1E-11
+        };
+    }
+
+    /**
+     * Returns an array containing all the DFT normalizations.
+     *
+     * @return an array of parameters for this parameterized test
+     */
+    @Parameters
+    public static Collection<Object[]> data() {
+        final DftNormalization[] normalization = DftNormalization.values();
+        final Object[][] data = new DftNormalization[normalization.length][1];
+        for (int i = 0; i < normalization.length; i++) {
+            data[i][0] = normalization[i];
+        }
+        return Arrays.asList(data);
+    }
+
+    @Override
+    RealTransformer createRealTransformer() {
+        return new RealFastFourierTransformer(normalization);
+    }
+
+    @Override
+    int getInvalidDataSize(final int i) {
+        return invalidDataSize[i];
+    }
+
+    @Override
+    int getNumberOfInvalidDataSizes() {
+        return invalidDataSize.length;
+    }
+
+    @Override
+    int getNumberOfValidDataSizes() {
+        return validDataSize.length;
+    }
+
+    @Override
+    double getRelativeTolerance(final int i) {
+        return relativeTolerance[i];
+    }
+
+    @Override
+    int getValidDataSize(final int i) {
+        return validDataSize[i];
+    }
+
+    @Override
+    UnivariateFunction getValidFunction() {
+        return new Sinc();
+    }
+
+    @Override
+    double getValidLowerBound() {
+        return -2.0;
+    }
+
+    @Override
+    double getValidUpperBound() {
+        return 5.0;
+    }
+
+    /**
+     * Naive DFT, with the spectrum in packed form.
+     */
+    @Override
+    double[] transform(final double[] x, final TransformType type) {
+        final int n = x.length;
+        final double[] y = new double[n];
+        if (type == TransformType.FORWARD) {
+            for (int k = 0; k <= n / 2; k++) {
+                double yR = 0.0;
+                double yI = 0.0;
+                for (int j = 0; j < n; j++) {
+                    final double angle = 2 * FastMath.PI * ((j * (long) k) % n) / n;
+                    yR += x[j] * FastMath.cos(angle);
+                    yI -= x[j] * FastMath.sin(angle);
+                }
+                if (k == 0) {
+                    y[0] = yR;
+                } else if (2 * k == n) {
+                    y[1] = yR;
+                } else {
+                    y[2 * k]     = yR;
+                    y[2 * k + 1] = yI;
+                }
+            }
+        } else {
+            // rebuild the complete Hermitian spectrum
+            final double[] xR = new double[n];
+            final double[] xI = new double[n];
+            xR[0] = x[0];
+            if (n > 1) {
+                xR[n / 2] = x[1];
+            }
+            for (int k = 1; 2 * k < n; k++) {
+                xR[k]     = x[2 * k];
+                xI[k]     = x[2 * k + 1];
+                xR[n - k] = x[2 * k];
+                xI[n - k] = -x[2 * k + 1];
+            }
+            for (int j = 0; j < n; j++) {
+                double yj = 0.0;
+                for (int k = 0; k < n; k++) {
+                    final double angle = 2 * FastMath.PI * ((j * (long) k) % n) / n;
+                    yj += xR[k] * FastMath.cos(angle) - xI[k] * FastMath.sin(angle);
+                }
+                y[j] = yj;
+            }
+        }
+        final double s;
+        if (normalization == DftNormalization.STANDARD) {
+            s = (type == TransformType.FORWARD) ? 1.0 : 1.0 / n;
+        } else if (normalization == DftNormalization.UNITARY) {
+            s = 1.0 / FastMath.sqrt(n);
+        } else {
+            throw new MathIllegalStateException();
+        }
+        TransformUtils.scaleArray(y, s);
+        return y;
+    }
+
+    /*
+     * Additional tests.
+     */
+
+    @Test
+    public void testConsistencyWithComplexTransform() {
+        final double[] x = createRealData(256);
+        final Complex[] expected =
+            new FastFourierTransformer(normalization).transform(x, TransformType.FORWARD);
+        final double[] actual =
+            new RealFastFourierTransformer(normalization).transform(x, TransformType.FORWARD);
+        Assert.assertEquals(expected[0].getReal(), actual[0], 1E-13);
+        Assert.assertEquals(expected[128].getReal(), actual[1], 1E-13);
+        for (int k = 1; k < 128; k++) {
+            Assert.assertEquals(expected[k].getReal(), actual[2 * k], 1E-13);
+            Assert.assertEquals(expected[k].getImaginary(), actual[2 * k + 1], 1E-13);
+        }
+    }
+
+    @Test
+    public void testInPlaceRoundTrip() {
+        // the same transformer handles several lengths in turn
+        final RealFastFourierTransformer transformer = new RealFastFourierTransformer(normalization);
+        for (final int n : new int[] { 1 << 16, 8, 1 << 16, 2 }) {
+            final double[] x = createRealData(n);
+            final double[] data = x.clone();
+            transformer.transformInPlace(data, TransformType.FORWARD);
+            transformer.transformInPlace(data, TransformType.INVERSE);
+            for (int i = 0; i < n; i++) {
+                Assert.assertEquals(x[i], data[i], 1E-14);
+            }
+        }
+    }
+
+    @Test
+    public void testParseval() {
+        final double[] x = createRealData(4096);
+        final double[] spectrum =
+            new RealFastFourierTransformer(DftNormalization.UNITARY).transform(x, TransformType.FORWARD);
+        double energyX = 0;
+        for (final double xi : x) {
+            energyX += xi * xi;
+        }
+        // bins 1 to N/2 - 1 stand for two bins of the full spectrum
+        double energyY = spectrum[0] * spectrum[0] + spectrum[1] * spectrum[1];
+        for (int i = 2; i < spectrum.length; i++) {
+            energyY += 2 * spectrum[i] * spectrum[i];
+        }
+        Assert.assertEquals(energyX, energyY, 1E-12 * energyX);
+    }
+
+    @Test(expected=MathIllegalArgumentException.class)
+    public void testTransformInPlaceInvalidDataSize() {
+        new RealFastFourierTransformer(normalization).transformInPlace(new double[12], TransformType.FORWARD);
+    }
+
+}
@@ -24,6 +24,10 @@ import org.apache.commons.math3.TestUtils;
 import org.apache.commons.math3.dfp.Dfp;
 import org.apache.commons.math3.dfp.DfpField;
 import org.apache.commons.math3.dfp.DfpMath;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.random.MersenneTwister;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.junit.Assert;
@@ -1087,6 +1091,92 @@ public class FastMathTest {
         Assert.assertEquals(Float.NEGATIVE_INFINITY,  FastMath.scalb(-3.4028235E38f, 2147483647), 0F);
     }
 
+    @Test
+    public void testBulkFunctions() {
+        final int n = 2000;
+        final double[] x = new double[n];
+        final double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = (generator.nextDouble() - 0.5) * FastMath.scalb(1.0, generator.nextInt(40) - 20);
+            y[i] = (generator.nextDouble() - 0.5) * 20;
+        }
+        // special values, huge arguments for trigonometric functions
+        final double[] special = {
+            0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+            Double.MIN_VALUE, Double.MAX_VALUE, -746.5, 709.5, 1.0e10, -3.0e300, 1.0, -1.0, -2.0
+        };
+        System.arraycopy(special, 0, x, 100, special.length);
+        System.arraycopy(special, 0, y, 110, special.length);
+
+        // a range in the middle, the other elements must be left untouched
+        final int from = 7;
+        final int length = n - 20;
+        final double[] result = new double[n];
+
+        FastMath.exp(x, result, from, length);
+        for (int i = 0; i < n; i++) {
+            assertBulk(i, from, length, FastMath.exp(x[i]), result);
+        }
+        FastMath.log(x, result, from, length);
+        for (int i = 0; i < n; i++) {
+            assertBulk(i, from, length, FastMath.log(x[i]), result);
+        }
+        FastMath.sin(x, result, from, length);
+        for (int i = 0; i < n; i++) {
+            assertBulk(i, from, length, FastMath.sin(x[i]), result);
+        }
+        FastMath.cos(x, result, from, length);
+        for (int i = 0; i < n; i++) {
+            assertBulk(i, from, length, FastMath.cos(x[i]), result);
+        }
+        FastMath.pow(x, 2.5, result, from, length);
+        for (int i = 0; i < n; i++) {
+            assertBulk(i, from, length, FastMath.pow(x[i], 2.5), result);
+        }
+        FastMath.pow(x, y, result, from, length);
+        for (int i = 0; i < n; i++) {
+            assertBulk(i, from, length, FastMath.pow(x[i], y[i]), result);
+        }
+
+        // in place
+        final double[] inPlace = x.clone();
+        FastMath.exp(inPlace, inPlace, 0, n);
+        for (int i = 0; i < n; i++) {
+            assertBulk(i, 0, n, FastMath.exp(x[i]), inPlace);
+        }
+    }
+
+    private void assertBulk(int i, int from, int length, double expected, double[] result) {
+        if (i >= from && i < from + length) {
+            Assert.assertEquals("index " + i,
+                                Double.doubleToLongBits(expected), Double.doubleToLongBits(result[i]));
+            result[i] = 0;
+        } else {
+            Assert.assertEquals("index " + i, 0.0, result[i], 0.0);
+        }
+    }
+
+    @Test
+    public void testBulkFunctionsRange() {
+        final double[] x = new double[10];
+        final double[] result = new double[8];
+        final int[][] ranges = { { -1, 2 }, { 9, 0 }, { 0, -1 }, { 0, 9 }, { 5, 4 }, { 3, Integer.MAX_VALUE } };
+        final Class<?>[] expected = {
+            OutOfRangeException.class, OutOfRangeException.class, NotPositiveException.class,
+            NumberIsTooLargeException.class, NumberIsTooLargeException.class, NumberIsTooLargeException.class
+        };
+        for (int i = 0; i < ranges.length; ++i) {
+            try {
+                FastMath.exp(x, result, ranges[i][0], ranges[i][1]);
+                Assert.fail("an exception should have been thrown");
+            } catch (MathIllegalArgumentException e) {
+                Assert.assertEquals(expected[i], e.getClass());
+            }
+        }
+        // empty range at the end
+        FastMath.exp(x, result, 8, 0);
+    }
+
     private boolean compareClassMethods(Class<?> class1, Class<?> class2){
         boolean allfound = true;
         for(Method method1 : class1.getDeclaredMethods()){